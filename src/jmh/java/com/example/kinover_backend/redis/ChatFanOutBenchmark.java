@@ -0,0 +1,75 @@
+package com.example.kinover_backend.redis;
+
+import com.example.kinover_backend.dto.MessageDTO;
+import com.example.kinover_backend.enums.MessageType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.web.socket.TextMessage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ChatMessageSubscriber 메시지 1건당 디코딩/프레임 비용 (세션 수만큼 전송한다고 가정).
+ * - legacy: 기본 charset String 변환 + readTree + readValue + 세션마다 new TextMessage
+ * - frame : ChatFrame 라우팅 헤더만 스트리밍 파싱 + 공유 TextMessage 1개
+ * DB(멤버/차단 조회)와 실제 소켓 I/O 는 제외. ./gradlew jmh 의 gc.alloc.rate.norm 이 메시지당 할당량.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChatFanOutBenchmark {
+
+    @Param({"1", "8", "32"})
+    public int sessions;
+
+    private ObjectMapper objectMapper;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+
+        MessageDTO dto = new MessageDTO();
+        dto.setMessageId(UUID.randomUUID());
+        dto.setChatRoomId(UUID.randomUUID());
+        dto.setSenderId(42L);
+        dto.setSenderName("엄마");
+        dto.setSenderImage("https://cdn.example.com/profile/42.png");
+        dto.setMessageType(MessageType.text);
+        dto.setSystemMessage(false);
+        dto.setContent("오늘 저녁 같이 먹을까? 7시쯤 집에 도착할 것 같아. 장 볼 거 있으면 말해줘!");
+        dto.setMentionUserIds(List.of(7L, 8L));
+        dto.setCreatedAt(LocalDateTime.of(2026, 1, 1, 19, 0));
+        dto.setSeq(12345L);
+        body = objectMapper.writeValueAsBytes(dto);
+    }
+
+    @Benchmark
+    public void legacy(Blackhole bh) throws Exception {
+        String json = new String(body);
+        JsonNode node = objectMapper.readTree(json);
+        bh.consume(node.has("type"));
+        MessageDTO dto = objectMapper.readValue(json, MessageDTO.class);
+        bh.consume(dto.getChatRoomId());
+        bh.consume(dto.getSenderId());
+        for (int i = 0; i < sessions; i++) {
+            bh.consume(new TextMessage(json));
+        }
+    }
+
+    @Benchmark
+    public void frame(Blackhole bh) throws Exception {
+        ChatFrame frame = ChatFrame.parse(objectMapper.getFactory(), body);
+        bh.consume(frame.getChatRoomId());
+        bh.consume(frame.getSenderId());
+        TextMessage shared = frame.getTextMessage();
+        for (int i = 0; i < sessions; i++) {
+            bh.consume(shared);
+        }
+    }
+}
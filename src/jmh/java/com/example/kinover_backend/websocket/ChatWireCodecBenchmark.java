@@ -0,0 +1,81 @@
+package com.example.kinover_backend.websocket;
+
+import com.example.kinover_backend.dto.MessageDTO;
+import com.example.kinover_backend.enums.MessageType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /chat 프레임 JSON vs 압축 CBOR (kinover.chat.cbor.v1).
+ * - bytes: 셋업 때 프레임 종류별 크기를 출력 (chat 메시지 / room:read)
+ * - encode: 서버 → 클라이언트 (JSON 본문 → CBOR, 프레임당 1회)
+ * - decode: 클라이언트 → 서버 (CBOR → JSON 으로 풀어서 기존 경로)
+ * ./gradlew jmh 로 실행.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChatWireCodecBenchmark {
+
+    private static final String CDN = "https://d1234abcd.cloudfront.net/";
+
+    private ObjectMapper objectMapper;
+    private ChatWireCodec codec;
+
+    private byte[] messageJson;
+    private byte[] readJson;
+    private byte[] messageCbor;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        codec = new ChatWireCodec(objectMapper, CDN);
+
+        MessageDTO dto = new MessageDTO();
+        dto.setMessageId(UUID.randomUUID());
+        dto.setChatRoomId(UUID.randomUUID());
+        dto.setSenderId(4_123_456_789L);
+        dto.setSenderName("엄마");
+        dto.setSenderImage(CDN + "profile/4123456789/3f0e1c2a.jpg");
+        dto.setMessageType(MessageType.text);
+        dto.setSystemMessage(false);
+        dto.setContent("오늘 저녁 같이 먹을까?");
+        dto.setCreatedAt(LocalDateTime.of(2026, 1, 1, 19, 0));
+        dto.setSeq(12345L);
+        messageJson = objectMapper.writeValueAsBytes(dto);
+
+        readJson = ("{\"type\":\"room:read\",\"chatRoomId\":\"" + dto.getChatRoomId()
+                + "\",\"userId\":4123456789,\"lastReadAt\":\"2026-01-01T19:00:05\",\"readSeq\":12345}").getBytes();
+
+        messageCbor = codec.encode(messageJson);
+        System.out.printf("%n[bytes] message json=%d cbor=%d | room:read json=%d cbor=%d%n",
+                messageJson.length, messageCbor.length, readJson.length, codec.encode(readJson).length);
+    }
+
+    @Benchmark
+    public byte[] encodeMessageJson() throws Exception {
+        return objectMapper.writeValueAsBytes(objectMapper.readTree(messageJson));
+    }
+
+    @Benchmark
+    public byte[] encodeMessageCbor() throws Exception {
+        return codec.encode(messageJson);
+    }
+
+    @Benchmark
+    public Object decodeMessageJson() throws Exception {
+        return objectMapper.readValue(messageJson, MessageDTO.class);
+    }
+
+    @Benchmark
+    public Object decodeMessageCbor() throws Exception {
+        return objectMapper.treeToValue(codec.decode(messageCbor), MessageDTO.class);
+    }
+}
@@ -0,0 +1,352 @@
+package com.example.kinover_backend.loadtest;
+
+import com.example.kinover_backend.service.KinoBotProfile;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 키노 방 부하 하네스: 떠 있는 서버의 /chat 으로 N개 키노 방에 동시에 말을 걸고 답장 지연을 잰다.
+ * 서버를 kino.completion.stub.enabled=true 로 띄우면 실제 OpenAI 대신 내장 스텁이 답한다
+ * (지연/속도/오류율은 kino.completion.stub.*).
+ *
+ * 입력 (--rooms-file): 한 줄에 "userId,chatRoomId" (그 유저의 키노 방, 미리 만들어 둠). 토큰은 --jwt-secret 으로 발급.
+ * 실행: ./gradlew kinoLoadTest -PloadArgs="--rooms-file rooms.csv --rooms 200 --messages 5 --jwt-secret ..."
+ *
+ * 방마다 턴을 messages 번: burst 개 메시지를 연달아 보내고 답장을 기다렸다가 think-ms 쉼.
+ * 결과:
+ * - 첫 조각(kino:delta) / 완성 답장 까지 지연 p50/p90/p99/max (턴의 첫 메시지를 보낸 시각 기준, debounce 포함)
+ * - 소켓 스레드 점유: 서버 chat.ws.inbound 누적 처리 시간 / 경과 시간 = 평균 바쁜 소켓 스레드 수 (/actuator/metrics)
+ */
+public final class KinoLoadHarness {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String INBOUND_METRIC = "chat.ws.inbound";
+
+    private final String wsUrl;
+    private final String httpUrl;
+    private final String jwtSecret;
+    private final int messages;
+    private final int burst;
+    private final long thinkMs;
+    private final long replyTimeoutMs;
+    private final int socketThreads;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    private final Queue<Long> firstDeltaMs = new ConcurrentLinkedQueue<>();
+    private final Queue<Long> replyMs = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong busy = new AtomicLong();
+    private final AtomicLong failedRooms = new AtomicLong();
+
+    private KinoLoadHarness(Map<String, String> args) {
+        this.wsUrl = args.getOrDefault("ws", "ws://localhost:8080/chat");
+        this.httpUrl = args.getOrDefault("http", "http://localhost:8080");
+        this.jwtSecret = required(args, "jwt-secret");
+        this.messages = Integer.parseInt(args.getOrDefault("messages", "5"));
+        this.burst = Integer.parseInt(args.getOrDefault("burst", "1"));
+        this.thinkMs = Long.parseLong(args.getOrDefault("think-ms", "500"));
+        this.replyTimeoutMs = Long.parseLong(args.getOrDefault("reply-timeout-ms", "30000"));
+        this.socketThreads = Integer.parseInt(args.getOrDefault("socket-threads", "200"));
+    }
+
+    public static void main(String[] argv) throws Exception {
+        Map<String, String> args = parse(argv);
+        List<Room> rooms = readRooms(Path.of(required(args, "rooms-file")),
+                Integer.parseInt(args.getOrDefault("rooms", String.valueOf(Integer.MAX_VALUE))));
+        if (rooms.isEmpty()) throw new IllegalArgumentException("rooms-file 에 방이 없음");
+
+        new KinoLoadHarness(args).run(rooms);
+    }
+
+    private void run(List<Room> rooms) throws Exception {
+        String metricsToken = token(rooms.get(0).userId);
+        InboundSample before = inboundSample(metricsToken);
+        long startedAt = System.nanoTime();
+
+        ExecutorService workers = Executors.newFixedThreadPool(rooms.size());
+        CountDownLatch ready = new CountDownLatch(rooms.size());
+        List<Future<?>> done = new ArrayList<>();
+        for (Room room : rooms) {
+            done.add(workers.submit(() -> drive(room, ready)));
+        }
+        for (Future<?> f : done) {
+            f.get();
+        }
+        workers.shutdown();
+
+        double elapsedSec = (System.nanoTime() - startedAt) / 1e9;
+        InboundSample after = inboundSample(metricsToken);
+        report(rooms.size(), elapsedSec, before, after);
+    }
+
+    // =========================
+    // 방 1개 (스레드 1개)
+    // =========================
+
+    private void drive(Room room, CountDownLatch ready) {
+        Listener listener = new Listener(room.chatRoomId);
+        WebSocket ws = null;
+        try {
+            ws = httpClient.newWebSocketBuilder()
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .buildAsync(URI.create(wsUrl + "?token=" + token(room.userId)), listener)
+                    .get(15, TimeUnit.SECONDS);
+            // 모든 방이 붙은 뒤 동시에 시작
+            ready.countDown();
+            ready.await(60, TimeUnit.SECONDS);
+
+            for (int turn = 0; turn < messages; turn++) {
+                Turn current = listener.begin();
+                for (int i = 0; i < burst; i++) {
+                    ws.sendText(messageJson(room, turn, i), true).get(10, TimeUnit.SECONDS);
+                    sent.incrementAndGet();
+                }
+                try {
+                    current.reply.get(replyTimeoutMs, TimeUnit.MILLISECONDS);
+                    replyMs.add(current.millis(current.replyAt.get()));
+                    if (current.firstDeltaAt.get() > 0) firstDeltaMs.add(current.millis(current.firstDeltaAt.get()));
+                } catch (TimeoutException e) {
+                    timeouts.incrementAndGet();
+                } catch (ExecutionException e) {
+                    busy.incrementAndGet();
+                }
+                Thread.sleep(thinkMs);
+            }
+        } catch (Exception e) {
+            failedRooms.incrementAndGet();
+            ready.countDown();
+            System.out.println("[LOAD] room failed chatRoomId=" + room.chatRoomId + ", err=" + e);
+        } finally {
+            if (ws != null) ws.sendClose(WebSocket.NORMAL_CLOSURE, "done");
+        }
+    }
+
+    private String messageJson(Room room, int turn, int index) throws Exception {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("type", "message:new");
+        out.put("chatRoomId", room.chatRoomId);
+        out.put("senderId", room.userId);
+        out.put("messageType", "text");
+        out.put("content", "부하 테스트 " + turn + "-" + index);
+        return MAPPER.writeValueAsString(out);
+    }
+
+    /** 턴 1개: 보낸 시각, 첫 조각 시각, 답장 시각 (nanoTime) */
+    private static final class Turn {
+        private final long startedAt = System.nanoTime();
+        private final AtomicLong firstDeltaAt = new AtomicLong();
+        private final AtomicLong replyAt = new AtomicLong();
+        private final CompletableFuture<Void> reply = new CompletableFuture<>();
+
+        private long millis(long at) {
+            return TimeUnit.NANOSECONDS.toMillis(at - startedAt);
+        }
+    }
+
+    // 이 방 프레임만: kino:delta(첫 조각) / kino:busy(거절) / 키노가 보낸 일반 메시지(답장 완료)
+    private static final class Listener implements WebSocket.Listener {
+        private final String chatRoomId;
+        private final StringBuilder partial = new StringBuilder();
+        private final AtomicReference<Turn> turn = new AtomicReference<>();
+
+        private Listener(String chatRoomId) {
+            this.chatRoomId = chatRoomId;
+        }
+
+        private Turn begin() {
+            Turn next = new Turn();
+            turn.set(next);
+            return next;
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            partial.append(data);
+            if (last) {
+                String text = partial.toString();
+                partial.setLength(0);
+                onFrame(text);
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        private void onFrame(String text) {
+            Turn current = turn.get();
+            if (current == null) return;
+            try {
+                JsonNode frame = MAPPER.readTree(text);
+                if (!chatRoomId.equals(frame.path("chatRoomId").asText())) return;
+
+                String type = frame.path("type").asText("");
+                long now = System.nanoTime();
+                switch (type) {
+                    case "kino:delta" -> current.firstDeltaAt.compareAndSet(0L, now);
+                    case "kino:busy" -> current.reply.completeExceptionally(new IllegalStateException("busy"));
+                    case "" -> {
+                        if (frame.path("senderId").asLong() == KinoBotProfile.KINO_USER_ID
+                                && current.replyAt.compareAndSet(0L, now)) {
+                            current.reply.complete(null);
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            } catch (Exception ignored) {
+                // pong 등 JSON 이 아닌 프레임
+            }
+        }
+    }
+
+    // =========================
+    // 소켓 스레드 점유 (/actuator/metrics/chat.ws.inbound)
+    // =========================
+
+    private static final class InboundSample {
+        private final double count;
+        private final double totalSeconds;
+
+        private InboundSample(double count, double totalSeconds) {
+            this.count = count;
+            this.totalSeconds = totalSeconds;
+        }
+    }
+
+    private InboundSample inboundSample(String token) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(httpUrl + "/actuator/metrics/" + INBOUND_METRIC))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(5))
+                    .GET()
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) return null;
+
+            double count = 0;
+            double total = 0;
+            for (JsonNode m : MAPPER.readTree(response.body()).path("measurements")) {
+                switch (m.path("statistic").asText()) {
+                    case "COUNT" -> count = m.path("value").asDouble();
+                    case "TOTAL_TIME" -> total = m.path("value").asDouble();
+                    default -> {
+                    }
+                }
+            }
+            return new InboundSample(count, total);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // =========================
+    // 결과
+    // =========================
+
+    private void report(int rooms, double elapsedSec, InboundSample before, InboundSample after) {
+        System.out.printf("%n[KINO LOAD] rooms=%d, failedRooms=%d, elapsed=%.1fs%n", rooms, failedRooms.get(), elapsedSec);
+        System.out.printf("  sent=%d, replies=%d, timeouts=%d, busy=%d, replies/s=%.1f%n",
+                sent.get(), replyMs.size(), timeouts.get(), busy.get(), replyMs.size() / elapsedSec);
+        printPercentiles("first delta (ms)", firstDeltaMs);
+        printPercentiles("full reply  (ms)", replyMs);
+
+        if (before == null || after == null) {
+            System.out.println("  socket threads: n/a (" + httpUrl + "/actuator/metrics/" + INBOUND_METRIC + " 조회 실패)");
+            return;
+        }
+        double frames = after.count - before.count;
+        double busySeconds = after.totalSeconds - before.totalSeconds;
+        double avgBusyThreads = busySeconds / elapsedSec;
+        System.out.printf("  socket threads: avg busy=%.3f (%.2f%% of %d), frames=%.0f, mean per frame=%.3fms%n",
+                avgBusyThreads, 100.0 * avgBusyThreads / socketThreads, socketThreads,
+                frames, frames > 0 ? 1000.0 * busySeconds / frames : 0.0);
+    }
+
+    private static void printPercentiles(String label, Collection<Long> samples) {
+        if (samples.isEmpty()) {
+            System.out.println("  " + label + ": no samples");
+            return;
+        }
+        long[] sorted = samples.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("  %s: p50=%d, p90=%d, p99=%d, max=%d (n=%d)%n", label,
+                percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+                sorted[sorted.length - 1], sorted.length);
+    }
+
+    // nearest-rank
+    private static long percentile(long[] sorted, double p) {
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(rank - 1, 0)];
+    }
+
+    // =========================
+    // 입력
+    // =========================
+
+    private static final class Room {
+        private final long userId;
+        private final String chatRoomId;
+
+        private Room(long userId, String chatRoomId) {
+            this.userId = userId;
+            this.chatRoomId = chatRoomId;
+        }
+    }
+
+    // JwtUtil.generateToken 과 같은 형식 (subject = userId, HS256)
+    private String token(long userId) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .setSubject(String.valueOf(userId))
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(Duration.ofHours(1))))
+                .signWith(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private static List<Room> readRooms(Path file, int limit) throws Exception {
+        List<Room> rooms = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) continue;
+            String[] cols = trimmed.split(",");
+            rooms.add(new Room(Long.parseLong(cols[0].trim()), cols[1].trim()));
+            if (rooms.size() >= limit) break;
+        }
+        return rooms;
+    }
+
+    private static Map<String, String> parse(String[] argv) {
+        Map<String, String> args = new HashMap<>();
+        for (int i = 0; i + 1 < argv.length; i += 2) {
+            if (!argv[i].startsWith("--")) throw new IllegalArgumentException("잘못된 인자: " + argv[i]);
+            args.put(argv[i].substring(2), argv[i + 1]);
+        }
+        return args;
+    }
+
+    private static String required(Map<String, String> args, String key) {
+        String value = args.get(key);
+        if (value == null) throw new IllegalArgumentException("--" + key + " 필요");
+        return value;
+    }
+}
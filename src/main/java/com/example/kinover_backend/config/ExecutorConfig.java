@@ -0,0 +1,160 @@
+package com.example.kinover_backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 실시간 채팅 경로 전용 스레드 풀 (큐 크기/거절 정책 명시).
+ * - redisDispatchExecutor : Redis pub/sub 리스너 실행 (방 채널 fan-out 준비, 가족 상태 구독)
+ * - redisInvalidationExecutor : 로컬 캐시 무효화 채널 리스너 실행 (멤버십/차단/최근 메시지, 버리지 않음)
+ * - wsFanOutExecutor      : 세션별 송신 큐 드레인 (소켓 쓰기, 세션당 작업 최대 1개)
+ * - chatPushExecutor      : chat:events push group 의 FCM 발송
+ * - kinoExecutor          : 키노 답장 생성 (OpenAI 스트리밍 읽기, 소켓 스레드 밖)
+ * - kinoSummaryExecutor   : 키노 방 대화 요약 압축 (답장 경로 밖, 답장과 스레드를 나눠 쓰지 않음)
+ * - maintenanceExecutor   : 야간 unread 보정 같은 긴 배치 (스케줄러 스레드는 트리거만)
+ * - taskScheduler         : @Scheduled 전용 스케줄러 풀 (SchedulingConfig 가 연결)
+ * - kinoDebounceScheduler : 키노 답장 debounce 타이머 (@Scheduled 스레드와 나눠 쓰지 않음)
+ *
+ * ThreadPoolTaskExecutor 는 큐가 가득 차야 core 를 넘어 늘어나므로 풀 크기는 core = max 하나로만 둔다.
+ * DB 를 건드리는 dispatch + push 스레드 합(기본 4 + 2)은 Hikari 풀(기본 10)보다 작게 둬서 HTTP 요청 몫을 남긴다.
+ * 풀 메트릭은 actuator 가 ThreadPoolTaskExecutor 빈을 executor.*{name=빈 이름} 으로 자동 등록하고,
+ * 거절 건수는 executor.rejected{name} 으로 따로 센다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class ExecutorConfig {
+
+    public static final String REDIS_DISPATCH = "redisDispatchExecutor";
+    public static final String REDIS_INVALIDATION = "redisInvalidationExecutor";
+    public static final String WS_FAN_OUT = "wsFanOutExecutor";
+    public static final String CHAT_PUSH = "chatPushExecutor";
+    public static final String KINO = "kinoExecutor";
+    public static final String KINO_SUMMARY = "kinoSummaryExecutor";
+    public static final String MAINTENANCE = "maintenanceExecutor";
+    public static final String SCHEDULER = "taskScheduler";
+    public static final String KINO_DEBOUNCE = "kinoDebounceScheduler";
+
+    private final MeterRegistry meterRegistry;
+
+    // 호출자는 Lettuce 이벤트 루프 스레드라 큐가 차도 그 자리에서 실행하지 않고 버림 (executor.rejected 로 집계).
+    // 버려진 방 메시지는 클라이언트가 다음 조회 때 seq 로, 최근 메시지 캐시는 다음 append 의 seq 공백으로 알아채고 다시 읽는다
+    @Bean(name = REDIS_DISPATCH)
+    public ThreadPoolTaskExecutor redisDispatchExecutor(
+            @Value("${executor.redis-dispatch.threads:4}") int threads,
+            @Value("${executor.redis-dispatch.queue-capacity:10000}") int queueCapacity) {
+        return executor(REDIS_DISPATCH, "redis-dispatch-", threads, queueCapacity,
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    // 무효화를 놓치면 그 노드가 멤버십/차단을 틀린 채로 들고 있으므로 버리지 않는다.
+    // 처리는 로컬 제거뿐이라 큐가 찼을 때만 Lettuce 스레드에서 직접 실행해도 짧다 (executor.rejected 로 집계)
+    @Bean(name = REDIS_INVALIDATION)
+    public ThreadPoolTaskExecutor redisInvalidationExecutor(
+            @Value("${executor.redis-invalidation.threads:1}") int threads,
+            @Value("${executor.redis-invalidation.queue-capacity:10000}") int queueCapacity) {
+        return executor(REDIS_INVALIDATION, "redis-invalidation-", threads, queueCapacity,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // 세션당 드레인 작업은 1개뿐이라 큐 한도 ≈ 노드당 세션 수. 거절되면 WebSocketOutbound 가 큐를 남겨두고 재시도
+    @Bean(name = WS_FAN_OUT)
+    public ThreadPoolTaskExecutor wsFanOutExecutor(
+            @Value("${executor.ws-fan-out.threads:8}") int threads,
+            @Value("${executor.ws-fan-out.queue-capacity:20000}") int queueCapacity) {
+        return executor(WS_FAN_OUT, "ws-outbound-", threads, queueCapacity,
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // 거절되면 ack 하지 않음 → pending 으로 남아 reclaim 때 다시 처리
+    @Bean(name = CHAT_PUSH)
+    public ThreadPoolTaskExecutor chatPushExecutor(
+            @Value("${executor.chat-push.threads:2}") int threads,
+            @Value("${executor.chat-push.queue-capacity:500}") int queueCapacity) {
+        return executor(CHAT_PUSH, "chat-push-", threads, queueCapacity,
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // 답장 1건 = 스레드 1개가 스트림 끝까지 점유. 동시 실행은 KinoBulkhead 가 먼저 제한 (거절되면 busy 안내)
+    // 격벽이 허가한 답장은 바로 스레드를 받아야 함: 실행기 큐에서 기다리면 in-flight 로 세지면서 기한 shed 도 못 받는다.
+    // 그래서 스레드 수는 max-concurrent 이상으로 고정하고, 큐는 끝나는 스레드와 다음 답장이 잠깐 겹칠 때만 쓰인다
+    @Bean(name = KINO)
+    public ThreadPoolTaskExecutor kinoExecutor(
+            @Value("${executor.kino.threads:6}") int threads,
+            @Value("${kino.bulkhead.max-concurrent:6}") int maxConcurrent,
+            @Value("${executor.kino.queue-capacity:16}") int queueCapacity) {
+        return executor(KINO, "kino-", Math.max(threads, maxConcurrent), queueCapacity,
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // 압축은 급하지 않음: 거절되면 그 방의 다음 답장 때 다시 요청됨
+    @Bean(name = KINO_SUMMARY)
+    public ThreadPoolTaskExecutor kinoSummaryExecutor(
+            @Value("${executor.kino-summary.threads:2}") int threads,
+            @Value("${executor.kino-summary.queue-capacity:1000}") int queueCapacity) {
+        return executor(KINO_SUMMARY, "kino-summary-", threads, queueCapacity,
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // 배치 1건이 오래 걸려도 다른 배치만 기다림. 같은 배치가 밀려 쌓이지 않게 큐는 작게 (거절되면 다음 주기에)
+    @Bean(name = MAINTENANCE)
+    public ThreadPoolTaskExecutor maintenanceExecutor(
+            @Value("${executor.maintenance.threads:1}") int threads,
+            @Value("${executor.maintenance.queue-capacity:4}") int queueCapacity) {
+        return executor(MAINTENANCE, "maintenance-", threads, queueCapacity,
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // 읽음 flush(250ms), 키노 기한 sweep(500ms), 송신 정체 확인(1s) 등 짧은 주기 작업이 서로 밀리지 않게 여러 스레드로.
+    // 긴 작업은 여기서 돌리지 않고 전용 풀로 넘긴다 (unread 보정 → maintenance, reclaim 푸시 → chatPush)
+    @Bean(name = SCHEDULER)
+    public ThreadPoolTaskScheduler taskScheduler(
+            @Value("${executor.scheduler.pool-size:4}") int poolSize) {
+        return scheduler("scheduled-", poolSize);
+    }
+
+    // 타이머 작업은 격벽 제출만 하고 바로 끝남 (답장 생성은 kinoExecutor)
+    @Bean(name = KINO_DEBOUNCE)
+    public ThreadPoolTaskScheduler kinoDebounceScheduler(
+            @Value("${executor.kino-debounce.pool-size:2}") int poolSize) {
+        return scheduler("kino-debounce-", poolSize);
+    }
+
+    private ThreadPoolTaskExecutor executor(String name, String threadNamePrefix, int threads,
+                                            int queueCapacity, RejectedExecutionHandler rejection) {
+        Counter rejected = Counter.builder("executor.rejected").tag("name", name).register(meterRegistry);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setDaemon(true);
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            rejection.rejectedExecution(task, pool);
+        });
+        // 종료 시 진행 중인 작업은 잠깐 기다림 (대기 큐는 버림: pub/sub 는 재연결 시 seq 로, push 는 pending 으로 복구)
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.setAwaitTerminationSeconds(5);
+        return executor;
+    }
+
+    private static ThreadPoolTaskScheduler scheduler(String threadNamePrefix, int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix(threadNamePrefix);
+        scheduler.setPoolSize(poolSize);
+        scheduler.setDaemon(true);
+        scheduler.setWaitForTasksToCompleteOnShutdown(false);
+        scheduler.setAwaitTerminationSeconds(5);
+        return scheduler;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.kinover_backend.config;
+
+import com.example.kinover_backend.service.KinoCompletionClient;
+import com.example.kinover_backend.service.OpenAiCompatibleStub;
+import com.example.kinover_backend.service.OpenAiCompletionClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 키노 텍스트 생성 클라이언트.
+ * 기본은 openai.base-url 의 실제 API, kino.completion.stub.enabled=true 면 같은 프로세스에 OpenAI 호환 스텁을 띄우고
+ * 그 주소로 보낸다 (부하 테스트/로컬 개발용: HTTP·SSE 읽기 경로는 운영과 같음).
+ */
+@Configuration
+public class KinoCompletionConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(name = "kino.completion.stub.enabled", havingValue = "true")
+    public OpenAiCompatibleStub kinoCompletionStub(
+            ObjectMapper objectMapper,
+            @Value("${kino.completion.stub.port:0}") int port,
+            @Value("${kino.completion.stub.first-token-latency-ms:300}") long firstTokenLatencyMs,
+            @Value("${kino.completion.stub.tokens-per-second:40}") double tokensPerSecond,
+            @Value("${kino.completion.stub.reply-tokens:60}") int replyTokens,
+            @Value("${kino.completion.stub.streaming:true}") boolean streaming,
+            @Value("${kino.completion.stub.error-rate:0}") double errorRate,
+            @Value("${kino.completion.stub.error-status:500}") int errorStatus,
+            @Value("${kino.completion.stub.mid-stream-failure-rate:0}") double midStreamFailureRate) {
+        return new OpenAiCompatibleStub(objectMapper, OpenAiCompatibleStub.Options.builder()
+                .port(port)
+                .firstTokenLatencyMs(firstTokenLatencyMs)
+                .tokensPerSecond(tokensPerSecond)
+                .replyTokens(replyTokens)
+                .streaming(streaming)
+                .errorRate(errorRate)
+                .errorStatus(errorStatus)
+                .midStreamFailureRate(midStreamFailureRate)
+                .build());
+    }
+
+    @Bean
+    public KinoCompletionClient kinoCompletionClient(
+            ObjectMapper objectMapper,
+            ObjectProvider<OpenAiCompatibleStub> stub,
+            @Value("${openai.api-key}") String apiKey,
+            @Value("${openai.base-url:https://api.openai.com/v1}") String baseUrl,
+            @Value("${openai.kino.request-timeout-ms:30000}") long requestTimeoutMs) {
+        OpenAiCompatibleStub local = stub.getIfAvailable();
+        return new OpenAiCompletionClient(objectMapper, local != null ? local.baseUrl() : baseUrl, apiKey, requestTimeoutMs);
+    }
+}
@@ -1,33 +1,47 @@
 package com.example.kinover_backend.config;
 
-import com.example.kinover_backend.redis.ChatMessageSubscriber;
+import com.example.kinover_backend.redis.BlockGraphInvalidationSubscriber;
+import com.example.kinover_backend.redis.ChatMembershipInvalidationSubscriber;
+import com.example.kinover_backend.redis.RecentMessageInvalidationSubscriber;
 import com.example.kinover_backend.redis.UserStatusSubscriber;
+import com.example.kinover_backend.service.BlockGraph;
+import com.example.kinover_backend.service.ChatMembershipCache;
+import com.example.kinover_backend.service.RecentMessageCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.listener.PatternTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
 
+import java.util.concurrent.Executor;
+
 @Configuration
 @RequiredArgsConstructor
 public class RedisConfig {
 
-    private final ChatMessageSubscriber chatMessageSubscriber;
     private final UserStatusSubscriber userStatusSubscriber;
+    private final RecentMessageInvalidationSubscriber recentMessageInvalidationSubscriber;
+    private final ChatMembershipInvalidationSubscriber chatMembershipInvalidationSubscriber;
+    private final BlockGraphInvalidationSubscriber blockGraphInvalidationSubscriber;
 
+    // 방 채널 / 가족 상태: 몰리면 버려도 되는 실시간 메시지 (ChatRoomSubscriptionRegistry 가 주입받는 기본 컨테이너)
     @Bean
-    public RedisMessageListenerContainer messageListenerContainer(RedisConnectionFactory connectionFactory) {
+    @Primary
+    public RedisMessageListenerContainer messageListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            @Qualifier(ExecutorConfig.REDIS_DISPATCH) Executor redisDispatchExecutor) {
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(connectionFactory);
+        // 기본 실행기(메시지마다 새 스레드) 대신 크기/큐가 정해진 전용 풀 (ExecutorConfig)
+        container.setTaskExecutor(redisDispatchExecutor);
 
-        // 1) 고정 채널: 채팅 메시지
-        container.addMessageListener(
-                new MessageListenerAdapter(chatMessageSubscriber, "onMessage"),
-                chatTopic()
-        );
+        // 1) 채팅 메시지: 방별 채널(chat:room:{id})은 로컬 접속자 기준으로
+        //    ChatRoomSubscriptionRegistry 가 런타임에 구독/해제
 
         // 2) 패턴 채널: 가족 상태(online/offline): family:status:<uuid>
         container.addMessageListener(
@@ -38,9 +52,49 @@ public class RedisConfig {
         return container;
     }
 
+    // 캐시 무효화: 채팅 폭주 중에도 버려지면 안 되므로 실행기(버리지 않음)와 연결을 따로 쓴다
+    @Bean
+    public RedisMessageListenerContainer invalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            @Qualifier(ExecutorConfig.REDIS_INVALIDATION) Executor redisInvalidationExecutor) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setTaskExecutor(redisInvalidationExecutor);
+
+        // 1) 최근 메시지 캐시 무효화 (숨김/삭제)
+        container.addMessageListener(
+                new MessageListenerAdapter(recentMessageInvalidationSubscriber, "onMessage"),
+                recentMessageInvalidateTopic()
+        );
+
+        // 2) 멤버십 캐시 무효화 (생성/초대/나가기/탈퇴)
+        container.addMessageListener(
+                new MessageListenerAdapter(chatMembershipInvalidationSubscriber, "onMessage"),
+                chatMembershipInvalidateTopic()
+        );
+
+        // 3) 차단 그래프 무효화 (차단/해제)
+        container.addMessageListener(
+                new MessageListenerAdapter(blockGraphInvalidationSubscriber, "onMessage"),
+                blockGraphInvalidateTopic()
+        );
+
+        return container;
+    }
+
+    @Bean
+    public ChannelTopic recentMessageInvalidateTopic() {
+        return new ChannelTopic(RecentMessageCache.INVALIDATE_CHANNEL);
+    }
+
+    @Bean
+    public ChannelTopic chatMembershipInvalidateTopic() {
+        return new ChannelTopic(ChatMembershipCache.INVALIDATE_CHANNEL);
+    }
+
     @Bean
-    public ChannelTopic chatTopic() {
-        return new ChannelTopic("chat:messages");
+    public ChannelTopic blockGraphInvalidateTopic() {
+        return new ChannelTopic(BlockGraph.INVALIDATE_CHANNEL);
     }
 
     @Bean
@@ -0,0 +1,27 @@
+package com.example.kinover_backend.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * @Scheduled 작업을 ExecutorConfig 의 taskScheduler 풀에서 실행.
+ * @EnableWebSocket 이 TaskScheduler 빈(defaultSockJsTaskScheduler)을 등록해서 Boot 기본 스케줄러가 빠지므로,
+ * 명시하지 않으면 모든 @Scheduled 가 스레드 1개를 나눠 쓴다 (읽음 flush 가 보정/reclaim 뒤에 밀림).
+ */
+@Configuration
+public class SchedulingConfig implements SchedulingConfigurer {
+
+    private final TaskScheduler taskScheduler;
+
+    public SchedulingConfig(@Qualifier(ExecutorConfig.SCHEDULER) TaskScheduler taskScheduler) {
+        this.taskScheduler = taskScheduler;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.setTaskScheduler(taskScheduler);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.kinover_backend.config;
 
+import com.example.kinover_backend.websocket.JwtHandshakeInterceptor;
 import com.example.kinover_backend.websocket.WebSocketFamilyStatusHandler;
 import com.example.kinover_backend.websocket.WebSocketMessageHandler;
 import com.example.kinover_backend.websocket.WebSocketStatusHandler;
@@ -17,15 +18,19 @@ public class WebSocketConfig implements WebSocketConfigurer {
     private final WebSocketMessageHandler webSocketMessageHandler;
     private final WebSocketStatusHandler webSocketStatusHandler;
     private final WebSocketFamilyStatusHandler webSocketFamilyStatusHandler;
+    private final JwtHandshakeInterceptor jwtHandshakeInterceptor;
 
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
-        // 웹소켓 핸들러 등록
+        // 웹소켓 핸들러 등록 (JWT는 핸드셰이크에서 한 번만 검증)
         registry.addHandler(webSocketMessageHandler, "/chat")
+                .addInterceptors(jwtHandshakeInterceptor)
                 .setAllowedOrigins("*");  // 클라이언트의 출처 허용
         registry.addHandler(webSocketStatusHandler, "/status")
+                .addInterceptors(jwtHandshakeInterceptor)
                 .setAllowedOrigins("*");
         registry.addHandler(webSocketFamilyStatusHandler, "/family-status")
+                .addInterceptors(jwtHandshakeInterceptor)
                 .setAllowedOrigins("*");
     }
 }
\ No newline at end of file
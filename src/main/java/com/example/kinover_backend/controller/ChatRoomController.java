@@ -3,9 +3,11 @@ package com.example.kinover_backend.controller;
 
 import com.example.kinover_backend.JwtUtil;
 import com.example.kinover_backend.dto.*;
+import com.example.kinover_backend.enums.MessagePageDirection;
 import com.example.kinover_backend.service.ChatRoomService;
 import com.example.kinover_backend.service.MessageService;
 import com.example.kinover_backend.service.UserService;
+import com.example.kinover_backend.util.MessageCursor;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -232,6 +234,27 @@ public class ChatRoomController {
         return messageService.fetchMessagesBefore(chatRoomId, before, limit, userId);
     }
 
+    // =========================
+    // ✅ 메시지 페이지 조회 (keyset cursor)
+    // =========================
+    @Operation(summary = "메세지 페이지 조회",
+            description = "cursor 기반으로 메시지를 가져옵니다. cursor가 없으면 최신 페이지, "
+                    + "응답의 nextCursor를 같은 direction(before: 과거 / after: 이후)으로 넘기면 이어서 조회합니다.")
+    @GetMapping("/{chatRoomId}/messages")
+    public MessagePageResponseDTO fetchMessagePage(
+            @PathVariable UUID chatRoomId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "before") String direction,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader
+    ) {
+        Long userId = getUserIdFromAuth(authorizationHeader);
+        requireMember(chatRoomId, userId);
+
+        return messageService.fetchMessages(
+                chatRoomId, MessageCursor.decode(cursor), MessagePageDirection.from(direction), limit, userId);
+    }
+
     // =========================
     // ✅ 채팅방 이름 수정(전역) - 레거시 유지
     // =========================
@@ -351,7 +374,7 @@ public class ChatRoomController {
     // =========================
     // ✅ 채팅방 읽음 처리
     // =========================
-    @Operation(summary = "채팅방 읽음 처리", description = "해당 유저가 이 채팅방에서 lastReadAt까지 읽었음을 기록합니다.")
+    @Operation(summary = "채팅방 읽음 처리", description = "해당 유저가 이 채팅방에서 readSeq(없으면 lastReadAt, 둘 다 없으면 최신)까지 읽었음을 기록합니다.")
     @PostMapping("/{chatRoomId}/read")
     public ResponseEntity<Void> markRead(
             @PathVariable UUID chatRoomId,
@@ -361,19 +384,17 @@ public class ChatRoomController {
         Long userId = getUserIdFromAuth(authorizationHeader);
         requireMember(chatRoomId, userId);
 
-        LocalDateTime lastReadAt =
-                (body != null && body.getLastReadAt() != null)
-                        ? body.getLastReadAt()
-                        : LocalDateTime.now();
+        Long readSeq = (body != null) ? body.getReadSeq() : null;
+        LocalDateTime lastReadAt = (body != null) ? body.getLastReadAt() : null;
 
-        chatRoomService.markRead(chatRoomId, userId, lastReadAt);
+        chatRoomService.markRead(chatRoomId, userId, readSeq, lastReadAt);
         return ResponseEntity.ok().build();
     }
 
     // =========================
     // ✅ readPointers 조회
     // =========================
-    @Operation(summary = "채팅방 readPointers 조회", description = "채팅방 참여자별 lastReadAt 포인터를 조회합니다.")
+    @Operation(summary = "채팅방 readPointers 조회", description = "채팅방 참여자별 읽음 포인터(readSeq, lastReadAt)를 조회합니다.")
     @GetMapping("/{chatRoomId}/readPointers")
     public ResponseEntity<ReadPointersResponseDTO> getReadPointers(
             @PathVariable UUID chatRoomId,
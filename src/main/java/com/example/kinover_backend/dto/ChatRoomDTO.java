@@ -3,6 +3,7 @@ package com.example.kinover_backend.dto;
 
 import com.example.kinover_backend.entity.ChatRoom;
 import com.example.kinover_backend.enums.KinoType;
+import com.example.kinover_backend.enums.MessageType;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -34,6 +35,8 @@ public class ChatRoomDTO {
 
     private String latestMessageContent;
     private LocalDateTime latestMessageTime;
+    private MessageType latestMessageType;
+    private Long latestMessageSenderId;
     private List<String> memberImages;
 
     private boolean isNotificationOn;
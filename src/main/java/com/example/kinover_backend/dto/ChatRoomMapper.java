@@ -11,6 +11,8 @@ public interface ChatRoomMapper {
 
     @Mapping(target = "latestMessageContent", ignore = true)
     @Mapping(target = "latestMessageTime", ignore = true)
+    @Mapping(target = "latestMessageType", ignore = true)
+    @Mapping(target = "latestMessageSenderId", ignore = true)
     @Mapping(target = "memberImages", ignore = true)
     ChatRoomDTO toDTO(ChatRoom chatRoom);
 }
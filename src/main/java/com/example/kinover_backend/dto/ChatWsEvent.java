@@ -0,0 +1,18 @@
+package com.example.kinover_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+/**
+ * /chat 으로 들어오는 WS 프레임 (type 으로 구분).
+ * 프레임은 한 번만 읽어서 바로 해당 이벤트 클래스로 만들고, 등록되지 않은 type 은 거절한다.
+ * 새 이벤트(typing, reaction 등)는 여기 subtype 추가 + 핸들러 dispatch 등록만 하면 된다.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY, property = "type")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = PingWsRequestDTO.class, name = "ping"),
+        @JsonSubTypes.Type(value = ReadWsRequestDTO.class, name = "room:read"),
+        @JsonSubTypes.Type(value = MessageWsRequestDTO.class, name = "message:new")
+})
+public interface ChatWsEvent {
+}
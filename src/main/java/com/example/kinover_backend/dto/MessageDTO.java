@@ -33,4 +33,7 @@ public class MessageDTO {
 
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss", timezone = "Asia/Seoul")
     private LocalDateTime createdAt;
+
+    // ✅ 방별 순번 (서버 할당, 1씩 증가 → 클라에서 빠진 메시지 감지)
+    private Long seq;
 }
@@ -0,0 +1,20 @@
+package com.example.kinover_backend.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MessagePageResponseDTO {
+    // 항상 오래된 → 최신 순
+    private List<MessageDTO> items;
+
+    // 같은 direction으로 이어서 부를 때 넘길 cursor (없으면 null)
+    private String nextCursor;
+
+    private boolean hasMore;
+}
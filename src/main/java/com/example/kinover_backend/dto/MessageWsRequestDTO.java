@@ -0,0 +1,10 @@
+package com.example.kinover_backend.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+// 메시지 전송 (type 이 없는 기존 클라이언트 프레임도 이걸로 읽음)
+@Getter
+@Setter
+public class MessageWsRequestDTO extends MessageDTO implements ChatWsEvent {
+}
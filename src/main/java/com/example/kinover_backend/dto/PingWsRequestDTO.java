@@ -0,0 +1,5 @@
+package com.example.kinover_backend.dto;
+
+// heartbeat (payload 없음)
+public class PingWsRequestDTO implements ChatWsEvent {
+}
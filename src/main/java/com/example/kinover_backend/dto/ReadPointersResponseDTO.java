@@ -20,5 +20,6 @@ public class ReadPointersResponseDTO {
     public static class Pointer {
         private Long userId;
         private LocalDateTime lastReadAt;
+        private long readSeq;
     }
 }
@@ -10,4 +10,7 @@ import java.time.LocalDateTime;
 @Setter
 public class ReadRequestDTO {
     private LocalDateTime lastReadAt;
+
+    // ✅ 마지막으로 읽은 메시지 seq (있으면 lastReadAt보다 우선)
+    private Long readSeq;
 }
@@ -10,14 +10,11 @@ import java.util.UUID;
 
 @Getter
 @Setter
-public class ReadWsRequestDTO {
-
-    // WS payload에 type이 들어오니, DTO가 받아도 되고 안 받아도 됨
-    // 안전하게 받아둠
-    private String type;
+public class ReadWsRequestDTO implements ChatWsEvent {
 
     private UUID chatRoomId;
     private LocalDateTime lastReadAt;
+    private Long readSeq;
 
     @JsonProperty("chatRoomId")
     public UUID getChatRoomId() {
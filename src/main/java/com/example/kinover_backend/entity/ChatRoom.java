@@ -2,11 +2,13 @@ package com.example.kinover_backend.entity;
 
 import com.example.kinover_backend.enums.ChatBotPersonality;
 import com.example.kinover_backend.enums.KinoType;
+import com.example.kinover_backend.enums.MessageType;
 
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -45,6 +47,26 @@ public class ChatRoom {
     @Column(columnDefinition = "VARCHAR(255)")
     private String image;
 
+    // ✅ 채팅방 목록용 최신 메시지 스냅샷
+    // - 메시지 저장 시 ChatRoomRepository.updateLastMessageIfLater(조건부 UPDATE)로만 갱신
+    // - 엔티티 save로 덮어쓰지 않도록 insertable/updatable = false
+    @Column(name = "last_message_preview", columnDefinition = "VARCHAR(255)", insertable = false, updatable = false)
+    private String lastMessagePreview;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "last_message_type", insertable = false, updatable = false)
+    private MessageType lastMessageType;
+
+    @Column(name = "last_message_at", insertable = false, updatable = false)
+    private LocalDateTime lastMessageAt;
+
+    @Column(name = "last_message_sender_id", insertable = false, updatable = false)
+    private Long lastMessageSenderId;
+
+    // ✅ 마지막으로 할당된 메시지 순번 (ChatRoomRepository.incrementLastSeq 로만 증가)
+    @Column(name = "last_seq", insertable = false, updatable = false)
+    private long lastSeq;
+
     @ManyToOne(cascade = CascadeType.ALL)
     @JoinColumn(name = "familyId", nullable = true)
     private Family family;
@@ -0,0 +1,35 @@
+package com.example.kinover_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// ✅ 키노 방 대화 요약 (방당 1행). watermark 까지의 메시지가 요약에 들어가 있음
+@Entity
+@Getter
+@Setter
+@Table(name = "kino_room_summary")
+public class KinoRoomSummary {
+
+    @Id
+    private UUID chatRoomId;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String summary;
+
+    @Column(nullable = false)
+    private Long watermarkSeq;
+
+    // 초기화 표시 행(빈 요약)이면 null
+    private UUID watermarkMessageId;
+
+    // 압축할 때마다 +1 (KinoRoomSummaryRepository#advance 의 조건)
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
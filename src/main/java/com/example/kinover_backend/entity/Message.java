@@ -23,6 +23,10 @@ public class Message {
     @Column(columnDefinition = "TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP")
     private LocalDateTime createdAt;
 
+    // ✅ 방 안에서 1부터 증가하는 순번 (ChatRoom.lastSeq로 할당, 클라 gap 감지/읽음 포인터 기준)
+    @Column(name = "seq", nullable = false, updatable = false)
+    private Long seq;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private MessageType messageType;
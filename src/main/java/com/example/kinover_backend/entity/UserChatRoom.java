@@ -30,7 +30,7 @@ public class UserChatRoom {
     @Column(columnDefinition = "DATE")
     private Date joinedAt;
 
-    // ✅ 읽음 포인터(핵심)
+    // ✅ 마지막 읽음 시각 (표시/레거시 클라용, unread 계산은 readSeq)
     @Column(name = "last_read_at")
     private LocalDateTime lastReadAt;
 
@@ -42,8 +42,8 @@ public class UserChatRoom {
     @Column(name = "is_custom_room_name", columnDefinition = "BOOLEAN DEFAULT FALSE")
     private boolean customRoomName;
 
-    // ⚠️ DB에 추가해둔 last_read_message_id(BIGINT)는 UUID랑 타입이 안 맞아서
-    // 지금은 사용하지 않는 걸 권장. (칼럼은 남아도 JPA는 무시함)
-    // @Column(name = "last_read_message_id")
-    // private Long lastReadMessageId;
+    // ✅ 읽음 포인터: 마지막으로 읽은 메시지 순번 (unread = ChatRoom.lastSeq - readSeq)
+    // 전진은 UserChatRoomRepository.updateReadPointerIfLater 로만 (엔티티 save로 역행하지 않게 updatable=false)
+    @Column(name = "read_seq", nullable = false, updatable = false)
+    private long readSeq;
 }
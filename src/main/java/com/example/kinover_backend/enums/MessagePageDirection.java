@@ -0,0 +1,14 @@
+package com.example.kinover_backend.enums;
+
+public enum MessagePageDirection {
+    BEFORE, AFTER;
+
+    // 쿼리 파라미터: before | after (대소문자 무시, 기본 before)
+    public static MessagePageDirection from(String value) {
+        if (value == null || value.isBlank()) return BEFORE;
+        String v = value.trim().toUpperCase();
+        if (v.equals("AFTER")) return AFTER;
+        if (v.equals("BEFORE")) return BEFORE;
+        throw new IllegalArgumentException("direction은 before 또는 after 입니다.");
+    }
+}
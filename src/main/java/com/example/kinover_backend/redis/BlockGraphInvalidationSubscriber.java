@@ -0,0 +1,33 @@
+package com.example.kinover_backend.redis;
+
+import com.example.kinover_backend.service.BlockGraph;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * user:block:invalidate 수신 → 이 노드의 차단 그래프에서 해당 blocker 제거
+ */
+@Component
+@RequiredArgsConstructor
+public class BlockGraphInvalidationSubscriber implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlockGraphInvalidationSubscriber.class);
+
+    private final BlockGraph blockGraph;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            blockGraph.evictFromMessage(message.getBody());
+        } catch (Exception e) {
+            logger.warn("[BLOCK_GRAPH] invalidate message failed body={}",
+                    new String(message.getBody(), StandardCharsets.UTF_8), e);
+        }
+    }
+}
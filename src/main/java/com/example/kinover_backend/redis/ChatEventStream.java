@@ -0,0 +1,132 @@
+package com.example.kinover_backend.redis;
+
+import com.example.kinover_backend.dto.MessageDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 채팅 이벤트 로그 (Redis Stream: chat:events).
+ * 저장된 메시지마다 1건을 XADD 하고, 후속 처리(unread 카운터, FCM 푸시)는
+ * ChatEventStreamWorker 의 consumer group 이 각자 읽고 ack 한다.
+ * 실시간 WebSocket 전달은 지연이 중요해서 방별 pub/sub(chat:room:{id})을 그대로 쓴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatEventStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatEventStream.class);
+
+    public static final String STREAM_KEY = "chat:events";
+
+    public static final String FIELD_PAYLOAD = "payload";
+    public static final String FIELD_RECIPIENTS = "recipients";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${chat.event-stream.max-len:100000}")
+    private long maxLen;
+
+    // =========================
+    // 발행
+    // =========================
+
+    /**
+     * 메시지 이벤트 추가 (트랜잭션 중이면 커밋 후).
+     * recipients = unread 카운터를 올릴 멤버 (보낸 사람은 카운터 쪽에서 제외).
+     * 발행 시점 멤버를 같이 실어서, 소비가 늦어도 그 시점 기준으로 처리된다.
+     */
+    public void append(MessageDTO message, Collection<Long> recipients) {
+        if (message == null || message.getChatRoomId() == null) return;
+
+        Map<String, String> fields = new HashMap<>();
+        try {
+            fields.put(FIELD_PAYLOAD, objectMapper.writeValueAsString(message));
+        } catch (Exception e) {
+            logger.warn("[CHAT_STREAM] serialize failed messageId={}, err={}", message.getMessageId(), e.toString());
+            return;
+        }
+        fields.put(FIELD_RECIPIENTS, joinIds(recipients));
+
+        runAfterCommit(() -> {
+            MapRecord<String, String, String> record = StreamRecords.newRecord()
+                    .in(STREAM_KEY)
+                    .ofMap(fields);
+            RecordId id = redisTemplate.opsForStream().add(record);
+            logger.debug("[CHAT_STREAM] appended id={} messageId={}", id, message.getMessageId());
+        });
+    }
+
+    // =========================
+    // 길이 제한 (근사 MAXLEN ~)
+    // =========================
+
+    @Scheduled(fixedDelayString = "${chat.event-stream.trim-interval-ms:60000}")
+    public void trim() {
+        try {
+            Long removed = redisTemplate.opsForStream().trim(STREAM_KEY, maxLen, true);
+            if (removed != null && removed > 0) {
+                logger.info("[CHAT_STREAM] trimmed {} entries (maxLen={})", removed, maxLen);
+            }
+        } catch (Exception e) {
+            logger.warn("[CHAT_STREAM] trim failed err={}", e.toString());
+        }
+    }
+
+    // =========================
+    // 필드 인코딩
+    // =========================
+
+    static String joinIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) return "";
+        return ids.stream()
+                .filter(Objects::nonNull)
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+    }
+
+    public static List<Long> parseIds(String raw) {
+        if (raw == null || raw.isBlank()) return List.of();
+        List<Long> ids = new ArrayList<>();
+        for (String part : raw.split(",")) {
+            if (!part.isBlank()) ids.add(Long.parseLong(part.trim()));
+        }
+        return ids;
+    }
+
+    // 이벤트 로그가 실패해도 메시지 저장은 살림 (unread는 reconciliation, 푸시는 유실 허용)
+    private void runAfterCommit(Runnable task) {
+        Runnable safe = () -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                logger.warn("[CHAT_STREAM] append failed err={}", e.toString());
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    safe.run();
+                }
+            });
+            return;
+        }
+        safe.run();
+    }
+}
@@ -0,0 +1,272 @@
+package com.example.kinover_backend.redis;
+
+import com.example.kinover_backend.config.ExecutorConfig;
+import com.example.kinover_backend.dto.MessageDTO;
+import com.example.kinover_backend.service.ChatUnreadCounterService;
+import com.example.kinover_backend.service.MessageService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.data.redis.stream.Subscription;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * chat:events 소비자. 단계별로 consumer group 을 분리해서 각자 속도로 처리/재시도한다.
+ * - unread : 수신자 unread 카운터 +1 (entry id 로 중복 반영 방지)
+ * - push   : FCM 푸시 (chatPushExecutor 에서 발송 후 ack, 풀이 가득 차면 pending 으로 남겨 reclaim 때 처리)
+ * consumer 이름은 nodeId 라서 노드를 늘리면 같은 group 안에서 자동으로 나눠 받는다.
+ * 처리 중 죽은 노드의 pending entry 는 reclaim 스케줄러가 가져와 다시 처리한다 (푸시는 여기서도 chatPushExecutor 로).
+ */
+@Component
+public class ChatEventStreamWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatEventStreamWorker.class);
+
+    public static final String UNREAD_GROUP = "unread";
+    public static final String PUSH_GROUP = "push";
+
+    private static final List<String> GROUPS = List.of(UNREAD_GROUP, PUSH_GROUP);
+
+    private final RedisConnectionFactory connectionFactory;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ChatUnreadCounterService chatUnreadCounterService;
+    private final MessageService messageService;
+    private final Executor pushExecutor;
+    private final String consumerName;
+
+    private final Duration reclaimMinIdle;
+    private final int maxDeliveries;
+    private final int batchSize;
+
+    private StreamMessageListenerContainer<String, MapRecord<String, String, String>> container;
+    private final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+    public ChatEventStreamWorker(RedisConnectionFactory connectionFactory,
+                                 StringRedisTemplate redisTemplate,
+                                 ObjectMapper objectMapper,
+                                 ChatUnreadCounterService chatUnreadCounterService,
+                                 MessageService messageService,
+                                 ChatSessionDirectory chatSessionDirectory,
+                                 @Qualifier(ExecutorConfig.CHAT_PUSH) Executor pushExecutor,
+                                 @Value("${chat.event-stream.reclaim-min-idle-ms:60000}") long reclaimMinIdleMs,
+                                 @Value("${chat.event-stream.max-deliveries:5}") int maxDeliveries,
+                                 @Value("${chat.event-stream.batch-size:100}") int batchSize) {
+        this.connectionFactory = connectionFactory;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.chatUnreadCounterService = chatUnreadCounterService;
+        this.messageService = messageService;
+        this.pushExecutor = pushExecutor;
+        this.consumerName = chatSessionDirectory.getNodeId();
+        this.reclaimMinIdle = Duration.ofMillis(reclaimMinIdleMs);
+        this.maxDeliveries = maxDeliveries;
+        this.batchSize = batchSize;
+    }
+
+    // =========================
+    // 시작/종료
+    // =========================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (String group : GROUPS) {
+            createGroupIfAbsent(group);
+        }
+
+        StreamMessageListenerContainer.StreamMessageListenerContainerOptions<String, MapRecord<String, String, String>> options =
+                StreamMessageListenerContainer.StreamMessageListenerContainerOptions.builder()
+                        .pollTimeout(Duration.ofSeconds(2))
+                        .batchSize(batchSize)
+                        .build();
+
+        container = StreamMessageListenerContainer.create(connectionFactory, options);
+        for (String group : GROUPS) {
+            subscriptions.put(group, subscribe(group));
+        }
+        container.start();
+        logger.info("[CHAT_STREAM] consumers started node={} groups={}", consumerName, GROUPS);
+    }
+
+    // 수동 ack: 처리 중 예외면 pending 에 남고 reclaim 대상이 된다.
+    // 폴링 오류(Redis 순단 등)로 구독이 취소되지 않게 cancelOnError=false (기본 요청은 첫 오류에 구독을 끝냄)
+    private Subscription subscribe(String group) {
+        StreamMessageListenerContainer.ConsumerStreamReadRequest<String> request =
+                StreamMessageListenerContainer.StreamReadRequest
+                        .builder(StreamOffset.create(ChatEventStream.STREAM_KEY, ReadOffset.lastConsumed()))
+                        .consumer(Consumer.from(group, consumerName))
+                        .autoAcknowledge(false)
+                        .cancelOnError(t -> false)
+                        .errorHandler(t -> logger.warn("[CHAT_STREAM] poll failed group={}, err={}", group, t.toString()))
+                        .build();
+        return container.register(request, record -> dispatch(group, record.getId(), record.getValue()));
+    }
+
+    // 그래도 구독이 끝나 있으면 (다른 이유로 취소/폴링 스레드 종료) 다시 등록
+    @Scheduled(fixedDelayString = "${chat.event-stream.resubscribe-check-ms:10000}")
+    public void resubscribeInactive() {
+        if (container == null || !container.isRunning()) return;
+        for (String group : GROUPS) {
+            Subscription current = subscriptions.get(group);
+            if (current != null && current.isActive()) continue;
+            try {
+                if (current != null) container.remove(current);
+                subscriptions.put(group, subscribe(group));
+                logger.warn("[CHAT_STREAM] resubscribed group={} node={}", group, consumerName);
+            } catch (Exception e) {
+                logger.warn("[CHAT_STREAM] resubscribe failed group={}, err={}", group, e.toString());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    // =========================
+    // 단계별 처리
+    // =========================
+
+    // FCM HTTP 호출은 폴링/스케줄러 스레드를 막지 않도록 전용 풀에서 (unread 는 Redis 스크립트 1회라 그 자리에서)
+    private void dispatch(String group, RecordId id, Map<?, ?> fields) {
+        if (PUSH_GROUP.equals(group)) {
+            try {
+                pushExecutor.execute(() -> handle(group, id, fields));
+            } catch (RejectedExecutionException e) {
+                logger.warn("[CHAT_STREAM] push pool full, left pending id={}", id);
+            }
+            return;
+        }
+        handle(group, id, fields);
+    }
+
+    private void handle(String group, RecordId id, Map<?, ?> fields) {
+        try {
+            process(group, id, fields);
+            acknowledge(group, id);
+        } catch (Exception e) {
+            logger.warn("[CHAT_STREAM] {} failed id={}, err={}", group, id, e.toString());
+        }
+    }
+
+    void process(String group, RecordId id, Map<?, ?> fields) throws Exception {
+        Object payload = fields.get(ChatEventStream.FIELD_PAYLOAD);
+        if (payload == null) return;
+        MessageDTO message = objectMapper.readValue(payload.toString(), MessageDTO.class);
+
+        switch (group) {
+            case UNREAD_GROUP -> {
+                Object recipients = fields.get(ChatEventStream.FIELD_RECIPIENTS);
+                chatUnreadCounterService.incrementOnce(message.getChatRoomId(), message.getSenderId(),
+                        ChatEventStream.parseIds(recipients == null ? null : recipients.toString()),
+                        message.getSeq(), id.getValue());
+            }
+            case PUSH_GROUP -> messageService.dispatchPushNotifications(message);
+            default -> logger.warn("[CHAT_STREAM] unknown group={}", group);
+        }
+    }
+
+    // =========================
+    // pending reclaim (죽은/느린 consumer 의 미처리 entry)
+    // =========================
+
+    @Scheduled(fixedDelayString = "${chat.event-stream.reclaim-interval-ms:30000}")
+    public void reclaimPending() {
+        if (container == null) return;
+        for (String group : GROUPS) {
+            try {
+                reclaim(group);
+            } catch (Exception e) {
+                logger.warn("[CHAT_STREAM] reclaim failed group={}, err={}", group, e.toString());
+            }
+        }
+    }
+
+    private void reclaim(String group) {
+        PendingMessages pending = redisTemplate.opsForStream()
+                .pending(ChatEventStream.STREAM_KEY, group, Range.unbounded(), batchSize);
+        if (pending == null || pending.isEmpty()) return;
+
+        List<RecordId> retry = new ArrayList<>();
+        for (PendingMessage pm : pending) {
+            if (pm.getElapsedTimeSinceLastDelivery().compareTo(reclaimMinIdle) < 0) continue;
+
+            if (pm.getTotalDeliveryCount() >= maxDeliveries) {
+                // 계속 실패하는 entry 는 포기 (unread 는 reconciliation 이 맞춰줌)
+                logger.error("[CHAT_STREAM] dropping id={} group={} after {} deliveries",
+                        pm.getId(), group, pm.getTotalDeliveryCount());
+                acknowledge(group, pm.getId());
+                continue;
+            }
+            retry.add(pm.getId());
+        }
+        if (retry.isEmpty()) return;
+
+        List<MapRecord<String, Object, Object>> claimed = redisTemplate.opsForStream()
+                .claim(ChatEventStream.STREAM_KEY, group, consumerName, reclaimMinIdle, retry.toArray(new RecordId[0]));
+
+        Set<RecordId> found = new HashSet<>();
+        for (MapRecord<String, Object, Object> record : claimed) {
+            found.add(record.getId());
+            dispatch(group, record.getId(), record.getValue());
+        }
+
+        // trim 으로 이미 잘려나간 entry 는 claim 결과에 없음 → pending 에서 정리
+        for (RecordId id : retry) {
+            if (!found.contains(id)) {
+                acknowledge(group, id);
+            }
+        }
+
+        logger.info("[CHAT_STREAM] reclaimed group={} claimed={} trimmed={}",
+                group, found.size(), retry.size() - found.size());
+    }
+
+    // =========================
+    // 내부
+    // =========================
+
+    private void acknowledge(String group, RecordId id) {
+        redisTemplate.opsForStream().acknowledge(ChatEventStream.STREAM_KEY, group, id);
+    }
+
+    // 스트림이 없으면 같이 만들고(MKSTREAM), 이미 group 이 있으면(BUSYGROUP) 무시
+    private void createGroupIfAbsent(String group) {
+        try {
+            redisTemplate.execute((RedisCallback<String>) connection -> {
+                RedisStreamCommands commands = connection.streamCommands();
+                return commands.xGroupCreate(ChatEventStream.STREAM_KEY.getBytes(StandardCharsets.UTF_8),
+                        group, ReadOffset.from("0-0"), true);
+            });
+        } catch (Exception e) {
+            if (String.valueOf(e.getMessage()).contains("BUSYGROUP")
+                    || (e.getCause() != null && String.valueOf(e.getCause().getMessage()).contains("BUSYGROUP"))) {
+                return;
+            }
+            logger.warn("[CHAT_STREAM] group create failed group={}, err={}", group, e.toString());
+        }
+    }
+}
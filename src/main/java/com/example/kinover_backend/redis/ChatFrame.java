@@ -0,0 +1,92 @@
+package com.example.kinover_backend.redis;
+
+import com.example.kinover_backend.websocket.ChatWireCodec;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * 방 채널(chat:room:{id}) 메시지 1건: 라우팅 헤더 + 공유 WebSocket 프레임.
+ * 본문을 객체로 만들지 않고 최상위 필드(type, chatRoomId, senderId, systemMessage, seq)만 스트리밍으로 읽는다.
+ * TextMessage 는 불변이라 같은 메시지를 받는 모든 세션에 한 인스턴스를 보낸다.
+ * 압축 서브프로토콜(ChatWireCodec) 세션용 CBOR 바이트도 처음 필요할 때 1회만 인코딩해서 공유
+ * (BinaryMessage 는 ByteBuffer position 이 전송 중 움직이므로 세션마다 감싸기만 새로 한다).
+ */
+@Getter
+public final class ChatFrame {
+
+    private final byte[] body;
+
+    // 이벤트(room:read 등)면 type, 채팅 메시지면 null
+    private final String type;
+    private final UUID chatRoomId;
+    private final Long senderId;
+    private final boolean systemMessage;
+    private final Long seq;
+
+    private final TextMessage textMessage;
+
+    @Getter(AccessLevel.NONE)
+    private byte[] binary;
+
+    private ChatFrame(byte[] body, String type, UUID chatRoomId, Long senderId, boolean systemMessage, Long seq) {
+        this.body = body;
+        this.type = type;
+        this.chatRoomId = chatRoomId;
+        this.senderId = senderId;
+        this.systemMessage = systemMessage;
+        this.seq = seq;
+        this.textMessage = new TextMessage(body); // UTF-8 디코딩 1회
+    }
+
+    public boolean isEvent() {
+        return type != null;
+    }
+
+    /** 세션이 협상한 형식의 프레임 (리스너 스레드 1개에서만 호출) */
+    public WebSocketMessage<?> frameFor(WebSocketSession session, ChatWireCodec codec) throws IOException {
+        if (!ChatWireCodec.isBinary(session)) return textMessage;
+        if (binary == null) {
+            binary = codec.encode(body);
+        }
+        return new BinaryMessage(binary);
+    }
+
+    public static ChatFrame parse(JsonFactory jsonFactory, byte[] body) throws IOException {
+        String type = null;
+        UUID chatRoomId = null;
+        Long senderId = null;
+        boolean systemMessage = false;
+        Long seq = null;
+
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("chat frame is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.VALUE_NULL) continue;
+
+                switch (field) {
+                    case "type" -> type = parser.getText();
+                    case "chatRoomId" -> chatRoomId = UUID.fromString(parser.getText());
+                    case "senderId" -> senderId = parser.getValueAsLong();
+                    case "systemMessage" -> systemMessage = value == JsonToken.VALUE_TRUE;
+                    case "seq" -> seq = parser.getValueAsLong();
+                    default -> parser.skipChildren(); // 본문/배열은 건너뜀
+                }
+            }
+        }
+        return new ChatFrame(body, type, chatRoomId, senderId, systemMessage, seq);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.kinover_backend.redis;
+
+import com.example.kinover_backend.service.ChatMembershipCache;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * chat:membership:invalidate 수신 → 이 노드의 멤버십 캐시에서 해당 방 제거 + 방 채널 구독 갱신
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatMembershipInvalidationSubscriber implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatMembershipInvalidationSubscriber.class);
+
+    private final ChatMembershipCache chatMembershipCache;
+    private final ChatRoomSubscriptionRegistry chatRoomSubscriptionRegistry;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            UUID id = chatMembershipCache.evictFromMessage(message.getBody());
+            // 멤버가 바뀌었으니 이 노드 접속자 기준으로 방 채널 구독/해제 다시 계산
+            chatRoomSubscriptionRegistry.refreshRoom(id);
+        } catch (Exception e) {
+            logger.warn("[MEMBERSHIP_CACHE] invalidate message failed body={}",
+                    new String(message.getBody(), StandardCharsets.UTF_8), e);
+        }
+    }
+}
@@ -1,106 +1,172 @@
-package com.example.kinover_backend.redis;
-
-import com.example.kinover_backend.dto.MessageDTO;
-import com.example.kinover_backend.dto.UserDTO;
-import com.example.kinover_backend.repository.UserBlockRepository;
-import com.example.kinover_backend.service.ChatRoomService;
-import com.example.kinover_backend.service.FcmNotificationService;
-import com.example.kinover_backend.websocket.WebSocketMessageHandler;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.connection.Message;
-import org.springframework.data.redis.connection.MessageListener;
-import org.springframework.stereotype.Component;
-import org.springframework.web.socket.TextMessage;
-import org.springframework.web.socket.WebSocketSession;
-
-import java.util.List;
-import java.util.Set;
-import java.util.UUID;
-
-@Component
-@RequiredArgsConstructor
-public class ChatMessageSubscriber implements MessageListener {
-
-    private final WebSocketMessageHandler webSocketMessageHandler;
-    private final ChatRoomService chatRoomService;
-    private final ObjectMapper objectMapper;
-    private final FcmNotificationService fcmNotificationService;
-    private final UserBlockRepository userBlockRepository;
-
-    @Override
-    public void onMessage(Message message, byte[] pattern) {
-        try {
-            // Redis로부터 수신한 메시지를 MessageDTO로 역직렬화
-            String json = new String(message.getBody());
-
-            // 1. 먼저 트리 형태로 읽어서 'type' 필드가 있는지 확인
-            JsonNode jsonNode = objectMapper.readTree(json);
-            
-            // 2. 만약 읽음 이벤트(room:read)라면?
-            if (jsonNode.has("type") && "room:read".equals(jsonNode.get("type").asText())) {
-                broadcastEventToRoomParticipants(json, jsonNode);
-                return;
-            }
-
-            MessageDTO messageDTO = objectMapper.readValue(json, MessageDTO.class);
-
-            // 채팅방 ID로 참여자 목록 조회
-            List<UserDTO> participants = chatRoomService.getUsersByChatRoom(
-                    messageDTO.getChatRoomId()
-            );
-
-            Long senderId = messageDTO.getSenderId();
-            for (UserDTO user : participants) {
-                Long userId = user.getUserId();
-                if (!Boolean.TRUE.equals(messageDTO.getSystemMessage())
-                        && senderId != null
-                        && userBlockRepository.existsByBlocker_UserIdAndBlocked_UserId(userId, senderId)) {
-                    continue;
-                }
-                Set<WebSocketSession> sessions = webSocketMessageHandler.getSessionsByUserId(userId);
-
-                for (WebSocketSession session : sessions) {
-                    if (session != null && session.isOpen()) {
-                        session.sendMessage(new TextMessage(json));
-                        System.out.println("[Redis → WebSocket 전송] to userId=" + userId
-                                + ", sessionId=" + session.getId());
-                    }
-                }
-                if (sessions.isEmpty() && !Boolean.TRUE.equals(messageDTO.getSystemMessage())) {
-                        // WebSocket 미연결 시 FCM 발송 조건 체크
-                        System.out.println("[WebSocket 닫힘 → FCM 후보] userId=" + userId);
-                        if (fcmNotificationService.isChatRoomNotificationOn(userId, messageDTO.getChatRoomId())) {
-                            System.out.println("[FCM 전송] to userId=" + userId);
-                            fcmNotificationService.sendChatNotification(userId, messageDTO);
-                        } else {
-                            System.out.println("[FCM 전송 안 함 - 알림 OFF] userId=" + userId);
-                        }
-                    }
-            }
-        } catch (Exception e) {
-            System.out.println("[ChatMessageSubscriber 오류] " + e.getMessage());
-        }
-    }
-
-    private void broadcastEventToRoomParticipants(String json, JsonNode jsonNode) throws Exception {
-        if (!jsonNode.hasNonNull("chatRoomId")) {
-            return;
-        }
-
-        UUID chatRoomId = UUID.fromString(jsonNode.get("chatRoomId").asText());
-        List<UserDTO> participants = chatRoomService.getUsersByChatRoom(chatRoomId);
-
-        for (UserDTO user : participants) {
-            Long userId = user.getUserId();
-            Set<WebSocketSession> sessions = webSocketMessageHandler.getSessionsByUserId(userId);
-
-            for (WebSocketSession session : sessions) {
-                if (session != null && session.isOpen()) {
-                    session.sendMessage(new TextMessage(json));
-                }
-            }
-        }
-    }
-}
+package com.example.kinover_backend.redis;
+
+import com.example.kinover_backend.dto.MessageDTO;
+import com.example.kinover_backend.dto.ReadPointersResponseDTO;
+import com.example.kinover_backend.enums.MessagePageDirection;
+import com.example.kinover_backend.service.BlockGraph;
+import com.example.kinover_backend.service.ChatRoomService;
+import com.example.kinover_backend.service.MessageService;
+import com.example.kinover_backend.service.ReadReceiptAggregator;
+import com.example.kinover_backend.service.RecentMessageCache;
+import com.example.kinover_backend.util.MessageCursor;
+import com.example.kinover_backend.websocket.ChatWireCodec;
+import com.example.kinover_backend.websocket.WebSocketMessageHandler;
+import com.example.kinover_backend.websocket.WebSocketOutbound;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 방 채널(chat:room:{id}) 수신 → 이 노드에 접속한 멤버에게 전달.
+ * 메시지당 라우팅 헤더만 읽고(ChatFrame), 형식(JSON/압축 CBOR)별 프레임 1개를 모든 세션이 공유한다.
+ * 수신자는 멤버십 캐시, 차단 필터는 차단 그래프(메모리)로.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatMessageSubscriber implements MessageListener {
+
+    // 입장 직후 놓친 메시지 재전송 한도 (히스토리 페이지 최대치)
+    private static final int REPLAY_LIMIT = 100;
+
+    private final WebSocketMessageHandler webSocketMessageHandler;
+    private final ChatRoomService chatRoomService;
+    private final ObjectMapper objectMapper;
+    private final BlockGraph blockGraph;
+    private final RecentMessageCache recentMessageCache;
+    private final WebSocketOutbound outbound;
+    private final ChatWireCodec chatWireCodec;
+    private final MessageService messageService;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            // 1. 최상위 라우팅 필드만 스트리밍으로 읽음 (본문 역직렬화 없음)
+            ChatFrame frame = ChatFrame.parse(objectMapper.getFactory(), message.getBody());
+
+            // 2. 모아진 읽음 이벤트(room:read:batch)면 방별 room:read 로 풀어서 전송
+            if (ReadReceiptAggregator.BATCH_EVENT_TYPE.equals(frame.getType())) {
+                broadcastReadBatch(objectMapper.readTree(frame.getBody()));
+                return;
+            }
+
+            // 3. 그 외 이벤트(room:read, kino:typing / kino:delta 등)는 그대로 방 참여자에게
+            if (frame.isEvent()) {
+                broadcastEventToRoomParticipants(frame);
+                return;
+            }
+
+            // 다른 노드에서 저장된 메시지도 이 노드의 최근 메시지 캐시에 반영 (적재된 방일 때만 역직렬화)
+            recentMessageCache.appendIfLoaded(frame.getChatRoomId(), frame.getSeq(), () -> decode(frame));
+
+            // 이 노드에 접속한 멤버에게만 전송
+            // (FCM은 chat:events push group 에서 클러스터 접속 디렉터리 기준으로 1회만 보냄)
+            List<Long> recipients = localRecipients(frame.getChatRoomId());
+            if (recipients.isEmpty()) return;
+
+            if (!frame.isSystemMessage()) {
+                recipients = blockGraph.withoutBlockersOf(recipients, frame.getSenderId());
+            }
+
+            for (Long userId : recipients) {
+                send(webSocketMessageHandler.getSessionsByUserId(userId), frame);
+            }
+        } catch (Exception e) {
+            System.out.println("[ChatMessageSubscriber 오류] " + e.getMessage());
+        }
+    }
+
+    /**
+     * 방에 새로 들어온 로컬 멤버에게 읽음 포인터 이후 메시지를 다시 전송 (ChatRoomSubscriptionRegistry.refreshRoom).
+     * 실시간 전달과 겹치면 클라이언트가 seq 로 중복 제거.
+     */
+    public void replayMissed(UUID chatRoomId, Collection<Long> userIds) {
+        try {
+            Map<Long, Long> readSeqs = new HashMap<>();
+            for (ReadPointersResponseDTO.Pointer pointer : chatRoomService.getReadPointers(chatRoomId).getPointers()) {
+                readSeqs.put(pointer.getUserId(), pointer.getReadSeq());
+            }
+
+            for (Long userId : userIds) {
+                Long readSeq = readSeqs.get(userId);
+                Set<WebSocketSession> sessions = webSocketMessageHandler.getSessionsByUserId(userId);
+                if (readSeq == null || sessions.isEmpty()) continue;
+
+                List<MessageDTO> missed = messageService.fetchMessages(chatRoomId, new MessageCursor(readSeq),
+                        MessagePageDirection.AFTER, REPLAY_LIMIT, userId).getItems();
+                for (MessageDTO m : missed) {
+                    send(sessions, ChatFrame.parse(objectMapper.getFactory(), objectMapper.writeValueAsBytes(m)));
+                }
+            }
+        } catch (Exception e) {
+            System.out.println("[ChatMessageSubscriber 재전송 오류] " + e.getMessage());
+        }
+    }
+
+    private MessageDTO decode(ChatFrame frame) {
+        try {
+            return objectMapper.readValue(frame.getBody(), MessageDTO.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 방 멤버 중 이 노드에 세션이 있는 유저
+    private List<Long> localRecipients(UUID chatRoomId) {
+        List<Long> recipients = new ArrayList<>();
+        if (chatRoomId == null) return recipients;
+        for (Long userId : chatRoomService.getMemberIds(chatRoomId)) {
+            if (!webSocketMessageHandler.getSessionsByUserId(userId).isEmpty()) {
+                recipients.add(userId);
+            }
+        }
+        return recipients;
+    }
+
+    // 세션별 송신 큐에 넣기만 함 (리스너 스레드는 소켓 I/O를 기다리지 않음)
+    private void send(Set<WebSocketSession> sessions, ChatFrame frame) throws IOException {
+        for (WebSocketSession session : sessions) {
+            outbound.send(session, frame.frameFor(session, chatWireCodec));
+        }
+    }
+
+    private void broadcastReadBatch(JsonNode jsonNode) throws Exception {
+        // 방별로 묶어서 참여자 조회는 방당 1회, 프레임은 이벤트당 1개
+        Map<UUID, List<ChatFrame>> framesByRoom = new LinkedHashMap<>();
+        for (JsonNode read : jsonNode.path("reads")) {
+            if (!read.hasNonNull("chatRoomId")) continue;
+            UUID chatRoomId = UUID.fromString(read.get("chatRoomId").asText());
+            framesByRoom.computeIfAbsent(chatRoomId, k -> new ArrayList<>())
+                    .add(ChatFrame.parse(objectMapper.getFactory(), objectMapper.writeValueAsBytes(read)));
+        }
+
+        for (Map.Entry<UUID, List<ChatFrame>> e : framesByRoom.entrySet()) {
+            for (Long userId : localRecipients(e.getKey())) {
+                Set<WebSocketSession> sessions = webSocketMessageHandler.getSessionsByUserId(userId);
+                for (ChatFrame frame : e.getValue()) {
+                    send(sessions, frame);
+                }
+            }
+        }
+    }
+
+    private void broadcastEventToRoomParticipants(ChatFrame frame) throws IOException {
+        for (Long userId : localRecipients(frame.getChatRoomId())) {
+            send(webSocketMessageHandler.getSessionsByUserId(userId), frame);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.kinover_backend.redis;
+
+import com.example.kinover_backend.repository.UserChatRoomRepository;
+import com.example.kinover_backend.service.ChatMembershipCache;
+import com.example.kinover_backend.service.RecentMessageCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 방별 Redis 채널(chat:room:{chatRoomId}) 구독 관리.
+ * 이 노드에 /chat 으로 연결된 유저가 속한 방만 구독하고, 마지막 로컬 유저가 빠지면 구독 해제한다.
+ * → 노드별 Redis 수신량/역직렬화 비용이 전체 트래픽이 아니라 로컬 접속자 기준으로 늘어남.
+ * 멤버 변경은 멤버십 무효화 이벤트(chat:membership:invalidate)를 받을 때 refreshRoom 으로 반영하고,
+ * 새로 들어온 로컬 멤버에게는 그 사이 놓쳤을 수 있는 메시지를 다시 보낸다.
+ * 최근 메시지 캐시(RecentMessageCache)는 구독 중인 방만 새 메시지를 받으므로, 구독 시작/해제 때 그 방 캐시를 버린다
+ * (구독 밖에서 적재된 스냅샷이 다시 쓰이지 않게. 조회 쪽은 isSubscribed 일 때만 캐시 사용).
+ */
+@Component
+public class ChatRoomSubscriptionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatRoomSubscriptionRegistry.class);
+
+    private static final String ROOM_CHANNEL_PREFIX = "chat:room:";
+
+    // RedisConfig(컨테이너) → ChatMessageSubscriber → WebSocketMessageHandler → 이 클래스 순환을 끊기 위해 지연 조회
+    private final ObjectProvider<RedisMessageListenerContainer> containerProvider;
+    private final ObjectProvider<ChatMessageSubscriber> subscriberProvider;
+    private final UserChatRoomRepository userChatRoomRepository;
+    private final ChatMembershipCache chatMembershipCache;
+    private final RecentMessageCache recentMessageCache;
+
+    // 로컬 유저 ↔ 방 관계는 this 락으로 보호 (연결/해제/멤버 변경 빈도가 낮음)
+    private final Map<UUID, Set<Long>> localUsersByRoom = new HashMap<>();
+    private final Map<Long, Set<UUID>> roomsByLocalUser = new HashMap<>();
+
+    // 실제 Redis 구독 상태: 컨테이너 호출(SUBSCRIBE 왕복)은 this 락 밖에서 subscriptionLock 으로만 직렬화
+    // → 재연결이 몰려도 isSubscribed(히스토리 조회 경로)는 기다리지 않음
+    private final Set<UUID> subscribedRooms = ConcurrentHashMap.newKeySet();
+    private final Object subscriptionLock = new Object();
+
+    public ChatRoomSubscriptionRegistry(ObjectProvider<RedisMessageListenerContainer> containerProvider,
+                                        ObjectProvider<ChatMessageSubscriber> subscriberProvider,
+                                        UserChatRoomRepository userChatRoomRepository,
+                                        ChatMembershipCache chatMembershipCache,
+                                        RecentMessageCache recentMessageCache) {
+        this.containerProvider = containerProvider;
+        this.subscriberProvider = subscriberProvider;
+        this.userChatRoomRepository = userChatRoomRepository;
+        this.chatMembershipCache = chatMembershipCache;
+        this.recentMessageCache = recentMessageCache;
+    }
+
+    public static String topicFor(UUID chatRoomId) {
+        return ROOM_CHANNEL_PREFIX + chatRoomId;
+    }
+
+    // =========================
+    // 로컬 유저 연결/해제 (유저의 첫 세션 / 마지막 세션 기준)
+    // =========================
+
+    public void onUserConnected(Long userId) {
+        if (userId == null) return;
+        List<UUID> roomIds = userChatRoomRepository.findChatRoomIdsByUserId(userId);
+
+        List<UUID> changed = new ArrayList<>();
+        synchronized (this) {
+            roomsByLocalUser.computeIfAbsent(userId, k -> new HashSet<>());
+            for (UUID chatRoomId : roomIds) {
+                if (join(chatRoomId, userId)) changed.add(chatRoomId);
+            }
+        }
+        changed.forEach(this::syncSubscription);
+    }
+
+    public void onUserDisconnected(Long userId) {
+        if (userId == null) return;
+        List<UUID> changed = new ArrayList<>();
+        synchronized (this) {
+            Set<UUID> roomIds = roomsByLocalUser.remove(userId);
+            if (roomIds == null) return;
+            for (UUID chatRoomId : roomIds) {
+                if (leave(chatRoomId, userId)) changed.add(chatRoomId);
+            }
+        }
+        changed.forEach(this::syncSubscription);
+    }
+
+    // =========================
+    // 멤버 변경 반영 (생성/초대/나가기/탈퇴)
+    // =========================
+
+    public void refreshRoom(UUID chatRoomId) {
+        if (chatRoomId == null) return;
+        synchronized (this) {
+            if (roomsByLocalUser.isEmpty()) return;
+        }
+
+        Set<Long> members = new HashSet<>(chatMembershipCache.getMemberIds(chatRoomId));
+
+        boolean changed = false;
+        List<Long> joined = new ArrayList<>();
+        synchronized (this) {
+            for (Map.Entry<Long, Set<UUID>> e : roomsByLocalUser.entrySet()) {
+                Long userId = e.getKey();
+                if (members.contains(userId)) {
+                    if (!e.getValue().contains(chatRoomId)) joined.add(userId);
+                    changed |= join(chatRoomId, userId);
+                } else {
+                    changed |= leave(chatRoomId, userId);
+                }
+            }
+        }
+        if (changed) syncSubscription(chatRoomId);
+
+        // 새로 들어온 로컬 멤버는 구독/멤버십이 바뀌기 전에 발행된 메시지(입장, 키노 첫 인사 등)를 놓쳤을 수 있음
+        // → 구독을 맞춘 뒤 읽음 포인터 이후 메시지를 다시 보냄
+        if (!joined.isEmpty()) {
+            subscriberProvider.getObject().replayMissed(chatRoomId, joined);
+        }
+    }
+
+    public boolean isSubscribed(UUID chatRoomId) {
+        return subscribedRooms.contains(chatRoomId);
+    }
+
+    // =========================
+    // 내부: 로컬 유저 ↔ 방 (this 락 안에서만 호출, 방의 첫 유저/마지막 유저면 true)
+    // =========================
+
+    private boolean join(UUID chatRoomId, Long userId) {
+        Set<UUID> userRooms = roomsByLocalUser.get(userId);
+        if (userRooms == null || !userRooms.add(chatRoomId)) return false;
+
+        Set<Long> users = localUsersByRoom.computeIfAbsent(chatRoomId, k -> new HashSet<>());
+        users.add(userId);
+        return users.size() == 1;
+    }
+
+    private boolean leave(UUID chatRoomId, Long userId) {
+        Set<UUID> userRooms = roomsByLocalUser.get(userId);
+        if (userRooms != null) userRooms.remove(chatRoomId);
+
+        Set<Long> users = localUsersByRoom.get(chatRoomId);
+        if (users == null || !users.remove(userId) || !users.isEmpty()) return false;
+
+        localUsersByRoom.remove(chatRoomId);
+        return true;
+    }
+
+    // =========================
+    // 내부: Redis 구독 맞추기 (this 락 밖)
+    // =========================
+
+    /**
+     * 지금의 로컬 유저 기준으로 구독/해제. 호출 순서가 뒤섞여도 마지막 호출이 최신 상태를 읽으므로 결과는 맞는다.
+     */
+    private void syncSubscription(UUID chatRoomId) {
+        synchronized (subscriptionLock) {
+            boolean wanted;
+            synchronized (this) {
+                wanted = localUsersByRoom.containsKey(chatRoomId);
+            }
+            if (wanted == subscribedRooms.contains(chatRoomId)) return;
+
+            ChannelTopic topic = new ChannelTopic(topicFor(chatRoomId));
+            if (wanted) {
+                containerProvider.getObject().addMessageListener(subscriberProvider.getObject(), topic);
+                subscribedRooms.add(chatRoomId);
+                logger.debug("[ROOM_CHANNEL] subscribe chatRoomId={}", chatRoomId);
+            } else {
+                subscribedRooms.remove(chatRoomId);
+                containerProvider.getObject().removeMessageListener(subscriberProvider.getObject(), topic);
+                logger.debug("[ROOM_CHANNEL] unsubscribe chatRoomId={}", chatRoomId);
+            }
+            // 구독 시작: 구독 밖에서 적재된 스냅샷은 그 사이 메시지를 못 받았을 수 있음
+            // 구독 해제: 이제 이 방 메시지를 못 받음 → 캐시를 남겨두면 stale
+            recentMessageCache.evictLocal(chatRoomId);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.kinover_backend.redis;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 클러스터 전체 /chat 접속 디렉터리 (Redis).
+ * - ws:node:{nodeId}   : 노드 생존 키 (TTL, heartbeat 마다 갱신)
+ * - ws:user:{userId}   : 유저가 접속한 nodeId set (TTL, heartbeat 마다 갱신)
+ * 노드가 죽으면 생존 키가 만료되므로, 조회 시 살아있는 노드만 인정한다.
+ * 푸시 여부(어느 노드에도 접속 안 했을 때만)와 수신 노드 판단에 사용.
+ */
+@Component
+public class ChatSessionDirectory {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatSessionDirectory.class);
+
+    private static final String NODE_KEY_PREFIX = "ws:node:";
+    private static final String USER_KEY_PREFIX = "ws:user:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String nodeId;
+    private final Duration ttl;
+
+    // 이 노드에 /chat 세션이 하나 이상 있는 유저
+    private final Set<Long> localUsers = ConcurrentHashMap.newKeySet();
+
+    public ChatSessionDirectory(StringRedisTemplate redisTemplate,
+                                @Value("${chat.node-id:}") String nodeId,
+                                @Value("${chat.session-directory.ttl-seconds:90}") long ttlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.nodeId = (nodeId == null || nodeId.isBlank()) ? defaultNodeId() : nodeId;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    // =========================
+    // 등록/해제 (WebSocketMessageHandler)
+    // =========================
+
+    public void register(Long userId) {
+        if (userId == null) return;
+        localUsers.add(userId);
+        try {
+            redisTemplate.opsForSet().add(userKey(userId), nodeId);
+            redisTemplate.expire(userKey(userId), ttl);
+            redisTemplate.opsForValue().set(nodeKey(nodeId), "1", ttl);
+        } catch (Exception e) {
+            logger.warn("[SESSION_DIR] register failed userId={}, err={}", userId, e.toString());
+        }
+    }
+
+    public void unregister(Long userId) {
+        if (userId == null) return;
+        localUsers.remove(userId);
+        try {
+            redisTemplate.opsForSet().remove(userKey(userId), nodeId);
+        } catch (Exception e) {
+            logger.warn("[SESSION_DIR] unregister failed userId={}, err={}", userId, e.toString());
+        }
+    }
+
+    // =========================
+    // 조회
+    // =========================
+
+    /** userId → 접속 중인 (살아있는) nodeId 들. 접속 안 한 유저는 결과에 없음 (Redis 왕복 2회) */
+    public Map<Long, Set<String>> findNodes(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) return Map.of();
+        List<Long> ids = userIds.stream().filter(Objects::nonNull).distinct().toList();
+
+        List<Object> memberSets = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection c = (StringRedisConnection) connection;
+            for (Long id : ids) {
+                c.sMembers(userKey(id));
+            }
+            return null;
+        });
+
+        Map<Long, Set<String>> nodesByUser = new HashMap<>();
+        Set<String> allNodes = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Object raw = memberSets.get(i);
+            if (!(raw instanceof Set<?> set) || set.isEmpty()) continue;
+            Set<String> nodes = new HashSet<>();
+            for (Object node : set) {
+                nodes.add(node.toString());
+            }
+            nodesByUser.put(ids.get(i), nodes);
+            allNodes.addAll(nodes);
+        }
+        if (allNodes.isEmpty()) return Map.of();
+
+        List<String> nodeList = new ArrayList<>(allNodes);
+        List<String> alive = redisTemplate.opsForValue().multiGet(nodeList.stream().map(ChatSessionDirectory::nodeKey).toList());
+        Set<String> aliveNodes = new HashSet<>();
+        for (int i = 0; i < nodeList.size(); i++) {
+            if (alive != null && alive.get(i) != null) aliveNodes.add(nodeList.get(i));
+        }
+
+        Map<Long, Set<String>> out = new HashMap<>();
+        nodesByUser.forEach((userId, nodes) -> {
+            nodes.retainAll(aliveNodes);
+            if (!nodes.isEmpty()) out.put(userId, nodes);
+        });
+        return out;
+    }
+
+    /** 어느 노드든 /chat 에 접속 중인 유저 */
+    public Set<Long> findOnlineUserIds(Collection<Long> userIds) {
+        try {
+            return findNodes(userIds).keySet();
+        } catch (Exception e) {
+            // 디렉터리 장애 시 전원 오프라인 취급 (푸시가 빠지는 것보다 중복이 낫다)
+            logger.warn("[SESSION_DIR] lookup failed err={}", e.toString());
+            return Set.of();
+        }
+    }
+
+    // =========================
+    // heartbeat / 종료
+    // =========================
+
+    @Scheduled(fixedDelayString = "${chat.session-directory.heartbeat-ms:30000}")
+    public void heartbeat() {
+        try {
+            List<Long> users = new ArrayList<>(localUsers);
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection c = (StringRedisConnection) connection;
+                c.setEx(nodeKey(nodeId), ttl.getSeconds(), "1");
+                for (Long userId : users) {
+                    // 만료됐다가 다시 살아나는 경우도 있으니 add + expire
+                    c.sAdd(userKey(userId), nodeId);
+                    c.expire(userKey(userId), ttl.getSeconds());
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            logger.warn("[SESSION_DIR] heartbeat failed users={}, err={}", localUsers.size(), e.toString());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            List<Long> users = new ArrayList<>(localUsers);
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection c = (StringRedisConnection) connection;
+                for (Long userId : users) {
+                    c.sRem(userKey(userId), nodeId);
+                }
+                c.del(nodeKey(nodeId));
+                return null;
+            });
+        } catch (Exception e) {
+            logger.warn("[SESSION_DIR] shutdown cleanup failed err={}", e.toString());
+        }
+    }
+
+    private static String userKey(Long userId) {
+        return USER_KEY_PREFIX + userId;
+    }
+
+    private static String nodeKey(String nodeId) {
+        return NODE_KEY_PREFIX + nodeId;
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.kinover_backend.redis;
+
+import com.example.kinover_backend.service.KinoHistoryWindow;
+import com.example.kinover_backend.service.RecentMessageCache;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * chat:recent:invalidate 수신 → 이 노드의 최근 메시지 캐시 / 키노 대화 창에서 해당 방 제거
+ */
+@Component
+@RequiredArgsConstructor
+public class RecentMessageInvalidationSubscriber implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecentMessageInvalidationSubscriber.class);
+
+    private final RecentMessageCache recentMessageCache;
+    private final KinoHistoryWindow kinoHistoryWindow;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            UUID chatRoomId = UUID.fromString(new String(message.getBody(), StandardCharsets.UTF_8).trim());
+            recentMessageCache.evictLocal(chatRoomId);
+            kinoHistoryWindow.evictLocal(chatRoomId);
+        } catch (Exception e) {
+            logger.warn("[RECENT_CACHE] invalidate message failed body={}",
+                    new String(message.getBody(), StandardCharsets.UTF_8), e);
+        }
+    }
+}
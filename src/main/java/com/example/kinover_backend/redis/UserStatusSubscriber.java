@@ -2,6 +2,7 @@ package com.example.kinover_backend.redis;
 
 import com.example.kinover_backend.dto.UserStatusDTO;
 import com.example.kinover_backend.websocket.WebSocketFamilyStatusHandler;
+import com.example.kinover_backend.websocket.WebSocketOutbound;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -21,12 +23,13 @@ public class UserStatusSubscriber implements MessageListener {
 
     private final ObjectMapper objectMapper;
     private final WebSocketFamilyStatusHandler webSocketFamilyStatusHandler;
+    private final WebSocketOutbound outbound;
 
     @Override
     public void onMessage(Message message, byte[] pattern) {
         try {
-            String json = new String(message.getBody());
-            String channel = new String(message.getChannel()); // 실제 발행된 채널명
+            String json = new String(message.getBody(), StandardCharsets.UTF_8);
+            String channel = new String(message.getChannel(), StandardCharsets.UTF_8); // 실제 발행된 채널명
             System.out.println("Redis channel: " + channel);
             System.out.println("Subscribed pattern: " + new String(pattern)); // 항상 family:status:*
 
@@ -55,7 +58,7 @@ public class UserStatusSubscriber implements MessageListener {
             for (WebSocketSession session : sessions) {
                 if (session.isOpen()) {
                     System.out.println("세션에 메시지 전송: " + session.getId());
-                    session.sendMessage(messageToSend);
+                    outbound.send(session, messageToSend); // 큐에 넣고 바로 리턴 (느린 세션이 다른 세션을 막지 않음)
                 } else {
                     System.out.println("세션 닫힘: " + session.getId());
                 }
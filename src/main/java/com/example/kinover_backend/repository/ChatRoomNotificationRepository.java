@@ -4,13 +4,30 @@ import com.example.kinover_backend.entity.ChatRoom;
 import com.example.kinover_backend.entity.ChatRoomNotificationSetting;
 import com.example.kinover_backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface ChatRoomNotificationRepository extends JpaRepository<ChatRoomNotificationSetting, Long> {
     Optional<ChatRoomNotificationSetting> findByUserAndChatRoom(User user, ChatRoom chatRoom);
     Optional<ChatRoomNotificationSetting> findByUser_UserIdAndChatRoom_ChatRoomId(Long userId, UUID chatRoomId);
+
+    // ✅ 채팅방 목록용: 내 알림 설정을 여러 방에 대해 한 번에
+    @Query("""
+        select s
+        from ChatRoomNotificationSetting s
+        join fetch s.user u
+        join fetch s.chatRoom cr
+        where u.userId = :userId
+          and cr.chatRoomId in :chatRoomIds
+    """)
+    List<ChatRoomNotificationSetting> findByUserIdAndChatRoomIds(@Param("userId") Long userId,
+                                                                @Param("chatRoomIds") Collection<UUID> chatRoomIds);
+
     long deleteByUser_UserId(Long userId);
     long deleteByUser_UserIdAndChatRoom_ChatRoomId(Long userId, UUID chatRoomId);
     long deleteByChatRoom_ChatRoomId(UUID chatRoomId);
@@ -2,11 +2,15 @@
 package com.example.kinover_backend.repository;
 
 import com.example.kinover_backend.entity.ChatRoom;
+import com.example.kinover_backend.enums.MessageType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.*;
 
 @Repository
@@ -38,16 +42,66 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, UUID> {
     Set<UUID> findChatRoomIdsByUserAndFamily(@Param("userId") Long userId,
                                             @Param("familyId") UUID familyId);
 
-    // (2) chatRoomIds로 방 + 멤버(ucr) + 유저까지 한 번에 fetch
+    // (2) chatRoomIds로 방 + 가족 + 멤버(ucr) + 유저까지 한 번에 fetch
     @Query("""
         select distinct cr
         from ChatRoom cr
+        left join fetch cr.family f
         join fetch cr.userChatRooms ucr
         join fetch ucr.user u
         where cr.chatRoomId in :chatRoomIds
     """)
     List<ChatRoom> findByChatRoomIdInWithMembers(@Param("chatRoomIds") Set<UUID> chatRoomIds);
    
+    // =========================
+    // ✅ 최신 메시지 스냅샷
+    // =========================
+
+    // 더 최신(또는 같은 시각) 메시지일 때만 갱신 → 동시 저장돼도 역행하지 않음
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        update ChatRoom cr
+           set cr.lastMessagePreview = :preview,
+               cr.lastMessageType = :type,
+               cr.lastMessageAt = :at,
+               cr.lastMessageSenderId = :senderId
+         where cr.chatRoomId = :chatRoomId
+           and (cr.lastMessageAt is null or cr.lastMessageAt <= :at)
+    """)
+    int updateLastMessageIfLater(@Param("chatRoomId") UUID chatRoomId,
+                                 @Param("preview") String preview,
+                                 @Param("type") MessageType type,
+                                 @Param("at") LocalDateTime at,
+                                 @Param("senderId") Long senderId);
+
+    // 스냅샷 도입 전 방들 (메시지는 있는데 스냅샷이 비어 있는 방) → 백필 대상
+    @Query("""
+        select cr.chatRoomId
+        from ChatRoom cr
+        where cr.lastMessageAt is null
+          and exists (select 1 from Message m where m.chatRoom = cr)
+    """)
+    List<UUID> findChatRoomIdsMissingLastMessage();
+
+    // ✅ 메시지 순번 할당: 방 row를 잠그고 +1 → 같은 트랜잭션에서 findLastSeq로 읽음
+    //    (트랜잭션 끝날 때까지 같은 방 insert가 직렬화되어 순번이 커밋 순서와 일치)
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("update ChatRoom cr set cr.lastSeq = cr.lastSeq + 1 where cr.chatRoomId = :chatRoomId")
+    int incrementLastSeq(@Param("chatRoomId") UUID chatRoomId);
+
+    @Query("select cr.lastSeq from ChatRoom cr where cr.chatRoomId = :chatRoomId")
+    Optional<Long> findLastSeq(@Param("chatRoomId") UUID chatRoomId);
+
+    @Query("select cr.chatRoomId as chatRoomId, cr.lastSeq as lastSeq from ChatRoom cr where cr.chatRoomId in :chatRoomIds")
+    List<LastSeqView> findLastSeqs(@Param("chatRoomIds") Collection<UUID> chatRoomIds);
+
+    interface LastSeqView {
+        UUID getChatRoomId();
+        long getLastSeq();
+    }
+
     Optional<ChatRoom> findFirstByFamily_FamilyIdAndIsKinoTrueAndFamilyType(UUID familyId, String familyType);
 
 }
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -28,19 +29,12 @@ public interface CommentRepository extends JpaRepository<Comment, UUID> {
         left join c.author a
         where c.post.postId = :postId
           and (c.hidden is null or c.hidden = false)
-          and (
-            :viewerId is null
-            or not exists (
-              select 1 from UserBlock ub
-              where ub.blocker.userId = :viewerId
-                and ub.blocked.userId = a.userId
-            )
-          )
+          and (a is null or a.userId not in :blockedIds)
         order by c.createdAt asc
     """)
     List<CommentDTO> findCommentDtosByPostIdVisibleForViewerOrderByCreatedAtAsc(
             @Param("postId") UUID postId,
-            @Param("viewerId") Long viewerId
+            @Param("blockedIds") Collection<Long> blockedIds
     );
 
     // ✅ 해당 게시글에 댓글 단 사람들(중복 제거)
@@ -0,0 +1,74 @@
+package com.example.kinover_backend.repository;
+
+import com.example.kinover_backend.entity.KinoRoomSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface KinoRoomSummaryRepository extends JpaRepository<KinoRoomSummary, UUID> {
+
+    // ✅ 첫 요약 (version 1). 이미 있으면 0 → 다른 압축이 먼저 저장한 것
+    @Transactional
+    @Modifying
+    @Query(value = """
+        insert ignore into kino_room_summary
+            (chat_room_id, summary, watermark_seq, watermark_message_id, version, updated_at)
+        values (:chatRoomId, :summary, :watermarkSeq, :watermarkMessageId, 1, :updatedAt)
+    """, nativeQuery = true)
+    int insertIfAbsent(@Param("chatRoomId") UUID chatRoomId,
+                       @Param("summary") String summary,
+                       @Param("watermarkSeq") long watermarkSeq,
+                       @Param("watermarkMessageId") UUID watermarkMessageId,
+                       @Param("updatedAt") LocalDateTime updatedAt);
+
+    // ✅ 요약 갱신: 읽어 간 version 그대로일 때만 (동시 압축/재시도는 0 → 반영 안 함), watermark 는 앞으로만
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        update KinoRoomSummary s
+           set s.summary = :summary,
+               s.watermarkSeq = :watermarkSeq,
+               s.watermarkMessageId = :watermarkMessageId,
+               s.version = s.version + 1,
+               s.updatedAt = :updatedAt
+         where s.chatRoomId = :chatRoomId
+           and s.version = :expectedVersion
+           and s.watermarkSeq < :watermarkSeq
+    """)
+    int advance(@Param("chatRoomId") UUID chatRoomId,
+                @Param("expectedVersion") long expectedVersion,
+                @Param("summary") String summary,
+                @Param("watermarkSeq") long watermarkSeq,
+                @Param("watermarkMessageId") UUID watermarkMessageId,
+                @Param("updatedAt") LocalDateTime updatedAt);
+
+    // ✅ 성격 변경(메시지 전체 삭제) 시: 행은 남기고 빈 요약 + 현재 순번 워터마크, version +1
+    //    (진행 중이던 압축은 insertIfAbsent/advance 둘 다 0 → 지운 대화 요약이 되살아나지 않음)
+    @Transactional
+    @Modifying
+    @Query(value = """
+        insert into kino_room_summary
+            (chat_room_id, summary, watermark_seq, watermark_message_id, version, updated_at)
+        values (:chatRoomId, '', :watermarkSeq, null, 1, :updatedAt)
+        on duplicate key update
+            summary = '',
+            watermark_seq = greatest(watermark_seq, values(watermark_seq)),
+            watermark_message_id = null,
+            version = version + 1,
+            updated_at = values(updated_at)
+    """, nativeQuery = true)
+    int resetToMarker(@Param("chatRoomId") UUID chatRoomId,
+                      @Param("watermarkSeq") long watermarkSeq,
+                      @Param("updatedAt") LocalDateTime updatedAt);
+
+    // ✅ 방 삭제 시
+    @Transactional
+    @Modifying
+    @Query("delete from KinoRoomSummary s where s.chatRoomId = :chatRoomId")
+    int deleteByChatRoomId(@Param("chatRoomId") UUID chatRoomId);
+}
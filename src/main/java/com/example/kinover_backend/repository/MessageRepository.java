@@ -12,6 +12,7 @@ import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -28,35 +29,122 @@ public interface MessageRepository extends JpaRepository<Message, UUID> {
 
     void deleteByChatRoom(ChatRoom chatRoom);
 
+    // ✅ 히스토리 keyset 페이징: 방별 seq 커서, Slice라 count 쿼리 없음
+    //    uk_message_room_seq(chat_room_id, seq)로 어느 페이지든 같은 비용
+    //    blockedIds = 조회자가 차단한 유저 (BlockGraph.Blocked#asQueryParam, 행마다 차단 서브쿼리 없음)
     @Query("""
             select m from Message m
             where m.chatRoom.chatRoomId = :chatRoomId
-              and m.createdAt < :before
               and (m.hidden is null or m.hidden = false)
-              and not exists (
-                select 1 from UserBlock ub
-                where ub.blocker.userId = :viewerId
-                  and ub.blocked.userId = m.sender.userId
-              )
-            order by m.createdAt desc
+              and m.sender.userId not in :blockedIds
+            order by m.seq desc
         """)
-    Page<Message> findVisibleForViewerBefore(
+    Slice<Message> findVisibleForViewerLatest(
             @Param("chatRoomId") UUID chatRoomId,
-            @Param("before") LocalDateTime before,
-            @Param("viewerId") Long viewerId,
+            @Param("blockedIds") Collection<Long> blockedIds,
+            Pageable pageable
+    );
+
+    @Query("""
+            select m from Message m
+            where m.chatRoom.chatRoomId = :chatRoomId
+              and m.seq < :seq
+              and (m.hidden is null or m.hidden = false)
+              and m.sender.userId not in :blockedIds
+            order by m.seq desc
+        """)
+    Slice<Message> findVisibleForViewerBefore(
+            @Param("chatRoomId") UUID chatRoomId,
+            @Param("seq") long seq,
+            @Param("blockedIds") Collection<Long> blockedIds,
             Pageable pageable
     );
 
+    @Query("""
+            select m from Message m
+            where m.chatRoom.chatRoomId = :chatRoomId
+              and m.seq > :seq
+              and (m.hidden is null or m.hidden = false)
+              and m.sender.userId not in :blockedIds
+            order by m.seq asc
+        """)
+    Slice<Message> findVisibleForViewerAfter(
+            @Param("chatRoomId") UUID chatRoomId,
+            @Param("seq") long seq,
+            @Param("blockedIds") Collection<Long> blockedIds,
+            Pageable pageable
+    );
+
+    // ✅ 최근 메시지 캐시 적재용: 숨김만 제외한 최신 N건 (sender는 fetch join, 뷰어별 차단 필터는 캐시에서)
+    @Query("""
+            select m from Message m
+            join fetch m.sender s
+            join fetch m.chatRoom cr
+            where cr.chatRoomId = :chatRoomId
+              and (m.hidden is null or m.hidden = false)
+            order by m.seq desc
+        """)
+    List<Message> findRecentVisible(@Param("chatRoomId") UUID chatRoomId, Pageable pageable);
+
+    // ✅ 키노 대화 창 적재용: 엔티티 없이 (보낸 사람, 본문, 순번)만 최신 N건
+    @Query("""
+            select m.messageId as messageId, m.sender.userId as senderId, m.content as content, m.seq as seq
+            from Message m
+            where m.chatRoom.chatRoomId = :chatRoomId
+              and (m.hidden is null or m.hidden = false)
+            order by m.seq desc
+        """)
+    List<TurnView> findRecentTurns(@Param("chatRoomId") UUID chatRoomId, Pageable pageable);
+
+    // ✅ 키노 요약 압축용: (afterSeq, uptoSeq] 구간을 오래된 → 최신 순으로 N건
+    @Query("""
+            select m.messageId as messageId, m.sender.userId as senderId, m.content as content, m.seq as seq
+            from Message m
+            where m.chatRoom.chatRoomId = :chatRoomId
+              and m.seq > :afterSeq
+              and m.seq <= :uptoSeq
+              and (m.hidden is null or m.hidden = false)
+            order by m.seq asc
+        """)
+    List<TurnView> findTurnsBetween(@Param("chatRoomId") UUID chatRoomId,
+                                    @Param("afterSeq") long afterSeq,
+                                    @Param("uptoSeq") long uptoSeq,
+                                    Pageable pageable);
+
+    interface TurnView {
+        UUID getMessageId();
+        Long getSenderId();
+        String getContent();
+        Long getSeq();
+    }
+
     Optional<Message> findTopByChatRoom_ChatRoomIdOrderByCreatedAtDesc(UUID chatRoomId);
 
-    // ✅ unreadCount: lastReadAt이 null일 때(혹은 전체 count 필요할 때)
-    int countByChatRoom_ChatRoomIdAndSender_UserIdNot(UUID chatRoomId, Long senderUserId);
+    // ✅ 레거시 읽음(lastReadAt) → 그 시각까지의 마지막 순번 (idx_message_room_created 역방향 1건)
+    //    created_at 은 초 단위라 같은 초 메시지가 여럿일 수 있음 → 그중 가장 큰 seq (임의의 UUID 로 고르지 않음)
+    @Query("""
+            select m.seq from Message m
+            where m.chatRoom.chatRoomId = :chatRoomId
+              and m.createdAt <= :at
+            order by m.createdAt desc, m.seq desc
+        """)
+    List<Long> findSeqAtOrBefore(@Param("chatRoomId") UUID chatRoomId,
+                                 @Param("at") LocalDateTime at,
+                                 Pageable pageable);
 
-    // ✅ unreadCount: lastReadAt 이후만
-    int countByChatRoom_ChatRoomIdAndCreatedAtAfterAndSender_UserIdNot(
-            UUID chatRoomId,
-            LocalDateTime after,
-            Long senderUserId);
+    // ✅ 채팅방 목록: 방별 최신 메시지를 한 번에 (동일 createdAt이면 여러 건 나올 수 있음 → 서비스에서 1건만 사용)
+    @Query("""
+            select m
+            from Message m
+            join fetch m.sender s
+            join fetch m.chatRoom cr
+            where cr.chatRoomId in :chatRoomIds
+              and m.createdAt = (
+                select max(m2.createdAt) from Message m2
+                where m2.chatRoom.chatRoomId = cr.chatRoomId
+              )
+        """)
+    List<Message> findLatestByChatRoomIds(@Param("chatRoomIds") Collection<UUID> chatRoomIds);
 
     // ✅ 미디어 조회: sender/chatRoom까지 fetch join 해서 N+1 방지
     @Query("""
@@ -68,17 +156,13 @@ public interface MessageRepository extends JpaRepository<Message, UUID> {
               and m.messageType in :types
               and (:before is null or m.createdAt < :before)
               and (m.hidden is null or m.hidden = false)
-              and not exists (
-                select 1 from UserBlock ub
-                where ub.blocker.userId = :viewerId
-                  and ub.blocked.userId = s.userId
-              )
+              and s.userId not in :blockedIds
             order by m.createdAt desc
         """)
     List<Message> findMediaMessagesVisibleForViewerBefore(
             @Param("chatRoomId") UUID chatRoomId,
             @Param("types") List<MessageType> types,
             @Param("before") LocalDateTime before,
-            @Param("viewerId") Long viewerId,
+            @Param("blockedIds") Collection<Long> blockedIds,
             Pageable pageable);
 }
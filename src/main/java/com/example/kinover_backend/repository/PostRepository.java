@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -17,16 +18,12 @@ public interface PostRepository extends JpaRepository<Post, UUID> {
         left join fetch p.images i
         where p.family.familyId = :familyId
           and (p.hidden is null or p.hidden = false)
-          and not exists (
-            select 1 from UserBlock ub
-            where ub.blocker.userId = :viewerId
-              and ub.blocked.userId = p.author.userId
-          )
+          and p.author.userId not in :blockedIds
         order by p.createdAt desc
     """)
     List<Post> findByFamilyWithImagesVisibleForViewerOrderByCreatedAtDesc(
             @Param("familyId") UUID familyId,
-            @Param("viewerId") Long viewerId
+            @Param("blockedIds") Collection<Long> blockedIds
     );
 
     // ✅ family + category 기준: posts + images 한 번에 로딩
@@ -37,17 +34,13 @@ public interface PostRepository extends JpaRepository<Post, UUID> {
         where p.family.familyId = :familyId
           and p.category.categoryId = :categoryId
           and (p.hidden is null or p.hidden = false)
-          and not exists (
-            select 1 from UserBlock ub
-            where ub.blocker.userId = :viewerId
-              and ub.blocked.userId = p.author.userId
-          )
+          and p.author.userId not in :blockedIds
         order by p.createdAt desc
     """)
     List<Post> findByFamilyAndCategoryWithImagesVisibleForViewerOrderByCreatedAtDesc(
             @Param("familyId") UUID familyId,
             @Param("categoryId") UUID categoryId,
-            @Param("viewerId") Long viewerId
+            @Param("blockedIds") Collection<Long> blockedIds
     );
 
     // ✅ 추가: 특정 카테고리에 속한 게시글 개수 세기
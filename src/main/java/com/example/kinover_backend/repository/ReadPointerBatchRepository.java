@@ -0,0 +1,81 @@
+package com.example.kinover_backend.repository;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * 읽음 포인터 일괄 전진 (JDBC batch 1회).
+ * updateReadPointerIfLater 와 같은 규칙: read_seq는 커질 때만, last_read_at은 최대값 유지.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReadPointerBatchRepository {
+
+    private static final String ADVANCE_SQL = """
+            UPDATE user_chat_room
+               SET read_seq = ?,
+                   last_read_at = CASE WHEN last_read_at IS NULL OR last_read_at < ? THEN ? ELSE last_read_at END
+             WHERE chat_room_id = ?
+               AND user_id = ?
+               AND read_seq < ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** @return 항목별 갱신 row 수 (드라이버가 모르면 Statement.SUCCESS_NO_INFO) */
+    public int[] advanceReadPointers(List<Advance> advances) {
+        if (advances.isEmpty()) return new int[0];
+
+        List<Object[]> args = new ArrayList<>(advances.size());
+        for (Advance a : advances) {
+            Timestamp readAt = Timestamp.valueOf(a.getReadAt());
+            args.add(new Object[]{
+                    a.getReadSeq(), readAt, readAt, a.getChatRoomId().toString(), a.getUserId(), a.getReadSeq()});
+        }
+        return jdbcTemplate.batchUpdate(ADVANCE_SQL, args);
+    }
+
+    /** 현재 read_seq 일괄 조회 (batch 결과가 SUCCESS_NO_INFO 인 항목 확인용, uk (chat_room_id, user_id)) */
+    public List<ReadPointer> findReadPointers(List<Advance> advances) {
+        if (advances.isEmpty()) return List.of();
+
+        StringJoiner pairs = new StringJoiner(", ");
+        List<Object> args = new ArrayList<>(advances.size() * 2);
+        for (Advance a : advances) {
+            pairs.add("(?, ?)");
+            args.add(a.getChatRoomId().toString());
+            args.add(a.getUserId());
+        }
+        return jdbcTemplate.query(
+                "SELECT chat_room_id, user_id, read_seq FROM user_chat_room WHERE (chat_room_id, user_id) IN (" + pairs + ")",
+                (rs, rowNum) -> new ReadPointer(
+                        UUID.fromString(rs.getString("chat_room_id")), rs.getLong("user_id"), rs.getLong("read_seq")),
+                args.toArray());
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Advance {
+        private final UUID chatRoomId;
+        private final Long userId;
+        private final long readSeq;
+        private final LocalDateTime readAt;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static final class ReadPointer {
+        private final UUID chatRoomId;
+        private final Long userId;
+        private final long readSeq;
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -33,21 +34,13 @@ public interface ScheduleRepository extends JpaRepository<Schedule, UUID> {
             or s.type in ('FAMILY', 'ANNIVERSARY')
             or p.userId = :userId
           )
-          and (
-            :viewerId is null
-            or s.createdBy is null
-            or not exists (
-              select 1 from UserBlock ub
-              where ub.blocker.userId = :viewerId
-                and ub.blocked.userId = s.createdBy.userId
-            )
-          )
+          and (s.createdBy is null or s.createdBy.userId not in :blockedIds)
         """)
     List<Schedule> findVisibleSchedulesByFilter(
         @Param("familyId") UUID familyId,
         @Param("date") LocalDate date,
         @Param("userId") Long userId,
-        @Param("viewerId") Long viewerId
+        @Param("blockedIds") Collection<Long> blockedIds
     );
 
     List<Schedule> findByFamily_FamilyIdAndDateBetweenAndHiddenFalse(
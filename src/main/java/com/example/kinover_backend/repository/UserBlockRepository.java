@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -16,4 +17,13 @@ public interface UserBlockRepository extends JpaRepository<UserBlock, UUID> {
 
     @Query("select ub.blocked.userId from UserBlock ub where ub.blocker.userId = :blockerId")
     List<Long> findBlockedUserIdsByBlockerId(@Param("blockerId") Long blockerId);
+
+    // 차단 그래프 일괄 적재 (uk_blocks_blocker_blocked 앞부분으로 조회)
+    @Query("select ub.blocker.userId as blockerId, ub.blocked.userId as blockedId from UserBlock ub where ub.blocker.userId in :blockerIds")
+    List<BlockEdgeView> findEdgesByBlockerIds(@Param("blockerIds") Collection<Long> blockerIds);
+
+    interface BlockEdgeView {
+        Long getBlockerId();
+        Long getBlockedId();
+    }
 }
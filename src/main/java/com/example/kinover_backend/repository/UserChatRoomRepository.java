@@ -40,17 +40,61 @@ public interface UserChatRoomRepository extends JpaRepository<UserChatRoom, UUID
     @Query("SELECT DISTINCT ucr.chatRoom.chatRoomId FROM UserChatRoom ucr WHERE ucr.user.userId = :userId")
     List<UUID> findChatRoomIdsByUserId(@Param("userId") Long userId);
 
+    // ✅ 두 유저가 함께 속한 방 (탈퇴 시 유저-키노 1:1 방만 고르기)
+    @Query("""
+        SELECT DISTINCT mine.chatRoom.chatRoomId
+          FROM UserChatRoom mine, UserChatRoom other
+         WHERE mine.chatRoom.chatRoomId = other.chatRoom.chatRoomId
+           AND mine.user.userId = :userId
+           AND other.user.userId = :otherUserId
+    """)
+    List<UUID> findSharedChatRoomIds(@Param("userId") Long userId, @Param("otherUserId") Long otherUserId);
+
+    @Query("SELECT DISTINCT ucr.user.userId FROM UserChatRoom ucr")
+    List<Long> findDistinctUserIds();
+
+    // ✅ 읽음 포인터 전진 (역행 방지: readSeq가 커질 때만, lastReadAt도 max 유지)
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("""
         UPDATE UserChatRoom ucr
-           SET ucr.lastReadAt = :lastReadAt
+           SET ucr.readSeq = :readSeq,
+               ucr.lastReadAt = CASE
+                   WHEN ucr.lastReadAt IS NULL OR ucr.lastReadAt < :lastReadAt THEN :lastReadAt
+                   ELSE ucr.lastReadAt
+               END
          WHERE ucr.chatRoom.chatRoomId = :chatRoomId
            AND ucr.user.userId = :userId
-           AND (ucr.lastReadAt IS NULL OR ucr.lastReadAt < :lastReadAt)
+           AND ucr.readSeq < :readSeq
     """)
-    int updateLastReadAtIfLater(@Param("chatRoomId") UUID chatRoomId,
-                               @Param("userId") Long userId,
-                               @Param("lastReadAt") LocalDateTime lastReadAt);
+    int updateReadPointerIfLater(@Param("chatRoomId") UUID chatRoomId,
+                                 @Param("userId") Long userId,
+                                 @Param("readSeq") long readSeq,
+                                 @Param("lastReadAt") LocalDateTime lastReadAt);
+
+    // ✅ 방 메시지 일괄 삭제 후: 모든 멤버 포인터를 현재 순번으로
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+        UPDATE UserChatRoom ucr
+           SET ucr.readSeq = :readSeq
+         WHERE ucr.chatRoom.chatRoomId = :chatRoomId
+           AND ucr.readSeq < :readSeq
+    """)
+    int advanceAllReadPointers(@Param("chatRoomId") UUID chatRoomId, @Param("readSeq") long readSeq);
+
+    // ✅ unread 재구성: 방별 lastSeq - readSeq (메시지 테이블 스캔 없음), 기준 lastSeq 도 같이
+    @Query("""
+        SELECT ucr.chatRoom.chatRoomId AS chatRoomId, (cr.lastSeq - ucr.readSeq) AS unreadCount, cr.lastSeq AS lastSeq
+          FROM UserChatRoom ucr
+          JOIN ucr.chatRoom cr
+         WHERE ucr.user.userId = :userId
+    """)
+    List<UnreadCountView> findUnreadCountsByUserId(@Param("userId") Long userId);
+
+    interface UnreadCountView {
+        UUID getChatRoomId();
+        long getUnreadCount();
+        long getLastSeq();
+    }
 
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("""
@@ -0,0 +1,152 @@
+package com.example.kinover_backend.service;
+
+import com.example.kinover_backend.repository.UserBlockRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * 차단 그래프 (인스턴스 로컬): blockerId → 정렬된 long[] (차단한 userId)
+ * - 채팅 팬아웃/푸시/피드/댓글/캘린더의 차단 필터를 조회자당 1회 메모리 조회로
+ * - 차단/해제 시 invalidate → 커밋 후 Redis 채널로 다른 인스턴스까지 제거
+ * - 메트릭: user.block.graph{result=hit|miss}, user.block.graph.size
+ */
+@Component
+public class BlockGraph {
+
+    public static final String INVALIDATE_CHANNEL = "user:block:invalidate";
+
+    private static final long[] NONE = new long[0];
+    // JPQL "not in :blockedIds" 는 빈 목록을 못 받으므로, 차단이 없으면 존재할 수 없는 id 하나로 대신함
+    private static final List<Long> NO_BLOCKED_IDS = List.of(-1L);
+
+    private final UserBlockRepository userBlockRepository;
+    private final ClusterInvalidatedCache<Long, long[]> blocked;
+
+    public BlockGraph(UserBlockRepository userBlockRepository,
+                      StringRedisTemplate redisTemplate,
+                      MeterRegistry meterRegistry,
+                      @Value("${user.block-graph.max-users:50000}") int maxUsers,
+                      @Value("${user.block-graph.ttl-seconds:300}") long ttlSeconds) {
+        this.userBlockRepository = userBlockRepository;
+        this.blocked = new ClusterInvalidatedCache<>("user.block.graph", INVALIDATE_CHANNEL,
+                redisTemplate, meterRegistry, maxUsers, Duration.ofSeconds(ttlSeconds), Long::valueOf);
+    }
+
+    // =========================
+    // 조회
+    // =========================
+
+    /** blocker 가 blocked 를 차단했는지 */
+    public boolean isBlocked(Long blockerId, Long blockedId) {
+        if (blockerId == null || blockedId == null) return false;
+        return Arrays.binarySearch(load(blockerId), blockedId) >= 0;
+    }
+
+    /** 조회자가 차단한 유저들 (조회자당 1회 조회 후 목록 필터링에 사용) */
+    public Blocked blockedBy(Long viewerId) {
+        return new Blocked(viewerId == null ? NONE : load(viewerId));
+    }
+
+    /**
+     * 수신자 중 sender 를 차단하지 않은 사람만 (팬아웃/푸시용).
+     * 캐시에 없는 수신자는 쿼리 1회로 한꺼번에 적재.
+     */
+    public List<Long> withoutBlockersOf(Collection<Long> recipientIds, Long senderId) {
+        List<Long> out = new ArrayList<>(recipientIds.size());
+        if (senderId == null) {
+            out.addAll(recipientIds);
+            return out;
+        }
+        loadAll(recipientIds);
+        for (Long recipientId : recipientIds) {
+            if (!isBlocked(recipientId, senderId)) out.add(recipientId);
+        }
+        return out;
+    }
+
+    private long[] load(Long blockerId) {
+        long[] cached = blocked.get(blockerId);
+        if (cached != null) return cached;
+
+        long gen = blocked.generation();
+        long[] loaded = toSortedArray(userBlockRepository.findBlockedUserIdsByBlockerId(blockerId));
+        blocked.putIfCurrent(blockerId, loaded, gen);
+        return loaded;
+    }
+
+    private void loadAll(Collection<Long> blockerIds) {
+        List<Long> missing = blocked.missing(blockerIds);
+        if (missing.isEmpty()) return;
+
+        long gen = blocked.generation();
+        Map<Long, List<Long>> byBlocker = new HashMap<>();
+        for (UserBlockRepository.BlockEdgeView edge : userBlockRepository.findEdgesByBlockerIds(missing)) {
+            byBlocker.computeIfAbsent(edge.getBlockerId(), k -> new ArrayList<>()).add(edge.getBlockedId());
+        }
+
+        Map<Long, long[]> loaded = new HashMap<>();
+        for (Long id : missing) {
+            loaded.put(id, toSortedArray(byBlocker.getOrDefault(id, List.of())));
+        }
+        blocked.putAllIfCurrent(loaded, gen);
+    }
+
+    private static long[] toSortedArray(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) return NONE;
+        return ids.stream()
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+
+    // =========================
+    // 무효화
+    // =========================
+
+    /** 차단/해제: 지금 + 커밋 후 로컬 제거, 다른 인스턴스에도 전파 */
+    public void invalidate(Long blockerId) {
+        if (blockerId == null) return;
+        blocked.invalidate(List.of(blockerId));
+    }
+
+    public void evictLocal(Long blockerId) {
+        blocked.evictLocal(blockerId);
+    }
+
+    /** user:block:invalidate 수신: 로컬 제거 */
+    public void evictFromMessage(byte[] body) {
+        blocked.evictFromMessage(body);
+    }
+
+    /** 한 조회자의 차단 목록 (불변 스냅샷) */
+    public static final class Blocked {
+        private final long[] ids;
+
+        private Blocked(long[] ids) {
+            this.ids = ids;
+        }
+
+        public boolean contains(Long userId) {
+            return userId != null && Arrays.binarySearch(ids, userId) >= 0;
+        }
+
+        public boolean isEmpty() {
+            return ids.length == 0;
+        }
+
+        /** 리포지토리 "not in :blockedIds" 파라미터용 (비어 있으면 존재하지 않는 id 1개) */
+        public List<Long> asQueryParam() {
+            if (ids.length == 0) return NO_BLOCKED_IDS;
+            List<Long> out = new ArrayList<>(ids.length);
+            for (long id : ids) out.add(id);
+            return out;
+        }
+    }
+}
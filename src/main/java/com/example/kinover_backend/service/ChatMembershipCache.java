@@ -0,0 +1,92 @@
+package com.example.kinover_backend.service;
+
+import com.example.kinover_backend.repository.UserChatRoomRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * 채팅방 멤버 캐시 (인스턴스 로컬): chatRoomId → 정렬된 long[] (멤버 userId)
+ * - isMember / getMemberIds 를 매 메시지·팬아웃마다 DB로 보내지 않기 위함
+ * - 멤버 변경(생성/초대/나가기/탈퇴) 시 invalidate → 커밋 후 Redis 채널로 다른 인스턴스까지 제거
+ * - 메트릭: chat.membership.cache{result=hit|miss}, chat.membership.cache.size
+ */
+@Component
+public class ChatMembershipCache {
+
+    public static final String INVALIDATE_CHANNEL = "chat:membership:invalidate";
+
+    private final UserChatRoomRepository userChatRoomRepository;
+    private final ClusterInvalidatedCache<UUID, long[]> members;
+
+    public ChatMembershipCache(UserChatRoomRepository userChatRoomRepository,
+                               StringRedisTemplate redisTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${chat.membership-cache.max-rooms:10000}") int maxRooms,
+                               @Value("${chat.membership-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userChatRoomRepository = userChatRoomRepository;
+        this.members = new ClusterInvalidatedCache<>("chat.membership.cache", INVALIDATE_CHANNEL,
+                redisTemplate, meterRegistry, maxRooms, Duration.ofSeconds(ttlSeconds), UUID::fromString);
+    }
+
+    // =========================
+    // 조회
+    // =========================
+
+    public boolean isMember(UUID chatRoomId, Long userId) {
+        if (chatRoomId == null || userId == null) return false;
+        return Arrays.binarySearch(load(chatRoomId), userId) >= 0;
+    }
+
+    public List<Long> getMemberIds(UUID chatRoomId) {
+        if (chatRoomId == null) return List.of();
+        long[] ids = load(chatRoomId);
+        List<Long> out = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            out.add(id);
+        }
+        return out;
+    }
+
+    private long[] load(UUID chatRoomId) {
+        long[] cached = members.get(chatRoomId);
+        if (cached != null) return cached;
+
+        long gen = members.generation();
+        long[] loaded = userChatRoomRepository.findMemberIdsByChatRoomId(chatRoomId).stream()
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .sorted()
+                .distinct()
+                .toArray();
+        members.putIfCurrent(chatRoomId, loaded, gen);
+        return loaded;
+    }
+
+    // =========================
+    // 무효화
+    // =========================
+
+    /** 멤버 변경: 지금 + 커밋 후 로컬 제거, 다른 인스턴스에도 전파 */
+    public void invalidate(UUID chatRoomId) {
+        if (chatRoomId == null) return;
+        invalidate(List.of(chatRoomId));
+    }
+
+    public void invalidate(Collection<UUID> chatRoomIds) {
+        members.invalidate(chatRoomIds);
+    }
+
+    public void evictLocal(UUID chatRoomId) {
+        members.evictLocal(chatRoomId);
+    }
+
+    /** chat:membership:invalidate 수신: 로컬 제거 후 방 id 반환 */
+    public UUID evictFromMessage(byte[] body) {
+        return members.evictFromMessage(body);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.kinover_backend.service;
+
+import com.example.kinover_backend.entity.Message;
+import com.example.kinover_backend.repository.ChatRoomRepository;
+import com.example.kinover_backend.repository.MessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 최신 메시지 스냅샷 도입 전에 만들어진 방들을 기동 시 한 번 채운다.
+ * 채워진 뒤에는 대상 조회가 빈 결과라 사실상 비용 없음.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatRoomLastMessageBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatRoomLastMessageBackfill.class);
+    private static final int CHUNK_SIZE = 500;
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final MessageRepository messageRepository;
+    private final ChatRoomService chatRoomService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            List<UUID> missing = chatRoomRepository.findChatRoomIdsMissingLastMessage();
+            if (missing.isEmpty()) return;
+
+            for (int from = 0; from < missing.size(); from += CHUNK_SIZE) {
+                List<UUID> chunk = missing.subList(from, Math.min(from + CHUNK_SIZE, missing.size()));
+
+                Map<UUID, Message> latestByRoom = new HashMap<>();
+                for (Message message : messageRepository.findLatestByChatRoomIds(chunk)) {
+                    latestByRoom.putIfAbsent(message.getChatRoom().getChatRoomId(), message);
+                }
+                latestByRoom.values().forEach(chatRoomService::recordLastMessage);
+            }
+            logger.info("[LAST_MESSAGE] backfilled rooms={}", missing.size());
+        } catch (Exception e) {
+            logger.warn("[LAST_MESSAGE] backfill failed err={}", e.toString());
+        }
+    }
+}
@@ -6,18 +6,21 @@ import com.example.kinover_backend.entity.*;
 import com.example.kinover_backend.enums.ChatBotPersonality;
 import com.example.kinover_backend.enums.KinoType;
 import com.example.kinover_backend.enums.MessageType;
+import com.example.kinover_backend.redis.ChatEventStream;
+import com.example.kinover_backend.redis.ChatRoomSubscriptionRegistry;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.example.kinover_backend.repository.ChatRoomNotificationRepository;
 import com.example.kinover_backend.repository.ChatRoomRepository;
 import com.example.kinover_backend.repository.FamilyRepository;
 import com.example.kinover_backend.repository.MessageRepository;
-import com.example.kinover_backend.repository.UserBlockRepository;
 import com.example.kinover_backend.repository.UserChatRoomRepository;
 import com.example.kinover_backend.repository.UserRepository;
+import com.example.kinover_backend.util.ChatMessagePreview;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,19 +35,22 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ChatRoomService {
 
-    private static final String CHAT_MESSAGES_TOPIC = "chat:messages";
-
     private final ChatRoomRepository chatRoomRepository;
     private final FamilyRepository familyRepository;
     private final UserChatRoomRepository userChatRoomRepository;
     private final ChatRoomNotificationRepository chatRoomNotificationRepository;
     private final UserRepository userRepository;
-    private final UserBlockRepository userBlockRepository;
+    private final BlockGraph blockGraph;
     private final UserService userService;
     private final MessageRepository messageRepository;
     private final S3Service s3Service;
     private final StringRedisTemplate redisTemplate;
     private final ObjectMapper objectMapper;
+    private final ChatUnreadCounterService chatUnreadCounterService;
+    private final RecentMessageCache recentMessageCache;
+    private final ChatMembershipCache chatMembershipCache;
+    private final ChatEventStream chatEventStream;
+    private final KinoSummaryService kinoSummaryService;
 
     @Value("${cloudfront.domain}")
     private String cloudFrontDomain;
@@ -83,6 +89,7 @@ public class ChatRoomService {
 
             userChatRoomRepository.save(ucr);
         }
+        chatMembershipCache.invalidate(chatRoom.getChatRoomId());
 
         // ✅ 생성 직후: 유저별 기본 표시 이름 세팅 (나 제외한 멤버 이름 나열)
         List<UserDTO> members = getUsersByChatRoom(chatRoom.getChatRoomId());
@@ -101,8 +108,7 @@ public class ChatRoomService {
     // 멤버 체크
     // =========================
     public boolean isMember(UUID chatRoomId, Long userId) {
-        if (chatRoomId == null || userId == null) return false;
-        return userChatRoomRepository.existsByUser_UserIdAndChatRoom_ChatRoomId(userId, chatRoomId);
+        return chatMembershipCache.isMember(chatRoomId, userId);
     }
 
     // =========================
@@ -122,34 +128,16 @@ public class ChatRoomService {
 
         ChatRoomDTO dto = chatRoomMapper.toDTO(chatRoom);
 
-        // ✅ 최신 메시지
-        messageRepository.findTopByChatRoom_ChatRoomIdOrderByCreatedAtDesc(chatRoomId)
-                .ifPresent(message -> {
-                    if (message.getMessageType() == MessageType.text) {
-                        dto.setLatestMessageContent(message.getContent());
-                    } else if (message.getMessageType() == MessageType.image) {
-                        int count = (message.getContent() == null || message.getContent().isBlank())
-                                ? 0
-                                : message.getContent().split(",").length;
-                        dto.setLatestMessageContent("사진을 " + count + "장 보냈습니다.");
-                    } else if (message.getMessageType() == MessageType.video) {
-                        dto.setLatestMessageContent("동영상을 보냈습니다.");
-                    } else {
-                        dto.setLatestMessageContent("");
-                    }
-                    dto.setLatestMessageTime(message.getCreatedAt());
-                });
+        // ✅ 최신 메시지 (스냅샷)
+        applyLastMessageSnapshot(dto, chatRoom);
+        if (dto.getLatestMessageTime() != null && dto.getLatestMessageContent() == null) {
+            dto.setLatestMessageContent("");
+        }
 
         // ✅ 멤버 이미지
         List<String> images;
-        if (isKinoRoom(chatRoomId)) {
-            String suffix;
-            ChatBotPersonality personality = chatRoom.getPersonality();
-            if (personality == ChatBotPersonality.SERENE) suffix = "blueKino.png";
-            else if (personality == ChatBotPersonality.SNUGGLE) suffix = "pinkKino.png";
-            else suffix = "yellowKino.png";
-
-            images = List.of(cloudFrontDomain + suffix);
+        if (chatRoom.isKino()) {
+            images = List.of(kinoImageUrl(chatRoom.getPersonality()));
         } else {
             images = userChatRoomRepository.findUsersByChatRoomId(chatRoomId).stream()
                     .filter(u -> !u.getUserId().equals(userId))
@@ -166,21 +154,8 @@ public class ChatRoomService {
                 .orElse(true);
         dto.setNotificationOn(isNotificationOn);
 
-        // ✅ unreadCount
-        LocalDateTime lastReadAt = userChatRoomRepository
-                .findByUser_UserIdAndChatRoom_ChatRoomId(userId, chatRoomId)
-                .map(UserChatRoom::getLastReadAt)
-                .orElse(null);
-
-        int unread;
-        if (lastReadAt == null) {
-            unread = messageRepository.countByChatRoom_ChatRoomIdAndSender_UserIdNot(chatRoomId, userId);
-        } else {
-            unread = messageRepository.countByChatRoom_ChatRoomIdAndCreatedAtAfterAndSender_UserIdNot(
-                    chatRoomId, lastReadAt, userId
-            );
-        }
-        dto.setUnreadCount(Math.max(unread, 0));
+        // ✅ unreadCount (Redis 카운터)
+        dto.setUnreadCount((int) chatUnreadCounterService.getRoomCount(userId, chatRoomId));
 
         // ✅ 유저별 표시 이름 적용
         applyDisplayRoomName(dto, userId);
@@ -191,41 +166,57 @@ public class ChatRoomService {
     // =========================
     // WS 브로드캐스트용: 방 멤버 ID 리스트
     // =========================
-    @Transactional(readOnly = true)
     public List<Long> getMemberIds(UUID chatRoomId) {
-        return userChatRoomRepository.findMemberIdsByChatRoomId(chatRoomId);
+        return chatMembershipCache.getMemberIds(chatRoomId);
     }
 
     // =========================
-    // ✅ 특정 유저 lastReadAt
+    // ✅ 특정 유저 읽음 포인터 (마지막으로 읽은 순번, 멤버 아니면 null)
     // =========================
     @Transactional(readOnly = true)
-    public LocalDateTime getLastReadAt(UUID chatRoomId, Long userId) {
+    public Long getReadSeq(UUID chatRoomId, Long userId) {
         return userChatRoomRepository
                 .findByUser_UserIdAndChatRoom_ChatRoomId(userId, chatRoomId)
-                .map(UserChatRoom::getLastReadAt)
+                .map(UserChatRoom::getReadSeq)
                 .orElse(null);
     }
 
     // =========================
     // 읽음 처리 (역행 방지 max)
+    // - readSeq 우선, 없으면 lastReadAt 시각까지의 마지막 순번, 둘 다 없으면 방의 마지막 순번
+    // - 포인터가 전진했으면 true (호출측에서 room:read 브로드캐스트)
     // =========================
     @Transactional
-    public boolean markRead(UUID chatRoomId, Long userId, LocalDateTime lastReadAt) {
-        if (chatRoomId == null || userId == null || lastReadAt == null) {
-            throw new IllegalArgumentException("chatRoomId/userId/lastReadAt는 필수입니다.");
+    public boolean markRead(UUID chatRoomId, Long userId, Long readSeq, LocalDateTime lastReadAt) {
+        if (chatRoomId == null || userId == null) {
+            throw new IllegalArgumentException("chatRoomId/userId는 필수입니다.");
         }
         if (!isMember(chatRoomId, userId)) {
             throw new RuntimeException("해당 채팅방 멤버가 아닙니다.");
         }
 
-        int updated = userChatRoomRepository.updateLastReadAtIfLater(chatRoomId, userId, lastReadAt);
+        long lastSeq = chatRoomRepository.findLastSeq(chatRoomId).orElse(0L);
+        long targetSeq;
+        if (readSeq != null) {
+            targetSeq = Math.min(readSeq, lastSeq);
+        } else if (lastReadAt != null) {
+            targetSeq = messageRepository.findSeqAtOrBefore(chatRoomId, lastReadAt, PageRequest.of(0, 1))
+                    .stream().findFirst().orElse(0L);
+        } else {
+            targetSeq = lastSeq;
+        }
+
+        LocalDateTime readAt = (lastReadAt != null) ? lastReadAt : LocalDateTime.now();
+        int updated = userChatRoomRepository.updateReadPointerIfLater(chatRoomId, userId, targetSeq, readAt);
 
         if (updated == 0) {
             userChatRoomRepository.findByUser_UserIdAndChatRoom_ChatRoomId(userId, chatRoomId)
                     .orElseThrow(() -> new RuntimeException("읽음 처리 대상 row 없음"));
             return false;
         }
+
+        // ✅ 포인터가 전진했으면 이 방 unread 카운터를 새 포인터 기준으로 맞춤 (스캔 없이 순번 차)
+        chatUnreadCounterService.setRoomCount(userId, chatRoomId, lastSeq - targetSeq, lastSeq);
         return true;
     }
 
@@ -239,7 +230,8 @@ public class ChatRoomService {
         List<ReadPointersResponseDTO.Pointer> pointers = list.stream()
                 .map(ucr -> new ReadPointersResponseDTO.Pointer(
                         ucr.getUser().getUserId(),
-                        ucr.getLastReadAt()))
+                        ucr.getLastReadAt(),
+                        ucr.getReadSeq()))
                 .collect(Collectors.toList());
 
         return new ReadPointersResponseDTO(chatRoomId, pointers);
@@ -272,6 +264,7 @@ public class ChatRoomService {
 
         List<MessageDTO> joinMessages = new ArrayList<>();
         LocalDateTime joinedAt = LocalDateTime.now();
+        long joinedSeq = chatRoomRepository.findLastSeq(chatRoomId).orElse(0L);
 
         for (Long userId : newUserIds) {
             User user = userRepository.findById(userId)
@@ -281,13 +274,15 @@ public class ChatRoomService {
             ucr.setUser(user);
             ucr.setChatRoom(chatRoom);
 
-            // ✅ 신규 초대 정책
+            // ✅ 신규 초대 정책: 초대 시점까지는 읽음 (이후 입장 메시지로 본인 포인터 전진)
             ucr.setLastReadAt(joinedAt);
+            ucr.setReadSeq(joinedSeq);
 
             userChatRoomRepository.save(ucr);
 
             joinMessages.add(saveRoomJoinMessage(chatRoom, user, joinedAt));
         }
+        chatMembershipCache.invalidate(chatRoomId);
 
         int memberCount = userChatRoomRepository.countByChatRoom(chatRoom);
         chatRoom.setFamilyType(memberCount > 2 ? "family" : "personal");
@@ -296,8 +291,13 @@ public class ChatRoomService {
         // ✅ 멤버 변경 이후: 커스텀 이름 아닌 사람들만 기본 표시 이름 갱신
         refreshDisplayRoomNamesIfNotCustom(chatRoomId);
 
+        // 신규 멤버 포인터는 초대 시점 → 본인 입장 메시지까지라, 뒤에 초대된 사람의 입장 메시지는 DB 상 unread
+        // → 앞서 초대된 신규 멤버도 수신자에 넣어 Redis 카운터와 맞춤
+        List<Long> recipients = new ArrayList<>(existingUserIds);
         for (MessageDTO joinMessage : joinMessages) {
+            chatEventStream.append(joinMessage, List.copyOf(recipients));
             publishMessageAfterCommit(joinMessage);
+            recipients.add(joinMessage.getSenderId());
         }
 
         ChatRoomDTO dto = chatRoomMapper.toDTO(chatRoom);
@@ -308,6 +308,8 @@ public class ChatRoomService {
 
     // =========================
     // ✅ 특정 유저의 채팅방 목록 조회 (+ unreadCount)
+    // - 방 개수와 무관하게 고정된 쿼리 수로 조회 (방마다 최신 메시지/알림/unread 조회하던 N+1 제거)
+    //   (1) 내 chatRoomId  (2) 방+가족+멤버+유저(+최신 메시지 스냅샷)  (3) 알림 설정  + unreadCount는 Redis 카운터
     // =========================
     @Transactional(readOnly = true)
     public List<ChatRoomDTO> getAllChatRooms(Long userId, UUID familyId) {
@@ -317,37 +319,28 @@ public class ChatRoomService {
 
         List<ChatRoom> chatRooms = chatRoomRepository.findByChatRoomIdInWithMembers(chatRoomIds);
 
+        Map<UUID, Boolean> notificationOnByRoom = new HashMap<>();
+        for (ChatRoomNotificationSetting setting
+                : chatRoomNotificationRepository.findByUserIdAndChatRoomIds(userId, chatRoomIds)) {
+            notificationOnByRoom.put(setting.getChatRoom().getChatRoomId(), setting.isNotificationOn());
+        }
+
+        Map<UUID, Long> unreadByRoom = chatUnreadCounterService.getRoomCounts(userId);
+
         return chatRooms.stream().map(chatRoom -> {
+            UUID chatRoomId = chatRoom.getChatRoomId();
             ChatRoomDTO dto = chatRoomMapper.toDTO(chatRoom);
 
-            // ✅ 최신 메시지
-            messageRepository.findTopByChatRoom_ChatRoomIdOrderByCreatedAtDesc(chatRoom.getChatRoomId())
-                    .ifPresent(message -> {
-                        if (message.getMessageType() == MessageType.text) {
-                            dto.setLatestMessageContent(message.getContent());
-                        } else if (message.getMessageType() == MessageType.image) {
-                            int count = (message.getContent() == null || message.getContent().isBlank())
-                                    ? 0
-                                    : message.getContent().split(",").length;
-                            dto.setLatestMessageContent("사진을 " + count + "장 보냈습니다.");
-                        } else if (message.getMessageType() == MessageType.video) {
-                            dto.setLatestMessageContent("동영상을 보냈습니다.");
-                        }
-                        dto.setLatestMessageTime(message.getCreatedAt());
-                    });
+            // ✅ 최신 메시지 (스냅샷, Message 테이블 조회 없음)
+            applyLastMessageSnapshot(dto, chatRoom);
 
-            // ✅ 멤버 이미지
+            // ✅ 멤버 이미지 (fetch join 된 멤버 사용)
+            List<UserChatRoom> links = chatRoom.getUserChatRooms();
             List<String> images;
-            if (isKinoRoom(chatRoom.getChatRoomId())) {
-                String suffix;
-                ChatBotPersonality personality = chatRoom.getPersonality();
-                if (personality == ChatBotPersonality.SERENE) suffix = "blueKino.png";
-                else if (personality == ChatBotPersonality.SNUGGLE) suffix = "pinkKino.png";
-                else suffix = "yellowKino.png";
-
-                images = List.of(cloudFrontDomain + suffix);
+            if (chatRoom.isKino()) {
+                images = List.of(kinoImageUrl(chatRoom.getPersonality()));
             } else {
-                images = chatRoom.getUserChatRooms().stream()
+                images = links.stream()
                         .map(UserChatRoom::getUser)
                         .filter(u -> !u.getUserId().equals(userId))
                         .map(User::getImage)
@@ -357,30 +350,25 @@ public class ChatRoomService {
             dto.setMemberImages(images);
 
             // ✅ 알림 설정
-            boolean isNotificationOn = chatRoomNotificationRepository
-                    .findByUser_UserIdAndChatRoom_ChatRoomId(userId, chatRoom.getChatRoomId())
-                    .map(ChatRoomNotificationSetting::isNotificationOn)
-                    .orElse(true);
-            dto.setNotificationOn(isNotificationOn);
+            dto.setNotificationOn(notificationOnByRoom.getOrDefault(chatRoomId, true));
 
             // ✅ unreadCount
-            LocalDateTime lastReadAt = userChatRoomRepository
-                    .findByUser_UserIdAndChatRoom_ChatRoomId(userId, chatRoom.getChatRoomId())
-                    .map(UserChatRoom::getLastReadAt)
-                    .orElse(null);
+            dto.setUnreadCount((int) Math.max(unreadByRoom.getOrDefault(chatRoomId, 0L), 0L));
 
-            int unread;
-            if (lastReadAt == null) {
-                unread = messageRepository.countByChatRoom_ChatRoomIdAndSender_UserIdNot(
-                        chatRoom.getChatRoomId(), userId);
-            } else {
-                unread = messageRepository.countByChatRoom_ChatRoomIdAndCreatedAtAfterAndSender_UserIdNot(
-                        chatRoom.getChatRoomId(), lastReadAt, userId);
+            // ✅ 유저별 표시 이름 적용 (fetch join 된 멤버 기준, 추가 조회 없음)
+            String display = links.stream()
+                    .filter(ucr -> userId.equals(ucr.getUser().getUserId()))
+                    .map(UserChatRoom::getDisplayRoomName)
+                    .filter(Objects::nonNull)
+                    .findFirst()
+                    .orElse(null);
+            if (display == null || display.isBlank()) {
+                List<UserDTO> members = links.stream()
+                        .map(ucr -> new UserDTO(ucr.getUser()))
+                        .collect(Collectors.toList());
+                display = buildDefaultDisplayNameForUser(userId, members);
             }
-            dto.setUnreadCount(Math.max(unread, 0));
-
-            // ✅ 유저별 표시 이름 적용
-            applyDisplayRoomName(dto, userId);
+            dto.setRoomName(display);
 
             return dto;
         }).collect(Collectors.toList());
@@ -409,9 +397,9 @@ public class ChatRoomService {
         if (viewerUserId == null) {
             return all;
         }
+        BlockGraph.Blocked blocked = blockGraph.blockedBy(viewerUserId);
         return all.stream()
-                .filter(u -> u.getUserId() == null
-                        || !userBlockRepository.existsByBlocker_UserIdAndBlocked_UserId(viewerUserId, u.getUserId()))
+                .filter(u -> !blocked.contains(u.getUserId()))
                 .collect(Collectors.toList());
     }
 
@@ -474,6 +462,8 @@ public class ChatRoomService {
 
         chatRoomNotificationRepository.deleteByUser_UserIdAndChatRoom_ChatRoomId(userId, chatRoomId);
         userChatRoomRepository.deleteByUserAndChatRoom(user, chatRoom);
+        chatMembershipCache.invalidate(chatRoomId);
+        chatUnreadCounterService.setRoomCount(userId, chatRoomId, 0L, chatRoomRepository.findLastSeq(chatRoomId).orElse(0L));
 
         int remainingUsers = userChatRoomRepository.countByChatRoom(chatRoom);
 
@@ -499,7 +489,9 @@ public class ChatRoomService {
 
             messageRepository.deleteAll(messages);
             chatRoomNotificationRepository.deleteByChatRoom_ChatRoomId(chatRoomId);
+            kinoSummaryService.delete(chatRoomId);
             chatRoomRepository.delete(chatRoom);
+            recentMessageCache.invalidate(chatRoomId);
 
             for (String s3Key : s3KeysToDelete) {
                 s3Service.deleteImageFromS3(s3Key);
@@ -509,6 +501,7 @@ public class ChatRoomService {
             chatRoomRepository.save(chatRoom);
             refreshDisplayRoomNamesIfNotCustom(chatRoomId);
             MessageDTO leaveMessage = saveRoomLeaveMessage(chatRoom, user, leftAt);
+            chatEventStream.append(leaveMessage, getMemberIds(chatRoomId));
             publishMessageAfterCommit(leaveMessage);
         }
     }
@@ -527,6 +520,12 @@ public class ChatRoomService {
         ChatBotPersonality resolvedPersonality = KinoBotProfile.normalizePersonality(personality);
 
         messageRepository.deleteByChatRoom(chatRoom);
+        kinoSummaryService.reset(chatRoomId);
+        recentMessageCache.invalidate(chatRoomId);
+        // 순번은 되돌리지 않음(단조 증가 유지) → 지워진 메시지까지 전원 읽음 처리
+        long lastSeq = chatRoomRepository.findLastSeq(chatRoomId).orElse(0L);
+        userChatRoomRepository.advanceAllReadPointers(chatRoomId, lastSeq);
+        chatUnreadCounterService.resetRoom(chatRoomId, getMemberIds(chatRoomId), lastSeq);
 
         chatRoom.setPersonality(resolvedPersonality);
         chatRoom.setKinoType(KinoBotProfile.kinoTypeFor(resolvedPersonality));
@@ -568,6 +567,49 @@ public class ChatRoomService {
         return true;
     }
 
+    // =========================
+    // ✅ 메시지 저장 (일반 메시지 + 시스템 메시지 공통)
+    // - 방 순번 할당 → 저장 → 최신 메시지 스냅샷 → 보낸 사람 읽음 포인터 전진
+    // - 순번 할당 시 방 row 잠금이 트랜잭션 끝까지 유지되므로 반드시 트랜잭션 안에서 호출
+    // =========================
+    @Transactional
+    public Message appendMessage(Message message) {
+        UUID chatRoomId = message.getChatRoom().getChatRoomId();
+
+        chatRoomRepository.incrementLastSeq(chatRoomId);
+        long seq = chatRoomRepository.findLastSeq(chatRoomId)
+                .orElseThrow(() -> new IllegalArgumentException("ChatRoom not found: " + chatRoomId));
+        message.setSeq(seq);
+        if (message.getCreatedAt() == null) {
+            message.setCreatedAt(LocalDateTime.now());
+        }
+
+        Message saved = messageRepository.save(message);
+        recordLastMessage(saved);
+
+        // 내가 보낸 메시지까지는 읽은 것 → 내 unread 0
+        Long senderId = saved.getSender().getUserId();
+        if (userChatRoomRepository.updateReadPointerIfLater(chatRoomId, senderId, seq, saved.getCreatedAt()) > 0) {
+            chatUnreadCounterService.setRoomCount(senderId, chatRoomId, 0L, seq);
+        }
+        return saved;
+    }
+
+    // =========================
+    // ✅ 최신 메시지 스냅샷 갱신
+    // =========================
+    public void recordLastMessage(Message message) {
+        if (message == null || message.getChatRoom() == null || message.getCreatedAt() == null) return;
+
+        chatRoomRepository.updateLastMessageIfLater(
+                message.getChatRoom().getChatRoomId(),
+                ChatMessagePreview.of(message.getMessageType(), message.getContent()),
+                message.getMessageType(),
+                message.getCreatedAt(),
+                message.getSender() != null ? message.getSender().getUserId() : null);
+    }
+
+    @Transactional
     public void sendKinoOpeningMessage(UUID chatRoomId) {
         ChatRoom chatRoom = chatRoomRepository.findById(chatRoomId)
                 .orElseThrow(() -> new RuntimeException("ChatRoom not found: " + chatRoomId));
@@ -584,6 +626,7 @@ public class ChatRoomService {
                 .orElseThrow(() -> new IllegalStateException("Kino user not found"));
 
         MessageDTO openingMessage = saveKinoOpeningMessage(chatRoom, kino);
+        chatEventStream.append(openingMessage, getMemberIds(chatRoom.getChatRoomId()));
         publishMessageAfterCommit(openingMessage);
     }
 
@@ -661,6 +704,24 @@ public class ChatRoomService {
         }
     }
 
+    // ✅ 목록/단건 공통: 최신 메시지 스냅샷 → DTO
+    private void applyLastMessageSnapshot(ChatRoomDTO dto, ChatRoom chatRoom) {
+        if (chatRoom.getLastMessageAt() == null) return;
+        dto.setLatestMessageContent(chatRoom.getLastMessagePreview());
+        dto.setLatestMessageTime(chatRoom.getLastMessageAt());
+        dto.setLatestMessageType(chatRoom.getLastMessageType());
+        dto.setLatestMessageSenderId(chatRoom.getLastMessageSenderId());
+    }
+
+    // ✅ 키노방 멤버 이미지: 퍼스널리티별 키노 캐릭터
+    private String kinoImageUrl(ChatBotPersonality personality) {
+        String suffix;
+        if (personality == ChatBotPersonality.SERENE) suffix = "blueKino.png";
+        else if (personality == ChatBotPersonality.SNUGGLE) suffix = "pinkKino.png";
+        else suffix = "yellowKino.png";
+        return cloudFrontDomain + suffix;
+    }
+
     // ✅ DTO 만들 때: 요청 userId 기준 displayRoomName을 dto.roomName에 넣음
     private void applyDisplayRoomName(ChatRoomDTO dto, Long requesterUserId) {
         if (dto == null || dto.getChatRoomId() == null || requesterUserId == null) return;
@@ -690,7 +751,7 @@ public class ChatRoomService {
         message.setContent(userName + "님이 입장했습니다");
         message.setCreatedAt(joinedAt);
 
-        Message saved = messageRepository.save(message);
+        Message saved = appendMessage(message);
 
         MessageDTO dto = new MessageDTO();
         dto.setMessageId(saved.getMessageId());
@@ -704,6 +765,7 @@ public class ChatRoomService {
         dto.setImageUrls(null);
         dto.setMentionUserIds(null);
         dto.setCreatedAt(saved.getCreatedAt());
+        dto.setSeq(saved.getSeq());
         return dto;
     }
 
@@ -719,7 +781,7 @@ public class ChatRoomService {
         message.setContent(userName + "님이 나갔습니다");
         message.setCreatedAt(leftAt);
 
-        Message saved = messageRepository.save(message);
+        Message saved = appendMessage(message);
 
         MessageDTO dto = new MessageDTO();
         dto.setMessageId(saved.getMessageId());
@@ -733,6 +795,7 @@ public class ChatRoomService {
         dto.setImageUrls(null);
         dto.setMentionUserIds(null);
         dto.setCreatedAt(saved.getCreatedAt());
+        dto.setSeq(saved.getSeq());
         return dto;
     }
 
@@ -745,7 +808,7 @@ public class ChatRoomService {
         message.setSystemMessage(Boolean.FALSE);
         message.setContent(KinoBotProfile.openingMessage(chatRoom.getPersonality()));
 
-        Message saved = messageRepository.save(message);
+        Message saved = appendMessage(message);
 
         MessageDTO dto = new MessageDTO();
         dto.setMessageId(saved.getMessageId());
@@ -759,6 +822,7 @@ public class ChatRoomService {
         dto.setImageUrls(null);
         dto.setMentionUserIds(null);
         dto.setCreatedAt(saved.getCreatedAt());
+        dto.setSeq(saved.getSeq());
         return dto;
     }
 
@@ -774,18 +838,18 @@ public class ChatRoomService {
             TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
                 @Override
                 public void afterCommit() {
-                    publishChatEvent(payload);
+                    publishChatEvent(messageDto.getChatRoomId(), payload);
                 }
             });
             return;
         }
 
-        publishChatEvent(payload);
+        publishChatEvent(messageDto.getChatRoomId(), payload);
     }
 
-    private void publishChatEvent(String payload) {
+    private void publishChatEvent(UUID chatRoomId, String payload) {
         try {
-            redisTemplate.convertAndSend(CHAT_MESSAGES_TOPIC, payload);
+            redisTemplate.convertAndSend(ChatRoomSubscriptionRegistry.topicFor(chatRoomId), payload);
         } catch (Exception e) {
             System.out.println("[ChatRoomService] failed to publish chat event: " + e.getMessage());
         }
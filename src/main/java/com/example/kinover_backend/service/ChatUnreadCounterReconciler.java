@@ -0,0 +1,61 @@
+package com.example.kinover_backend.service;
+
+import com.example.kinover_backend.config.ExecutorConfig;
+import com.example.kinover_backend.repository.UserChatRoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * unread 카운터 보정 배치: 증가/리셋 유실(Redis 장애, 커밋 직후 종료 등)을
+ * DB 의 읽음 포인터 기준(chat_room.last_seq - user_chat_room.read_seq)으로 주기적으로 다시 맞춘다.
+ * 전체 유저를 도는 긴 작업이라 스케줄러 스레드는 트리거만 하고 maintenanceExecutor 에서 실행한다.
+ */
+@Component
+public class ChatUnreadCounterReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatUnreadCounterReconciler.class);
+
+    private final UserChatRoomRepository userChatRoomRepository;
+    private final ChatUnreadCounterService chatUnreadCounterService;
+    private final Executor maintenanceExecutor;
+
+    public ChatUnreadCounterReconciler(UserChatRoomRepository userChatRoomRepository,
+                                       ChatUnreadCounterService chatUnreadCounterService,
+                                       @Qualifier(ExecutorConfig.MAINTENANCE) Executor maintenanceExecutor) {
+        this.userChatRoomRepository = userChatRoomRepository;
+        this.chatUnreadCounterService = chatUnreadCounterService;
+        this.maintenanceExecutor = maintenanceExecutor;
+    }
+
+    @Scheduled(cron = "${chat.unread.reconcile-cron:0 30 4 * * *}", zone = "Asia/Seoul")
+    public void scheduleReconcile() {
+        try {
+            maintenanceExecutor.execute(this::reconcileAll);
+        } catch (RejectedExecutionException e) {
+            logger.warn("[UNREAD] reconcile skipped: maintenance pool busy");
+        }
+    }
+
+    public void reconcileAll() {
+        List<Long> userIds = userChatRoomRepository.findDistinctUserIds();
+
+        int rebuilt = 0;
+        for (Long userId : userIds) {
+            if (userId == null || KinoBotProfile.KINO_USER_ID.equals(userId)) continue;
+            try {
+                chatUnreadCounterService.rebuild(userId);
+                rebuilt++;
+            } catch (Exception e) {
+                logger.warn("[UNREAD] reconcile failed userId={}, err={}", userId, e.toString());
+            }
+        }
+        logger.info("[UNREAD] reconcile done users={}", rebuilt);
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.kinover_backend.service;
+
+import com.example.kinover_backend.repository.UserChatRoomRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+/**
+ * 유저별 채팅 unread 카운터 (Redis hash: chat:unread:{userId} → {chatRoomId: n, seq:{chatRoomId}: s, total: n}).
+ * 메시지 저장 이벤트(chat:events)를 소비하며 수신자별로 증가시키고, 읽음 처리 시 해당 방만 다시 계산한다.
+ * 읽음/재구성처럼 절대값을 쓸 때는 그 값이 몇 번 메시지까지 센 것인지(seq:{chatRoomId})도 같이 남기고,
+ * 증가 이벤트는 그 순번 이하 메시지면 건너뛴다 (절대값 쓰기 뒤에 늦게 도착한 증가가 두 번 세지지 않게).
+ * total 필드가 없으면(최초/Redis 초기화) DB 순번(lastSeq - readSeq) 기준으로 재구성하고, 증가/설정은 재구성된 키에만 반영한다.
+ * 모든 쓰기는 gen 필드를 올리고, 재구성은 DB를 읽기 전 gen 이 그대로일 때만 통째로 교체한다
+ * (DB 조회와 교체 사이에 들어온 증가/읽음이 덮여서 사라지지 않게. 바뀌었으면 다시 읽는다).
+ */
+@Service
+@RequiredArgsConstructor
+public class ChatUnreadCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatUnreadCounterService.class);
+
+    private static final String KEY_PREFIX = "chat:unread:";
+    private static final String TOTAL_FIELD = "total";
+    private static final String SEQ_FIELD_PREFIX = "seq:";
+    private static final String GEN_FIELD = "gen";
+    private static final int REBUILD_ATTEMPTS = 3;
+    private static final String APPLIED_KEY_PREFIX = "chat:events:applied:unread:";
+    private static final long APPLIED_TTL_SECONDS = 86400L;
+
+    // KEYS[1] = 처리 표시 키 (이벤트 id), KEYS[2..] = 수신자 키들
+    // ARGV[1] = chatRoomId, ARGV[2] = 표시 TTL(초), ARGV[3] = 메시지 seq (0 = 모름 → 항상 반영)
+    // 같은 이벤트가 재전달돼도 한 번만 반영 (at-least-once 소비 대비)
+    // 수신자의 seq:{chatRoomId} 가 이 메시지 seq 이상이면 이미 절대값에 포함된 것이라 건너뜀
+    // 재구성 전(total 없음) 키는 gen 만 올려서 진행 중인 재구성이 다시 읽게 함
+    private static final RedisScript<Long> INCREMENT_ONCE_SCRIPT = new DefaultRedisScript<>("""
+            if not redis.call('SET', KEYS[1], '1', 'NX', 'EX', tonumber(ARGV[2])) then
+              return 0
+            end
+            local seq = tonumber(ARGV[3])
+            local applied = 0
+            for i = 2, #KEYS do
+              redis.call('HINCRBY', KEYS[i], 'gen', 1)
+              if redis.call('HEXISTS', KEYS[i], 'total') == 1 then
+                local counted = tonumber(redis.call('HGET', KEYS[i], 'seq:' .. ARGV[1]) or '0')
+                if seq <= 0 or seq > counted then
+                  redis.call('HINCRBY', KEYS[i], ARGV[1], 1)
+                  redis.call('HINCRBY', KEYS[i], 'total', 1)
+                  applied = applied + 1
+                end
+              end
+            end
+            return applied
+            """, Long.class);
+
+    // KEYS[1] = 유저 키, ARGV[1] = chatRoomId, ARGV[2] = 새 값, ARGV[3] = 새 값이 센 마지막 seq
+    // seq:{chatRoomId} 는 뒤로 가지 않음 (늦게 커밋된 읽음이 더 최신 기준을 덮지 않게)
+    private static final RedisScript<Long> SET_ROOM_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('HINCRBY', KEYS[1], 'gen', 1)
+            if redis.call('HEXISTS', KEYS[1], 'total') == 0 then
+              return 0
+            end
+            local old = tonumber(redis.call('HGET', KEYS[1], ARGV[1]) or '0')
+            local new = tonumber(ARGV[2])
+            if new > 0 then
+              redis.call('HSET', KEYS[1], ARGV[1], new)
+            else
+              redis.call('HDEL', KEYS[1], ARGV[1])
+            end
+            redis.call('HINCRBY', KEYS[1], 'total', new - old)
+            local seqField = 'seq:' .. ARGV[1]
+            local counted = tonumber(redis.call('HGET', KEYS[1], seqField) or '0')
+            if tonumber(ARGV[3]) > counted then
+              redis.call('HSET', KEYS[1], seqField, ARGV[3])
+            end
+            return 1
+            """, Long.class);
+
+    // KEYS[1] = 유저 키, ARGV[1] = DB 조회 전에 읽은 gen, ARGV[2..] = field1, value1, field2, value2, ...
+    // gen 이 그새 바뀌었으면 0 (교체 안 함 → 호출자가 다시 읽음)
+    private static final RedisScript<Long> REPLACE_SCRIPT = new DefaultRedisScript<>("""
+            local gen = redis.call('HGET', KEYS[1], 'gen') or '0'
+            if gen ~= ARGV[1] then
+              return 0
+            end
+            redis.call('DEL', KEYS[1])
+            for i = 2, #ARGV, 2 do
+              redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+            end
+            redis.call('HSET', KEYS[1], 'gen', tonumber(gen) + 1)
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final UserChatRoomRepository userChatRoomRepository;
+
+    // =========================
+    // 쓰기
+    // =========================
+
+    /**
+     * 새 메시지: 보낸 사람을 제외한 수신자들의 해당 방 카운터 +1.
+     * 이벤트 로그(chat:events) unread group 에서 호출하며, eventId 당 한 번만 반영 (재전달/reclaim 시 중복 없음).
+     * 트랜잭션 밖(consumer 스레드)에서 호출되므로 바로 실행하고, 실패는 호출자에게 던져 재시도하게 한다.
+     * seq 는 메시지 순번 (null 이면 순번 비교 없이 반영).
+     */
+    public void incrementOnce(UUID chatRoomId, Long senderId, Collection<Long> memberIds, Long seq, String eventId) {
+        if (chatRoomId == null || eventId == null || memberIds == null || memberIds.isEmpty()) return;
+
+        List<String> keys = new ArrayList<>();
+        keys.add(APPLIED_KEY_PREFIX + eventId);
+        for (Long memberId : memberIds) {
+            if (memberId == null || memberId.equals(senderId)) continue;
+            keys.add(key(memberId));
+        }
+        if (keys.size() == 1) return;
+
+        redisTemplate.execute(INCREMENT_ONCE_SCRIPT, keys, chatRoomId.toString(), String.valueOf(APPLIED_TTL_SECONDS),
+                String.valueOf(seq == null ? 0L : seq));
+    }
+
+    /**
+     * 읽음/나가기: 해당 방 카운터를 주어진 값으로 맞춘다 (0이면 제거).
+     * countedThroughSeq = count 를 계산할 때 기준으로 삼은 방 lastSeq. 이 순번 이하의 늦은 증가 이벤트는 무시된다.
+     */
+    public void setRoomCount(Long userId, UUID chatRoomId, long count, long countedThroughSeq) {
+        if (userId == null || chatRoomId == null) return;
+
+        runAfterCommit(() -> redisTemplate.execute(SET_ROOM_SCRIPT, List.of(key(userId)),
+                chatRoomId.toString(), String.valueOf(Math.max(count, 0L)), String.valueOf(Math.max(countedThroughSeq, 0L))));
+    }
+
+    /** 방 메시지 전체 삭제 등: 멤버들의 해당 방 카운터 0 (lastSeq 까지 읽은 것으로) */
+    public void resetRoom(UUID chatRoomId, Collection<Long> memberIds, long lastSeq) {
+        if (memberIds == null) return;
+        for (Long memberId : memberIds) {
+            setRoomCount(memberId, chatRoomId, 0L, lastSeq);
+        }
+    }
+
+    /** 탈퇴 등: 다음 조회 때 DB 기준으로 재구성되도록 키 삭제 */
+    public void evictUser(Long userId) {
+        if (userId == null) return;
+        runAfterCommit(() -> redisTemplate.delete(key(userId)));
+    }
+
+    // =========================
+    // 읽기 (유저당 Redis 1회)
+    // =========================
+
+    public long getTotal(Long userId) {
+        if (userId == null) return 0L;
+        try {
+            Object total = redisTemplate.opsForHash().get(key(userId), TOTAL_FIELD);
+            if (total != null) {
+                return Math.max(Long.parseLong(total.toString()), 0L);
+            }
+        } catch (Exception e) {
+            logger.warn("[UNREAD] total read failed userId={}, err={}", userId, e.toString());
+        }
+        return rebuild(userId).values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long getRoomCount(Long userId, UUID chatRoomId) {
+        return getRoomCounts(userId).getOrDefault(chatRoomId, 0L);
+    }
+
+    public Map<UUID, Long> getRoomCounts(Long userId) {
+        if (userId == null) return Map.of();
+        try {
+            Map<Object, Object> raw = redisTemplate.opsForHash().entries(key(userId));
+            if (raw != null && raw.containsKey(TOTAL_FIELD)) {
+                Map<UUID, Long> counts = new HashMap<>();
+                raw.forEach((field, value) -> {
+                    if (TOTAL_FIELD.equals(field) || GEN_FIELD.equals(field)
+                            || field.toString().startsWith(SEQ_FIELD_PREFIX)) return;
+                    counts.put(UUID.fromString(field.toString()), Math.max(Long.parseLong(value.toString()), 0L));
+                });
+                return counts;
+            }
+        } catch (Exception e) {
+            logger.warn("[UNREAD] room counts read failed userId={}, err={}", userId, e.toString());
+        }
+        return rebuild(userId);
+    }
+
+    // =========================
+    // 재구성 (lazy + reconciliation job)
+    // =========================
+
+    /**
+     * 방별 lastSeq - readSeq 로 유저의 카운터를 다시 계산해서 통째로 교체 (쿼리 1회, 메시지 스캔 없음).
+     * 방마다 읽어온 lastSeq 도 seq:{chatRoomId} 로 남겨, 이미 센 메시지의 증가 이벤트가 다시 더해지지 않게 한다.
+     * DB 조회 중에 카운터가 바뀌면(gen 변경) 다시 읽고, 계속 겹치면 쓰지 않고 계산값만 돌려준다 (다음 조회/보정 배치에 맡김).
+     */
+    public Map<UUID, Long> rebuild(Long userId) {
+        String key = key(userId);
+        Map<UUID, Long> counts = Map.of();
+        for (int attempt = 0; attempt < REBUILD_ATTEMPTS; attempt++) {
+            String generation;
+            try {
+                Object gen = redisTemplate.opsForHash().get(key, GEN_FIELD);
+                generation = gen == null ? "0" : gen.toString();
+            } catch (Exception e) {
+                logger.warn("[UNREAD] rebuild generation read failed userId={}, err={}", userId, e.toString());
+                generation = null;
+            }
+
+            List<String> args = new ArrayList<>();
+            args.add(generation);
+            counts = loadCounts(userId, args);
+            if (generation == null) return counts;
+
+            try {
+                Long replaced = redisTemplate.execute(REPLACE_SCRIPT, List.of(key), args.toArray());
+                if (replaced != null && replaced == 1L) return counts;
+            } catch (Exception e) {
+                logger.warn("[UNREAD] rebuild write failed userId={}, err={}", userId, e.toString());
+                return counts;
+            }
+        }
+        logger.info("[UNREAD] rebuild skipped after concurrent updates userId={}", userId);
+        return counts;
+    }
+
+    // DB 에서 방별 unread 를 읽어 args 뒤에 (seq:{room}, lastSeq) / (room, n) / (total, n) 순으로 붙임
+    private Map<UUID, Long> loadCounts(Long userId, List<String> args) {
+        Map<UUID, Long> counts = new HashMap<>();
+        for (UserChatRoomRepository.UnreadCountView row : userChatRoomRepository.findUnreadCountsByUserId(userId)) {
+            if (row.getUnreadCount() > 0) {
+                counts.put(row.getChatRoomId(), row.getUnreadCount());
+            }
+            args.add(SEQ_FIELD_PREFIX + row.getChatRoomId());
+            args.add(String.valueOf(row.getLastSeq()));
+        }
+
+        long total = 0L;
+        for (Map.Entry<UUID, Long> e : counts.entrySet()) {
+            args.add(e.getKey().toString());
+            args.add(String.valueOf(e.getValue()));
+            total += e.getValue();
+        }
+        args.add(TOTAL_FIELD);
+        args.add(String.valueOf(total));
+        return counts;
+    }
+
+    private static String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    // 카운터는 보조 데이터: 실패해도 본 요청은 살리고 reconciliation에 맡김
+    private void runAfterCommit(Runnable task) {
+        Runnable safe = () -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                logger.warn("[UNREAD] counter update failed err={}", e.toString());
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    safe.run();
+                }
+            });
+            return;
+        }
+        safe.run();
+    }
+}
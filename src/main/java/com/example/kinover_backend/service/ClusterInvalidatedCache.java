@@ -0,0 +1,206 @@
+package com.example.kinover_backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 인스턴스 로컬 LRU 캐시 + Redis 채널 무효화 (ChatMembershipCache, BlockGraph 공용).
+ * - 접근 순 LRU, 최대 maxSize 개
+ * - 무효화마다 generation 증가: 로딩 도중 무효화가 끼면 putIfCurrent 가 로딩 결과를 버림 (이전 값이 다시 들어가는 것 방지)
+ * - 적재 후 ttl 이 지나면 없는 것으로 봄: 놓친 무효화(디스패치 유실, Redis 재연결)가 있어도 ttl 안에는 DB 값으로 돌아옴
+ * - invalidate: 지금 + 트랜잭션 종료 후 로컬 제거, 커밋된 경우만 채널로 다른 인스턴스에 전파
+ *   (전파는 afterCommit: 같은 트랜잭션에서 뒤에 등록된 메시지 발행보다 먼저 나가서 수신 노드가 구독부터 갱신)
+ * - 메트릭: {metricName}{result=hit|miss}, {metricName}.size
+ */
+public class ClusterInvalidatedCache<K, V> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterInvalidatedCache.class);
+
+    private final String channel;
+    private final StringRedisTemplate redisTemplate;
+    private final Function<String, K> keyParser;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final Counter hits;
+    private final Counter misses;
+
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final AtomicLong generation = new AtomicLong();
+
+    public ClusterInvalidatedCache(String metricName,
+                                   String channel,
+                                   StringRedisTemplate redisTemplate,
+                                   MeterRegistry meterRegistry,
+                                   int maxSize,
+                                   Duration ttl,
+                                   Function<String, K> keyParser) {
+        this(metricName, channel, redisTemplate, meterRegistry, maxSize, ttl, keyParser, System::nanoTime);
+    }
+
+    ClusterInvalidatedCache(String metricName,
+                            String channel,
+                            StringRedisTemplate redisTemplate,
+                            MeterRegistry meterRegistry,
+                            int maxSize,
+                            Duration ttl,
+                            Function<String, K> keyParser,
+                            LongSupplier nanoClock) {
+        this.channel = channel;
+        this.redisTemplate = redisTemplate;
+        this.keyParser = keyParser;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        this.hits = Counter.builder(metricName).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder(metricName).tag("result", "miss").register(meterRegistry);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+        meterRegistry.gauge(metricName + ".size", this, ClusterInvalidatedCache::size);
+    }
+
+    // =========================
+    // 조회/적재
+    // =========================
+
+    /** 캐시 값 (없거나 ttl 이 지났으면 null, hit/miss 집계) */
+    public V get(K key) {
+        V cached = null;
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && isExpired(entry)) {
+                entries.remove(key);
+            } else if (entry != null) {
+                cached = entry.value;
+            }
+        }
+        if (cached != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return cached;
+    }
+
+    /** 캐시에 없거나 ttl 이 지난 키들 (일괄 적재용, 집계 안 함) */
+    public List<K> missing(Collection<K> keys) {
+        List<K> out = new ArrayList<>();
+        synchronized (entries) {
+            for (K key : keys) {
+                if (key == null) continue;
+                Entry<V> entry = entries.get(key);
+                if (entry == null || isExpired(entry)) out.add(key);
+            }
+        }
+        return out;
+    }
+
+    /** 로딩 시작 전에 읽어 두고 putIfCurrent / putAllIfCurrent 에 넘긴다 */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void putIfCurrent(K key, V value, long gen) {
+        synchronized (entries) {
+            if (generation.get() == gen) {
+                entries.put(key, new Entry<>(value, nanoClock.getAsLong()));
+            }
+        }
+    }
+
+    public void putAllIfCurrent(Map<K, V> values, long gen) {
+        synchronized (entries) {
+            if (generation.get() == gen) {
+                long now = nanoClock.getAsLong();
+                values.forEach((key, value) -> entries.put(key, new Entry<>(value, now)));
+            }
+        }
+    }
+
+    // =========================
+    // 무효화
+    // =========================
+
+    /** 변경: 지금 + 트랜잭션 종료 후 로컬 제거 (안에서 읽힌 커밋 전/롤백된 값도 버림), 커밋되면 바로 전파 */
+    public void invalidate(Collection<K> keys) {
+        if (keys == null || keys.isEmpty()) return;
+        List<K> ids = List.copyOf(keys);
+        ids.forEach(this::evictLocal);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ids.forEach(ClusterInvalidatedCache.this::evictLocal);
+                    publish(ids);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    ids.forEach(ClusterInvalidatedCache.this::evictLocal);
+                }
+            });
+            return;
+        }
+        publish(ids);
+    }
+
+    public void evictLocal(K key) {
+        if (key == null) return;
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.remove(key);
+        }
+    }
+
+    /** 채널 수신 메시지(키 문자열)로 로컬 제거. 제거한 키를 돌려줌 (형식이 틀리면 예외) */
+    public K evictFromMessage(byte[] body) {
+        K key = keyParser.apply(new String(body, StandardCharsets.UTF_8).trim());
+        evictLocal(key);
+        return key;
+    }
+
+    private void publish(List<K> keys) {
+        for (K key : keys) {
+            try {
+                redisTemplate.convertAndSend(channel, key.toString());
+            } catch (Exception e) {
+                logger.warn("[LOCAL_CACHE] invalidate publish failed channel={}, key={}, err={}", channel, key, e.toString());
+            }
+        }
+    }
+
+    private int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private boolean isExpired(Entry<V> entry) {
+        return nanoClock.getAsLong() - entry.writtenAt >= ttlNanos;
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long writtenAt;
+
+        private Entry(V value, long writtenAt) {
+            this.value = value;
+            this.writtenAt = writtenAt;
+        }
+    }
+}
@@ -6,7 +6,6 @@ import com.example.kinover_backend.enums.NotificationType;
 import com.example.kinover_backend.repository.CommentRepository;
 import com.example.kinover_backend.repository.NotificationRepository;
 import com.example.kinover_backend.repository.PostRepository;
-import com.example.kinover_backend.repository.UserBlockRepository;
 import com.example.kinover_backend.repository.UserFamilyRepository;
 import com.example.kinover_backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -28,7 +27,7 @@ public class CommentService {
 
     private final UserFamilyRepository userFamilyRepository; // (현재 코드에선 미사용이지만 기존 주입 유지)
     private final FcmNotificationService fcmNotificationService;
-    private final UserBlockRepository userBlockRepository;
+    private final BlockGraph blockGraph;
 
     @Transactional
     public void createComment(CommentDTO dto) {
@@ -91,7 +90,7 @@ public class CommentService {
             for (Long uid : mentionUserIds) {
                 if (uid != null && !uid.equals(dto.getAuthorId())) {
                     mentionTargets.add(uid);
-                    if (!userBlockRepository.existsByBlocker_UserIdAndBlocked_UserId(uid, commentAuthorId)) {
+                    if (!blockGraph.isBlocked(uid, commentAuthorId)) {
                         fcmNotificationService.sendMentionCommentNotification(uid, dto);
                     }
                 }
@@ -108,7 +107,7 @@ public class CommentService {
             if (member == null) continue;
 
             if (Boolean.TRUE.equals(member.getIsCommentNotificationOn())) {
-                if (userBlockRepository.existsByBlocker_UserIdAndBlocked_UserId(uid, commentAuthorId)) {
+                if (blockGraph.isBlocked(uid, commentAuthorId)) {
                     continue;
                 }
                 fcmNotificationService.sendCommentNotification(uid, dto);
@@ -122,7 +121,7 @@ public class CommentService {
             throw new RuntimeException("게시물 없음");
         }
 
-        return commentRepository.findCommentDtosByPostIdVisibleForViewerOrderByCreatedAtAsc(postId, viewerUserId)
+        return commentRepository.findCommentDtosByPostIdVisibleForViewerOrderByCreatedAtAsc(postId, blockGraph.blockedBy(viewerUserId).asQueryParam())
                 .stream()
                 .peek(dto -> {
                     if (dto.getAuthorName() == null || dto.getAuthorName().isBlank()) {
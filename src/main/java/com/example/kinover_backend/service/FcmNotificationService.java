@@ -39,9 +39,8 @@ public class FcmNotificationService {
     private final PostRepository postRepository;
     private final NotificationRepository notificationRepository;
 
-    // ✅ 채팅 unread 계산용
-    private final UserChatRoomRepository userChatRoomRepository;
-    private final MessageRepository messageRepository;
+    // ✅ 채팅 unread: Redis 카운터 (푸시마다 방별 COUNT 하지 않음)
+    private final ChatUnreadCounterService chatUnreadCounterService;
 
     private static GoogleCredentials firebaseCreds;
 
@@ -84,29 +83,9 @@ public class FcmNotificationService {
         return total;
     }
 
-    // ✅ 채팅 unreadCount: UserChatRoom.lastReadAt + Message.createdAt 기준
+    // ✅ 채팅 unreadCount: 유저별 카운터 O(1)
     private long calcChatUnreadCount(Long userId) {
-        List<UserChatRoom> links = userChatRoomRepository.findByUserId(userId);
-        if (links == null || links.isEmpty()) return 0L;
-
-        long total = 0L;
-
-        for (UserChatRoom ucr : links) {
-            UUID chatRoomId = ucr.getChatRoom().getChatRoomId();
-            LocalDateTime lastReadAt = ucr.getLastReadAt();
-
-            int cnt;
-            if (lastReadAt == null) {
-                cnt = messageRepository.countByChatRoom_ChatRoomIdAndSender_UserIdNot(chatRoomId, userId);
-            } else {
-                cnt = messageRepository.countByChatRoom_ChatRoomIdAndCreatedAtAfterAndSender_UserIdNot(
-                        chatRoomId, lastReadAt, userId
-                );
-            }
-            total += Math.max(cnt, 0);
-        }
-
-        return total;
+        return chatUnreadCounterService.getTotal(userId);
     }
 
     // ✅ 앱 배지 = 종 + 채팅
@@ -0,0 +1,277 @@
+package com.example.kinover_backend.service;
+
+import com.example.kinover_backend.config.ExecutorConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 키노 답장 생성 격벽 (업스트림이 느려져도 서버 스레드/커넥션이 묶이지 않게).
+ * - 동시 실행 max-concurrent, 대기 max-queued 까지. 넘치면 바로 shed
+ * - 유저당 (실행 + 대기) per-user 까지. 대기열은 유저별로 나눠 라운드로빈으로 꺼냄 (한 유저가 몰아 보내도 다른 유저가 밀리지 않음)
+ * - 같은 방은 한 번에 1건만 실행 (답장 순서 유지, 한 방이 슬롯을 독점하지 않음)
+ * - queue-deadline-ms 넘게 기다린 요청은 실행하지 않고 shed → 호출자가 "바빠요" 안내
+ * - 메트릭: kino.bulkhead.in_flight / .queued, kino.bulkhead.shed{reason}, kino.bulkhead.wait
+ */
+@Component
+public class KinoBulkhead {
+
+    private static final Logger logger = LoggerFactory.getLogger(KinoBulkhead.class);
+
+    private final Executor kinoExecutor;
+    private final MeterRegistry meterRegistry;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final int perUser;
+    private final long queueDeadlineMs;
+
+    private final Timer waitTimer;
+
+    // 아래 상태는 모두 this 락으로 보호
+    private final Map<Long, Deque<Ticket>> queuesByUser = new HashMap<>();
+    private final Deque<Long> rotation = new ArrayDeque<>();
+    private final Map<Long, Integer> admittedByUser = new HashMap<>();
+    private final Set<UUID> activeRooms = new HashSet<>();
+    private int inFlight;
+    private int queued;
+
+    public KinoBulkhead(@Qualifier(ExecutorConfig.KINO) Executor kinoExecutor,
+                        MeterRegistry meterRegistry,
+                        @Value("${kino.bulkhead.max-concurrent:6}") int maxConcurrent,
+                        @Value("${kino.bulkhead.max-queued:64}") int maxQueued,
+                        @Value("${kino.bulkhead.per-user:2}") int perUser,
+                        @Value("${kino.bulkhead.queue-deadline-ms:8000}") long queueDeadlineMs) {
+        this.kinoExecutor = kinoExecutor;
+        this.meterRegistry = meterRegistry;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.perUser = perUser;
+        this.queueDeadlineMs = queueDeadlineMs;
+
+        this.waitTimer = Timer.builder("kino.bulkhead.wait").register(meterRegistry);
+        meterRegistry.gauge("kino.bulkhead.in_flight", this, KinoBulkhead::inFlight);
+        meterRegistry.gauge("kino.bulkhead.queued", this, KinoBulkhead::queued);
+    }
+
+    /**
+     * 접수. 실행되면 task, 받을 수 없거나 기한 안에 차례가 오지 않으면 onShed 가 (락 밖에서) 한 번 호출된다.
+     * @return 접수됐으면 true (바로 shed 되면 false)
+     */
+    public boolean submit(UUID chatRoomId, Long userId, Runnable task, Runnable onShed) {
+        Ticket ticket = new Ticket(chatRoomId, userId, task, onShed, System.nanoTime());
+
+        String rejectReason = null;
+        synchronized (this) {
+            if (admittedByUser.getOrDefault(userId, 0) >= perUser) {
+                rejectReason = "user_limit";
+            } else if (queued >= maxQueued) {
+                rejectReason = "queue_full";
+            } else {
+                admittedByUser.merge(userId, 1, Integer::sum);
+                Deque<Ticket> queue = queuesByUser.computeIfAbsent(userId, k -> new ArrayDeque<>());
+                if (queue.isEmpty()) rotation.addLast(userId);
+                queue.addLast(ticket);
+                queued++;
+            }
+        }
+        if (rejectReason != null) {
+            shed(ticket, rejectReason);
+            return false;
+        }
+        drain();
+        return true;
+    }
+
+    /**
+     * 그 방의 대기 중인 요청을 실행하지 않고 뺀다 (onShed 호출 없음). 실행 중인 건 건드리지 않음.
+     * 호출자가 새 요청으로 대체할 때: 밀려난 요청이 유저 한도를 차지해서 새 요청이 shed 되지 않게.
+     * @return 뺀 건수
+     */
+    public int cancelQueued(UUID chatRoomId) {
+        int removed = 0;
+        synchronized (this) {
+            for (Iterator<Long> it = rotation.iterator(); it.hasNext(); ) {
+                Long userId = it.next();
+                Deque<Ticket> queue = queuesByUser.get(userId);
+                for (Iterator<Ticket> tickets = queue.iterator(); tickets.hasNext(); ) {
+                    if (!tickets.next().chatRoomId.equals(chatRoomId)) continue;
+                    tickets.remove();
+                    queued--;
+                    release(userId);
+                    removed++;
+                }
+                if (queue.isEmpty()) {
+                    queuesByUser.remove(userId);
+                    it.remove();
+                }
+            }
+        }
+        return removed;
+    }
+
+    // 기한 지난 대기 요청 정리 (슬롯이 계속 막혀 있어도 대기자는 제때 안내받게)
+    @Scheduled(fixedDelayString = "${kino.bulkhead.sweep-ms:500}")
+    public void shedExpired() {
+        List<Ticket> expired = new ArrayList<>();
+        long now = System.nanoTime();
+        synchronized (this) {
+            for (Iterator<Long> it = rotation.iterator(); it.hasNext(); ) {
+                Long userId = it.next();
+                Deque<Ticket> queue = queuesByUser.get(userId);
+                queue.removeIf(t -> {
+                    if (!t.expired(now, queueDeadlineMs)) return false;
+                    expired.add(t);
+                    return true;
+                });
+                if (queue.isEmpty()) {
+                    queuesByUser.remove(userId);
+                    it.remove();
+                }
+            }
+            for (Ticket t : expired) {
+                queued--;
+                release(t.userId);
+            }
+        }
+        for (Ticket t : expired) {
+            shed(t, "deadline");
+        }
+    }
+
+    // =========================
+    // 내부
+    // =========================
+
+    private void drain() {
+        while (true) {
+            List<Ticket> expired = new ArrayList<>();
+            Ticket next;
+            synchronized (this) {
+                next = inFlight < maxConcurrent ? pollNext(expired) : null;
+                if (next != null) {
+                    inFlight++;
+                    activeRooms.add(next.chatRoomId);
+                }
+            }
+            for (Ticket t : expired) {
+                shed(t, "deadline");
+            }
+            if (next == null) return;
+            start(next);
+        }
+    }
+
+    // 라운드로빈: 방이 이미 실행 중인 유저는 건너뛰고 다음 유저. 기한 지난 건 expired 로 빼냄
+    private Ticket pollNext(List<Ticket> expired) {
+        long now = System.nanoTime();
+        int users = rotation.size();
+        for (int i = 0; i < users; i++) {
+            Long userId = rotation.pollFirst();
+            Deque<Ticket> queue = queuesByUser.get(userId);
+
+            Ticket head;
+            while ((head = queue.peekFirst()) != null && head.expired(now, queueDeadlineMs)) {
+                queue.pollFirst();
+                queued--;
+                release(userId);
+                expired.add(head);
+            }
+
+            if (head != null && !activeRooms.contains(head.chatRoomId)) {
+                queue.pollFirst();
+                queued--;
+                if (queue.isEmpty()) {
+                    queuesByUser.remove(userId);
+                } else {
+                    rotation.addLast(userId);
+                }
+                return head;
+            }
+
+            if (queue.isEmpty()) {
+                queuesByUser.remove(userId);
+            } else {
+                rotation.addLast(userId);
+            }
+        }
+        return null;
+    }
+
+    private void start(Ticket ticket) {
+        waitTimer.record(System.nanoTime() - ticket.enqueuedAt, TimeUnit.NANOSECONDS);
+        try {
+            kinoExecutor.execute(() -> {
+                try {
+                    ticket.task.run();
+                } finally {
+                    finish(ticket);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            finish(ticket);
+            shed(ticket, "executor");
+        }
+    }
+
+    private void finish(Ticket ticket) {
+        synchronized (this) {
+            inFlight--;
+            activeRooms.remove(ticket.chatRoomId);
+            release(ticket.userId);
+        }
+        drain();
+    }
+
+    private void release(Long userId) {
+        admittedByUser.computeIfPresent(userId, (k, n) -> n > 1 ? n - 1 : null);
+    }
+
+    private void shed(Ticket ticket, String reason) {
+        Counter.builder("kino.bulkhead.shed").tag("reason", reason).register(meterRegistry).increment();
+        logger.warn("[KINO] shed chatRoomId={} userId={} reason={}", ticket.chatRoomId, ticket.userId, reason);
+        try {
+            ticket.onShed.run();
+        } catch (Exception e) {
+            logger.warn("[KINO] shed callback failed err={}", e.toString());
+        }
+    }
+
+    private synchronized double inFlight() {
+        return inFlight;
+    }
+
+    private synchronized double queued() {
+        return queued;
+    }
+
+    private static final class Ticket {
+        private final UUID chatRoomId;
+        private final Long userId;
+        private final Runnable task;
+        private final Runnable onShed;
+        private final long enqueuedAt;
+
+        private Ticket(UUID chatRoomId, Long userId, Runnable task, Runnable onShed, long enqueuedAt) {
+            this.chatRoomId = chatRoomId;
+            this.userId = userId;
+            this.task = task;
+            this.onShed = onShed;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        private boolean expired(long now, long deadlineMs) {
+            return now - enqueuedAt > TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+        }
+    }
+}
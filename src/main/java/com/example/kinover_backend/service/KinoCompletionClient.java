@@ -0,0 +1,18 @@
+package com.example.kinover_backend.service;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 키노 텍스트 생성 클라이언트 (요청 본문은 Responses API 형식: model, input, ...).
+ * 기본 구현은 OpenAiCompletionClient 이고, 주소는 openai.base-url (부하 테스트 때는 내장 스텁 OpenAiCompatibleStub).
+ * 다른 제공자를 붙일 때는 이 인터페이스 구현을 KinoCompletionConfig 에서 바꿔 끼운다.
+ */
+public interface KinoCompletionClient {
+
+    /**
+     * 텍스트 조각이 올 때마다 onDelta 호출, 끝나면 전체 텍스트 반환.
+     * 호출 스레드에서 끝까지 읽는다 (마감 초과/업스트림 오류는 RuntimeException, onDelta 가 던진 예외는 그대로 전파).
+     */
+    String stream(Map<String, Object> requestBody, Consumer<String> onDelta);
+}
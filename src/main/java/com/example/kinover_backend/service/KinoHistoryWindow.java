@@ -0,0 +1,245 @@
+package com.example.kinover_backend.service;
+
+import com.example.kinover_backend.dto.MessageDTO;
+import com.example.kinover_backend.enums.ChatBotPersonality;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * 키노 방별 대화 창 (인스턴스 로컬): 프롬프트에 바로 넣을 (role, content, 토큰 추정치) 최근 N턴 + 방 성격/사용자 이름.
+ * - 적재: 그 방의 첫 답장 때 1회 (DB), 방 개수는 LRU 로 제한
+ * - 추가: MessageService.addMessage 가 저장한 메시지를 적재된 방에만 seq 가 이어질 때 덧붙임 (빈틈이면 버리고 다음 답장 때 재적재)
+ * - 무효화: 최근 메시지 캐시와 같은 채널(chat:recent:invalidate, 숨김/삭제/성격 변경)
+ * - 요약: 적재 시점의 대화 요약 + 이 노드에서 압축이 끝나면 updateSummary (다른 노드는 재적재 때 반영)
+ * 사용자 이름은 적재 시점 값 (이름 변경은 다음 재적재 때 반영).
+ */
+@Component
+public class KinoHistoryWindow {
+
+    private static final int STRIPES = 64;
+
+    @Getter
+    private final int capacity;
+    private final int maxRooms;
+
+    private final Object[] stripes = new Object[STRIPES];
+    private final LinkedHashMap<UUID, Window> rooms;
+
+    public KinoHistoryWindow(@Value("${kino.history.window-size:60}") int capacity,
+                             @Value("${kino.history.max-rooms:5000}") int maxRooms) {
+        this.capacity = capacity;
+        this.maxRooms = maxRooms;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+        this.rooms = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Window> eldest) {
+                return size() > KinoHistoryWindow.this.maxRooms;
+            }
+        };
+    }
+
+    // =========================
+    // 조회
+    // =========================
+
+    /** 적재된 방이면 스냅샷, 아니면 loader 로 적재 후 스냅샷 */
+    public Snapshot getOrLoad(UUID chatRoomId, Supplier<Seed> loader) {
+        synchronized (stripe(chatRoomId)) {
+            Window window = window(chatRoomId);
+            if (window == null) {
+                Seed seed = loader.get();
+                window = new Window(seed.personality, seed.ownerId, seed.ownerName, seed.watermark);
+                window.summary = seed.summary;
+                window.summaryWatermark = seed.summaryWatermark;
+                for (Turn turn : seed.turns) {
+                    window.add(turn);
+                }
+                synchronized (rooms) {
+                    rooms.put(chatRoomId, window);
+                }
+            }
+            return window.snapshot();
+        }
+    }
+
+    // =========================
+    // 추가 / 무효화
+    // =========================
+
+    /** 저장된 새 메시지. 적재 안 된 방(키노 방이 아니거나 아직 답장 전)은 무시 */
+    public void append(MessageDTO message) {
+        if (message == null || message.getChatRoomId() == null || message.getSeq() == null) return;
+
+        UUID chatRoomId = message.getChatRoomId();
+        synchronized (stripe(chatRoomId)) {
+            Window window = window(chatRoomId);
+            if (window == null) return;
+
+            long seq = message.getSeq();
+            if (seq <= window.watermark) return;
+            if (seq != window.watermark + 1) {
+                evictLocal(chatRoomId);
+                return;
+            }
+            window.watermark = seq;
+            Turn turn = Turn.of(seq, message.getSenderId(), contentOf(message));
+            if (turn != null) {
+                window.add(turn);
+            }
+        }
+    }
+
+    /** 압축 완료: 적재된 방이고 더 앞선 요약일 때만 교체 */
+    public void updateSummary(UUID chatRoomId, String summary, long summaryWatermark) {
+        if (chatRoomId == null || summary == null) return;
+        synchronized (stripe(chatRoomId)) {
+            Window window = window(chatRoomId);
+            if (window == null || summaryWatermark <= window.summaryWatermark) return;
+            window.summary = summary;
+            window.summaryWatermark = summaryWatermark;
+        }
+    }
+
+    public void evictLocal(UUID chatRoomId) {
+        if (chatRoomId == null) return;
+        synchronized (stripe(chatRoomId)) {
+            synchronized (rooms) {
+                rooms.remove(chatRoomId);
+            }
+        }
+    }
+
+    /** 본문이 없으면 이미지 주소들 (예전 히스토리 구성과 같게) */
+    public static String contentOf(MessageDTO m) {
+        if (m.getContent() != null) return m.getContent();
+        return m.getImageUrls() != null ? String.join(",", m.getImageUrls()) : null;
+    }
+
+    // =========================
+    // 내부
+    // =========================
+
+    private Object stripe(UUID chatRoomId) {
+        return stripes[(chatRoomId.hashCode() & 0x7fffffff) % STRIPES];
+    }
+
+    private Window window(UUID chatRoomId) {
+        synchronized (rooms) {
+            return rooms.get(chatRoomId);
+        }
+    }
+
+    /** 방 하나 (stripe 락 안에서만 접근) */
+    private final class Window {
+        private final ChatBotPersonality personality;
+        private final Long ownerId;
+        private final String ownerName;
+        private final ArrayDeque<Turn> turns = new ArrayDeque<>();
+        private long watermark;
+        private String summary;
+        private long summaryWatermark;
+
+        private Window(ChatBotPersonality personality, Long ownerId, String ownerName, long watermark) {
+            this.personality = personality;
+            this.ownerId = ownerId;
+            this.ownerName = ownerName;
+            this.watermark = watermark;
+        }
+
+        private void add(Turn turn) {
+            turns.addLast(turn);
+            if (turns.size() > capacity) {
+                turns.removeFirst();
+            }
+        }
+
+        private Snapshot snapshot() {
+            return new Snapshot(personality, ownerId, ownerName, List.copyOf(turns), summary, summaryWatermark);
+        }
+    }
+
+    /** 대화 1턴 (불변). tokens 는 넣을 때 한 번만 추정 */
+    @Getter
+    public static final class Turn {
+        private final long seq;
+        private final String role;
+        private final String content;
+        private final int tokens;
+
+        private Turn(long seq, String role, String content) {
+            this.seq = seq;
+            this.role = role;
+            this.content = content;
+            this.tokens = estimateTokens(content);
+        }
+
+        /** content 가 없으면 null */
+        public static Turn of(long seq, Long senderId, String content) {
+            if (content == null) return null;
+            return new Turn(seq, KinoBotProfile.KINO_USER_ID.equals(senderId) ? "assistant" : "user", content);
+        }
+
+        /**
+         * 토크나이저 없이 보수적으로: ASCII 4글자당 1, 그 외(한글 등) 글자당 1, 메시지당 고정 4.
+         * 실제보다 약간 크게 잡혀서 예산을 넘기지 않는 쪽.
+         */
+        public static int estimateTokens(String text) {
+            int ascii = 0;
+            int other = 0;
+            for (int i = 0; i < text.length(); i++) {
+                if (text.charAt(i) < 0x80) ascii++;
+                else other++;
+            }
+            return 4 + (ascii + 3) / 4 + other;
+        }
+    }
+
+    /** 적재 재료 (turns 는 오래된 → 최신 순, 요약이 없으면 summary = null / summaryWatermark = 0) */
+    public static final class Seed {
+        private final ChatBotPersonality personality;
+        private final Long ownerId;
+        private final String ownerName;
+        private final List<Turn> turns;
+        private final long watermark;
+        private final String summary;
+        private final long summaryWatermark;
+
+        public Seed(ChatBotPersonality personality, Long ownerId, String ownerName, List<Turn> turns, long watermark,
+                    String summary, long summaryWatermark) {
+            this.personality = personality;
+            this.ownerId = ownerId;
+            this.ownerName = ownerName;
+            this.turns = turns;
+            this.watermark = watermark;
+            this.summary = summary;
+            this.summaryWatermark = summaryWatermark;
+        }
+    }
+
+    /** 조회 결과 (turns 는 오래된 → 최신 순, 읽기 전용) */
+    @Getter
+    public static final class Snapshot {
+        private final ChatBotPersonality personality;
+        private final Long ownerId;
+        private final String ownerName;
+        private final List<Turn> turns;
+        private final String summary;
+        private final long summaryWatermark;
+
+        private Snapshot(ChatBotPersonality personality, Long ownerId, String ownerName, List<Turn> turns,
+                         String summary, long summaryWatermark) {
+            this.personality = personality;
+            this.ownerId = ownerId;
+            this.ownerName = ownerName;
+            this.turns = turns;
+            this.summary = summary;
+            this.summaryWatermark = summaryWatermark;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.kinover_backend.service;
+
+import com.example.kinover_backend.entity.ChatRoom;
+import com.example.kinover_backend.entity.KinoRoomSummary;
+import com.example.kinover_backend.entity.User;
+import com.example.kinover_backend.repository.ChatRoomRepository;
+import com.example.kinover_backend.repository.KinoRoomSummaryRepository;
+import com.example.kinover_backend.repository.MessageRepository;
+import com.example.kinover_backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 키노 요청 본문 조립: 성격별 미리 만든 system 프롬프트 + (있으면) 대화 요약 + 대화 창(KinoHistoryWindow)에서 토큰 예산만큼 최신 턴.
+ * 요약이 있으면 요약 watermark 이후 턴(아직 압축 안 된 짧은 꼬리)만 보낸다.
+ * 대화 창이 적재된 방은 DB 를 읽지 않는다 (적재는 방마다 첫 답장 때 쿼리 4회).
+ */
+@Component
+public class KinoPromptAssembler {
+
+    private final KinoPromptTemplates templates;
+    private final KinoHistoryWindow historyWindow;
+    private final ChatRoomRepository chatRoomRepository;
+    private final UserRepository userRepository;
+    private final MessageRepository messageRepository;
+    private final KinoRoomSummaryRepository kinoRoomSummaryRepository;
+
+    private final String model;
+    private final int historyTokenBudget;
+
+    public KinoPromptAssembler(KinoPromptTemplates templates,
+                               KinoHistoryWindow historyWindow,
+                               ChatRoomRepository chatRoomRepository,
+                               UserRepository userRepository,
+                               MessageRepository messageRepository,
+                               KinoRoomSummaryRepository kinoRoomSummaryRepository,
+                               @Value("${openai.kino.model}") String model,
+                               @Value("${kino.prompt.history-token-budget:2000}") int historyTokenBudget) {
+        this.templates = templates;
+        this.historyWindow = historyWindow;
+        this.chatRoomRepository = chatRoomRepository;
+        this.userRepository = userRepository;
+        this.messageRepository = messageRepository;
+        this.kinoRoomSummaryRepository = kinoRoomSummaryRepository;
+        this.model = model;
+        this.historyTokenBudget = historyTokenBudget;
+    }
+
+    public Map<String, Object> buildRequestBody(UUID chatRoomId, Long userId) {
+        KinoHistoryWindow.Snapshot window = historyWindow.getOrLoad(chatRoomId, () -> load(chatRoomId, userId));
+
+        // 방 주인이 아닌 유저가 부른 경우만 이름 조회 (키노 방은 1인 방이라 보통 없음)
+        String userName = userId.equals(window.getOwnerId()) ? window.getOwnerName() : loadUserName(userId);
+
+        List<KinoHistoryWindow.Turn> turns = withinBudget(
+                after(window.getTurns(), window.getSummaryWatermark()), historyTokenBudget);
+
+        List<Map<String, String>> inputMessages = new ArrayList<>(turns.size() + 2);
+        inputMessages.add(Map.of(
+                "role", "system",
+                "content", templates.systemPrompt(window.getPersonality(), userName)
+        ));
+        if (window.getSummary() != null) {
+            inputMessages.add(Map.of("role", "system", "content", templates.summaryPrompt(window.getSummary())));
+        }
+        for (KinoHistoryWindow.Turn turn : turns) {
+            inputMessages.add(Map.of("role", turn.getRole(), "content", turn.getContent()));
+        }
+
+        // 요청 본문
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", model);
+        requestBody.put("input", inputMessages); // ✅ 주의: "input"
+        return requestBody;
+    }
+
+    /** 최신 턴부터 예산이 찰 때까지 (최신 1턴은 예산을 넘어도 포함), 오래된 → 최신 순으로 반환 */
+    static List<KinoHistoryWindow.Turn> withinBudget(List<KinoHistoryWindow.Turn> turns, int budget) {
+        int used = 0;
+        int from = turns.size();
+        while (from > 0) {
+            int tokens = turns.get(from - 1).getTokens();
+            if (from < turns.size() && used + tokens > budget) break;
+            used += tokens;
+            from--;
+        }
+        return turns.subList(from, turns.size());
+    }
+
+    // 요약에 이미 들어간 턴(seq <= summaryWatermark) 제외. turns 는 seq 오름차순
+    private static List<KinoHistoryWindow.Turn> after(List<KinoHistoryWindow.Turn> turns, long summaryWatermark) {
+        int from = 0;
+        while (from < turns.size() && turns.get(from).getSeq() <= summaryWatermark) {
+            from++;
+        }
+        return turns.subList(from, turns.size());
+    }
+
+    // =========================
+    // 대화 창 적재 (방마다 1회)
+    // =========================
+
+    private KinoHistoryWindow.Seed load(UUID chatRoomId, Long userId) {
+        ChatRoom chatRoom = chatRoomRepository.findById(chatRoomId)
+                .orElseThrow(() -> new RuntimeException("ChatRoom not found"));
+
+        List<MessageRepository.TurnView> newestFirst =
+                messageRepository.findRecentTurns(chatRoomId, PageRequest.of(0, historyWindow.getCapacity()));
+
+        List<KinoHistoryWindow.Turn> turns = new ArrayList<>(newestFirst.size());
+        long watermark = 0L;
+        for (int i = newestFirst.size() - 1; i >= 0; i--) {
+            MessageRepository.TurnView row = newestFirst.get(i);
+            KinoHistoryWindow.Turn turn = KinoHistoryWindow.Turn.of(row.getSeq(), row.getSenderId(), row.getContent());
+            if (turn != null) turns.add(turn);
+            if (row.getSeq() != null) watermark = Math.max(watermark, row.getSeq());
+        }
+        if (newestFirst.isEmpty()) {
+            watermark = chatRoomRepository.findLastSeq(chatRoomId).orElse(0L);
+        }
+
+        KinoRoomSummary summary = kinoRoomSummaryRepository.findById(chatRoomId).orElse(null);
+
+        return new KinoHistoryWindow.Seed(chatRoom.getPersonality(), userId, loadUserName(userId), turns, watermark,
+                summary == null || summary.getSummary().isBlank() ? null : summary.getSummary(),
+                summary == null ? 0L : summary.getWatermarkSeq());
+    }
+
+    private String loadUserName(Long userId) {
+        return userRepository.findById(userId)
+                .map(User::getName)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+}
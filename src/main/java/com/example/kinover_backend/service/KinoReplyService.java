@@ -0,0 +1,269 @@
+package com.example.kinover_backend.service;
+
+import com.example.kinover_backend.config.ExecutorConfig;
+import com.example.kinover_backend.dto.MessageDTO;
+import com.example.kinover_backend.enums.MessageType;
+import com.example.kinover_backend.redis.ChatRoomSubscriptionRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 키노 방 답장 (소켓 스레드 밖, KinoBulkhead 가 허용한 만큼만 kinoExecutor 에서).
+ * 방 채널로 kino:typing → kino:delta(텍스트 조각, 순서 index) … → kino:typing(false) 를 흘려보내고,
+ * 완성된 답장은 마지막에 한 번만 일반 메시지로 저장/발행한다 (클라는 같은 replyId 의 delta 를 이어 붙이다가 message:new 로 교체).
+ * delta 는 flush-ms / flush-chars 단위로 묶어서 발행 (토큰마다 Redis 발행하지 않음).
+ * 격벽에서 shed 되면 kino:busy (안내 문구, 저장하지 않음 → 대화 기록에 섞이지 않음) 만 보낸다.
+ * 저장 후에는 대화 요약 압축을 요청한다 (KinoSummaryService, 별도 풀).
+ *
+ * 연달아 보낸 메시지는 방별 debounce-ms 동안 모아서 답장 1번 (모인 메시지는 이미 저장돼 있어 대화 창에 다 들어감).
+ * 답장 생성 중에 새 메시지가 오면 그 답장은 밀려난다: 다음 조각에서 스트림을 끊고 저장하지 않으며 kino:superseded 로 알림
+ * (클라는 그 replyId 의 delta 를 버림). 새 답장은 debounce 뒤 다시 시작.
+ */
+@Service
+public class KinoReplyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(KinoReplyService.class);
+
+    public static final String TYPING_EVENT = "kino:typing";
+    public static final String DELTA_EVENT = "kino:delta";
+    public static final String BUSY_EVENT = "kino:busy";
+    public static final String SUPERSEDED_EVENT = "kino:superseded";
+    static final String BUSY_CONTENT = "지금 키노한테 말을 거는 친구들이 너무 많아요. 잠시 후에 다시 말해줄래요?";
+
+    private final OpenAiService openAiService;
+    private final MessageService messageService;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final KinoBulkhead kinoBulkhead;
+    private final KinoSummaryService kinoSummaryService;
+    private final TaskScheduler taskScheduler;
+
+    private final long flushMs;
+    private final int flushChars;
+    private final long debounceMs;
+
+    // 방별 최신 요청 (generation 이 바뀌면 그 전 타이머/답장은 무효). 답장이 끝나면 최신일 때만 제거
+    private final ConcurrentHashMap<UUID, Pending> pending = new ConcurrentHashMap<>();
+    private final AtomicLong generations = new AtomicLong();
+
+    public KinoReplyService(OpenAiService openAiService,
+                            MessageService messageService,
+                            StringRedisTemplate redisTemplate,
+                            ObjectMapper objectMapper,
+                            KinoBulkhead kinoBulkhead,
+                            KinoSummaryService kinoSummaryService,
+                            @Qualifier(ExecutorConfig.KINO_DEBOUNCE) TaskScheduler taskScheduler,
+                            @Value("${kino.stream.flush-ms:80}") long flushMs,
+                            @Value("${kino.stream.flush-chars:24}") int flushChars,
+                            @Value("${kino.debounce-ms:1000}") long debounceMs) {
+        this.openAiService = openAiService;
+        this.messageService = messageService;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.kinoBulkhead = kinoBulkhead;
+        this.kinoSummaryService = kinoSummaryService;
+        this.taskScheduler = taskScheduler;
+        this.flushMs = flushMs;
+        this.flushChars = flushChars;
+        this.debounceMs = debounceMs;
+    }
+
+    /**
+     * 바로 리턴. debounce-ms 동안 같은 방에 새 메시지가 없으면 격벽에 제출 → kinoExecutor 에서 답장 생성/스트리밍/저장.
+     * 이전 메시지의 대기 중인 타이머는 취소, 생성 중인 답장은 밀려남.
+     */
+    public void replyAsync(UUID chatRoomId, Long userId) {
+        long generation = generations.incrementAndGet();
+        Pending next = new Pending(generation);
+        Pending previous = pending.put(chatRoomId, next);
+        if (previous != null) previous.cancelTimer();
+        // 격벽에서 기다리던 이전 요청은 어차피 시작하지 않음 → 유저 한도를 비워서 새 요청이 user_limit 으로 밀리지 않게
+        kinoBulkhead.cancelQueued(chatRoomId);
+
+        if (debounceMs <= 0) {
+            submit(chatRoomId, userId, generation);
+            return;
+        }
+        next.setTimer(taskScheduler.schedule(() -> submit(chatRoomId, userId, generation),
+                Instant.now().plusMillis(debounceMs)));
+    }
+
+    private void submit(UUID chatRoomId, Long userId, long generation) {
+        if (!isCurrent(chatRoomId, generation)) return;
+        kinoBulkhead.submit(chatRoomId, userId,
+                () -> reply(chatRoomId, userId, generation),
+                () -> {
+                    // 이미 밀려난 요청의 shed 는 조용히 (최신 요청에 busy 를 보내거나 최신 세대를 지우지 않음)
+                    if (!isCurrent(chatRoomId, generation)) return;
+                    publish(busyEvent(chatRoomId));
+                    release(chatRoomId, generation);
+                });
+    }
+
+    void reply(UUID chatRoomId, Long userId, long generation) {
+        // 격벽에서 기다리는 사이 밀려났으면 시작하지 않음
+        if (!isCurrent(chatRoomId, generation)) return;
+
+        UUID replyId = UUID.randomUUID();
+        DeltaBuffer buffer = new DeltaBuffer(chatRoomId, replyId);
+
+        publish(typingEvent(chatRoomId, replyId, true));
+        try {
+            String reply = openAiService.streamKinoResponse(chatRoomId, userId, delta -> {
+                // 던지면 스트림을 닫고 빠져나옴 (남은 토큰은 읽지 않음)
+                if (!isCurrent(chatRoomId, generation)) throw new CancellationException();
+                buffer.append(delta);
+            });
+            if (!isCurrent(chatRoomId, generation)) throw new CancellationException();
+            buffer.flush();
+
+            MessageDTO kinoReply = new MessageDTO();
+            kinoReply.setChatRoomId(chatRoomId);
+            kinoReply.setContent(reply);
+            kinoReply.setMessageType(MessageType.text);
+            kinoReply.setSenderId(KinoBotProfile.KINO_USER_ID);
+
+            messageService.addMessage(kinoReply);
+            kinoSummaryService.requestCompaction(chatRoomId);
+        } catch (CancellationException e) {
+            publish(supersededEvent(chatRoomId, replyId));
+        } catch (Exception e) {
+            logger.warn("[KINO] reply failed chatRoomId={}, err={}", chatRoomId, e.toString());
+        } finally {
+            publish(typingEvent(chatRoomId, replyId, false));
+            release(chatRoomId, generation);
+        }
+    }
+
+    // =========================
+    // 방별 debounce / 밀어내기
+    // =========================
+
+    private boolean isCurrent(UUID chatRoomId, long generation) {
+        Pending current = pending.get(chatRoomId);
+        return current != null && current.generation == generation;
+    }
+
+    // 끝난 요청이 아직 최신이면 제거 (그 사이 새 요청이 왔으면 그대로 둠)
+    private void release(UUID chatRoomId, long generation) {
+        pending.computeIfPresent(chatRoomId, (id, current) -> current.generation == generation ? null : current);
+    }
+
+    int pendingRooms() {
+        return pending.size();
+    }
+
+    private static final class Pending {
+        private final long generation;
+        private ScheduledFuture<?> timer;
+        private boolean cancelled;
+
+        private Pending(long generation) {
+            this.generation = generation;
+        }
+
+        private synchronized void setTimer(ScheduledFuture<?> timer) {
+            this.timer = timer;
+            if (cancelled) timer.cancel(false);
+        }
+
+        private synchronized void cancelTimer() {
+            cancelled = true;
+            if (timer != null) timer.cancel(false);
+        }
+    }
+
+    // =========================
+    // 방 채널 이벤트
+    // =========================
+
+    private static Map<String, Object> typingEvent(UUID chatRoomId, UUID replyId, boolean typing) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("type", TYPING_EVENT);
+        out.put("chatRoomId", chatRoomId);
+        out.put("senderId", KinoBotProfile.KINO_USER_ID);
+        out.put("replyId", replyId);
+        out.put("typing", typing);
+        return out;
+    }
+
+    private static Map<String, Object> busyEvent(UUID chatRoomId) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("type", BUSY_EVENT);
+        out.put("chatRoomId", chatRoomId);
+        out.put("senderId", KinoBotProfile.KINO_USER_ID);
+        out.put("content", BUSY_CONTENT);
+        return out;
+    }
+
+    private static Map<String, Object> supersededEvent(UUID chatRoomId, UUID replyId) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("type", SUPERSEDED_EVENT);
+        out.put("chatRoomId", chatRoomId);
+        out.put("senderId", KinoBotProfile.KINO_USER_ID);
+        out.put("replyId", replyId);
+        return out;
+    }
+
+    private void publish(Map<String, Object> event) {
+        try {
+            redisTemplate.convertAndSend(
+                    ChatRoomSubscriptionRegistry.topicFor((UUID) event.get("chatRoomId")),
+                    objectMapper.writeValueAsString(event));
+        } catch (Exception e) {
+            // 진행 표시는 보조: 실패해도 최종 메시지는 저장됨
+            logger.warn("[KINO] event publish failed type={}, err={}", event.get("type"), e.toString());
+        }
+    }
+
+    // 스트림 읽는 스레드 1개에서만 사용
+    private final class DeltaBuffer {
+        private final UUID chatRoomId;
+        private final UUID replyId;
+        private final StringBuilder pending = new StringBuilder();
+        private int index;
+        private long lastFlushAt = System.currentTimeMillis();
+
+        private DeltaBuffer(UUID chatRoomId, UUID replyId) {
+            this.chatRoomId = chatRoomId;
+            this.replyId = replyId;
+        }
+
+        private void append(String delta) {
+            pending.append(delta);
+            if (pending.length() >= flushChars || System.currentTimeMillis() - lastFlushAt >= flushMs) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            lastFlushAt = System.currentTimeMillis();
+            if (pending.isEmpty()) return;
+
+            Map<String, Object> out = new LinkedHashMap<>();
+            out.put("type", DELTA_EVENT);
+            out.put("chatRoomId", chatRoomId);
+            out.put("senderId", KinoBotProfile.KINO_USER_ID);
+            out.put("replyId", replyId);
+            out.put("index", index++);
+            out.put("delta", pending.toString());
+            pending.setLength(0);
+            publish(out);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.kinover_backend.service;
+
+import com.example.kinover_backend.config.ExecutorConfig;
+import com.example.kinover_backend.entity.KinoRoomSummary;
+import com.example.kinover_backend.repository.ChatRoomRepository;
+import com.example.kinover_backend.repository.KinoRoomSummaryRepository;
+import com.example.kinover_backend.repository.MessageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 키노 방 대화 요약 (방당 1행, kino_room_summary): 오래된 대화를 이전 요약과 합쳐 다시 요약하는 증분 압축.
+ * - 답장이 저장된 뒤 requestCompaction → kinoSummaryExecutor 에서 (답장 경로 밖, 같은 방 요청은 1개로 합침)
+ * - 최근 tail-turns 개는 원문으로 남기고, 그 앞에 아직 요약 안 된 메시지가 min-batch 개 이상일 때만 압축
+ * - 저장은 읽어 간 version 이 그대로일 때만 (동시 압축/재시도/다른 노드와 겹쳐도 한 번만 반영, watermark 는 앞으로만)
+ * - 초기화(성격 변경)는 행을 지우지 않고 빈 요약 표시 행으로 version 을 올림 → 진행 중이던 압축은 저장에 실패
+ * 압축 결과는 이 노드의 대화 창(KinoHistoryWindow)에 바로 반영하고, 다른 노드는 재적재 때 읽는다.
+ */
+@Service
+public class KinoSummaryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(KinoSummaryService.class);
+
+    private final KinoRoomSummaryRepository kinoRoomSummaryRepository;
+    private final MessageRepository messageRepository;
+    private final ChatRoomRepository chatRoomRepository;
+    private final OpenAiService openAiService;
+    private final KinoPromptTemplates templates;
+    private final KinoHistoryWindow historyWindow;
+    private final Executor summaryExecutor;
+
+    private final String model;
+    private final int tailTurns;
+    private final int minBatch;
+    private final int maxBatch;
+    private final int maxOutputTokens;
+
+    // 실행 대기 중인 방 (같은 방 요청이 여러 번 와도 작업은 1개)
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+
+    public KinoSummaryService(KinoRoomSummaryRepository kinoRoomSummaryRepository,
+                              MessageRepository messageRepository,
+                              ChatRoomRepository chatRoomRepository,
+                              OpenAiService openAiService,
+                              KinoPromptTemplates templates,
+                              KinoHistoryWindow historyWindow,
+                              @Qualifier(ExecutorConfig.KINO_SUMMARY) Executor summaryExecutor,
+                              @Value("${kino.summary.model:${openai.kino.model}}") String model,
+                              @Value("${kino.summary.tail-turns:12}") int tailTurns,
+                              @Value("${kino.summary.min-batch:24}") int minBatch,
+                              @Value("${kino.summary.max-batch:120}") int maxBatch,
+                              @Value("${kino.summary.max-output-tokens:600}") int maxOutputTokens) {
+        this.kinoRoomSummaryRepository = kinoRoomSummaryRepository;
+        this.messageRepository = messageRepository;
+        this.chatRoomRepository = chatRoomRepository;
+        this.openAiService = openAiService;
+        this.templates = templates;
+        this.historyWindow = historyWindow;
+        this.summaryExecutor = summaryExecutor;
+        this.model = model;
+        this.tailTurns = tailTurns;
+        this.minBatch = minBatch;
+        this.maxBatch = maxBatch;
+        this.maxOutputTokens = maxOutputTokens;
+    }
+
+    /** 바로 리턴. 압축할 만큼 쌓였는지는 실행 시점에 판단 */
+    public void requestCompaction(UUID chatRoomId) {
+        if (chatRoomId == null || !pending.add(chatRoomId)) return;
+        try {
+            summaryExecutor.execute(() -> {
+                // 실행 직전에 풀어서, 압축 중 들어온 요청은 다음 작업으로 (compact 는 같은 구간을 두 번 반영하지 않음)
+                pending.remove(chatRoomId);
+                try {
+                    compact(chatRoomId);
+                } catch (Exception e) {
+                    logger.warn("[KINO] summary compaction failed chatRoomId={}, err={}", chatRoomId, e.toString());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(chatRoomId);
+        }
+    }
+
+    /**
+     * 요약 1회 전진. 압축할 게 없거나(이미 따라잡음/덜 쌓임) 다른 압축이 먼저 저장했으면 false.
+     * 같은 상태에서 여러 번 불러도 결과는 한 번 부른 것과 같다.
+     */
+    public boolean compact(UUID chatRoomId) {
+        KinoRoomSummary current = kinoRoomSummaryRepository.findById(chatRoomId).orElse(null);
+        long from = current == null ? 0L : current.getWatermarkSeq();
+        long upto = chatRoomRepository.findLastSeq(chatRoomId).orElse(0L) - tailTurns;
+        if (upto - from < minBatch) return false;
+        // 첫 요약은 가장 오래된 구간이 아니라 창 바로 앞 maxBatch 개부터
+        // (긴 방이 답장마다 압축을 한 번씩 더 부르며 처음부터 따라잡지 않게. 그보다 앞은 요약에서 빠짐)
+        if (from == 0L) from = Math.max(0L, upto - maxBatch);
+
+        List<MessageRepository.TurnView> rows =
+                messageRepository.findTurnsBetween(chatRoomId, from, upto, PageRequest.of(0, maxBatch));
+        if (rows.isEmpty()) return false;
+
+        List<KinoHistoryWindow.Turn> turns = new ArrayList<>(rows.size());
+        for (MessageRepository.TurnView row : rows) {
+            KinoHistoryWindow.Turn turn = KinoHistoryWindow.Turn.of(row.getSeq(), row.getSenderId(), row.getContent());
+            if (turn != null) turns.add(turn);
+        }
+        MessageRepository.TurnView last = rows.get(rows.size() - 1);
+
+        String previous = current == null || current.getSummary().isBlank() ? null : current.getSummary();
+        String summary = openAiService.complete(compactionRequest(previous, turns));
+        if (summary == null || summary.isBlank()) return false;
+        summary = summary.trim();
+
+        LocalDateTime now = LocalDateTime.now();
+        int saved = current == null
+                ? kinoRoomSummaryRepository.insertIfAbsent(chatRoomId, summary, last.getSeq(), last.getMessageId(), now)
+                : kinoRoomSummaryRepository.advance(chatRoomId, current.getVersion(), summary,
+                        last.getSeq(), last.getMessageId(), now);
+        if (saved != 1) {
+            logger.info("[KINO] summary compaction lost race chatRoomId={}, watermark={}", chatRoomId, last.getSeq());
+            return false;
+        }
+
+        historyWindow.updateSummary(chatRoomId, summary, last.getSeq());
+        return true;
+    }
+
+    /**
+     * 성격 변경(메시지 전체 삭제): 요약을 비우고 워터마크를 현재 순번으로 (대화 창은 chat:recent:invalidate 로 재적재).
+     * 행을 남겨 version 을 올리므로, 지우기 전 대화를 읽어 간 압축이 끝나도 저장되지 않는다.
+     */
+    public void reset(UUID chatRoomId) {
+        long lastSeq = chatRoomRepository.findLastSeq(chatRoomId).orElse(0L);
+        kinoRoomSummaryRepository.resetToMarker(chatRoomId, lastSeq, LocalDateTime.now());
+    }
+
+    /** 방 삭제: 요약 행도 삭제 (chat_room FK) */
+    public void delete(UUID chatRoomId) {
+        kinoRoomSummaryRepository.deleteByChatRoomId(chatRoomId);
+    }
+
+    private Map<String, Object> compactionRequest(String previousSummary, List<KinoHistoryWindow.Turn> turns) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", model);
+        requestBody.put("max_output_tokens", maxOutputTokens);
+        requestBody.put("input", List.of(
+                Map.of("role", "system", "content", templates.compactionPrompt()),
+                Map.of("role", "user", "content", templates.compactionInput(previousSummary, turns))
+        ));
+        return requestBody;
+    }
+}
@@ -4,21 +4,26 @@ package com.example.kinover_backend.service;
 import com.example.kinover_backend.dto.ChatRoomMediaResponseDTO;
 import com.example.kinover_backend.dto.MediaItemDTO;
 import com.example.kinover_backend.dto.MessageDTO;
-import com.example.kinover_backend.dto.UserDTO;
+import com.example.kinover_backend.dto.MessagePageResponseDTO;
 import com.example.kinover_backend.entity.Message;
+import com.example.kinover_backend.enums.MessagePageDirection;
 import com.example.kinover_backend.enums.MessageType;
+import com.example.kinover_backend.redis.ChatEventStream;
+import com.example.kinover_backend.redis.ChatRoomSubscriptionRegistry;
+import com.example.kinover_backend.redis.ChatSessionDirectory;
 import com.example.kinover_backend.repository.ChatRoomRepository;
 import com.example.kinover_backend.repository.MessageRepository;
-import com.example.kinover_backend.repository.UserBlockRepository;
 import com.example.kinover_backend.repository.UserRepository;
+import com.example.kinover_backend.util.MessageCursor;
 
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.stereotype.Service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -31,22 +36,27 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class MessageService {
 
+    private static final Logger logger = LoggerFactory.getLogger(MessageService.class);
+
     private final MessageRepository messageRepository;
     private final ChatRoomRepository chatRoomRepository;
     private final UserRepository userRepository;
-    private final UserBlockRepository userBlockRepository;
+    private final BlockGraph blockGraph;
     private final StringRedisTemplate redisTemplate;
     private final ObjectMapper objectMapper;
 
     private final ChatRoomService chatRoomService;
     private final FcmNotificationService fcmNotificationService;
-
-    private final ChannelTopic channelTopic = new ChannelTopic("chat:messages");
+    private final RecentMessageCache recentMessageCache;
+    private final KinoHistoryWindow kinoHistoryWindow;
+    private final ChatSessionDirectory chatSessionDirectory;
+    private final ChatEventStream chatEventStream;
+    private final ChatRoomSubscriptionRegistry chatRoomSubscriptionRegistry;
 
     @Value("${cloudfront.domain}")
     private String cloudFrontDomain;
 
-    public void addMessage(MessageDTO dto) {
+    public MessageDTO addMessage(MessageDTO dto) {
         var chatRoom = chatRoomRepository.findById(dto.getChatRoomId())
                 .orElseThrow(() -> new IllegalArgumentException("ChatRoom not found"));
 
@@ -76,7 +86,8 @@ public class MessageService {
             message.setContent(dto.getContent());
         }
 
-        Message saved = messageRepository.save(message);
+        // ✅ 방 순번 할당 + 저장 + 최신 메시지 스냅샷 + 내 읽음 포인터 (한 트랜잭션)
+        Message saved = chatRoomService.appendMessage(message);
 
         // ✅ 저장된 값 기반 DTO (createdAt 포함) -> Redis + Push 통일
         MessageDTO responseDto = getMessageDTO(saved);
@@ -84,25 +95,34 @@ public class MessageService {
         // ✅ mentionUserIds는 엔티티에 저장되지 않으므로 원본 dto에서 복원
         responseDto.setMentionUserIds(dto.getMentionUserIds());
 
-        // ✅ Redis 발행
+        // ✅ 최근 메시지 캐시 (이 노드) - 다른 노드는 Redis 수신 시 반영
+        recentMessageCache.append(responseDto);
+        // ✅ 키노 대화 창 (답장 생성 중인 키노 방만 적재돼 있음)
+        kinoHistoryWindow.append(responseDto);
+
+        // ✅ 이벤트 로그 먼저 (unread 카운터 / Push 는 consumer group 이 각자 처리)
+        //    메시지는 이미 커밋됨 → 아래 실시간 발행이 실패해도 카운터/푸시는 빠지지 않아야 함
+        chatEventStream.append(responseDto, chatRoomService.getMemberIds(chatRoom.getChatRoomId()));
+
+        // ✅ Redis 발행 (방별 채널: 이 방 멤버가 접속한 노드만 수신)
+        //    실패해도 예외로 돌려주지 않음 (저장은 끝났으니 클라이언트 재전송 → 중복 메시지). 접속자는 다음 조회 때 seq 로 채움
         try {
             String json = objectMapper.writeValueAsString(responseDto);
-            redisTemplate.convertAndSend(channelTopic.getTopic(), json);
+            redisTemplate.convertAndSend(ChatRoomSubscriptionRegistry.topicFor(responseDto.getChatRoomId()), json);
         } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException("Redis 발행 중 오류", e);
+            logger.warn("[CHAT] room channel publish failed chatRoomId={}, seq={}",
+                    responseDto.getChatRoomId(), responseDto.getSeq(), e);
         }
-
-        // ✅ Push (저장된 createdAt 기준으로 '읽음이면 스킵' 가능)
-        sendChatPushNotifications(responseDto);
+        return responseDto;
     }
 
-    private void sendChatPushNotifications(MessageDTO messageDtoFromDb) {
+    // ✅ Push (저장된 seq 기준으로 '읽음이면 스킵' 가능) - ChatEventStreamWorker push group 에서 호출
+    public void dispatchPushNotifications(MessageDTO messageDtoFromDb) {
         if (Boolean.TRUE.equals(messageDtoFromDb.getSystemMessage())) {
             return;
         }
 
-        List<UserDTO> users = chatRoomService.getUsersByChatRoom(messageDtoFromDb.getChatRoomId());
+        List<Long> memberIds = chatRoomService.getMemberIds(messageDtoFromDb.getChatRoomId());
 
         Long senderId = messageDtoFromDb.getSenderId();
 
@@ -114,17 +134,19 @@ public class MessageService {
                 .filter(id -> !id.equals(senderId))
                 .collect(Collectors.toSet());
 
+        // ✅ 어느 노드든 채팅 소켓에 접속 중이면 WebSocket으로 받으므로 푸시 스킵 (Redis 디렉터리 1회 조회)
+        Set<Long> online = chatSessionDirectory.findOnlineUserIds(memberIds);
+
+        // ✅ 보낸 사람을 차단한 멤버 제외 (차단 그래프, 메모리)
+        List<Long> receivers = blockGraph.withoutBlockersOf(memberIds, senderId);
+
         // ✅ 수신자별 "이미 읽음이면 푸시 스킵"
-        for (UserDTO u : users) {
-            Long receiverId = u.getUserId();
+        for (Long receiverId : receivers) {
             if (receiverId.equals(senderId)) continue;
-            if (userBlockRepository.existsByBlocker_UserIdAndBlocked_UserId(receiverId, senderId)) {
-                continue;
-            }
+            if (online.contains(receiverId)) continue;
 
-            LocalDateTime lastReadAt = chatRoomService.getLastReadAt(messageDtoFromDb.getChatRoomId(), receiverId);
-            if (lastReadAt != null && messageDtoFromDb.getCreatedAt() != null
-                    && !lastReadAt.isBefore(messageDtoFromDb.getCreatedAt())) {
+            Long readSeq = chatRoomService.getReadSeq(messageDtoFromDb.getChatRoomId(), receiverId);
+            if (readSeq != null && messageDtoFromDb.getSeq() != null && readSeq >= messageDtoFromDb.getSeq()) {
                 continue;
             }
 
@@ -152,6 +174,7 @@ public class MessageService {
         responseDto.setMessageType(saved.getMessageType());
         responseDto.setSystemMessage(Boolean.TRUE.equals(saved.getSystemMessage()));
         responseDto.setCreatedAt(saved.getCreatedAt());
+        responseDto.setSeq(saved.getSeq());
 
         if (saved.getMessageType() == MessageType.image || saved.getMessageType() == MessageType.video) {
             if (saved.getContent() != null && !saved.getContent().isEmpty()) {
@@ -171,20 +194,103 @@ public class MessageService {
         return responseDto;
     }
 
+    // 레거시 API(before 시각): 시각보다 이전 마지막 메시지의 seq를 찾아 seq 커서로 조회
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
     public List<MessageDTO> fetchMessagesBefore(UUID chatRoomId, LocalDateTime before, int limit, Long viewerUserId) {
-        PageRequest pageRequest = PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
-        LocalDateTime beforeTime = (before != null) ? before : LocalDateTime.now();
+        MessageCursor cursor = null;
+        if (before != null) {
+            List<Long> seqs = messageRepository.findSeqAtOrBefore(chatRoomId, before.minusNanos(1), PageRequest.of(0, 1));
+            if (seqs.isEmpty()) return List.of();
+            cursor = new MessageCursor(seqs.get(0) + 1);
+        }
+        return fetchMessages(chatRoomId, cursor, MessagePageDirection.BEFORE, limit, viewerUserId).getItems();
+    }
 
-        List<Message> messages = new ArrayList<>(
-                messageRepository.findVisibleForViewerBefore(chatRoomId, beforeTime, viewerUserId, pageRequest)
-                        .getContent()
-        );
+    // =========================
+    // ✅ 히스토리 keyset 페이징 (cursor 없으면 최신 페이지)
+    // =========================
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public MessagePageResponseDTO fetchMessages(UUID chatRoomId,
+                                                MessageCursor cursor,
+                                                MessagePageDirection direction,
+                                                int limit,
+                                                Long viewerUserId) {
+        int safeLimit = Math.min(Math.max(limit, 1), 100);
+        PageRequest pageRequest = PageRequest.of(0, safeLimit);
+
+        Slice<Message> slice;
+        List<Long> blockedIds = blockGraph.blockedBy(viewerUserId).asQueryParam();
+        if (cursor == null) {
+            if (direction == MessagePageDirection.AFTER) {
+                throw new IllegalArgumentException("after 조회에는 cursor가 필요합니다.");
+            }
+            // ✅ 최신 페이지는 최근 메시지 캐시에서 (활성 방은 DB를 타지 않음)
+            MessagePageResponseDTO cached = fetchLatestFromCache(chatRoomId, safeLimit, viewerUserId);
+            if (cached != null) return cached;
+            slice = messageRepository.findVisibleForViewerLatest(chatRoomId, blockedIds, pageRequest);
+        } else if (direction == MessagePageDirection.AFTER) {
+            slice = messageRepository.findVisibleForViewerAfter(chatRoomId, cursor.getSeq(), blockedIds, pageRequest);
+        } else {
+            slice = messageRepository.findVisibleForViewerBefore(chatRoomId, cursor.getSeq(), blockedIds, pageRequest);
+        }
+
+        // BEFORE는 최신 → 과거로 읽었으므로 마지막 원소가 다음 커서, 응답은 오래된 → 최신 순
+        List<Message> messages = new ArrayList<>(slice.getContent());
+        String nextCursor = (!messages.isEmpty() && slice.hasNext())
+                ? new MessageCursor(messages.get(messages.size() - 1).getSeq()).encode()
+                : null;
+        if (direction != MessagePageDirection.AFTER) {
+            Collections.reverse(messages);
+        }
 
-        Collections.reverse(messages);
+        return MessagePageResponseDTO.builder()
+                .items(messages.stream().map(MessageService::getMessageDTO).toList())
+                .nextCursor(nextCursor)
+                .hasMore(slice.hasNext())
+                .build();
+    }
+
+    /**
+     * 캐시된 최근 메시지에서 뷰어가 차단한 사람을 빼고 최신 limit개.
+     * limit+1개가 남거나 방 전체가 캐시에 있으면 응답, 아니면(차단이 많아 모자람) null → DB
+     * 이 노드가 방 채널을 구독 중일 때만 캐시 사용: 구독 밖이면 다른 노드의 새 메시지가 덧붙지 않아 최신 페이지가 stale
+     */
+    private MessagePageResponseDTO fetchLatestFromCache(UUID chatRoomId, int limit, Long viewerUserId) {
+        if (limit >= recentMessageCache.getCapacity()) return null;
+        if (!chatRoomSubscriptionRegistry.isSubscribed(chatRoomId)) return null;
+
+        RecentMessageCache.Snapshot snapshot = recentMessageCache.getOrLoad(chatRoomId, () ->
+                messageRepository.findRecentVisible(chatRoomId, PageRequest.of(0, recentMessageCache.getCapacity()))
+                        .stream()
+                        .map(MessageService::getMessageDTO)
+                        .toList());
+        if (snapshot == null) return null;
+
+        BlockGraph.Blocked blocked = blockGraph.blockedBy(viewerUserId);
+
+        // 최신 → 과거로 limit+1개까지 (hasMore 판단용)
+        List<MessageDTO> picked = new ArrayList<>(limit + 1);
+        List<MessageDTO> cachedMessages = snapshot.getMessages();
+        for (int i = cachedMessages.size() - 1; i >= 0 && picked.size() <= limit; i--) {
+            MessageDTO m = cachedMessages.get(i);
+            if (blocked.contains(m.getSenderId())) continue;
+            picked.add(m);
+        }
 
-        return messages.stream()
-                .map(MessageService::getMessageDTO)
-                .toList();
+        boolean hasMore = picked.size() > limit;
+        if (!hasMore && !snapshot.isComplete()) return null;
+        if (hasMore) picked.remove(picked.size() - 1);
+
+        String nextCursor = (hasMore && !picked.isEmpty())
+                ? new MessageCursor(picked.get(picked.size() - 1).getSeq()).encode()
+                : null;
+        Collections.reverse(picked);
+
+        return MessagePageResponseDTO.builder()
+                .items(picked)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
     }
 
     // =========================
@@ -205,7 +311,7 @@ public class MessageService {
                 chatRoomId,
                 types,
                 before,
-                viewerUserId,
+                blockGraph.blockedBy(viewerUserId).asQueryParam(),
                 PageRequest.of(0, safeLimit)
         );
 
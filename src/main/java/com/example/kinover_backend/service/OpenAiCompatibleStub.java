@@ -0,0 +1,219 @@
+package com.example.kinover_backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 내장 OpenAI 호환 스텁 (POST {baseUrl}/responses): 실제 api.openai.com 없이 키노 경로를 돌리기 위한 가짜 업스트림.
+ * - 첫 토큰 지연(firstTokenLatencyMs) 후 tokensPerSecond 속도로 replyTokens 개 조각을 SSE 로 흘림
+ * - streaming=false 거나 요청이 stream 이 아니면 같은 시간을 기다렸다가 JSON 한 번에
+ * - errorRate 확률로 errorStatus 응답, midStreamFailureRate 확률로 중간에 response.failed
+ * 테스트와 부하 하네스에서 직접 쓰고, 서버에서는 kino.completion.stub.enabled=true 일 때 KinoCompletionConfig 가 띄운다.
+ */
+public class OpenAiCompatibleStub {
+
+    // 조각 = 단어 1개 + 공백
+    private static final List<String> WORDS = List.of(
+            "그랬구나", "오늘", "하루도", "정말", "고생", "많았어요", "키노가", "들어줄게요", "천천히", "말해줘요");
+
+    private final ObjectMapper objectMapper;
+    private final Options options;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private volatile JsonNode lastRequest;
+
+    private HttpServer server;
+    private ExecutorService workers;
+
+    public OpenAiCompatibleStub(ObjectMapper objectMapper, Options options) {
+        this.objectMapper = objectMapper;
+        this.options = options;
+    }
+
+    @Getter
+    @Builder
+    public static class Options {
+        // 0 이면 빈 포트
+        @Builder.Default
+        private final int port = 0;
+        @Builder.Default
+        private final long firstTokenLatencyMs = 300L;
+        // 0 이면 조각 사이 지연 없음
+        @Builder.Default
+        private final double tokensPerSecond = 40.0;
+        @Builder.Default
+        private final int replyTokens = 60;
+        @Builder.Default
+        private final boolean streaming = true;
+        @Builder.Default
+        private final double errorRate = 0.0;
+        @Builder.Default
+        private final int errorStatus = 500;
+        @Builder.Default
+        private final double midStreamFailureRate = 0.0;
+    }
+
+    // =========================
+    // 수명
+    // =========================
+
+    public synchronized void start() throws IOException {
+        if (server != null) return;
+        workers = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "openai-stub");
+            t.setDaemon(true);
+            return t;
+        });
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", options.getPort()), 0);
+        server.setExecutor(workers);
+        server.createContext("/v1/responses", this::handle);
+        server.start();
+    }
+
+    public synchronized void stop() {
+        if (server == null) return;
+        server.stop(0);
+        workers.shutdownNow();
+        server = null;
+    }
+
+    /** 클라이언트에 넘길 주소 (openai.base-url 과 같은 형식) */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/v1";
+    }
+
+    public long requestCount() {
+        return requests.get();
+    }
+
+    /** 동시에 처리 중이던 요청 수의 최댓값 (업스트림 동시성 확인용) */
+    public int peakInFlight() {
+        return peakInFlight.get();
+    }
+
+    public JsonNode lastRequest() {
+        return lastRequest;
+    }
+
+    // =========================
+    // 요청 처리
+    // =========================
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                sendJson(exchange, 405, error("method not allowed"));
+                return;
+            }
+            JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+            lastRequest = request;
+
+            pause(options.getFirstTokenLatencyMs());
+            if (roll(options.getErrorRate())) {
+                sendJson(exchange, options.getErrorStatus(), error("injected error"));
+                return;
+            }
+
+            if (options.isStreaming() && request.path("stream").asBoolean(false)) {
+                streamReply(exchange);
+            } else {
+                pause(tokenGapMs() * Math.max(options.getReplyTokens() - 1, 0));
+                sendJson(exchange, 200, wholeReply());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException ignored) {
+            // 클라이언트가 먼저 끊음 (마감/밀려난 답장)
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private void streamReply(HttpExchange exchange) throws IOException, InterruptedException {
+        boolean failMidway = roll(options.getMidStreamFailureRate());
+        int failAt = options.getReplyTokens() / 2;
+
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+        for (int i = 0; i < options.getReplyTokens(); i++) {
+            if (i > 0) pause(tokenGapMs());
+            if (failMidway && i == failAt) {
+                writeEvent(out, Map.of("type", "response.failed", "error", Map.of("message", "injected failure")));
+                return;
+            }
+            writeEvent(out, Map.of("type", "response.output_text.delta", "delta", token(i)));
+        }
+        writeEvent(out, Map.of("type", "response.completed"));
+    }
+
+    private void writeEvent(OutputStream out, Map<String, Object> event) throws IOException {
+        String data = objectMapper.writeValueAsString(event);
+        out.write(("event: " + event.get("type") + "\ndata: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private Map<String, Object> wholeReply() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < options.getReplyTokens(); i++) {
+            text.append(token(i));
+        }
+        Map<String, Object> content = Map.of("type", "output_text", "text", text.toString());
+        Map<String, Object> message = Map.of("type", "message", "role", "assistant", "content", List.of(content));
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("object", "response");
+        out.put("status", "completed");
+        out.put("output", List.of(message));
+        return out;
+    }
+
+    private void sendJson(HttpExchange exchange, int status, Map<String, Object> body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static Map<String, Object> error(String message) {
+        return Map.of("error", Map.of("message", message, "type", "server_error"));
+    }
+
+    private static String token(int i) {
+        return WORDS.get(i % WORDS.size()) + " ";
+    }
+
+    private long tokenGapMs() {
+        return options.getTokensPerSecond() > 0 ? Math.round(1000.0 / options.getTokensPerSecond()) : 0L;
+    }
+
+    private static boolean roll(double rate) {
+        return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    private static void pause(long ms) throws InterruptedException {
+        if (ms > 0) Thread.sleep(ms);
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.kinover_backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * OpenAI 호환 Responses API ({baseUrl}/responses, stream=true) 클라이언트.
+ * SSE 로 오면 조각마다 onDelta, 스트리밍을 안 하는 호환 서버가 JSON 한 번에 주면 전체를 한 조각으로.
+ */
+public class OpenAiCompletionClient implements KinoCompletionClient {
+
+    // 스트림이 중간에 멈춰도 키노 스레드가 무한정 묶이지 않도록 마감 시각에 읽기 스레드를 interrupt
+    private static final ScheduledExecutorService DEADLINES = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "kino-deadline");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // 요청마다 새로 만들지 않고 공유 (커넥션 재사용)
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final ObjectMapper objectMapper;
+    private final URI endpoint;
+    private final String apiKey;
+    private final long requestTimeoutMs;
+
+    public OpenAiCompletionClient(ObjectMapper objectMapper, String baseUrl, String apiKey, long requestTimeoutMs) {
+        this.objectMapper = objectMapper;
+        this.endpoint = URI.create(baseUrl + "/responses");
+        this.apiKey = apiKey;
+        this.requestTimeoutMs = requestTimeoutMs;
+    }
+
+    @Override
+    public String stream(Map<String, Object> requestBody, Consumer<String> onDelta) {
+        requestBody.put("stream", true);
+
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(endpoint)
+                    .timeout(Duration.ofMillis(requestTimeoutMs))
+                    .header("Content-Type", "application/json")
+                    .header("Accept", "text/event-stream")
+                    .header("Authorization", "Bearer " + apiKey)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(requestBody)))
+                    .build();
+        } catch (IOException e) {
+            throw new RuntimeException("키노 요청 생성 실패", e);
+        }
+
+        Deadline deadline = new Deadline(Thread.currentThread(), requestTimeoutMs);
+        try {
+            HttpResponse<Stream<String>> response = httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
+            try (Stream<String> lines = response.body()) {
+                if (response.statusCode() / 100 != 2) {
+                    throw new RuntimeException("키노 응답 실패 status=" + response.statusCode());
+                }
+                boolean sse = response.headers().firstValue("Content-Type")
+                        .map(type -> type.startsWith("text/event-stream"))
+                        .orElse(true);
+                return sse
+                        ? readStream(lines.iterator(), onDelta)
+                        : readWhole(lines.collect(Collectors.joining("\n")), onDelta);
+            }
+        } catch (IOException | UncheckedIOException | InterruptedException e) {
+            if (deadline.expire()) {
+                throw new RuntimeException("키노 응답 시간 초과", e);
+            }
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            throw new RuntimeException("키노 응답 실패", e);
+        } finally {
+            deadline.expire();
+        }
+    }
+
+    // SSE: "data: {...}" 줄만 읽음. output_text.delta 누적, completed 에서 종료
+    private String readStream(Iterator<String> lines, Consumer<String> onDelta) throws IOException {
+        StringBuilder text = new StringBuilder();
+        while (lines.hasNext()) {
+            String line = lines.next();
+            if (!line.startsWith("data:")) continue;
+            String data = line.substring(5).trim();
+            if (data.isEmpty() || "[DONE]".equals(data)) continue;
+
+            JsonNode event = objectMapper.readTree(data);
+            switch (event.path("type").asText()) {
+                case "response.output_text.delta" -> {
+                    String delta = event.path("delta").asText("");
+                    if (delta.isEmpty()) continue;
+                    text.append(delta);
+                    onDelta.accept(delta);
+                }
+                case "response.completed" -> {
+                    return text.toString();
+                }
+                case "response.failed", "error" -> throw new RuntimeException("키노 응답 실패: " + data);
+                default -> {
+                }
+            }
+        }
+        return text.toString();
+    }
+
+    // 스트리밍 없는 응답: output[].content[] 의 output_text 를 이어 붙임
+    private String readWhole(String body, Consumer<String> onDelta) throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (JsonNode item : objectMapper.readTree(body).path("output")) {
+            for (JsonNode content : item.path("content")) {
+                if ("output_text".equals(content.path("type").asText())) {
+                    text.append(content.path("text").asText(""));
+                }
+            }
+        }
+        if (!text.isEmpty()) onDelta.accept(text.toString());
+        return text.toString();
+    }
+
+    // 마감 시각에 읽기 스레드 interrupt. expire() 이후에는 절대 interrupt 하지 않음
+    private static final class Deadline {
+        private final Thread worker;
+        private final ScheduledFuture<?> timer;
+        private boolean done;
+        private boolean fired;
+
+        private Deadline(Thread worker, long timeoutMs) {
+            this.worker = worker;
+            this.timer = DEADLINES.schedule(this::fire, timeoutMs, TimeUnit.MILLISECONDS);
+        }
+
+        private synchronized void fire() {
+            if (done) return;
+            fired = true;
+            worker.interrupt();
+        }
+
+        /** 타이머 해제. 이미 마감돼서 interrupt 했었다면 플래그를 지우고 true */
+        private synchronized boolean expire() {
+            if (!done) {
+                done = true;
+                timer.cancel(false);
+                if (fired) Thread.interrupted();
+            }
+            return fired;
+        }
+    }
+}
@@ -11,7 +11,6 @@ import com.example.kinover_backend.repository.FamilyRepository;
 import com.example.kinover_backend.repository.NotificationRepository;
 import com.example.kinover_backend.repository.PostImageRepository;
 import com.example.kinover_backend.repository.PostRepository;
-import com.example.kinover_backend.repository.UserBlockRepository;
 import com.example.kinover_backend.repository.UserFamilyRepository;
 import com.example.kinover_backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -35,7 +34,7 @@ public class PostService {
     private final UserFamilyRepository userFamilyRepository;
     private final FcmNotificationService fcmNotificationService;
     private final S3Service s3Service;
-    private final UserBlockRepository userBlockRepository;
+    private final BlockGraph blockGraph;
 
     @Value("${cloudfront.domain}")
     private String cloudFrontDomain;
@@ -224,7 +223,7 @@ public class PostService {
             if (member == null) continue;
             if (!member.getUserId().equals(authenticatedUserId)
                     && Boolean.TRUE.equals(member.getIsPostNotificationOn())) {
-                if (userBlockRepository.existsByBlocker_UserIdAndBlocked_UserId(member.getUserId(), authorUserId)) {
+                if (blockGraph.isBlocked(member.getUserId(), authorUserId)) {
                     continue;
                 }
                 fcmNotificationService.sendPostNotification(member.getUserId(), postDTO);
@@ -246,9 +245,10 @@ public class PostService {
 
         UUID familyId = familyIds.get(0);
 
+        List<Long> blockedIds = blockGraph.blockedBy(userId).asQueryParam();
         List<Post> posts = (categoryId == null)
-                ? postRepository.findByFamilyWithImagesVisibleForViewerOrderByCreatedAtDesc(familyId, userId)
-                : postRepository.findByFamilyAndCategoryWithImagesVisibleForViewerOrderByCreatedAtDesc(familyId, categoryId, userId);
+                ? postRepository.findByFamilyWithImagesVisibleForViewerOrderByCreatedAtDesc(familyId, blockedIds)
+                : postRepository.findByFamilyAndCategoryWithImagesVisibleForViewerOrderByCreatedAtDesc(familyId, categoryId, blockedIds);
 
         // images 정렬(※ PostDTO.from에서도 정렬한다면 여기 제거 가능)
         for (Post p : posts) {
@@ -451,7 +451,7 @@ public class PostService {
             throw new RuntimeException("게시글 없음");
         }
         Long authorId = post.getAuthor() != null ? post.getAuthor().getUserId() : null;
-        if (authorId != null && userBlockRepository.existsByBlocker_UserIdAndBlocked_UserId(userId, authorId)) {
+        if (blockGraph.isBlocked(userId, authorId)) {
             throw new RuntimeException("게시글 없음");
         }
 
@@ -0,0 +1,228 @@
+package com.example.kinover_backend.service;
+
+import com.example.kinover_backend.redis.ChatRoomSubscriptionRegistry;
+import com.example.kinover_backend.repository.ChatRoomRepository;
+import com.example.kinover_backend.repository.MessageRepository;
+import com.example.kinover_backend.repository.ReadPointerBatchRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * room:read 모아서 처리.
+ * - (유저, 방)별로 가장 앞선 포인터만 남기고 chat.read-receipt.flush-interval-ms 마다 한 번에 반영
+ * - DB: JDBC batch 1회 (포인터는 전진할 때만), unread 카운터는 전진한 항목만 갱신
+ * - 브로드캐스트: flush당 방별 Redis 발행 1회 (room:read:batch) → 구독 측에서 room:read 로 풀어서 전송
+ */
+@Component
+@RequiredArgsConstructor
+public class ReadReceiptAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReceiptAggregator.class);
+
+    public static final String BATCH_EVENT_TYPE = "room:read:batch";
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final MessageRepository messageRepository;
+    private final ReadPointerBatchRepository readPointerBatchRepository;
+    private final ChatUnreadCounterService chatUnreadCounterService;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final ConcurrentHashMap<Key, Pending> pending = new ConcurrentHashMap<>();
+
+    // =========================
+    // 접수
+    // =========================
+
+    /** 클라이언트 읽음 이벤트: 다음 flush 때 DB 반영 + 브로드캐스트 */
+    public void submit(UUID chatRoomId, Long userId, Long readSeq, LocalDateTime lastReadAt) {
+        if (chatRoomId == null || userId == null || (readSeq == null && lastReadAt == null)) return;
+        pending.merge(new Key(chatRoomId, userId), new Pending(readSeq, lastReadAt, true, false), Pending::merge);
+    }
+
+    /** 이미 DB에 반영된 포인터 (메시지 전송 시 보낸 사람): 브로드캐스트만 */
+    public void submitPersisted(UUID chatRoomId, Long userId, Long readSeq, LocalDateTime lastReadAt) {
+        if (chatRoomId == null || userId == null || readSeq == null) return;
+        pending.merge(new Key(chatRoomId, userId), new Pending(readSeq, lastReadAt, false, true), Pending::merge);
+    }
+
+    // =========================
+    // flush
+    // =========================
+
+    @Scheduled(fixedDelayString = "${chat.read-receipt.flush-interval-ms:250}")
+    public void flush() {
+        if (pending.isEmpty()) return;
+
+        Map<Key, Pending> batch = new LinkedHashMap<>();
+        for (Key key : pending.keySet()) {
+            Pending p = pending.remove(key);
+            if (p != null) batch.put(key, p);
+        }
+        if (batch.isEmpty()) return;
+
+        try {
+            publish(persist(batch));
+        } catch (Exception e) {
+            logger.warn("[READ_RECEIPT] flush failed size={}, err={}", batch.size(), e.toString());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /** DB 반영 후 브로드캐스트할 포인터 목록 */
+    private List<Map<String, Object>> persist(Map<Key, Pending> batch) {
+        List<Map<String, Object>> reads = new ArrayList<>();
+
+        Set<UUID> roomIds = new HashSet<>();
+        batch.forEach((key, p) -> {
+            if (p.write) roomIds.add(key.chatRoomId);
+        });
+
+        Map<UUID, Long> lastSeqs = new HashMap<>();
+        if (!roomIds.isEmpty()) {
+            for (ChatRoomRepository.LastSeqView row : chatRoomRepository.findLastSeqs(roomIds)) {
+                lastSeqs.put(row.getChatRoomId(), row.getLastSeq());
+            }
+        }
+
+        List<Key> keys = new ArrayList<>();
+        List<ReadPointerBatchRepository.Advance> advances = new ArrayList<>();
+        for (Map.Entry<Key, Pending> e : batch.entrySet()) {
+            Key key = e.getKey();
+            Pending p = e.getValue();
+
+            if (!p.write) {
+                reads.add(readEvent(key, p.readSeq, p.lastReadAt));
+                continue;
+            }
+
+            Long lastSeq = lastSeqs.get(key.chatRoomId);
+            if (lastSeq == null) continue; // 삭제된 방
+
+            long target;
+            if (p.readSeq != null) {
+                target = Math.min(p.readSeq, lastSeq);
+            } else {
+                target = messageRepository.findSeqAtOrBefore(key.chatRoomId, p.lastReadAt, PageRequest.of(0, 1))
+                        .stream().findFirst().orElse(0L);
+            }
+
+            keys.add(key);
+            advances.add(new ReadPointerBatchRepository.Advance(
+                    key.chatRoomId, key.userId, target, p.lastReadAt != null ? p.lastReadAt : LocalDateTime.now()));
+        }
+
+        int[] counts = readPointerBatchRepository.advanceReadPointers(advances);
+        Map<Key, Long> unknown = readBackUnknown(counts, advances);
+        for (int i = 0; i < advances.size(); i++) {
+            Key key = keys.get(i);
+            ReadPointerBatchRepository.Advance a = advances.get(i);
+
+            // 0 = 멤버가 아니거나 이미 더 앞선 포인터 → DB/카운터는 그대로
+            // SUCCESS_NO_INFO = 드라이버가 모름 → 다시 읽은 read_seq 가 목표와 같을 때만 전진으로 본다
+            boolean advanced = counts[i] == Statement.SUCCESS_NO_INFO
+                    ? Objects.equals(unknown.get(key), a.getReadSeq())
+                    : counts[i] > 0;
+            if (!advanced) {
+                Pending p = batch.get(key);
+                if (p.persisted) reads.add(readEvent(key, p.readSeq, p.lastReadAt));
+                continue;
+            }
+
+            long lastSeq = lastSeqs.get(key.chatRoomId);
+            chatUnreadCounterService.setRoomCount(key.userId, key.chatRoomId, lastSeq - a.getReadSeq(), lastSeq);
+            reads.add(readEvent(key, a.getReadSeq(), a.getReadAt()));
+        }
+        return reads;
+    }
+
+    /** 갱신 수를 모르는 항목의 현재 read_seq (SELECT 1회, 없으면 빈 맵) */
+    private Map<Key, Long> readBackUnknown(int[] counts, List<ReadPointerBatchRepository.Advance> advances) {
+        List<ReadPointerBatchRepository.Advance> unknown = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == Statement.SUCCESS_NO_INFO) unknown.add(advances.get(i));
+        }
+        if (unknown.isEmpty()) return Map.of();
+
+        Map<Key, Long> readSeqs = new HashMap<>();
+        for (ReadPointerBatchRepository.ReadPointer row : readPointerBatchRepository.findReadPointers(unknown)) {
+            readSeqs.put(new Key(row.getChatRoomId(), row.getUserId()), row.getReadSeq());
+        }
+        return readSeqs;
+    }
+
+    // 방별 채널이라 방마다 1회
+    private void publish(List<Map<String, Object>> reads) throws Exception {
+        Map<UUID, List<Map<String, Object>>> readsByRoom = new LinkedHashMap<>();
+        for (Map<String, Object> read : reads) {
+            readsByRoom.computeIfAbsent((UUID) read.get("chatRoomId"), k -> new ArrayList<>()).add(read);
+        }
+
+        for (Map.Entry<UUID, List<Map<String, Object>>> e : readsByRoom.entrySet()) {
+            Map<String, Object> out = new HashMap<>();
+            out.put("type", BATCH_EVENT_TYPE);
+            out.put("reads", e.getValue());
+            redisTemplate.convertAndSend(
+                    ChatRoomSubscriptionRegistry.topicFor(e.getKey()), objectMapper.writeValueAsString(out));
+        }
+    }
+
+    // 클라이언트가 받는 room:read 형태 그대로
+    private static Map<String, Object> readEvent(Key key, Long readSeq, LocalDateTime lastReadAt) {
+        Map<String, Object> out = new HashMap<>();
+        out.put("type", "room:read");
+        out.put("chatRoomId", key.chatRoomId);
+        out.put("userId", key.userId);
+        out.put("lastReadAt", lastReadAt);
+        out.put("readSeq", readSeq);
+        return out;
+    }
+
+    // =========================
+    // 내부 타입
+    // =========================
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class Key {
+        private final UUID chatRoomId;
+        private final Long userId;
+    }
+
+    /** 같은 (유저, 방)의 읽음은 가장 앞선 값만 유지 (불변, merge로 교체) */
+    @RequiredArgsConstructor
+    private static final class Pending {
+        private final Long readSeq;
+        private final LocalDateTime lastReadAt;
+        private final boolean write;      // DB 반영 필요 (클라이언트 이벤트)
+        private final boolean persisted;  // 이미 반영된 포인터 포함 → 전진 여부와 무관하게 브로드캐스트
+
+        private static Pending merge(Pending a, Pending b) {
+            return new Pending(max(a.readSeq, b.readSeq), max(a.lastReadAt, b.lastReadAt),
+                    a.write || b.write, a.persisted || b.persisted);
+        }
+
+        private static <T extends Comparable<? super T>> T max(T a, T b) {
+            if (a == null) return b;
+            if (b == null) return a;
+            return a.compareTo(b) >= 0 ? a : b;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.kinover_backend.service;
+
+import com.example.kinover_backend.dto.MessageDTO;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * 활성 채팅방 최근 메시지 캐시 (인스턴스 로컬).
+ * - 방마다 최근 N개 MessageDTO를 seq 순으로 보관, 방 개수는 LRU로 제한
+ * - 적재: 첫 조회 시 DB에서 최근 N개 (숨김 제외, 뷰어별 차단 필터는 읽는 쪽에서)
+ * - 추가: 이미 적재된 방에만 seq가 이어질 때 덧붙임 (빈틈이 생기면 버리고 다음 조회 때 재적재)
+ * - 범위: 방 채널(chat:room:{id})을 구독 중인 방만 사용, 구독 시작/해제 때 버림 (ChatRoomSubscriptionRegistry)
+ * - 무효화: 메시지 숨김/삭제 시 로컬 + Redis 채널로 다른 인스턴스까지
+ */
+@Component
+public class RecentMessageCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecentMessageCache.class);
+
+    public static final String INVALIDATE_CHANNEL = "chat:recent:invalidate";
+    private static final int STRIPES = 64;
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Getter
+    private final int capacity;
+    private final int maxRooms;
+
+    // 적재/추가/무효화는 방 단위 stripe 락으로 직렬화 (적재 중 들어온 메시지가 빠지지 않도록)
+    private final Object[] stripes = new Object[STRIPES];
+    private final LinkedHashMap<UUID, Ring> rooms;
+
+    public RecentMessageCache(StringRedisTemplate redisTemplate,
+                              @Value("${chat.recent-cache.per-room:50}") int capacity,
+                              @Value("${chat.recent-cache.max-rooms:2000}") int maxRooms) {
+        this.redisTemplate = redisTemplate;
+        this.capacity = capacity;
+        this.maxRooms = maxRooms;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+        this.rooms = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Ring> eldest) {
+                return size() > RecentMessageCache.this.maxRooms;
+            }
+        };
+    }
+
+    // =========================
+    // 조회
+    // =========================
+
+    /** 적재된 방이면 스냅샷, 아니면 null */
+    public Snapshot get(UUID chatRoomId) {
+        if (chatRoomId == null) return null;
+        synchronized (stripe(chatRoomId)) {
+            Ring ring = ring(chatRoomId);
+            return ring != null ? ring.snapshot() : null;
+        }
+    }
+
+    /** 적재된 방이면 스냅샷, 아니면 loader(최신 → 과거 순 최대 capacity개)로 적재 후 스냅샷 */
+    public Snapshot getOrLoad(UUID chatRoomId, Supplier<List<MessageDTO>> loader) {
+        if (chatRoomId == null) return null;
+        synchronized (stripe(chatRoomId)) {
+            Ring ring = ring(chatRoomId);
+            if (ring == null) {
+                List<MessageDTO> newestFirst = loader.get();
+                ring = new Ring(newestFirst.size() < capacity);
+                for (int i = newestFirst.size() - 1; i >= 0; i--) {
+                    ring.add(copyOf(newestFirst.get(i)));
+                }
+                synchronized (rooms) {
+                    rooms.put(chatRoomId, ring);
+                }
+            }
+            return ring.snapshot();
+        }
+    }
+
+    // =========================
+    // 추가 / 무효화
+    // =========================
+
+    /** 새 메시지 (저장 커밋 후 / Redis 수신 시). 적재 안 된 방은 무시 */
+    public void append(MessageDTO message) {
+        if (message == null || message.getChatRoomId() == null || message.getSeq() == null) return;
+
+        UUID chatRoomId = message.getChatRoomId();
+        synchronized (stripe(chatRoomId)) {
+            Ring ring = ring(chatRoomId);
+            if (ring == null) return;
+
+            long seq = message.getSeq();
+            if (seq <= ring.watermark) return; // 같은 메시지를 로컬 저장 + Redis 수신으로 두 번 받는 경우
+            if (seq != ring.watermark + 1) {
+                // 중간 메시지를 못 받음 → 다음 조회 때 DB에서 다시 적재
+                evictLocal(chatRoomId);
+                return;
+            }
+            ring.add(copyOf(message));
+        }
+    }
+
+    /**
+     * Redis 수신용: 적재된 방이고 이어지는 seq 일 때만 decoder 로 본문을 만들어 추가.
+     * 캐시에 없는 방의 메시지는 역직렬화 자체를 하지 않는다.
+     */
+    public void appendIfLoaded(UUID chatRoomId, Long seq, Supplier<MessageDTO> decoder) {
+        if (chatRoomId == null || seq == null) return;
+
+        synchronized (stripe(chatRoomId)) {
+            Ring ring = ring(chatRoomId);
+            if (ring == null || seq <= ring.watermark) return;
+        }
+        append(decoder.get());
+    }
+
+    /** 숨김/삭제 등 과거 메시지가 바뀐 경우: 지금 + 커밋 후 로컬 제거, 다른 인스턴스에도 전파 */
+    public void invalidate(UUID chatRoomId) {
+        if (chatRoomId == null) return;
+        evictLocal(chatRoomId);
+
+        Runnable afterCommit = () -> {
+            evictLocal(chatRoomId);
+            try {
+                redisTemplate.convertAndSend(INVALIDATE_CHANNEL, chatRoomId.toString());
+            } catch (Exception e) {
+                logger.warn("[RECENT_CACHE] invalidate publish failed chatRoomId={}, err={}", chatRoomId, e.toString());
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    afterCommit.run();
+                }
+            });
+            return;
+        }
+        afterCommit.run();
+    }
+
+    public void evictLocal(UUID chatRoomId) {
+        if (chatRoomId == null) return;
+        synchronized (stripe(chatRoomId)) {
+            synchronized (rooms) {
+                rooms.remove(chatRoomId);
+            }
+        }
+    }
+
+    // =========================
+    // 내부
+    // =========================
+
+    private Object stripe(UUID chatRoomId) {
+        return stripes[(chatRoomId.hashCode() & 0x7fffffff) % STRIPES];
+    }
+
+    private Ring ring(UUID chatRoomId) {
+        synchronized (rooms) {
+            return rooms.get(chatRoomId); // access order 갱신 (LRU)
+        }
+    }
+
+    // 멘션은 DB에 저장되지 않으므로 DB 조회 결과와 같게 비워서 보관
+    private static MessageDTO copyOf(MessageDTO src) {
+        MessageDTO dto = new MessageDTO();
+        dto.setMessageId(src.getMessageId());
+        dto.setContent(src.getContent());
+        dto.setChatRoomId(src.getChatRoomId());
+        dto.setSenderId(src.getSenderId());
+        dto.setSenderName(src.getSenderName());
+        dto.setSenderImage(src.getSenderImage());
+        dto.setMessageType(src.getMessageType());
+        dto.setSystemMessage(src.getSystemMessage());
+        dto.setImageUrls(src.getImageUrls() != null ? List.copyOf(src.getImageUrls()) : null);
+        dto.setMentionUserIds(null);
+        dto.setCreatedAt(src.getCreatedAt());
+        dto.setSeq(src.getSeq());
+        return dto;
+    }
+
+    /** 방 하나의 최근 메시지 (stripe 락 안에서만 접근) */
+    private final class Ring {
+        private final ArrayDeque<MessageDTO> messages = new ArrayDeque<>();
+        private long watermark;
+        // 방의 (숨김 제외) 전체 메시지가 들어 있는지: 더 오래된 메시지가 없다는 뜻
+        private boolean complete;
+
+        private Ring(boolean complete) {
+            this.complete = complete;
+        }
+
+        private void add(MessageDTO message) {
+            messages.addLast(message);
+            watermark = Math.max(watermark, message.getSeq() != null ? message.getSeq() : 0L);
+            if (messages.size() > capacity) {
+                messages.removeFirst();
+                complete = false;
+            }
+        }
+
+        private Snapshot snapshot() {
+            return new Snapshot(List.copyOf(messages), complete);
+        }
+    }
+
+    /** 조회 결과 (seq 오름차순, 읽기 전용) */
+    @Getter
+    public static final class Snapshot {
+        private final List<MessageDTO> messages;
+        private final boolean complete;
+
+        private Snapshot(List<MessageDTO> messages, boolean complete) {
+            this.messages = messages;
+            this.complete = complete;
+        }
+    }
+}
@@ -24,6 +24,7 @@ public class ReportService {
     private final MessageRepository messageRepository;
     private final ScheduleRepository scheduleRepository;
     private final UserBlockService userBlockService;
+    private final RecentMessageCache recentMessageCache;
 
     @Value("${moderation.report.auto-hide-threshold:3}")
     private int autoHideThreshold;
@@ -162,6 +163,7 @@ public class ReportService {
             case MESSAGE -> messageRepository.findById(targetUuid).ifPresent(m -> {
                 m.setHidden(true);
                 messageRepository.save(m);
+                recentMessageCache.invalidate(m.getChatRoom().getChatRoomId());
             });
             case SCHEDULE -> scheduleRepository.findById(targetUuid).ifPresent(s -> {
                 s.setHidden(true);
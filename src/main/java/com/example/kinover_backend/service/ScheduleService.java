@@ -8,7 +8,6 @@ import com.example.kinover_backend.entity.User;
 import com.example.kinover_backend.enums.ScheduleType;
 import com.example.kinover_backend.repository.FamilyRepository;
 import com.example.kinover_backend.repository.ScheduleRepository;
-import com.example.kinover_backend.repository.UserBlockRepository;
 import com.example.kinover_backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
@@ -34,7 +33,7 @@ public class ScheduleService {
     private final ScheduleRepository scheduleRepository;
     private final UserRepository userRepository;
     private final FamilyRepository familyRepository;
-    private final UserBlockRepository userBlockRepository;
+    private final BlockGraph blockGraph;
 
     @Transactional(readOnly = true)
     public List<ScheduleDTO> getSchedulesByFilter(ScheduleDTO dto) {
@@ -47,7 +46,8 @@ public class ScheduleService {
         }
 
         Long viewerId = userId;
-        List<Schedule> schedules = scheduleRepository.findVisibleSchedulesByFilter(familyId, date, userId, viewerId);
+        List<Schedule> schedules = scheduleRepository.findVisibleSchedulesByFilter(
+                familyId, date, userId, blockGraph.blockedBy(viewerId).asQueryParam());
 
         // ✅ DTO 생성자에서 participantNames까지 채워짐
         return schedules.stream().map(ScheduleDTO::new).toList();
@@ -122,11 +122,7 @@ public class ScheduleService {
 
         List<Schedule> schedules = scheduleRepository.findByFamily_FamilyIdAndDateBetweenAndHiddenFalse(familyId, startDate, endDate);
 
-        Set<Long> blockedIds = Collections.emptySet();
-        if (viewerUserId != null) {
-            blockedIds = new HashSet<>(userBlockRepository.findBlockedUserIdsByBlockerId(viewerUserId));
-        }
-        final Set<Long> blocked = blockedIds;
+        BlockGraph.Blocked blocked = blockGraph.blockedBy(viewerUserId);
 
         if (!blocked.isEmpty()) {
             schedules = schedules.stream()
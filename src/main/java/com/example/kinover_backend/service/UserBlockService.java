@@ -18,6 +18,7 @@ public class UserBlockService {
 
     private final UserBlockRepository userBlockRepository;
     private final UserRepository userRepository;
+    private final BlockGraph blockGraph;
 
     @Transactional
     public void blockUser(Long blockerId, Long blockedId) {
@@ -34,6 +35,8 @@ public class UserBlockService {
             return;
         }
 
+        blockGraph.invalidate(blockerId);
+
         User blocker = userRepository.getReferenceById(blockerId);
         User blocked = userRepository.getReferenceById(blockedId);
 
@@ -53,6 +56,7 @@ public class UserBlockService {
             throw new BadRequestException("blockerId와 blockedUserId는 필수입니다.");
         }
         userBlockRepository.deleteByBlocker_UserIdAndBlocked_UserId(blockerId, blockedId);
+        blockGraph.invalidate(blockerId);
     }
 
     @Transactional(readOnly = true)
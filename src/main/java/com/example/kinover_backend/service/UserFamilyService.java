@@ -10,7 +10,6 @@ import com.example.kinover_backend.repository.ChatRoomRepository;
 import com.example.kinover_backend.repository.FamilyRepository;
 import com.example.kinover_backend.repository.UserChatRoomRepository;
 import com.example.kinover_backend.controller.ForbiddenException;
-import com.example.kinover_backend.repository.UserBlockRepository;
 import com.example.kinover_backend.repository.UserFamilyRepository;
 import com.example.kinover_backend.repository.UserRepository;
 import jakarta.transaction.Transactional;
@@ -27,7 +26,7 @@ public class UserFamilyService {
 
     private final UserFamilyRepository userFamilyRepository;
     private final UserRepository userRepository;
-    private final UserBlockRepository userBlockRepository;
+    private final BlockGraph blockGraph;
     private final ChatRoomRepository chatRoomRepository;
     private final UserChatRoomRepository userChatRoomRepository;
     private final FamilyRepository familyRepository;
@@ -36,7 +35,7 @@ public class UserFamilyService {
 
     public UserFamilyService(UserFamilyRepository userFamilyRepository,
                              UserRepository userRepository,
-                             UserBlockRepository userBlockRepository,
+                             BlockGraph blockGraph,
                              ChatRoomRepository chatRoomRepository,
                              UserChatRoomRepository userChatRoomRepository,
                              FamilyRepository familyRepository,
@@ -44,7 +43,7 @@ public class UserFamilyService {
                              UserService userService) {
         this.userFamilyRepository = userFamilyRepository;
         this.userRepository = userRepository;
-        this.userBlockRepository = userBlockRepository;
+        this.blockGraph = blockGraph;
         this.chatRoomRepository = chatRoomRepository;
         this.userChatRoomRepository = userChatRoomRepository;
         this.familyRepository = familyRepository;
@@ -62,11 +61,10 @@ public class UserFamilyService {
         for (User u : users) {
             userService.expireStaleEmotionIfNeeded(u);
         }
+        BlockGraph.Blocked blocked = blockGraph.blockedBy(viewerUserId);
         return users.stream()
                 .map(UserDTO::new)
-                .filter(dto -> dto.getUserId() == null
-                        || viewerUserId == null
-                        || !userBlockRepository.existsByBlocker_UserIdAndBlocked_UserId(viewerUserId, dto.getUserId()))
+                .filter(dto -> !blocked.contains(dto.getUserId()))
                 .collect(Collectors.toList());
     }
 
@@ -51,8 +51,9 @@ public class UserService {
     private final UserChatRoomRepository userChatRoomRepository;
     private static final String DELETED_USER_IMAGE = "user.png";
 
-    // ✅ 채팅 unread 계산용
-    private final MessageRepository messageRepository;
+    // ✅ 채팅 unread: Redis 카운터
+    private final ChatUnreadCounterService chatUnreadCounterService;
+    private final ChatMembershipCache chatMembershipCache;
 
     @Autowired
     private EntityManager entityManager;
@@ -164,12 +165,14 @@ public class UserService {
 
     private void deleteSharedBotChatRooms(Long userId, Long botId) {
         // MariaDB blocks DELETE ... IN (subquery from the same table),
-        // so read the bot room IDs first and delete in a second query.
-        List<UUID> botChatRoomIds = userChatRoomRepository.findChatRoomIdsByUserId(botId);
+        // so read the rooms shared with the bot first and delete in a second query.
+        // Only this user's rooms: the bot is a member of every Kino room.
+        List<UUID> botChatRoomIds = userChatRoomRepository.findSharedChatRoomIds(userId, botId);
         if (botChatRoomIds == null || botChatRoomIds.isEmpty()) {
             return;
         }
         userChatRoomRepository.deleteByUserIdAndChatRoomIds(userId, botChatRoomIds);
+        chatMembershipCache.invalidate(botChatRoomIds);
     }
 
     public User updateUserFromKakao(User user, KakaoUserDto kakaoUserDto) {
@@ -200,11 +203,11 @@ public class UserService {
         User user = userRepository.findByUserId(userId)
                 .orElseThrow(() -> new RuntimeException("존재하지 않는 유저입니다."));
 
-        Long chatbotId = 9999999999L;
-        deleteSharedBotChatRooms(userId, chatbotId);
+        deleteSharedBotChatRooms(userId, KinoBotProfile.KINO_USER_ID);
         chatRoomNotificationRepository.deleteByUser_UserId(userId);
         fcmTokenRepository.deleteByUser_UserId(userId);
         userFamilyRepository.deleteByUser_UserId(userId);
+        chatUnreadCounterService.evictUser(userId);
 
         user.setName("탈퇴했음");
         user.setImage(cloudFrontDomain + DELETED_USER_IMAGE);
@@ -567,30 +570,8 @@ public class UserService {
         return total;
     }
 
-    @Transactional(readOnly = true)
     public long getChatUnreadCount(Long userId) {
-        List<UserChatRoom> links = userChatRoomRepository.findByUserId(userId);
-        if (links == null || links.isEmpty())
-            return 0L;
-
-        long total = 0L;
-
-        for (UserChatRoom ucr : links) {
-            UUID chatRoomId = ucr.getChatRoom().getChatRoomId();
-            LocalDateTime lastReadAt = ucr.getLastReadAt();
-
-            int cnt;
-            if (lastReadAt == null) {
-                cnt = messageRepository.countByChatRoom_ChatRoomIdAndSender_UserIdNot(chatRoomId, userId);
-            } else {
-                cnt = messageRepository.countByChatRoom_ChatRoomIdAndCreatedAtAfterAndSender_UserIdNot(
-                        chatRoomId, lastReadAt, userId);
-            }
-
-            total += Math.max(cnt, 0);
-        }
-
-        return total;
+        return chatUnreadCounterService.getTotal(userId);
     }
 
     @Transactional(readOnly = true)
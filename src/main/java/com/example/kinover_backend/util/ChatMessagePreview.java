@@ -0,0 +1,38 @@
+package com.example.kinover_backend.util;
+
+import com.example.kinover_backend.enums.MessageType;
+
+/**
+ * 채팅방 목록에 보여줄 최신 메시지 미리보기 문구.
+ * 이미지/동영상은 content(쉼표로 이은 URL)를 문구로 바꿔서 저장/표시한다.
+ */
+public final class ChatMessagePreview {
+
+    public static final int MAX_LENGTH = 255;
+
+    private ChatMessagePreview() {
+    }
+
+    /** text/image/video 외 타입은 null */
+    public static String of(MessageType type, String content) {
+        if (type == MessageType.text) {
+            if (content == null) return null;
+            return truncate(content);
+        }
+        if (type == MessageType.image) {
+            int count = (content == null || content.isBlank()) ? 0 : content.split(",").length;
+            return "사진을 " + count + "장 보냈습니다.";
+        }
+        if (type == MessageType.video) {
+            return "동영상을 보냈습니다.";
+        }
+        return null;
+    }
+
+    // MAX_LENGTH 에서 자르되 서로게이트 쌍(이모지 등) 중간이면 한 글자 앞에서 자름
+    private static String truncate(String content) {
+        if (content.length() <= MAX_LENGTH) return content;
+        int end = Character.isHighSurrogate(content.charAt(MAX_LENGTH - 1)) ? MAX_LENGTH - 1 : MAX_LENGTH;
+        return content.substring(0, end);
+    }
+}
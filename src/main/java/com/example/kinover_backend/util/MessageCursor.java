@@ -0,0 +1,45 @@
+package com.example.kinover_backend.util;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 채팅 히스토리 keyset 커서: 방별 메시지 순번(seq).
+ * seq는 방 안에서 유일하고 저장 순서대로 증가하므로, 같은 createdAt 메시지가 여러 개여도 페이지 경계에서 누락/중복이 없다.
+ * 클라이언트에는 base64url 문자열로만 내려가고, 내부 구조는 노출하지 않는다.
+ */
+@Getter
+@EqualsAndHashCode
+public final class MessageCursor {
+
+    private static final String PREFIX = "s:";
+
+    private final long seq;
+
+    public MessageCursor(long seq) {
+        if (seq < 0) {
+            throw new IllegalArgumentException("cursor의 seq는 0 이상이어야 합니다.");
+        }
+        this.seq = seq;
+    }
+
+    public String encode() {
+        String raw = PREFIX + seq;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** null/빈 문자열이면 null, 형식이 잘못되면 IllegalArgumentException (→ 400) */
+    public static MessageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) throw new IllegalArgumentException("잘못된 cursor 입니다.");
+            return new MessageCursor(Long.parseLong(raw.substring(PREFIX.length())));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 cursor 입니다.");
+        }
+    }
+}
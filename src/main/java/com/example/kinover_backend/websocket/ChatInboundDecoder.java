@@ -0,0 +1,65 @@
+package com.example.kinover_backend.websocket;
+
+import com.example.kinover_backend.dto.ChatWsEvent;
+import com.example.kinover_backend.dto.MessageWsRequestDTO;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.deser.DeserializationProblemHandler;
+import com.fasterxml.jackson.databind.jsontype.TypeIdResolver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * /chat 수신 프레임 → ChatWsEvent (type 별 클래스) 를 한 번의 파싱으로.
+ * - type 없음: 기존 클라이언트 호환으로 message:new
+ * - 모르는 type: InvalidTypeIdException (핸들러가 BAD_DATA 로 종료)
+ * - 크기 초과는 파싱 전에 tooBig 으로 거른다
+ */
+@Component
+public class ChatInboundDecoder {
+
+    private final ObjectReader reader;
+    private final ChatWireCodec chatWireCodec;
+    private final int maxFrameLength;
+
+    public ChatInboundDecoder(
+            ObjectMapper objectMapper,
+            ChatWireCodec chatWireCodec,
+            @Value("${websocket.inbound.max-frame-length:8192}") int maxFrameLength
+    ) {
+        this.reader = objectMapper.readerFor(ChatWsEvent.class).withHandler(new DeserializationProblemHandler() {
+            @Override
+            public JavaType handleMissingTypeId(DeserializationContext ctxt, JavaType baseType,
+                                                TypeIdResolver idResolver, String failureMsg) {
+                return ctxt.constructType(MessageWsRequestDTO.class);
+            }
+        });
+        this.chatWireCodec = chatWireCodec;
+        this.maxFrameLength = maxFrameLength;
+    }
+
+    /** 텍스트는 문자 수, 바이너리는 바이트 수 기준 */
+    public boolean tooBig(WebSocketMessage<?> message) {
+        return message.getPayloadLength() > maxFrameLength;
+    }
+
+    public ChatWsEvent decode(TextMessage message) throws IOException {
+        return reader.readValue(message.getPayload());
+    }
+
+    // 압축 서브프로토콜: CBOR → 트리 → 바로 바인딩 (JSON 문자열을 거치지 않음)
+    public ChatWsEvent decode(BinaryMessage message) throws IOException {
+        ByteBuffer payload = message.getPayload();
+        byte[] bytes = new byte[payload.remaining()];
+        payload.get(bytes);
+        return reader.readValue(chatWireCodec.decode(bytes));
+    }
+}
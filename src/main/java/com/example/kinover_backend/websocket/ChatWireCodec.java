@@ -0,0 +1,129 @@
+package com.example.kinover_backend.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * /chat 압축 바이너리 서브프로토콜 (kinover.chat.cbor.v1, 핸드셰이크 Sec-WebSocket-Protocol 로 선택).
+ * 협상하지 않은 클라이언트는 기존 JSON 텍스트 프레임 그대로.
+ *
+ * JSON 프레임 → CBOR 변환 규칙 (서버 → 클라이언트, 클라이언트 → 서버는 역변환)
+ * - null / 빈 배열 필드는 생략
+ * - 시각 필드(createdAt, lastReadAt)는 epoch millis 숫자 (Asia/Seoul 기준)
+ * - CDN 주소(cloudfront.domain)로 시작하는 senderImage / imageUrls 는 경로만 (클라이언트가 CDN 주소를 붙임)
+ */
+@Component
+public class ChatWireCodec {
+
+    public static final String CBOR_SUBPROTOCOL = "kinover.chat.cbor.v1";
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    // MessageDTO.createdAt 과 같은 형식 (초 단위)
+    private static final DateTimeFormatter ISO_SECONDS = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final Set<String> TIME_FIELDS = Set.of("createdAt", "lastReadAt");
+    private static final Set<String> CDN_FIELDS = Set.of("senderImage", "imageUrls");
+
+    private final ObjectMapper jsonMapper;
+    private final CBORMapper cborMapper = new CBORMapper();
+    private final String cdnPrefix;
+
+    public ChatWireCodec(ObjectMapper jsonMapper, @Value("${cloudfront.domain}") String cloudFrontDomain) {
+        this.jsonMapper = jsonMapper;
+        this.cdnPrefix = cloudFrontDomain == null ? "" : cloudFrontDomain;
+    }
+
+    public static boolean isBinary(WebSocketSession session) {
+        return CBOR_SUBPROTOCOL.equals(session.getAcceptedProtocol());
+    }
+
+    // =========================
+    // 서버 → 클라이언트
+    // =========================
+
+    /** JSON 프레임 본문(UTF-8) → 압축 CBOR 바이트 */
+    public byte[] encode(byte[] json) throws IOException {
+        JsonNode tree = jsonMapper.readTree(json);
+        compact(tree);
+        return cborMapper.writeValueAsBytes(tree);
+    }
+
+    private void compact(JsonNode node) {
+        if (node instanceof ArrayNode array) {
+            array.forEach(this::compact);
+            return;
+        }
+        if (!(node instanceof ObjectNode object)) return;
+
+        Iterator<Map.Entry<String, JsonNode>> it = object.fields();
+        while (it.hasNext()) {
+            Map.Entry<String, JsonNode> field = it.next();
+            JsonNode value = field.getValue();
+            if (value.isNull() || (value.isArray() && value.isEmpty())) {
+                it.remove();
+            } else if (TIME_FIELDS.contains(field.getKey()) && value.isTextual()) {
+                field.setValue(object.numberNode(toEpochMillis(value.asText())));
+            } else if (CDN_FIELDS.contains(field.getKey())) {
+                field.setValue(stripCdn(value));
+            } else {
+                compact(value);
+            }
+        }
+    }
+
+    private JsonNode stripCdn(JsonNode value) {
+        if (value.isTextual()) {
+            String text = value.asText();
+            return (!cdnPrefix.isEmpty() && text.startsWith(cdnPrefix))
+                    ? TextNode.valueOf(text.substring(cdnPrefix.length()))
+                    : value;
+        }
+        if (value instanceof ArrayNode array) {
+            for (int i = 0; i < array.size(); i++) {
+                array.set(i, stripCdn(array.get(i)));
+            }
+        }
+        return value;
+    }
+
+    // =========================
+    // 클라이언트 → 서버
+    // =========================
+
+    /** 압축 CBOR 프레임 → JSON 프레임과 같은 모양의 트리 (시각 숫자 → ISO 문자열), 다시 문자열로 만들지 않고 바로 바인딩 */
+    public JsonNode decode(byte[] cbor) throws IOException {
+        JsonNode tree = cborMapper.readTree(cbor);
+        if (tree instanceof ObjectNode object) {
+            for (String field : TIME_FIELDS) {
+                JsonNode value = object.get(field);
+                if (value != null && value.isNumber()) {
+                    object.put(field, ISO_SECONDS.format(fromEpochMillis(value.asLong())));
+                }
+            }
+        }
+        return tree;
+    }
+
+    private static long toEpochMillis(String isoLocal) {
+        return LocalDateTime.parse(isoLocal).atZone(ZONE).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime fromEpochMillis(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZONE);
+    }
+}
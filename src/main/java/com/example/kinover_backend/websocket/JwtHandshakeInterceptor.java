@@ -0,0 +1,108 @@
+package com.example.kinover_backend.websocket;
+
+import com.example.kinover_backend.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * WebSocket 핸드셰이크 시 JWT를 한 번만 검증하고 결과를 세션 attribute로 넘긴다.
+ * - userId: 토큰 subject
+ * - tokenExpiresAt: 만료 시각(epoch ms) → WebSocketSessionSweeper 가 주기적으로 만료 세션 종료
+ * - familyId: /family-status 쿼리 파라미터 (있을 때만)
+ * 프레임마다 토큰을 다시 파싱하지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtHandshakeInterceptor implements HandshakeInterceptor {
+
+    public static final String USER_ID_ATTR = "userId";
+    public static final String TOKEN_EXPIRES_AT_ATTR = "tokenExpiresAt";
+    public static final String FAMILY_ID_ATTR = "familyId";
+
+    private final JwtUtil jwtUtil;
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        URI uri = request.getURI();
+
+        String token = getQueryParam(uri, "token");
+        if (token == null) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+
+        Long userId;
+        Date expiresAt;
+        try {
+            Claims claims = jwtUtil.parseToken(token);
+            expiresAt = claims.getExpiration();
+            if (expiresAt == null || !expiresAt.after(new Date())
+                    || claims.getSubject() == null || claims.getSubject().isBlank()) {
+                response.setStatusCode(HttpStatus.UNAUTHORIZED);
+                return false;
+            }
+            userId = Long.valueOf(claims.getSubject());
+        } catch (JwtException | IllegalArgumentException e) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+
+        String familyId = getQueryParam(uri, "familyId");
+        if (familyId != null) {
+            try {
+                attributes.put(FAMILY_ID_ATTR, UUID.fromString(familyId));
+            } catch (IllegalArgumentException e) {
+                response.setStatusCode(HttpStatus.BAD_REQUEST);
+                return false;
+            }
+        }
+
+        attributes.put(USER_ID_ATTR, userId);
+        attributes.put(TOKEN_EXPIRES_AT_ATTR, expiresAt.getTime());
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    public static Long getUserId(WebSocketSession session) {
+        Object userId = session.getAttributes().get(USER_ID_ATTR);
+        return (userId instanceof Long id) ? id : null;
+    }
+
+    public static UUID getFamilyId(WebSocketSession session) {
+        Object familyId = session.getAttributes().get(FAMILY_ID_ATTR);
+        return (familyId instanceof UUID id) ? id : null;
+    }
+
+    private static String getQueryParam(URI uri, String key) {
+        String query = uri.getRawQuery();
+        if (query == null) return null;
+
+        for (String param : query.split("&")) {
+            String[] pair = param.split("=", 2);
+            if (pair.length == 2 && pair[0].equals(key)) {
+                return URLDecoder.decode(pair[1], StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+}
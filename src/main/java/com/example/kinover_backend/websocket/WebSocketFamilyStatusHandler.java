@@ -1,12 +1,10 @@
 package com.example.kinover_backend.websocket;
 
-import com.example.kinover_backend.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.*;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
-import java.net.URI;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
@@ -15,21 +13,27 @@ import java.util.concurrent.CopyOnWriteArraySet;
 @RequiredArgsConstructor
 public class WebSocketFamilyStatusHandler extends TextWebSocketHandler {
 
-    private final JwtUtil jwtUtil;
+    private final WebSocketSessionSweeper sessionSweeper;
+    private final WebSocketOutbound outbound;
 
     // familyId → 세션들
     private final Map<UUID, Set<WebSocketSession>> familySessions = new ConcurrentHashMap<>();
 
     @Override
-    public void afterConnectionEstablished(WebSocketSession session) {
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
 
-        URI uri = session.getUri();
-        System.out.println("[WS /family-status] 연결 요청 URI: " + uri);
+        System.out.println("[WS /family-status] 연결 요청 URI: " + session.getUri());
 
-        validateToken(session);
+        // 토큰/familyId는 핸드셰이크에서 검증됨 (JwtHandshakeInterceptor)
+        UUID familyId = JwtHandshakeInterceptor.getFamilyId(session);
+        if (familyId == null) {
+            session.close(CloseStatus.BAD_DATA);
+            return;
+        }
 
-        UUID familyId = extractFamilyId(session);
+        outbound.register(session);
         familySessions.computeIfAbsent(familyId, f -> new CopyOnWriteArraySet<>()).add(session);
+        sessionSweeper.register(session);
 
         System.out.println("[WS /family-status] 연결 완료. familyId: " + familyId +
                 ", 현재 세션 수: " + familySessions.get(familyId).size());
@@ -37,7 +41,12 @@ public class WebSocketFamilyStatusHandler extends TextWebSocketHandler {
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
-        UUID familyId = extractFamilyId(session);
+        sessionSweeper.unregister(session);
+        outbound.unregister(session);
+
+        UUID familyId = JwtHandshakeInterceptor.getFamilyId(session);
+        if (familyId == null) return;
+
         Set<WebSocketSession> sessions = familySessions.get(familyId);
         if (sessions != null) {
             sessions.remove(session);
@@ -50,41 +59,4 @@ public class WebSocketFamilyStatusHandler extends TextWebSocketHandler {
     public Set<WebSocketSession> getSessionsByFamilyId(UUID familyId) {
         return familySessions.getOrDefault(familyId, Collections.emptySet());
     }
-
-    private UUID extractFamilyId(WebSocketSession session) {
-        URI uri = session.getUri();
-        if (uri == null) return null;
-        String query = uri.getQuery();
-        for (String param : query.split("&")) {
-            String[] pair = param.split("=");
-            if (pair.length == 2 && pair[0].equals("familyId")) {
-                return UUID.fromString(pair[1]);
-            }
-        }
-        return null;
-    }
-
-    private String validateToken(WebSocketSession session) {
-        URI uri = session.getUri();
-        String token = getQueryParam(uri, "token");
-        System.out.println("[WS] 받은 토큰: " + token);
-
-        if (token == null || !jwtUtil.isTokenValid(token)) {
-            throw new RuntimeException("Invalid or expired JWT token");
-        }
-
-        return token;
-    }
-
-    private String getQueryParam(URI uri, String key) {
-        String query = uri.getQuery();
-        if (query == null) return null;
-        for (String param : query.split("&")) {
-            String[] pair = param.split("=");
-            if (pair.length == 2 && pair[0].equals(key)) {
-                return pair[1];
-            }
-        }
-        return null;
-    }
 }
@@ -1,86 +1,125 @@
 // src/main/java/com/example/kinover_backend/websocket/WebSocketMessageHandler.java
 package com.example.kinover_backend.websocket;
 
-import com.example.kinover_backend.JwtUtil;
+import com.example.kinover_backend.dto.ChatWsEvent;
 import com.example.kinover_backend.dto.MessageDTO;
+import com.example.kinover_backend.dto.MessageWsRequestDTO;
+import com.example.kinover_backend.dto.PingWsRequestDTO;
 import com.example.kinover_backend.dto.ReadWsRequestDTO;
-import com.example.kinover_backend.enums.MessageType;
+import com.example.kinover_backend.redis.ChatRoomSubscriptionRegistry;
+import com.example.kinover_backend.redis.ChatSessionDirectory;
 import com.example.kinover_backend.service.ChatRoomService;
 import com.example.kinover_backend.service.MessageService;
-import com.example.kinover_backend.service.OpenAiService;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-// import lombok.RequiredArgsConstructor; // 제거
-import org.springframework.context.annotation.Lazy; // 추가
-import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.listener.ChannelTopic;
+import com.example.kinover_backend.service.KinoReplyService;
+import com.example.kinover_backend.service.ReadReceiptAggregator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.exc.InvalidTypeIdException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.*;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
-import java.net.URI;
-import java.net.URLDecoder;
-import java.nio.charset.StandardCharsets;
-import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
 
 @Component
 // @RequiredArgsConstructor // 제거: 직접 생성자를 만들어 @Lazy를 적용하기 위함
-public class WebSocketMessageHandler extends TextWebSocketHandler {
+public class WebSocketMessageHandler extends TextWebSocketHandler implements SubProtocolCapable {
 
-    private final JwtUtil jwtUtil;
+    private final WebSocketSessionSweeper sessionSweeper;
+    private final WebSocketOutbound outbound;
+    private final ChatInboundDecoder inboundDecoder;
     private final MessageService messageService;
-    private final ObjectMapper objectMapper;
-    private final OpenAiService openAiService;
+    private final KinoReplyService kinoReplyService;
     private final ChatRoomService chatRoomService;
-    private final StringRedisTemplate redisTemplate;
-    private final ChannelTopic channelTopic;
+    private final ReadReceiptAggregator readReceiptAggregator;
+    private final ChatRoomSubscriptionRegistry chatRoomSubscriptionRegistry;
+    private final ChatSessionDirectory chatSessionDirectory;
+
+    // 소켓 스레드가 프레임 1개를 처리한 시간 (디코딩 + 처리기). 누적 시간 / 경과 시간 = 평균 점유 스레드 수
+    private final Timer inboundTimer;
+
+    private static final TextMessage PONG = new TextMessage("{\"type\":\"pong\"}");
+    // CBOR {"type":"pong"} (BinaryMessage 는 전송 시 버퍼 position 이 움직여서 보낼 때마다 감쌈)
+    private static final byte[] CBOR_PONG = {
+            (byte) 0xA1, 0x64, 't', 'y', 'p', 'e', 0x64, 'p', 'o', 'n', 'g'};
 
     private final Map<Long, Set<WebSocketSession>> sessions = new ConcurrentHashMap<>();
 
-    // ✅ 생성자 직접 주입 (Redis 관련 빈에 @Lazy 적용)
+    // 같은 유저의 연결/해제를 직렬화 (세션 맵 + 방 채널 구독 + 접속 디렉터리를 한 단위로). 유저 단위 stripe 락
+    private static final int USER_LOCK_STRIPES = 64;
+    private final Object[] userLocks = new Object[USER_LOCK_STRIPES];
+
+    // type(이벤트 클래스) → 처리기. 새 이벤트는 ChatWsEvent subtype 추가 + 여기 등록
+    private final Map<Class<? extends ChatWsEvent>, ChatWsEventHandler<? extends ChatWsEvent>> dispatch = new HashMap<>();
+
+    @FunctionalInterface
+    private interface ChatWsEventHandler<E extends ChatWsEvent> {
+        void handle(WebSocketSession session, Long userId, E event) throws Exception;
+    }
+
+    // ✅ 생성자 직접 주입
     public WebSocketMessageHandler(
-            JwtUtil jwtUtil,
+            WebSocketSessionSweeper sessionSweeper,
+            WebSocketOutbound outbound,
+            ChatInboundDecoder inboundDecoder,
             MessageService messageService,
-            ObjectMapper objectMapper,
-            OpenAiService openAiService,
+            KinoReplyService kinoReplyService,
             ChatRoomService chatRoomService,
-            @Lazy StringRedisTemplate redisTemplate, // 순환 참조 끊기
-            @Lazy ChannelTopic channelTopic // 순환 참조 끊기
+            ReadReceiptAggregator readReceiptAggregator,
+            ChatRoomSubscriptionRegistry chatRoomSubscriptionRegistry,
+            ChatSessionDirectory chatSessionDirectory,
+            MeterRegistry meterRegistry
     ) {
-        this.jwtUtil = jwtUtil;
+        this.sessionSweeper = sessionSweeper;
+        this.outbound = outbound;
+        this.inboundDecoder = inboundDecoder;
         this.messageService = messageService;
-        this.objectMapper = objectMapper;
-        this.openAiService = openAiService;
+        this.kinoReplyService = kinoReplyService;
         this.chatRoomService = chatRoomService;
-        this.redisTemplate = redisTemplate;
-        this.channelTopic = channelTopic;
+        this.readReceiptAggregator = readReceiptAggregator;
+        this.chatRoomSubscriptionRegistry = chatRoomSubscriptionRegistry;
+        this.chatSessionDirectory = chatSessionDirectory;
+        for (int i = 0; i < USER_LOCK_STRIPES; i++) {
+            userLocks[i] = new Object();
+        }
+        this.inboundTimer = Timer.builder("chat.ws.inbound")
+                .description("/chat 인바운드 프레임 처리 시간 (소켓 스레드 점유)")
+                .register(meterRegistry);
+
+        on(PingWsRequestDTO.class, this::onPing);
+        on(ReadWsRequestDTO.class, this::onRoomRead);
+        on(MessageWsRequestDTO.class, this::onMessage);
+    }
+
+    private <E extends ChatWsEvent> void on(Class<E> type, ChatWsEventHandler<E> handler) {
+        dispatch.put(type, handler);
     }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) {
         try {
-            URI uri = session.getUri();
-            if (uri == null) {
-                session.close(CloseStatus.BAD_DATA);
-                return;
-            }
-
-            String token = getQueryParam(uri, "token");
-            if (token == null || !jwtUtil.isTokenValid(token)) {
-                session.close(CloseStatus.NOT_ACCEPTABLE);
-                return;
-            }
-
-            Long userId = jwtUtil.getUserIdFromToken(token);
+            // 토큰은 핸드셰이크에서 검증됨 (JwtHandshakeInterceptor)
+            Long userId = JwtHandshakeInterceptor.getUserId(session);
             if (userId == null) {
                 session.close(CloseStatus.NOT_ACCEPTABLE);
                 return;
             }
 
-            sessions.computeIfAbsent(userId, k -> new CopyOnWriteArraySet<>()).add(session);
+            outbound.register(session);
+            sessionSweeper.register(session);
+
+            // 같은 유저의 마지막 세션 해제와 겹치면 구독/디렉터리가 지워진 채로 남지 않게 유저 단위로 직렬화
+            synchronized (userLock(userId)) {
+                sessions.computeIfAbsent(userId, k -> new CopyOnWriteArraySet<>()).add(session);
+                // 유저가 속한 방 채널 구독 (chat:room:{id}, 이미 구독 중이면 그대로)
+                chatRoomSubscriptionRegistry.onUserConnected(userId);
+                // 클러스터 접속 디렉터리 (푸시 여부 판단)
+                chatSessionDirectory.register(userId);
+            }
             System.out.println("[WS CONNECT] userId=" + userId + ", sessionId=" + session.getId());
         } catch (Exception e) {
             try {
@@ -90,69 +129,115 @@ public class WebSocketMessageHandler extends TextWebSocketHandler {
         }
     }
 
+    // 클라이언트가 Sec-WebSocket-Protocol 로 요청한 경우만 선택됨 (없으면 JSON 텍스트)
+    @Override
+    public List<String> getSubProtocols() {
+        return List.of(ChatWireCodec.CBOR_SUBPROTOCOL);
+    }
+
+    // 압축 서브프로토콜 세션의 프레임 → 같은 이벤트 클래스로 바로 디코딩
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws Exception {
+        long startedAt = System.nanoTime();
+        try {
+            receive(session, message);
+        } finally {
+            inboundTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
     @Override
-    @SuppressWarnings("unchecked")
     protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
-        URI uri = session.getUri();
-        // String payload = message.getPayload();
-        // JsonNode json = objectMapper.readTree(payload);
-        // String type = json.path("type").asText("");
+        long startedAt = System.nanoTime();
+        try {
+            receive(session, message);
+        } finally {
+            inboundTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
 
-        if (uri == null) {
-            session.close(CloseStatus.BAD_DATA);
+    private void receive(WebSocketSession session, BinaryMessage message) throws Exception {
+        if (!ChatWireCodec.isBinary(session)) {
+            session.close(CloseStatus.NOT_ACCEPTABLE.withReason("Binary messages not supported"));
             return;
         }
+        if (inboundDecoder.tooBig(message)) {
+            session.close(CloseStatus.TOO_BIG_TO_PROCESS);
+            return;
+        }
+        ChatWsEvent event;
+        try {
+            event = inboundDecoder.decode(message);
+        } catch (JsonProcessingException e) {
+            rejectUndecodable(session, e);
+            return;
+        }
+        dispatch(session, event);
+    }
 
-        String token = getQueryParam(uri, "token");
-        if (token == null || !jwtUtil.isTokenValid(token)) {
-            session.close(CloseStatus.NOT_ACCEPTABLE);
+    private void receive(WebSocketSession session, TextMessage message) throws Exception {
+        if (inboundDecoder.tooBig(message)) {
+            session.close(CloseStatus.TOO_BIG_TO_PROCESS);
             return;
         }
+        ChatWsEvent event;
+        try {
+            event = inboundDecoder.decode(message);
+        } catch (JsonProcessingException e) {
+            rejectUndecodable(session, e);
+            return;
+        }
+        dispatch(session, event);
+    }
+
+    private void rejectUndecodable(WebSocketSession session, JsonProcessingException e) throws Exception {
+        if (e instanceof InvalidTypeIdException typeError) {
+            System.out.println("[WS DENY] unknown type=" + typeError.getTypeId() + ", sessionId=" + session.getId());
+        }
+        session.close(CloseStatus.BAD_DATA);
+    }
 
-        Long userId = jwtUtil.getUserIdFromToken(token);
+    @SuppressWarnings("unchecked")
+    private void dispatch(WebSocketSession session, ChatWsEvent event) throws Exception {
+        Long userId = JwtHandshakeInterceptor.getUserId(session);
         if (userId == null) {
             session.close(CloseStatus.NOT_ACCEPTABLE);
             return;
         }
 
-        String rawPayload = message.getPayload();
-
-        Map<String, Object> map = objectMapper.readValue(rawPayload, Map.class);
-        String type = map.get("type") != null ? String.valueOf(map.get("type")) : "message:new";
-
-        // ✅ heartbeat ping 처리
-        if ("ping".equals(type)) {
-            session.sendMessage(new TextMessage("{\"type\":\"pong\"}"));
+        ChatWsEventHandler<ChatWsEvent> handler = (ChatWsEventHandler<ChatWsEvent>) dispatch.get(event.getClass());
+        if (handler == null) {
+            session.close(CloseStatus.BAD_DATA);
             return;
         }
-        // =========================
-        // A) 읽음 이벤트
-        // =========================
-        if ("room:read".equals(type)) {
-            ReadWsRequestDTO dto = objectMapper.readValue(rawPayload, ReadWsRequestDTO.class);
-
-            if (dto.getChatRoomId() == null || dto.getLastReadAt() == null) {
-                session.close(CloseStatus.BAD_DATA);
-                return;
-            }
-
-            if (!chatRoomService.isMember(dto.getChatRoomId(), userId)) {
-                session.close(CloseStatus.NOT_ACCEPTABLE);
-                return;
-            }
+        handler.handle(session, userId, event);
+    }
 
-            String jsonPayload = makeReadBroadcastPayload(dto.getChatRoomId(), userId, dto.getLastReadAt());
-            // @Lazy로 주입된 redisTemplate 사용 시점에 실제 빈이 로드됨
-            redisTemplate.convertAndSend(channelTopic.getTopic(), jsonPayload);
+    // =========================
+    // heartbeat ping
+    // =========================
+    private void onPing(WebSocketSession session, Long userId, PingWsRequestDTO ping) {
+        outbound.send(session, ChatWireCodec.isBinary(session) ? new BinaryMessage(CBOR_PONG) : PONG);
+    }
 
+    // =========================
+    // A) 읽음 이벤트
+    // =========================
+    private void onRoomRead(WebSocketSession session, Long userId, ReadWsRequestDTO dto) throws Exception {
+        if (dto.getChatRoomId() == null || (dto.getLastReadAt() == null && dto.getReadSeq() == null)) {
+            session.close(CloseStatus.BAD_DATA);
             return;
         }
 
-        // =========================
-        // B) 메시지 이벤트
-        // =========================
-        MessageDTO dto = objectMapper.readValue(rawPayload, MessageDTO.class);
+        // 모아서 처리: (유저, 방)별 최대 포인터만 주기적으로 DB 반영 + 브로드캐스트
+        // (멤버가 아니면 갱신되는 row가 없어 브로드캐스트도 되지 않음)
+        readReceiptAggregator.submit(dto.getChatRoomId(), userId, dto.getReadSeq(), dto.getLastReadAt());
+    }
 
+    // =========================
+    // B) 메시지 이벤트
+    // =========================
+    private void onMessage(WebSocketSession session, Long userId, MessageWsRequestDTO dto) throws Exception {
         if (dto.getSenderId() == null || !userId.equals(dto.getSenderId())) {
             session.close(CloseStatus.NOT_ACCEPTABLE);
             return;
@@ -171,50 +256,39 @@ public class WebSocketMessageHandler extends TextWebSocketHandler {
 
         dto.setMessageId(null);
 
-        messageService.addMessage(dto);
+        // 저장 시 보낸 사람 읽음 포인터도 이 메시지 seq로 전진함
+        MessageDTO sent = messageService.addMessage(dto);
 
-        LocalDateTime lastReadAt = LocalDateTime.now();
-        boolean updated = chatRoomService.markRead(dto.getChatRoomId(), userId, lastReadAt);
-
-        if (updated) {
-            broadcastToRoomMembers(
-                    dto.getChatRoomId(),
-                    makeReadBroadcastPayload(dto.getChatRoomId(), userId, lastReadAt));
-        }
+        readReceiptAggregator.submitPersisted(dto.getChatRoomId(), userId, sent.getSeq(), sent.getCreatedAt());
 
+        // 키노 답장은 소켓 스레드 밖에서 생성 → kino:typing / kino:delta 스트리밍 후 저장
         if (chatRoomService.isKinoRoom(dto.getChatRoomId())) {
-            String reply = openAiService.getKinoResponse(dto.getChatRoomId(), userId);
-
-            MessageDTO kinoReply = new MessageDTO();
-            kinoReply.setMessageId(UUID.randomUUID());
-            kinoReply.setChatRoomId(dto.getChatRoomId());
-            kinoReply.setContent(reply);
-            kinoReply.setMessageType(MessageType.text);
-            kinoReply.setSenderId(9999999999L);
-
-            messageService.addMessage(kinoReply);
+            kinoReplyService.replyAsync(dto.getChatRoomId(), userId);
         }
     }
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
-        URI uri = session.getUri();
-        if (uri == null)
-            return;
+        sessionSweeper.unregister(session);
+        outbound.unregister(session);
 
-        String token = getQueryParam(uri, "token");
-        if (token == null)
-            return;
-
-        Long userId = jwtUtil.getUserIdFromToken(token);
+        Long userId = JwtHandshakeInterceptor.getUserId(session);
         if (userId == null)
             return;
 
-        Set<WebSocketSession> userSessions = sessions.get(userId);
-        if (userSessions != null) {
-            userSessions.remove(session);
-            if (userSessions.isEmpty())
-                sessions.remove(userId);
+        synchronized (userLock(userId)) {
+            // 세션 제거와 빈 집합 제거를 한 번에 (그 사이 새 세션이 붙으면 집합이 남아 있음)
+            boolean[] lastSession = {false};
+            sessions.computeIfPresent(userId, (k, userSessions) -> {
+                userSessions.remove(session);
+                if (!userSessions.isEmpty()) return userSessions;
+                lastSession[0] = true;
+                return null;
+            });
+            if (lastSession[0]) {
+                chatRoomSubscriptionRegistry.onUserDisconnected(userId);
+                chatSessionDirectory.unregister(userId);
+            }
         }
 
         System.out.println("[WS CLOSE] userId=" + userId + ", sessionId=" + session.getId());
@@ -224,40 +298,7 @@ public class WebSocketMessageHandler extends TextWebSocketHandler {
         return sessions.getOrDefault(userId, Set.of());
     }
 
-    private String getQueryParam(URI uri, String key) {
-        String query = uri.getQuery();
-        if (query == null)
-            return null;
-
-        for (String param : query.split("&")) {
-            String[] pair = param.split("=", 2);
-            if (pair.length == 2 && pair[0].equals(key)) {
-                return URLDecoder.decode(pair[1], StandardCharsets.UTF_8);
-            }
-        }
-        return null;
-    }
-
-    private void broadcastToRoomMembers(UUID chatRoomId, String payload) {
-        List<Long> memberIds = chatRoomService.getMemberIds(chatRoomId);
-        for (Long memberId : memberIds) {
-            Set<WebSocketSession> ss = getSessionsByUserId(memberId);
-            for (WebSocketSession s : ss) {
-                try {
-                    if (s.isOpen())
-                        s.sendMessage(new TextMessage(payload));
-                } catch (Exception ignored) {
-                }
-            }
-        }
-    }
-
-    private String makeReadBroadcastPayload(UUID chatRoomId, Long userId, LocalDateTime lastReadAt) throws Exception {
-        Map<String, Object> out = new HashMap<>();
-        out.put("type", "room:read");
-        out.put("chatRoomId", chatRoomId);
-        out.put("userId", userId);
-        out.put("lastReadAt", lastReadAt);
-        return objectMapper.writeValueAsString(out);
+    private Object userLock(Long userId) {
+        return userLocks[(userId.hashCode() & 0x7fffffff) % USER_LOCK_STRIPES];
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,228 @@
+package com.example.kinover_backend.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import com.example.kinover_backend.config.ExecutorConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 세션별 송신 큐 (모든 WebSocket 서버 → 클라이언트 전송은 여기로).
+ * - send() 는 큐에 넣고 바로 리턴: Redis 리스너/요청 스레드가 느린 클라이언트 때문에 막히지 않음
+ * - 세션당 드레인 작업은 최대 1개 → 같은 세션에 동시 sendMessage 가 일어나지 않음
+ * - 한도: 큐 바이트(buffer-size-limit), 전송 1건 소요 시간(send-time-limit)
+ *   초과 시 overflow=close 면 세션을 닫고(클라는 재연결 후 seq 로 복구), drop 이면 새 메시지를 버림
+ * - 드레인은 전용 풀(wsFanOutExecutor)에서. 풀이 가득 차 거절되면 메시지는 큐에 남고 stall 체크 때 다시 드레인
+ * - 메트릭: websocket.outbound.queue.depth / .bytes, websocket.outbound.evictions{reason}, websocket.outbound.dropped
+ */
+@Component
+public class WebSocketOutbound {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketOutbound.class);
+
+    static final CloseStatus SLOW_CONSUMER = CloseStatus.SESSION_NOT_RELIABLE.withReason("slow consumer");
+
+    public enum Overflow { CLOSE, DROP }
+
+    private final Map<String, Outbox> outboxes = new ConcurrentHashMap<>();
+    private final Executor senders;
+
+    private final long sendTimeLimitMs;
+    private final long bufferSizeLimit;
+    private final Overflow overflow;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter dropped;
+
+    public WebSocketOutbound(MeterRegistry meterRegistry,
+                             @Value("${websocket.outbound.send-time-limit-ms:10000}") long sendTimeLimitMs,
+                             @Value("${websocket.outbound.buffer-size-limit:524288}") long bufferSizeLimit,
+                             @Value("${websocket.outbound.overflow:close}") String overflow,
+                             @Qualifier(ExecutorConfig.WS_FAN_OUT) Executor senders) {
+        this.meterRegistry = meterRegistry;
+        this.sendTimeLimitMs = sendTimeLimitMs;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.overflow = Overflow.valueOf(overflow.trim().toUpperCase());
+        this.senders = senders;
+
+        this.dropped = Counter.builder("websocket.outbound.dropped").register(meterRegistry);
+        meterRegistry.gauge("websocket.outbound.queue.depth", this, WebSocketOutbound::queuedMessages);
+        meterRegistry.gauge("websocket.outbound.queue.bytes", this, WebSocketOutbound::queuedBytes);
+    }
+
+    // =========================
+    // 등록/해제 (각 핸들러 연결/종료 시)
+    // =========================
+
+    public void register(WebSocketSession session) {
+        outboxes.putIfAbsent(session.getId(), new Outbox(session));
+    }
+
+    public void unregister(WebSocketSession session) {
+        Outbox outbox = outboxes.remove(session.getId());
+        if (outbox != null) {
+            outbox.clear();
+        }
+    }
+
+    // =========================
+    // 전송
+    // =========================
+
+    /** 큐에 넣고 바로 리턴. 닫혔거나 등록 안 된 세션은 무시 */
+    public void send(WebSocketSession session, WebSocketMessage<?> message) {
+        if (session == null || !session.isOpen()) return;
+
+        Outbox outbox = outboxes.get(session.getId());
+        if (outbox == null) return;
+
+        if (outbox.isStalled(sendTimeLimitMs)) {
+            evict(outbox, "send_time");
+            return;
+        }
+        if (outbox.bytes.get() + message.getPayloadLength() > bufferSizeLimit) {
+            if (overflow == Overflow.DROP) {
+                dropped.increment();
+                return;
+            }
+            evict(outbox, "buffer");
+            return;
+        }
+
+        outbox.offer(message);
+        startDrain(outbox);
+    }
+
+    // 전송이 오래 걸려 멈춘 세션은 새 메시지가 없어도 정리, 풀 거절로 남은 큐는 다시 드레인
+    @Scheduled(fixedDelayString = "${websocket.outbound.stall-check-ms:1000}")
+    public void evictStalled() {
+        for (Outbox outbox : outboxes.values()) {
+            if (outbox.isStalled(sendTimeLimitMs)) {
+                evict(outbox, "send_time");
+            } else if (!outbox.queue.isEmpty()) {
+                startDrain(outbox);
+            }
+        }
+    }
+
+    // =========================
+    // 내부
+    // =========================
+
+    private void startDrain(Outbox outbox) {
+        if (!outbox.draining.compareAndSet(false, true)) return;
+        try {
+            senders.execute(() -> drain(outbox));
+        } catch (RejectedExecutionException e) {
+            // 풀 포화: 큐는 그대로 두고 다음 send / stall 체크에서 재시도 (버퍼 한도는 계속 적용)
+            outbox.draining.set(false);
+        }
+    }
+
+    private void drain(Outbox outbox) {
+        while (true) {
+            WebSocketMessage<?> message;
+            while ((message = outbox.poll()) != null) {
+                if (!outbox.session.isOpen()) {
+                    outbox.clear();
+                    break;
+                }
+                outbox.sendStartedAt = System.currentTimeMillis();
+                try {
+                    outbox.session.sendMessage(message);
+                } catch (Exception e) {
+                    outbox.sendStartedAt = 0L;
+                    logger.warn("[WS_OUT] send failed sessionId={}, err={}", outbox.session.getId(), e.toString());
+                    evict(outbox, "error");
+                    return;
+                }
+                outbox.sendStartedAt = 0L;
+            }
+
+            outbox.draining.set(false);
+            // 내려놓는 사이에 들어온 메시지가 있으면 다시 잡음 (없으면 다음 send 가 드레인 시작)
+            if (outbox.queue.isEmpty() || !outbox.draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private void evict(Outbox outbox, String reason) {
+        if (outboxes.remove(outbox.session.getId()) == null) return; // 이미 정리됨
+
+        outbox.clear();
+        Counter.builder("websocket.outbound.evictions").tag("reason", reason).register(meterRegistry).increment();
+        logger.warn("[WS_OUT] evicting sessionId={} reason={}", outbox.session.getId(), reason);
+        try {
+            outbox.session.close(SLOW_CONSUMER);
+        } catch (Exception e) {
+            logger.warn("[WS_OUT] close failed sessionId={}, err={}", outbox.session.getId(), e.toString());
+        }
+    }
+
+    private double queuedMessages() {
+        long total = 0;
+        for (Outbox outbox : outboxes.values()) total += outbox.size.get();
+        return total;
+    }
+
+    private double queuedBytes() {
+        long total = 0;
+        for (Outbox outbox : outboxes.values()) total += outbox.bytes.get();
+        return total;
+    }
+
+    private static final class Outbox {
+        private final WebSocketSession session;
+        private final Queue<WebSocketMessage<?>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicLong bytes = new AtomicLong();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // 진행 중인 sendMessage 시작 시각 (0 = 전송 중 아님)
+        private volatile long sendStartedAt;
+
+        private Outbox(WebSocketSession session) {
+            this.session = session;
+        }
+
+        private void offer(WebSocketMessage<?> message) {
+            queue.offer(message);
+            size.incrementAndGet();
+            bytes.addAndGet(message.getPayloadLength());
+        }
+
+        private WebSocketMessage<?> poll() {
+            WebSocketMessage<?> message = queue.poll();
+            if (message != null) {
+                size.decrementAndGet();
+                bytes.addAndGet(-message.getPayloadLength());
+            }
+            return message;
+        }
+
+        private void clear() {
+            while (poll() != null) {
+                // 버림
+            }
+        }
+
+        private boolean isStalled(long limitMs) {
+            long startedAt = sendStartedAt;
+            return startedAt > 0 && System.currentTimeMillis() - startedAt > limitMs;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.kinover_backend.websocket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 토큰이 만료된 WebSocket 세션 정리.
+ * 토큰은 핸드셰이크 때 한 번만 검증하므로, 만료 시각(세션 attribute)이 지난 세션은 여기서 주기적으로 닫는다.
+ * 클라이언트는 새 토큰으로 재연결하면 된다.
+ */
+@Component
+public class WebSocketSessionSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketSessionSweeper.class);
+
+    static final CloseStatus TOKEN_EXPIRED = CloseStatus.POLICY_VIOLATION.withReason("token expired");
+
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+
+    public void register(WebSocketSession session) {
+        sessions.put(session.getId(), session);
+    }
+
+    public void unregister(WebSocketSession session) {
+        sessions.remove(session.getId());
+    }
+
+    @Scheduled(fixedDelayString = "${websocket.session-sweep-interval-ms:30000}")
+    public void closeExpiredSessions() {
+        long now = System.currentTimeMillis();
+        for (WebSocketSession session : sessions.values()) {
+            Object expiresAt = session.getAttributes().get(JwtHandshakeInterceptor.TOKEN_EXPIRES_AT_ATTR);
+            if (!session.isOpen()) {
+                unregister(session);
+                continue;
+            }
+            if (!(expiresAt instanceof Long at) || at > now) continue;
+
+            try {
+                session.close(TOKEN_EXPIRED);
+            } catch (Exception e) {
+                logger.warn("[WS] expired session close failed sessionId={}, err={}", session.getId(), e.toString());
+            }
+            unregister(session);
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package com.example.kinover_backend.websocket;
 
-import com.example.kinover_backend.JwtUtil;
 import com.example.kinover_backend.service.UserService;
 import com.example.kinover_backend.entity.Family;
 import com.example.kinover_backend.entity.User;
@@ -11,7 +10,6 @@ import org.springframework.web.socket.*;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 import org.springframework.context.annotation.Lazy;
 
-import java.net.URI;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
@@ -20,7 +18,8 @@ import java.util.concurrent.CopyOnWriteArraySet;
 @RequiredArgsConstructor
 public class WebSocketStatusHandler extends TextWebSocketHandler {
 
-    private final JwtUtil jwtUtil;
+    private final WebSocketSessionSweeper sessionSweeper;
+    private final WebSocketOutbound outbound;
     @Lazy
     private final UserService userService;
     private final UserFamilyRepository userFamilyRepository;
@@ -31,15 +30,20 @@ public class WebSocketStatusHandler extends TextWebSocketHandler {
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
 
-        URI uri = session.getUri();
-        System.out.println("[WS /status] 연결 요청: " + uri);
+        System.out.println("[WS /status] 연결 요청: " + session.getUri());
 
-        String token = validateToken(session); // jwt 토큰 유효성 검사
-        Long userId = jwtUtil.getUserIdFromToken(token);
+        // 토큰은 핸드셰이크에서 검증됨 (JwtHandshakeInterceptor)
+        Long userId = JwtHandshakeInterceptor.getUserId(session);
+        if (userId == null) {
+            session.close(CloseStatus.NOT_ACCEPTABLE);
+            return;
+        }
 
-        System.out.println("[WS /status] userId 파싱 성공: " + userId);
+        System.out.println("[WS /status] userId: " + userId);
 
+        outbound.register(session);
         sessions.computeIfAbsent(userId, k -> new CopyOnWriteArraySet<>()).add(session);
+        sessionSweeper.register(session);
 
         // 2) 가족 구성원 온라인 상태 동기화 (연결이 없는 사람은 OFF)
         syncFamilyOnlineStates(userId);
@@ -51,8 +55,11 @@ public class WebSocketStatusHandler extends TextWebSocketHandler {
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
-        String token = getQueryParam(Objects.requireNonNull(session.getUri()), "token");
-        Long userId = jwtUtil.getUserIdFromToken(token);
+        sessionSweeper.unregister(session);
+        outbound.unregister(session);
+
+        Long userId = JwtHandshakeInterceptor.getUserId(session);
+        if (userId == null) return;
 
         Set<WebSocketSession> userSessions = sessions.get(userId);
         if (userSessions != null) {
@@ -98,30 +105,6 @@ public class WebSocketStatusHandler extends TextWebSocketHandler {
         return set.stream().anyMatch(WebSocketSession::isOpen);
     }
 
-    private String validateToken(WebSocketSession session) {
-        URI uri = session.getUri();
-        String token = getQueryParam(uri, "token");
-        System.out.println("[WS] 받은 토큰: " + token);
-
-        if (token == null || !jwtUtil.isTokenValid(token)) {
-            throw new RuntimeException("Invalid or expired JWT token");
-        }
-
-        return token;
-    }
-
-    private String getQueryParam(URI uri, String key) {
-        String query = uri.getQuery();
-        if (query == null) return null;
-        for (String param : query.split("&")) {
-            String[] pair = param.split("=");
-            if (pair.length == 2 && pair[0].equals(key)) {
-                return pair[1];
-            }
-        }
-        return null;
-    }
-
     public Set<WebSocketSession> getSessionsByUserId(Long userId) {
         return sessions.getOrDefault(userId, Set.of());
     }
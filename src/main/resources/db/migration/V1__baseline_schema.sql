@@ -0,0 +1,284 @@
+-- =========================================================
+-- V1: 기준 스키마 (ddl-auto=update 시절 Hibernate가 만들던 구조)
+-- 기존 운영 DB는 spring.flyway.baseline-version=1 로 이 파일을 건너뛰고,
+-- 빈 DB(로컬/테스트)에서만 실행된다.
+-- UUID 컬럼은 MariaDB 10.7+ 네이티브 UUID 타입 사용
+-- =========================================================
+
+CREATE TABLE IF NOT EXISTS `user` (
+    user_id                      BIGINT       NOT NULL,
+    kakao_id                     BIGINT,
+    version                      INT          DEFAULT 0,
+    name                         VARCHAR(100),
+    birth                        DATE,
+    email                        VARCHAR(255),
+    pwd                          VARCHAR(255),
+    emotion                      VARCHAR(50),
+    is_online                    BIT          NOT NULL,
+    last_active_at               TIMESTAMP    NULL,
+    last_notification_checked_at TIMESTAMP    NULL,
+    trait                        TEXT,
+    image                        TEXT,
+    phone_number                 VARCHAR(20),
+    created_at                   TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at                   TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    is_post_notification_on      BIT          NOT NULL,
+    is_comment_notification_on   BIT          NOT NULL,
+    is_chat_notification_on      BIT          NOT NULL,
+    emotion_updated_at           TIMESTAMP    NULL,
+    terms_agreed                 BIT,
+    privacy_agreed               BIT,
+    marketing_agreed             BIT,
+    terms_version                VARCHAR(255),
+    privacy_version              VARCHAR(255),
+    agreed_at                    DATETIME(6),
+    marketing_agreed_at          DATETIME(6),
+    apple_id                     VARCHAR(64),
+    phone_verified               BIT          NOT NULL,
+    account_status               VARCHAR(20)  NOT NULL,
+    PRIMARY KEY (user_id),
+    UNIQUE KEY uk_user_kakao_id (kakao_id),
+    UNIQUE KEY uk_user_apple_id (apple_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS family (
+    family_id    BINARY(16)   NOT NULL,
+    name         VARCHAR(30),
+    created_at   TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at   TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    relationship VARCHAR(255),
+    notice       VARCHAR(255),
+    PRIMARY KEY (family_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS user_family (
+    user_family_id UUID         NOT NULL,
+    role           VARCHAR(255),
+    user_id        BIGINT       NOT NULL,
+    family_id      BINARY(16)   NOT NULL,
+    joined_at      DATETIME(6),
+    PRIMARY KEY (user_family_id),
+    CONSTRAINT fk_user_family_user FOREIGN KEY (user_id) REFERENCES `user` (user_id),
+    CONSTRAINT fk_user_family_family FOREIGN KEY (family_id) REFERENCES family (family_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS chat_room (
+    chat_room_id UUID         NOT NULL,
+    room_name    VARCHAR(255),
+    is_kino      BOOLEAN      DEFAULT FALSE,
+    kino_type    VARCHAR(255),
+    personality  VARCHAR(255),
+    family_type  VARCHAR(55),
+    created_at   TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    image        VARCHAR(255),
+    family_id    BINARY(16),
+    PRIMARY KEY (chat_room_id),
+    CONSTRAINT fk_chat_room_family FOREIGN KEY (family_id) REFERENCES family (family_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS user_chat_room (
+    user_chat_room_id   UUID         NOT NULL,
+    user_id             BIGINT       NOT NULL,
+    chat_room_id        UUID         NOT NULL,
+    joined_at           DATE,
+    last_read_at        DATETIME(6),
+    display_room_name   VARCHAR(255),
+    is_custom_room_name BOOLEAN      DEFAULT FALSE,
+    PRIMARY KEY (user_chat_room_id),
+    CONSTRAINT fk_user_chat_room_user FOREIGN KEY (user_id) REFERENCES `user` (user_id),
+    CONSTRAINT fk_user_chat_room_chat_room FOREIGN KEY (chat_room_id) REFERENCES chat_room (chat_room_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS message (
+    message_id        UUID         NOT NULL,
+    content           TEXT,
+    created_at        TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    message_type      VARCHAR(255) NOT NULL,
+    is_system_message BOOLEAN      NOT NULL DEFAULT FALSE,
+    is_hidden         BIT          NOT NULL,
+    chat_room_id      UUID         NOT NULL,
+    sender_id         BIGINT       NOT NULL,
+    PRIMARY KEY (message_id),
+    CONSTRAINT fk_message_chat_room FOREIGN KEY (chat_room_id) REFERENCES chat_room (chat_room_id),
+    CONSTRAINT fk_message_sender FOREIGN KEY (sender_id) REFERENCES `user` (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS chatroom_notification (
+    id                     BIGINT       NOT NULL AUTO_INCREMENT,
+    user_user_id           BIGINT,
+    chat_room_chat_room_id UUID,
+    is_notification_on     BIT          NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_chatroom_notification_user FOREIGN KEY (user_user_id) REFERENCES `user` (user_id),
+    CONSTRAINT fk_chatroom_notification_chat_room FOREIGN KEY (chat_room_chat_room_id) REFERENCES chat_room (chat_room_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS today_question (
+    today_question_id UUID         NOT NULL,
+    question          VARCHAR(255),
+    PRIMARY KEY (today_question_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS chat_room_today_question (
+    chat_room_today_question_id UUID NOT NULL,
+    chat_room_id                UUID,
+    today_question_id           UUID,
+    date                        DATE,
+    PRIMARY KEY (chat_room_today_question_id),
+    CONSTRAINT fk_crtq_chat_room FOREIGN KEY (chat_room_id) REFERENCES chat_room (chat_room_id),
+    CONSTRAINT fk_crtq_today_question FOREIGN KEY (today_question_id) REFERENCES today_question (today_question_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS category (
+    category_id UUID         NOT NULL,
+    family_id   BINARY(16)   NOT NULL,
+    title       VARCHAR(255) NOT NULL,
+    created_at  TIMESTAMP    DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (category_id),
+    CONSTRAINT fk_category_family FOREIGN KEY (family_id) REFERENCES family (family_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS post (
+    post_id       UUID         NOT NULL,
+    family_id     BINARY(16)   NOT NULL,
+    category_id   UUID,
+    author_id     BIGINT       NOT NULL,
+    content       TEXT,
+    created_at    TIMESTAMP    DEFAULT CURRENT_TIMESTAMP,
+    comment_count INT          NOT NULL,
+    is_hidden     BIT          NOT NULL,
+    PRIMARY KEY (post_id),
+    CONSTRAINT fk_post_family FOREIGN KEY (family_id) REFERENCES family (family_id),
+    CONSTRAINT fk_post_category FOREIGN KEY (category_id) REFERENCES category (category_id),
+    CONSTRAINT fk_post_author FOREIGN KEY (author_id) REFERENCES `user` (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS post_image (
+    id          UUID          NOT NULL,
+    post_id     UUID          NOT NULL,
+    image_url   VARCHAR(1000) NOT NULL,
+    post_type   VARCHAR(255)  NOT NULL,
+    image_order INT           NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_post_image_post FOREIGN KEY (post_id) REFERENCES post (post_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS comment (
+    comment_id UUID      NOT NULL,
+    post_id    UUID      NOT NULL,
+    author_id  BIGINT    NOT NULL,
+    content    TEXT      NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    is_hidden  BIT       NOT NULL,
+    PRIMARY KEY (comment_id),
+    CONSTRAINT fk_comment_post FOREIGN KEY (post_id) REFERENCES post (post_id),
+    CONSTRAINT fk_comment_author FOREIGN KEY (author_id) REFERENCES `user` (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS notification (
+    notification_id   UUID         NOT NULL,
+    notification_type VARCHAR(255) NOT NULL,
+    post_id           UUID,
+    comment_id        UUID,
+    family_id         UUID         NOT NULL,
+    author_id         BIGINT       NOT NULL,
+    created_at        DATETIME     DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (notification_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS schedule (
+    schedule_id        UUID          NOT NULL,
+    title              VARCHAR(255)  NOT NULL,
+    memo               VARCHAR(1000),
+    date               DATE          NOT NULL,
+    type               VARCHAR(20)   NOT NULL,
+    personal           BIT           NOT NULL,
+    created_by_user_id BIGINT,
+    family_id          BINARY(16)    NOT NULL,
+    is_hidden          BIT           NOT NULL,
+    PRIMARY KEY (schedule_id),
+    CONSTRAINT fk_schedule_created_by FOREIGN KEY (created_by_user_id) REFERENCES `user` (user_id),
+    CONSTRAINT fk_schedule_family FOREIGN KEY (family_id) REFERENCES family (family_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS schedule_participants (
+    schedule_id UUID   NOT NULL,
+    user_id     BIGINT NOT NULL,
+    PRIMARY KEY (schedule_id, user_id),
+    CONSTRAINT fk_schedule_participants_schedule FOREIGN KEY (schedule_id) REFERENCES schedule (schedule_id),
+    CONSTRAINT fk_schedule_participants_user FOREIGN KEY (user_id) REFERENCES `user` (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS blocks (
+    id         UUID        NOT NULL,
+    blocker_id BIGINT      NOT NULL,
+    blocked_id BIGINT      NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_blocks_blocker_blocked UNIQUE (blocker_id, blocked_id),
+    CONSTRAINT fk_blocks_blocker FOREIGN KEY (blocker_id) REFERENCES `user` (user_id),
+    CONSTRAINT fk_blocks_blocked FOREIGN KEY (blocked_id) REFERENCES `user` (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS reports (
+    id                 UUID        NOT NULL,
+    reporter_id        BIGINT      NOT NULL,
+    target_type        VARCHAR(32) NOT NULL,
+    target_post_id     UUID,
+    target_comment_id  UUID,
+    target_message_id  UUID,
+    target_schedule_id UUID,
+    target_user_id     BIGINT,
+    reason_code        VARCHAR(32) NOT NULL,
+    status             VARCHAR(20) NOT NULL,
+    created_at         DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_reports_reporter FOREIGN KEY (reporter_id) REFERENCES `user` (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS fcm_token (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    user_id    BIGINT,
+    token      VARCHAR(255),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_fcm_token_user (user_id),
+    CONSTRAINT fk_fcm_token_user FOREIGN KEY (user_id) REFERENCES `user` (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS memo (
+    memo_id    UUID      NOT NULL,
+    content    TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (memo_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS challenge (
+    challenge_id UUID      NOT NULL,
+    status       TINYINT,
+    title        VARCHAR(255),
+    start_at     DATE,
+    end_at       DATE,
+    created_at   TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    family_id    BINARY(16),
+    PRIMARY KEY (challenge_id),
+    CONSTRAINT fk_challenge_family FOREIGN KEY (family_id) REFERENCES family (family_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS rec_challenge (
+    rec_challenge_id      UUID         NOT NULL,
+    title                 VARCHAR(255),
+    duration              VARCHAR(100),
+    days_per_week         INT,
+    daily_time_in_minutes INT,
+    reward_description    VARCHAR(100),
+    task_description      VARCHAR(255),
+    image                 VARCHAR(255),
+    PRIMARY KEY (rec_challenge_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS rec_challenge_category (
+    rec_challenge_id UUID NOT NULL,
+    categories       VARCHAR(255),
+    CONSTRAINT fk_rec_challenge_category FOREIGN KEY (rec_challenge_id) REFERENCES rec_challenge (rec_challenge_id)
+) ENGINE = InnoDB;
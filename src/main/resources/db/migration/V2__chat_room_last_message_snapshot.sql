@@ -0,0 +1,10 @@
+-- =========================================================
+-- V2: 채팅방 최신 메시지 스냅샷 컬럼 (ChatRoom.lastMessage*)
+-- ddl-auto=update 로 이미 생긴 DB도 있으므로 IF NOT EXISTS
+-- =========================================================
+
+ALTER TABLE chat_room
+    ADD COLUMN IF NOT EXISTS last_message_preview   VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS last_message_type      VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS last_message_at        DATETIME(6),
+    ADD COLUMN IF NOT EXISTS last_message_sender_id BIGINT;
@@ -0,0 +1,34 @@
+-- =========================================================
+-- V3: 핫패스 조회용 복합 인덱스
+-- 운영 DB에 수동으로 만든 인덱스가 있을 수 있어 전부 IF NOT EXISTS
+-- =========================================================
+
+-- MessageRepository: 방별 히스토리/최신/미디어/unread (chat_room_id = ? [and created_at 범위] order by created_at)
+CREATE INDEX IF NOT EXISTS idx_message_room_created
+    ON message (chat_room_id, created_at);
+
+-- 미디어 탭: chat_room_id = ? and message_type in (...) order by created_at desc
+CREATE INDEX IF NOT EXISTS idx_message_room_type_created
+    ON message (chat_room_id, message_type, created_at);
+
+-- UserChatRoomRepository: 내 방 목록 / 멤버십 체크 / 읽음 포인터
+CREATE INDEX IF NOT EXISTS idx_user_chat_room_user_room
+    ON user_chat_room (user_id, chat_room_id);
+
+-- UserChatRoomRepository: 방 멤버 조회 (chat_room_id = ?)
+CREATE INDEX IF NOT EXISTS idx_user_chat_room_room_user
+    ON user_chat_room (chat_room_id, user_id);
+
+-- ChatRoomNotificationRepository: 유저 + 방 목록 알림 설정
+CREATE INDEX IF NOT EXISTS idx_chatroom_notification_user_room
+    ON chatroom_notification (user_user_id, chat_room_chat_room_id);
+
+-- NotificationRepository: family_id in (...) [and created_at > ?] order by created_at desc
+CREATE INDEX IF NOT EXISTS idx_notification_family_created
+    ON notification (family_id, created_at);
+
+-- ScheduleRepository: family_id = ? and date (= | between)
+CREATE INDEX IF NOT EXISTS idx_schedule_family_date
+    ON schedule (family_id, date);
+
+-- UserBlockRepository: (blocker_id, blocked_id) 는 uk_blocks_blocker_blocked 가 이미 커버
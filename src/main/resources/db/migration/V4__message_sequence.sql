@@ -0,0 +1,40 @@
+-- =========================================================
+-- V4: 방별 메시지 순번 + 순번 기반 읽음 포인터
+--   message.seq           : 방 안에서 1부터 증가 (chat_room.last_seq로 할당)
+--   chat_room.last_seq    : 마지막으로 할당된 순번
+--   user_chat_room.read_seq : 마지막으로 읽은 순번 (unread = last_seq - read_seq)
+-- =========================================================
+
+ALTER TABLE chat_room
+    ADD COLUMN IF NOT EXISTS last_seq BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE message
+    ADD COLUMN IF NOT EXISTS seq BIGINT NULL;
+
+ALTER TABLE user_chat_room
+    ADD COLUMN IF NOT EXISTS read_seq BIGINT NOT NULL DEFAULT 0;
+
+-- 기존 메시지: 방별 (created_at, message_id) 순서로 순번 부여
+UPDATE message m
+    JOIN (SELECT message_id,
+                 ROW_NUMBER() OVER (PARTITION BY chat_room_id ORDER BY created_at, message_id) AS rn
+          FROM message) numbered ON numbered.message_id = m.message_id
+SET m.seq = numbered.rn
+WHERE m.seq IS NULL;
+
+UPDATE chat_room cr
+SET cr.last_seq = COALESCE((SELECT MAX(m.seq) FROM message m WHERE m.chat_room_id = cr.chat_room_id), 0);
+
+-- 기존 읽음 시각 → 그 시각까지의 마지막 순번
+UPDATE user_chat_room ucr
+SET ucr.read_seq = COALESCE((SELECT MAX(m.seq)
+                             FROM message m
+                             WHERE m.chat_room_id = ucr.chat_room_id
+                               AND m.created_at <= ucr.last_read_at), 0)
+WHERE ucr.last_read_at IS NOT NULL;
+
+ALTER TABLE message
+    MODIFY COLUMN seq BIGINT NOT NULL;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_message_room_seq
+    ON message (chat_room_id, seq);
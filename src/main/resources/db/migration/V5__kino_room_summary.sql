@@ -0,0 +1,16 @@
+-- =========================================================
+-- V5: 키노 방 대화 요약 (방당 1행, 증분 압축)
+--   watermark_seq / watermark_message_id : 요약에 포함된 마지막 메시지
+--   version                              : 압축할 때마다 +1 (조건부 갱신으로 동시 압축 중 하나만 반영)
+-- =========================================================
+
+CREATE TABLE IF NOT EXISTS kino_room_summary (
+    chat_room_id         UUID        NOT NULL,
+    summary              TEXT        NOT NULL,
+    watermark_seq        BIGINT      NOT NULL,
+    watermark_message_id UUID        NOT NULL,
+    version              BIGINT      NOT NULL,
+    updated_at           DATETIME(6) NOT NULL,
+    PRIMARY KEY (chat_room_id),
+    CONSTRAINT fk_kino_room_summary_chat_room FOREIGN KEY (chat_room_id) REFERENCES chat_room (chat_room_id)
+) ENGINE = InnoDB;
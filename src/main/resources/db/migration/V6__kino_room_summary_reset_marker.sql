@@ -0,0 +1,7 @@
+-- =========================================================
+-- V6: 키노 요약 초기화 표시 행
+--   성격 변경(메시지 전체 삭제) 시 행을 지우지 않고 빈 요약 + 현재 last_seq 워터마크로 남긴다
+--   (지우면 진행 중이던 압축이 insert 로 옛 대화 요약을 되살림). 이때 watermark_message_id 는 없음
+-- =========================================================
+
+ALTER TABLE kino_room_summary MODIFY watermark_message_id UUID NULL;
@@ -0,0 +1,124 @@
+package com.example.kinover_backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExecutorConfigTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorConfig config = new ExecutorConfig(meterRegistry);
+    private final List<ThreadPoolTaskExecutor> executors = new ArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executors.forEach(ThreadPoolTaskExecutor::shutdown);
+    }
+
+    @Test
+    void dispatchPoolDropsOverflowInsteadOfRunningOnCallerThread() {
+        ThreadPoolTaskExecutor executor = started(config.redisDispatchExecutor(1, 1));
+        executor.execute(this::block);
+        executor.execute(this::block);
+
+        List<String> ranOn = new ArrayList<>();
+        executor.execute(() -> ranOn.add(Thread.currentThread().getName()));
+
+        assertTrue(ranOn.isEmpty());
+        assertEquals(1.0, meterRegistry.counter("executor.rejected", "name", ExecutorConfig.REDIS_DISPATCH).count());
+    }
+
+    @Test
+    void invalidationPoolRunsOverflowOnCallerThreadInsteadOfDropping() {
+        ThreadPoolTaskExecutor executor = started(config.redisInvalidationExecutor(1, 1));
+        executor.execute(this::block);
+        executor.execute(this::block);
+
+        List<String> ranOn = new ArrayList<>();
+        executor.execute(() -> ranOn.add(Thread.currentThread().getName()));
+
+        assertEquals(List.of(Thread.currentThread().getName()), ranOn);
+        assertEquals(1.0, meterRegistry.counter("executor.rejected", "name", ExecutorConfig.REDIS_INVALIDATION).count());
+    }
+
+    @Test
+    void pushPoolRejectsWhenQueueIsFull() {
+        ThreadPoolTaskExecutor executor = started(config.chatPushExecutor(1, 1));
+        executor.execute(this::block);
+        executor.execute(this::block);
+
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(this::block));
+        assertEquals(1.0, meterRegistry.counter("executor.rejected", "name", ExecutorConfig.CHAT_PUSH).count());
+    }
+
+    @Test
+    void poolsAreFixedSize() {
+        ThreadPoolTaskExecutor dispatch = config.redisDispatchExecutor(4, 100);
+        ThreadPoolTaskExecutor push = config.chatPushExecutor(2, 100);
+
+        assertEquals(dispatch.getCorePoolSize(), dispatch.getMaxPoolSize());
+        assertEquals(push.getCorePoolSize(), push.getMaxPoolSize());
+    }
+
+    @Test
+    void kinoPoolRunsEveryAdmittedReplyAtOnce() throws Exception {
+        // 스레드 설정이 격벽 한도보다 작아도 max-concurrent 만큼은 동시에 실행
+        ThreadPoolTaskExecutor executor = started(config.kinoExecutor(4, 6, 16));
+        CountDownLatch running = new CountDownLatch(6);
+        for (int i = 0; i < 6; i++) {
+            executor.execute(() -> {
+                running.countDown();
+                block();
+            });
+        }
+
+        assertTrue(running.await(2, TimeUnit.SECONDS));
+        assertEquals(6, executor.getActiveCount());
+        assertEquals(6, executor.getMaxPoolSize());
+    }
+
+    @Test
+    void schedulerKeepsRunningShortJobsWhileOneBlocks() throws Exception {
+        ThreadPoolTaskScheduler scheduler = config.taskScheduler(2);
+        scheduler.initialize();
+        try {
+            scheduler.execute(this::block);
+            CountDownLatch flushed = new CountDownLatch(3);
+            scheduler.scheduleWithFixedDelay(flushed::countDown, Duration.ofMillis(10));
+
+            assertTrue(flushed.await(2, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            scheduler.shutdown();
+        }
+    }
+
+    private ThreadPoolTaskExecutor started(ThreadPoolTaskExecutor executor) {
+        executor.initialize();
+        executors.add(executor);
+        return executor;
+    }
+
+    private void block() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
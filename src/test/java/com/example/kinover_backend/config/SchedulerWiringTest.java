@@ -0,0 +1,117 @@
+package com.example.kinover_backend.config;
+
+import com.example.kinover_backend.service.KinoBulkhead;
+import com.example.kinover_backend.service.KinoReplyService;
+import com.example.kinover_backend.service.KinoSummaryService;
+import com.example.kinover_backend.service.MessageService;
+import com.example.kinover_backend.service.OpenAiService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @EnableWebSocket 이 있는 컨텍스트에서 스케줄러 연결 확인 (실제 앱처럼 SockJS 스케줄러 빈이 같이 등록됨).
+ * - 키노 debounce 타이머는 kinoDebounceScheduler 로 주입
+ * - @Scheduled 작업은 taskScheduler 풀(scheduled-*)에서 실행
+ */
+@SpringJUnitWebConfig(SchedulerWiringTest.Config.class)
+@TestPropertySource(properties = {"kino.debounce-ms=20", "openai.kino.model=test-model"})
+class SchedulerWiringTest {
+
+    private static final UUID ROOM_ID = UUID.randomUUID();
+
+    @Configuration
+    @EnableWebSocket
+    @EnableScheduling
+    @Import({ExecutorConfig.class, SchedulingConfig.class, KinoReplyService.class})
+    static class Config {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+
+        @Bean
+        ScheduledProbe scheduledProbe() {
+            return new ScheduledProbe();
+        }
+    }
+
+    static class ScheduledProbe {
+        private final List<String> threads = new CopyOnWriteArrayList<>();
+        private final CountDownLatch ticked = new CountDownLatch(1);
+
+        @Scheduled(fixedDelay = 10)
+        public void tick() {
+            threads.add(Thread.currentThread().getName());
+            ticked.countDown();
+        }
+    }
+
+    @MockitoBean
+    private OpenAiService openAiService;
+    @MockitoBean
+    private MessageService messageService;
+    @MockitoBean
+    private StringRedisTemplate redisTemplate;
+    @MockitoBean
+    private KinoBulkhead kinoBulkhead;
+    @MockitoBean
+    private KinoSummaryService kinoSummaryService;
+
+    @Autowired
+    private KinoReplyService kinoReplyService;
+    @Autowired
+    @Qualifier(ExecutorConfig.KINO_DEBOUNCE)
+    private TaskScheduler kinoDebounceScheduler;
+    @Autowired
+    private ScheduledProbe scheduledProbe;
+
+    @Test
+    void kinoDebounceTimersRunOnTheirOwnScheduler() {
+        assertSame(kinoDebounceScheduler, ReflectionTestUtils.getField(kinoReplyService, "taskScheduler"));
+
+        kinoReplyService.replyAsync(ROOM_ID, 1L);
+
+        verify(kinoBulkhead, timeout(2_000)).submit(eq(ROOM_ID), eq(1L), any(), any());
+    }
+
+    @Test
+    void scheduledJobsRunOnTheSchedulerPool() throws Exception {
+        assertTrue(scheduledProbe.ticked.await(2, TimeUnit.SECONDS));
+        assertTrue(scheduledProbe.threads.get(0).startsWith("scheduled-"), scheduledProbe.threads.get(0));
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.kinover_backend.redis;
+
+import com.example.kinover_backend.dto.MessageDTO;
+import com.example.kinover_backend.service.ChatUnreadCounterService;
+import com.example.kinover_backend.service.MessageService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.data.redis.stream.Subscription;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChatEventStreamWorkerTest {
+
+    private static final String NODE = "node-a";
+
+    @Mock
+    private RedisConnectionFactory connectionFactory;
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private StreamOperations<String, Object, Object> streamOps;
+    @Mock
+    private ChatUnreadCounterService chatUnreadCounterService;
+    @Mock
+    private MessageService messageService;
+    @Mock
+    private ChatSessionDirectory chatSessionDirectory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private ChatEventStreamWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        when(chatSessionDirectory.getNodeId()).thenReturn(NODE);
+        worker = new ChatEventStreamWorker(connectionFactory, redisTemplate, objectMapper,
+                chatUnreadCounterService, messageService, chatSessionDirectory, Runnable::run, 60_000L, 5, 100);
+    }
+
+    @Test
+    void unreadGroupIncrementsOncePerEntryWithPublishedRecipients() throws Exception {
+        MessageDTO message = message();
+        RecordId id = RecordId.of("1-0");
+
+        worker.process(ChatEventStreamWorker.UNREAD_GROUP, id, fields(message, "1,2,3"));
+
+        verify(chatUnreadCounterService).incrementOnce(message.getChatRoomId(), 1L, List.of(1L, 2L, 3L), 10L, "1-0");
+        verifyNoInteractions(messageService);
+    }
+
+    @Test
+    void pushGroupDispatchesNotifications() throws Exception {
+        MessageDTO message = message();
+
+        worker.process(ChatEventStreamWorker.PUSH_GROUP, RecordId.of("1-0"), fields(message, "1,2"));
+
+        verify(messageService).dispatchPushNotifications(any(MessageDTO.class));
+        verifyNoInteractions(chatUnreadCounterService);
+    }
+
+    @Test
+    void reclaimRetriesIdleEntriesDropsPoisonAndClearsTrimmed() throws Exception {
+        ReflectionTestUtils.setField(worker, "container", mock(StreamMessageListenerContainer.class));
+        when(redisTemplate.opsForStream()).thenReturn(streamOps);
+
+        RecordId idle = RecordId.of("1-0");
+        RecordId poison = RecordId.of("2-0");
+        RecordId trimmed = RecordId.of("3-0");
+        RecordId fresh = RecordId.of("4-0");
+        Consumer dead = Consumer.from(ChatEventStreamWorker.PUSH_GROUP, "node-dead");
+        PendingMessages pending = new PendingMessages(ChatEventStreamWorker.PUSH_GROUP, List.of(
+                new PendingMessage(idle, dead, Duration.ofMinutes(5), 1),
+                new PendingMessage(poison, dead, Duration.ofMinutes(5), 5),
+                new PendingMessage(trimmed, dead, Duration.ofMinutes(5), 1),
+                new PendingMessage(fresh, dead, Duration.ofSeconds(1), 1)));
+        when(streamOps.pending(eq(ChatEventStream.STREAM_KEY), eq(ChatEventStreamWorker.PUSH_GROUP), any(Range.class), anyLong()))
+                .thenReturn(pending);
+        when(streamOps.pending(eq(ChatEventStream.STREAM_KEY), eq(ChatEventStreamWorker.UNREAD_GROUP), any(Range.class), anyLong()))
+                .thenReturn(new PendingMessages(ChatEventStreamWorker.UNREAD_GROUP, List.of()));
+
+        MapRecord<String, Object, Object> record = StreamRecords.newRecord()
+                .in(ChatEventStream.STREAM_KEY)
+                .withId(idle)
+                .ofMap(Map.<Object, Object>copyOf(fields(message(), "1,2")));
+        when(streamOps.claim(ChatEventStream.STREAM_KEY, ChatEventStreamWorker.PUSH_GROUP, NODE,
+                Duration.ofMillis(60_000L), idle, trimmed)).thenReturn(List.of(record));
+
+        worker.reclaimPending();
+
+        verify(messageService).dispatchPushNotifications(any(MessageDTO.class));
+        verify(streamOps).acknowledge(ChatEventStream.STREAM_KEY, ChatEventStreamWorker.PUSH_GROUP, idle);
+        verify(streamOps).acknowledge(ChatEventStream.STREAM_KEY, ChatEventStreamWorker.PUSH_GROUP, poison);
+        verify(streamOps).acknowledge(ChatEventStream.STREAM_KEY, ChatEventStreamWorker.PUSH_GROUP, trimmed);
+        verify(streamOps, never()).acknowledge(ChatEventStream.STREAM_KEY, ChatEventStreamWorker.PUSH_GROUP, fresh);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void inactiveSubscriptionIsRegisteredAgainWithoutCancelOnError() {
+        StreamMessageListenerContainer<String, MapRecord<String, String, String>> container =
+                mock(StreamMessageListenerContainer.class);
+        ReflectionTestUtils.setField(worker, "container", container);
+        when(container.isRunning()).thenReturn(true);
+
+        Subscription dead = mock(Subscription.class);
+        Subscription live = mock(Subscription.class);
+        when(live.isActive()).thenReturn(true);
+        Map<String, Subscription> subscriptions =
+                (Map<String, Subscription>) ReflectionTestUtils.getField(worker, "subscriptions");
+        subscriptions.put(ChatEventStreamWorker.UNREAD_GROUP, dead);
+        subscriptions.put(ChatEventStreamWorker.PUSH_GROUP, live);
+        Subscription fresh = mock(Subscription.class);
+        when(container.register(any(StreamMessageListenerContainer.StreamReadRequest.class), any())).thenReturn(fresh);
+
+        worker.resubscribeInactive();
+
+        ArgumentCaptor<StreamMessageListenerContainer.ConsumerStreamReadRequest<String>> request =
+                ArgumentCaptor.forClass(StreamMessageListenerContainer.ConsumerStreamReadRequest.class);
+        verify(container, times(1)).register(request.capture(), any());
+        verify(container).remove(dead);
+        assertSame(fresh, subscriptions.get(ChatEventStreamWorker.UNREAD_GROUP));
+        assertSame(live, subscriptions.get(ChatEventStreamWorker.PUSH_GROUP));
+
+        // Redis 순단으로 폴링이 실패해도 구독은 유지, ack 는 처리 후 직접
+        assertFalse(request.getValue().getCancelSubscriptionOnError().test(new IllegalStateException("redis down")));
+        assertFalse(request.getValue().isAutoAcknowledge());
+        assertEquals(Consumer.from(ChatEventStreamWorker.UNREAD_GROUP, NODE), request.getValue().getConsumer());
+    }
+
+    private Map<String, String> fields(MessageDTO message, String recipients) throws Exception {
+        return Map.of(
+                ChatEventStream.FIELD_PAYLOAD, objectMapper.writeValueAsString(message),
+                ChatEventStream.FIELD_RECIPIENTS, recipients);
+    }
+
+    private static MessageDTO message() {
+        MessageDTO dto = new MessageDTO();
+        dto.setMessageId(UUID.randomUUID());
+        dto.setChatRoomId(UUID.randomUUID());
+        dto.setSenderId(1L);
+        dto.setContent("hi");
+        dto.setSeq(10L);
+        return dto;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.kinover_backend.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChatFrameTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void readsRoutingHeaderAndSkipsNestedBody() throws Exception {
+        UUID chatRoomId = UUID.randomUUID();
+        String json = "{\"messageId\":\"" + UUID.randomUUID() + "\",\"content\":\"안녕 👋\","
+                + "\"chatRoomId\":\"" + chatRoomId + "\",\"senderId\":42,"
+                + "\"imageUrls\":[\"a\",{\"nested\":\"type\"}],\"mentionUserIds\":null,"
+                + "\"systemMessage\":true,\"seq\":7}";
+
+        ChatFrame frame = ChatFrame.parse(objectMapper.getFactory(), json.getBytes(StandardCharsets.UTF_8));
+
+        assertFalse(frame.isEvent());
+        assertEquals(chatRoomId, frame.getChatRoomId());
+        assertEquals(42L, frame.getSenderId());
+        assertTrue(frame.isSystemMessage());
+        assertEquals(7L, frame.getSeq());
+        assertEquals(json, frame.getTextMessage().getPayload()); // UTF-8 그대로
+    }
+
+    @Test
+    void eventFrameKeepsType() throws Exception {
+        UUID chatRoomId = UUID.randomUUID();
+        String json = "{\"type\":\"room:read\",\"chatRoomId\":\"" + chatRoomId + "\",\"userId\":1,\"lastReadSeq\":3}";
+
+        ChatFrame frame = ChatFrame.parse(objectMapper.getFactory(), json.getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(frame.isEvent());
+        assertEquals("room:read", frame.getType());
+        assertEquals(chatRoomId, frame.getChatRoomId());
+        assertNull(frame.getSenderId());
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.kinover_backend.redis;
+
+import com.example.kinover_backend.repository.UserChatRoomRepository;
+import com.example.kinover_backend.service.ChatMembershipCache;
+import com.example.kinover_backend.service.RecentMessageCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChatRoomSubscriptionRegistryTest {
+
+    @Mock
+    private ObjectProvider<RedisMessageListenerContainer> containerProvider;
+    @Mock
+    private ObjectProvider<ChatMessageSubscriber> subscriberProvider;
+    @Mock
+    private RedisMessageListenerContainer container;
+    @Mock
+    private ChatMessageSubscriber subscriber;
+    @Mock
+    private UserChatRoomRepository userChatRoomRepository;
+    @Mock
+    private ChatMembershipCache chatMembershipCache;
+    @Mock
+    private RecentMessageCache recentMessageCache;
+
+    private ChatRoomSubscriptionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        when(containerProvider.getObject()).thenReturn(container);
+        when(subscriberProvider.getObject()).thenReturn(subscriber);
+        registry = new ChatRoomSubscriptionRegistry(
+                containerProvider, subscriberProvider, userChatRoomRepository, chatMembershipCache, recentMessageCache);
+    }
+
+    @Test
+    void roomIsSubscribedOnceAndReleasedWithLastLocalUser() {
+        UUID chatRoomId = UUID.randomUUID();
+        ChannelTopic topic = new ChannelTopic(ChatRoomSubscriptionRegistry.topicFor(chatRoomId));
+        when(userChatRoomRepository.findChatRoomIdsByUserId(1L)).thenReturn(List.of(chatRoomId));
+        when(userChatRoomRepository.findChatRoomIdsByUserId(2L)).thenReturn(List.of(chatRoomId));
+
+        registry.onUserConnected(1L);
+        registry.onUserConnected(2L);
+        registry.onUserConnected(1L); // 같은 유저의 두 번째 세션
+        verify(container, times(1)).addMessageListener(subscriber, topic);
+
+        registry.onUserDisconnected(1L);
+        verify(container, never()).removeMessageListener(subscriber, topic);
+        assertTrue(registry.isSubscribed(chatRoomId));
+
+        registry.onUserDisconnected(2L);
+        verify(container, times(1)).removeMessageListener(subscriber, topic);
+        assertFalse(registry.isSubscribed(chatRoomId));
+    }
+
+    @Test
+    void membershipChangeSubscribesRoomForConnectedUser() {
+        UUID chatRoomId = UUID.randomUUID();
+        when(userChatRoomRepository.findChatRoomIdsByUserId(1L)).thenReturn(List.of());
+        when(chatMembershipCache.getMemberIds(chatRoomId)).thenReturn(List.of(1L, 5L));
+
+        registry.onUserConnected(1L);
+        registry.refreshRoom(chatRoomId);
+
+        assertTrue(registry.isSubscribed(chatRoomId));
+        verify(container).addMessageListener(subscriber, new ChannelTopic(ChatRoomSubscriptionRegistry.topicFor(chatRoomId)));
+        // 구독 전에 발행된 입장 메시지 등은 읽음 포인터 이후로 다시 보냄
+        verify(subscriber).replayMissed(chatRoomId, List.of(1L));
+
+        // 이미 들어와 있는 멤버는 다시 보내지 않음
+        registry.refreshRoom(chatRoomId);
+        verify(subscriber, times(1)).replayMissed(chatRoomId, List.of(1L));
+    }
+
+    @Test
+    void slowSubscribeDoesNotBlockSubscriptionLookup() throws Exception {
+        UUID slowRoom = UUID.randomUUID();
+        when(userChatRoomRepository.findChatRoomIdsByUserId(1L)).thenReturn(List.of(slowRoom));
+
+        // SUBSCRIBE 왕복이 오래 걸리는 상황
+        CountDownLatch subscribing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            subscribing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(container).addMessageListener(subscriber, new ChannelTopic(ChatRoomSubscriptionRegistry.topicFor(slowRoom)));
+
+        CompletableFuture<Void> connecting = CompletableFuture.runAsync(() -> registry.onUserConnected(1L));
+        try {
+            assertTrue(subscribing.await(2, TimeUnit.SECONDS));
+
+            // 구독이 끝나기 전에는 구독 중으로 보지 않고, 조회/다른 유저 상태 변경은 기다리지 않음
+            CompletableFuture<Boolean> lookup = CompletableFuture.supplyAsync(() -> registry.isSubscribed(slowRoom));
+            assertFalse(lookup.get(1, TimeUnit.SECONDS));
+            CompletableFuture.runAsync(() -> registry.onUserDisconnected(2L)).get(1, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+        }
+
+        connecting.get(2, TimeUnit.SECONDS);
+        assertTrue(registry.isSubscribed(slowRoom));
+    }
+
+    @Test
+    void recentCacheIsDroppedWhenRoomSubscriptionStartsAndEnds() {
+        UUID chatRoomId = UUID.randomUUID();
+        when(userChatRoomRepository.findChatRoomIdsByUserId(1L)).thenReturn(List.of(chatRoomId));
+
+        // 구독 전에 적재된 스냅샷은 그 사이 메시지를 못 받았을 수 있음
+        registry.onUserConnected(1L);
+        verify(recentMessageCache, times(1)).evictLocal(chatRoomId);
+
+        // 해제 후에는 새 메시지를 못 받음
+        registry.onUserDisconnected(1L);
+        verify(recentMessageCache, times(2)).evictLocal(chatRoomId);
+    }
+}
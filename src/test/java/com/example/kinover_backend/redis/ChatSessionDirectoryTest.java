@@ -0,0 +1,138 @@
+package com.example.kinover_backend.redis;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 실제 Redis 에서 /chat 접속 디렉터리 확인: 두 노드(node-a, node-b)가 같은 Redis 를 공유한다.
+ * Docker가 없는 환경에서는 건너뛴다.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ChatSessionDirectoryTest {
+
+    private static final long TTL_SECONDS = 90L;
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private ChatSessionDirectory nodeA;
+    private ChatSessionDirectory nodeB;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+        nodeA = new ChatSessionDirectory(redisTemplate, "node-a", TTL_SECONDS);
+        nodeB = new ChatSessionDirectory(redisTemplate, "node-b", TTL_SECONDS);
+    }
+
+    @Test
+    void findNodesKeepsOnlyLiveNodes() {
+        nodeA.register(1L);
+        nodeB.register(1L);
+        nodeB.register(2L);
+
+        assertEquals(Map.of(1L, Set.of("node-a", "node-b"), 2L, Set.of("node-b")),
+                nodeA.findNodes(List.of(1L, 2L, 3L)));
+
+        // node-b 생존 키 만료 (heartbeat 없이 죽은 노드): 유저 set 에 남아 있어도 인정하지 않음
+        redisTemplate.delete("ws:node:node-b");
+
+        assertEquals(Map.of(1L, Set.of("node-a")), nodeA.findNodes(List.of(1L, 2L, 3L)));
+        assertEquals(Set.of(1L), nodeA.findOnlineUserIds(List.of(1L, 2L, 3L)));
+    }
+
+    @Test
+    void heartbeatRefreshesTtlAndRestoresExpiredMembership() {
+        nodeA.register(1L);
+        redisTemplate.expire("ws:node:node-a", 5, TimeUnit.SECONDS);
+        redisTemplate.expire("ws:user:1", 5, TimeUnit.SECONDS);
+        nodeA.register(2L);
+        redisTemplate.delete("ws:user:2");
+
+        nodeA.heartbeat();
+
+        assertTrue(redisTemplate.getExpire("ws:node:node-a", TimeUnit.SECONDS) > 5);
+        assertTrue(redisTemplate.getExpire("ws:user:1", TimeUnit.SECONDS) > 5);
+        assertTrue(redisTemplate.getExpire("ws:user:2", TimeUnit.SECONDS) > 5);
+        assertEquals(Map.of(1L, Set.of("node-a"), 2L, Set.of("node-a")), nodeB.findNodes(List.of(1L, 2L)));
+    }
+
+    @Test
+    void unregisterKeepsSessionsOnOtherNode() {
+        nodeA.register(1L);
+        nodeB.register(1L);
+
+        nodeA.unregister(1L);
+
+        assertEquals(Map.of(1L, Set.of("node-b")), nodeA.findNodes(List.of(1L)));
+        assertEquals(Set.of(1L), nodeA.findOnlineUserIds(List.of(1L)));
+
+        // node-a heartbeat 가 떠난 유저를 되살리지 않음
+        nodeA.heartbeat();
+        assertEquals(Set.of("node-b"), redisTemplate.opsForSet().members("ws:user:1"));
+    }
+
+    @Test
+    void shutdownRemovesThisNodeOnly() {
+        nodeA.register(1L);
+        nodeB.register(1L);
+
+        nodeA.shutdown();
+
+        assertEquals(Boolean.FALSE, redisTemplate.hasKey("ws:node:node-a"));
+        assertEquals(Map.of(1L, Set.of("node-b")), nodeB.findNodes(List.of(1L)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void lookupFailureTreatsEveryoneAsOffline() {
+        StringRedisTemplate broken = mock(StringRedisTemplate.class);
+        when(broken.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        ChatSessionDirectory directory = new ChatSessionDirectory(broken, "node-a", TTL_SECONDS);
+
+        // 푸시가 빠지는 것보다 중복이 낫다 → 전원 오프라인
+        assertEquals(Set.of(), directory.findOnlineUserIds(List.of(1L, 2L)));
+    }
+}
@@ -0,0 +1,504 @@
+package com.example.kinover_backend.repository;
+
+import com.example.kinover_backend.enums.MessageType;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MariaDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Flyway 마이그레이션을 실제 MariaDB에 적용한 뒤, 리포지토리 핫 쿼리를 실제로 호출해서 Hibernate 가 만든 SQL 과
+ * 바인딩 값을 DataSource 프록시로 잡아 그대로 EXPLAIN 하고, 대상 테이블이 풀스캔(type=ALL)으로 떨어지지 않는지 확인한다.
+ * (JPQL 을 고치면 이 테스트도 바뀐 SQL 로 돈다.) Docker가 없는 환경에서는 건너뛴다.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(HotQueryIndexTest.RecordingDataSourceConfig.class)
+class HotQueryIndexTest {
+
+    private static final int USERS = 200;
+    private static final int FAMILIES = 20;
+    private static final int ROOMS = 40;
+    private static final int MESSAGES_PER_ROOM = 250;
+    private static final int NOTIFICATIONS_PER_FAMILY = 150;
+    private static final int SCHEDULES_PER_FAMILY = 150;
+
+    @Container
+    private static final MariaDBContainer<?> MARIADB = new MariaDBContainer<>("mariadb:11.4");
+
+    private static final List<UUID> familyIds = new ArrayList<>();
+    private static final List<UUID> roomIds = new ArrayList<>();
+
+    // 리포지토리 호출 중 실행된 SQL (DataSource 프록시가 채움)
+    private static final List<RecordedStatement> recorded = new CopyOnWriteArrayList<>();
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MARIADB::getJdbcUrl);
+        registry.add("spring.datasource.username", MARIADB::getUsername);
+        registry.add("spring.datasource.password", MARIADB::getPassword);
+    }
+
+    @Autowired
+    private MessageRepository messageRepository;
+    @Autowired
+    private UserChatRoomRepository userChatRoomRepository;
+    @Autowired
+    private ChatRoomNotificationRepository chatRoomNotificationRepository;
+    @Autowired
+    private NotificationRepository notificationRepository;
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+    @Autowired
+    private UserBlockRepository userBlockRepository;
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        Flyway.configure()
+                .dataSource(MARIADB.getJdbcUrl(), MARIADB.getUsername(), MARIADB.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        try (Connection conn = connect()) {
+            conn.setAutoCommit(false);
+            seed(conn);
+            conn.commit();
+
+            try (Statement st = conn.createStatement()) {
+                for (String table : List.of("`user`", "family", "chat_room", "user_chat_room", "message",
+                        "chatroom_notification", "notification", "schedule", "blocks")) {
+                    st.execute("ANALYZE TABLE " + table);
+                }
+            }
+        }
+    }
+
+    @BeforeEach
+    void clearRecorded() {
+        recorded.clear();
+    }
+
+    // =========================
+    // MessageRepository
+    // =========================
+
+    @Test
+    void historyPageUsesRoomSeqIndex() throws SQLException {
+        messageRepository.findVisibleForViewerBefore(roomIds.get(0), 1_000_000L, List.of(-1L), PageRequest.of(0, 30));
+        assertNoFullScan(Set.of("message"));
+    }
+
+    @Test
+    void latestMessagePerRoomUsesRoomCreatedIndex() throws SQLException {
+        messageRepository.findLatestByChatRoomIds(List.of(roomIds.get(0), roomIds.get(1), roomIds.get(2)));
+        assertNoFullScan(Set.of("message"));
+    }
+
+    @Test
+    void seqAtReadTimeUsesRoomCreatedIndex() throws SQLException {
+        messageRepository.findSeqAtOrBefore(roomIds.get(0), LocalDateTime.now().minusDays(1), PageRequest.of(0, 1));
+        assertNoFullScan(Set.of("message"));
+    }
+
+    @Test
+    void mediaTabUsesRoomTypeCreatedIndex() throws SQLException {
+        messageRepository.findMediaMessagesVisibleForViewerBefore(roomIds.get(0),
+                List.of(MessageType.image, MessageType.video), LocalDateTime.now(), List.of(-1L), PageRequest.of(0, 60));
+        assertNoFullScan(Set.of("message"));
+    }
+
+    // =========================
+    // UserChatRoomRepository / ChatRoomNotificationRepository
+    // =========================
+
+    @Test
+    void unreadRebuildUsesUserRoomIndexAndRoomPk() throws SQLException {
+        userChatRoomRepository.findUnreadCountsByUserId(1L);
+        assertNoFullScan(Set.of("user_chat_room", "chat_room"));
+    }
+
+    @Test
+    void chatRoomIdsByUserUsesUserRoomIndex() throws SQLException {
+        userChatRoomRepository.findChatRoomIdsByUserId(1L);
+        assertNoFullScan(Set.of("user_chat_room"));
+    }
+
+    @Test
+    void membershipCheckUsesUserRoomIndex() throws SQLException {
+        userChatRoomRepository.existsByUser_UserIdAndChatRoom_ChatRoomId(1L, roomIds.get(0));
+        assertNoFullScan(Set.of("user_chat_room"));
+    }
+
+    @Test
+    void memberIdsByRoomUsesRoomUserIndex() throws SQLException {
+        userChatRoomRepository.findMemberIdsByChatRoomId(roomIds.get(0));
+        assertNoFullScan(Set.of("user_chat_room"));
+    }
+
+    @Test
+    void chatRoomNotificationSettingsUseUserRoomIndex() throws SQLException {
+        chatRoomNotificationRepository.findByUserIdAndChatRoomIds(1L, List.of(roomIds.get(0), roomIds.get(1)));
+        assertNoFullScan(Set.of("chatroom_notification"));
+    }
+
+    // =========================
+    // NotificationRepository / ScheduleRepository / UserBlockRepository
+    // =========================
+
+    @Test
+    void familyNotificationsUseFamilyCreatedIndex() throws SQLException {
+        notificationRepository.findByFamilyIdInOrderByCreatedAtDesc(List.of(familyIds.get(0), familyIds.get(1)));
+        assertNoFullScan(Set.of("notification"));
+    }
+
+    @Test
+    void notificationUnreadCountUsesFamilyCreatedIndex() throws SQLException {
+        notificationRepository.countByFamilyIdAndCreatedAtAfterAndAuthorIdNot(
+                familyIds.get(0), LocalDateTime.now().minusDays(1), 1L);
+        assertNoFullScan(Set.of("notification"));
+    }
+
+    @Test
+    void schedulesByFamilyAndDateRangeUseFamilyDateIndex() throws SQLException {
+        scheduleRepository.findByFamily_FamilyIdAndDateBetweenAndHiddenFalse(
+                familyIds.get(0), LocalDate.now(), LocalDate.now().plusDays(30));
+        assertNoFullScan(Set.of("schedule"));
+    }
+
+    @Test
+    void blockLookupUsesUniqueIndex() throws SQLException {
+        userBlockRepository.existsByBlocker_UserIdAndBlocked_UserId(1L, 2L);
+        assertNoFullScan(Set.of("blocks"));
+    }
+
+    @Test
+    void blockGraphBulkLoadUsesUniqueIndexPrefix() throws SQLException {
+        userBlockRepository.findEdgesByBlockerIds(List.of(1L, 2L, 3L));
+        assertNoFullScan(Set.of("blocks"));
+    }
+
+    // =========================
+    // helpers
+    // =========================
+
+    // Hibernate 가 붙인 별칭(m1_0 등) → 실제 테이블 이름
+    private static final Pattern TABLE_ALIAS = Pattern.compile("(?i)\\b(?:from|join)\\s+`?(\\w+)`?\\s+(\\w+)");
+
+    /** 방금 호출한 리포지토리 메서드의 첫 SQL(본 쿼리, 뒤따르는 연관 로딩 제외)을 같은 바인딩으로 EXPLAIN */
+    private static void assertNoFullScan(Set<String> tables) throws SQLException {
+        if (recorded.isEmpty()) {
+            fail("repository call executed no SQL");
+        }
+        RecordedStatement statement = recorded.get(0);
+        String sql = statement.sql;
+
+        Map<String, String> aliasToTable = new HashMap<>();
+        Matcher matcher = TABLE_ALIAS.matcher(sql);
+        while (matcher.find()) {
+            aliasToTable.put(matcher.group(2), matcher.group(1));
+        }
+
+        List<String> plan = new ArrayList<>();
+        boolean sawTable = false;
+
+        try (Connection conn = connect();
+             PreparedStatement ps = conn.prepareStatement("EXPLAIN " + sql)) {
+            statement.bindTo(ps);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String alias = rs.getString("table");
+                    String type = rs.getString("type");
+                    String key = rs.getString("key");
+                    plan.add(alias + " type=" + type + " key=" + key);
+
+                    String table = aliasToTable.getOrDefault(alias, alias);
+                    if (table == null || !tables.contains(table)) continue;
+                    sawTable = true;
+                    assertFalse("ALL".equalsIgnoreCase(type), () -> "full scan on " + table + ": " + plan + "\n" + sql);
+                    assertNotNull(key, () -> "no index on " + table + ": " + plan + "\n" + sql);
+                }
+            }
+        }
+        if (!sawTable) {
+            fail("expected tables " + tables + " in plan " + plan + "\n" + sql);
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(MARIADB.getJdbcUrl(), MARIADB.getUsername(), MARIADB.getPassword());
+    }
+
+    private static byte[] uuidBytes(UUID id) {
+        byte[] bytes = new byte[16];
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (msb >>> (8 * (7 - i)));
+            bytes[8 + i] = (byte) (lsb >>> (8 * (7 - i)));
+        }
+        return bytes;
+    }
+
+    private static void seed(Connection conn) throws SQLException {
+        LocalDateTime now = LocalDateTime.now();
+
+        try (PreparedStatement ps = conn.prepareStatement("""
+                insert into `user` (user_id, name, is_online, is_post_notification_on, is_comment_notification_on,
+                                    is_chat_notification_on, phone_verified, account_status)
+                values (?, ?, 0, 1, 1, 1, 0, 'NORMAL')
+                """)) {
+            for (long userId = 1; userId <= USERS; userId++) {
+                ps.setLong(1, userId);
+                ps.setString(2, "user" + userId);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement("insert into family (family_id, name) values (?, ?)")) {
+            for (int i = 0; i < FAMILIES; i++) {
+                UUID familyId = UUID.randomUUID();
+                familyIds.add(familyId);
+                ps.setBytes(1, uuidBytes(familyId));
+                ps.setString(2, "family" + i);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+
+        try (PreparedStatement room = conn.prepareStatement(
+                "insert into chat_room (chat_room_id, room_name, family_id) values (?, ?, ?)");
+             PreparedStatement member = conn.prepareStatement(
+                "insert into user_chat_room (user_chat_room_id, user_id, chat_room_id) values (?, ?, ?)");
+             PreparedStatement setting = conn.prepareStatement(
+                "insert into chatroom_notification (user_user_id, chat_room_chat_room_id, is_notification_on) values (?, ?, 1)")) {
+            for (int i = 0; i < ROOMS; i++) {
+                UUID roomId = UUID.randomUUID();
+                roomIds.add(roomId);
+                room.setString(1, roomId.toString());
+                room.setString(2, "room" + i);
+                room.setBytes(3, uuidBytes(familyIds.get(i % FAMILIES)));
+                room.addBatch();
+
+                for (int m = 0; m < 5; m++) {
+                    long userId = 1 + (i * 5L + m) % USERS;
+                    member.setString(1, UUID.randomUUID().toString());
+                    member.setLong(2, userId);
+                    member.setString(3, roomId.toString());
+                    member.addBatch();
+
+                    setting.setLong(1, userId);
+                    setting.setString(2, roomId.toString());
+                    setting.addBatch();
+                }
+            }
+            room.executeBatch();
+            member.executeBatch();
+            setting.executeBatch();
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement("""
+                insert into message (message_id, content, created_at, message_type, is_system_message, is_hidden,
+                                     chat_room_id, sender_id, seq)
+                values (?, ?, ?, ?, 0, 0, ?, ?, ?)
+                """)) {
+            for (int i = 0; i < ROOMS; i++) {
+                for (int m = 0; m < MESSAGES_PER_ROOM; m++) {
+                    ps.setString(1, UUID.randomUUID().toString());
+                    ps.setString(2, "hello " + m);
+                    ps.setTimestamp(3, Timestamp.valueOf(now.minusMinutes((long) MESSAGES_PER_ROOM - m)));
+                    ps.setString(4, m % 10 == 0 ? "image" : "text");
+                    ps.setString(5, roomIds.get(i).toString());
+                    ps.setLong(6, 1 + (i * 5L + m % 5) % USERS);
+                    ps.setLong(7, m + 1L);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement("""
+                insert into notification (notification_id, notification_type, family_id, author_id, created_at)
+                values (?, 'POST', ?, ?, ?)
+                """)) {
+            for (UUID familyId : familyIds) {
+                for (int n = 0; n < NOTIFICATIONS_PER_FAMILY; n++) {
+                    ps.setString(1, UUID.randomUUID().toString());
+                    ps.setString(2, familyId.toString());
+                    ps.setLong(3, 1 + n % USERS);
+                    ps.setTimestamp(4, Timestamp.valueOf(now.minusHours(n)));
+                    ps.addBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement("""
+                insert into schedule (schedule_id, title, date, type, personal, family_id, is_hidden)
+                values (?, ?, ?, 'FAMILY', 0, ?, 0)
+                """)) {
+            for (UUID familyId : familyIds) {
+                for (int s = 0; s < SCHEDULES_PER_FAMILY; s++) {
+                    ps.setString(1, UUID.randomUUID().toString());
+                    ps.setString(2, "schedule" + s);
+                    ps.setDate(3, java.sql.Date.valueOf(LocalDate.now().minusDays(SCHEDULES_PER_FAMILY / 2).plusDays(s)));
+                    ps.setBytes(4, uuidBytes(familyId));
+                    ps.addBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement(
+                "insert into blocks (id, blocker_id, blocked_id, created_at) values (?, ?, ?, ?)")) {
+            for (long blocker = 1; blocker <= USERS; blocker++) {
+                for (long offset = 1; offset <= 3; offset++) {
+                    ps.setString(1, UUID.randomUUID().toString());
+                    ps.setLong(2, blocker);
+                    ps.setLong(3, 1 + (blocker + offset * 7) % USERS);
+                    ps.setTimestamp(4, Timestamp.valueOf(now));
+                    ps.addBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+    }
+
+    // =========================
+    // SQL 기록용 DataSource 프록시
+    // =========================
+
+    @TestConfiguration
+    static class RecordingDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? recording(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    /** 실행된 SQL + setXxx(index, ...) 바인딩 (EXPLAIN 문에 같은 메서드로 다시 건다) */
+    private static final class RecordedStatement {
+        private final String sql;
+        private final Map<Integer, Binding> bindings;
+
+        private RecordedStatement(String sql, Map<Integer, Binding> bindings) {
+            this.sql = sql;
+            this.bindings = new TreeMap<>(bindings);
+        }
+
+        private void bindTo(PreparedStatement ps) throws SQLException {
+            for (Binding binding : bindings.values()) {
+                invoke(binding.method, ps, binding.args);
+            }
+        }
+    }
+
+    private static final class Binding {
+        private final Method method;
+        private final Object[] args;
+
+        private Binding(Method method, Object[] args) {
+            this.method = method;
+            this.args = args.clone();
+        }
+    }
+
+    private static DataSource recording(DataSource target) {
+        return proxy(DataSource.class, (p, method, args) -> {
+            Object result = invoke(method, target, args);
+            return result instanceof Connection connection ? recording(connection) : result;
+        });
+    }
+
+    private static Connection recording(Connection target) {
+        return proxy(Connection.class, (p, method, args) -> {
+            Object result = invoke(method, target, args);
+            if ("prepareStatement".equals(method.getName()) && result instanceof PreparedStatement ps) {
+                return recording(ps, (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    private static PreparedStatement recording(PreparedStatement target, String sql) {
+        Map<Integer, Binding> bindings = new TreeMap<>();
+        return proxy(PreparedStatement.class, (p, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bindings.put(index, new Binding(method, args));
+            } else if ("clearParameters".equals(name)) {
+                bindings.clear();
+            } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+                recorded.add(new RecordedStatement(sql, bindings));
+            }
+            return invoke(method, target, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws SQLException {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException sqlException) throw sqlException;
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.kinover_backend.service;
+
+import com.example.kinover_backend.repository.UserBlockRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BlockGraphTest {
+
+    @Mock
+    private UserBlockRepository userBlockRepository;
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private BlockGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new BlockGraph(userBlockRepository, redisTemplate, new SimpleMeterRegistry(), 100, 300L);
+    }
+
+    @Test
+    void viewerBlockListIsLoadedOnce() {
+        when(userBlockRepository.findBlockedUserIdsByBlockerId(1L)).thenReturn(List.of(5L, 3L));
+
+        BlockGraph.Blocked blocked = graph.blockedBy(1L);
+        assertTrue(blocked.contains(3L));
+        assertFalse(blocked.contains(4L));
+        assertTrue(graph.isBlocked(1L, 5L));
+        assertEquals(List.of(3L, 5L), blocked.asQueryParam());
+
+        verify(userBlockRepository, times(1)).findBlockedUserIdsByBlockerId(1L);
+    }
+
+    @Test
+    void emptyBlockListUsesSentinelQueryParam() {
+        when(userBlockRepository.findBlockedUserIdsByBlockerId(1L)).thenReturn(List.of());
+
+        BlockGraph.Blocked blocked = graph.blockedBy(1L);
+
+        assertTrue(blocked.isEmpty());
+        assertEquals(List.of(-1L), blocked.asQueryParam());
+        assertTrue(graph.blockedBy(null).isEmpty());
+    }
+
+    @Test
+    void recipientsWhoBlockedSenderAreFilteredWithOneBulkQuery() {
+        when(userBlockRepository.findEdgesByBlockerIds(List.of(1L, 2L, 3L)))
+                .thenReturn(List.of(edge(2L, 9L), edge(3L, 7L)));
+
+        assertEquals(List.of(1L, 3L), graph.withoutBlockersOf(List.of(1L, 2L, 3L), 9L));
+        assertEquals(List.of(1L, 3L), graph.withoutBlockersOf(List.of(1L, 2L, 3L), 9L));
+
+        verify(userBlockRepository, times(1)).findEdgesByBlockerIds(List.of(1L, 2L, 3L));
+        verify(userBlockRepository, never()).findBlockedUserIdsByBlockerId(anyLong());
+    }
+
+    @Test
+    void invalidateReloadsAndPublishesToOtherNodes() {
+        when(userBlockRepository.findBlockedUserIdsByBlockerId(1L))
+                .thenReturn(List.of())
+                .thenReturn(List.of(2L));
+
+        assertFalse(graph.isBlocked(1L, 2L));
+        graph.invalidate(1L);
+        assertTrue(graph.isBlocked(1L, 2L));
+
+        verify(redisTemplate).convertAndSend(BlockGraph.INVALIDATE_CHANNEL, "1");
+    }
+
+    private static UserBlockRepository.BlockEdgeView edge(Long blockerId, Long blockedId) {
+        return new UserBlockRepository.BlockEdgeView() {
+            @Override
+            public Long getBlockerId() {
+                return blockerId;
+            }
+
+            @Override
+            public Long getBlockedId() {
+                return blockedId;
+            }
+        };
+    }
+}
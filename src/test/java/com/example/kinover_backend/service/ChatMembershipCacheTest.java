@@ -0,0 +1,66 @@
+package com.example.kinover_backend.service;
+
+import com.example.kinover_backend.repository.UserChatRoomRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChatMembershipCacheTest {
+
+    @Mock
+    private UserChatRoomRepository userChatRoomRepository;
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ChatMembershipCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ChatMembershipCache(userChatRoomRepository, redisTemplate, meterRegistry, 100, 300L);
+    }
+
+    @Test
+    void repeatedLookupsHitTheDatabaseOnce() {
+        UUID chatRoomId = UUID.randomUUID();
+        when(userChatRoomRepository.findMemberIdsByChatRoomId(chatRoomId)).thenReturn(List.of(3L, 1L, 2L));
+
+        assertTrue(cache.isMember(chatRoomId, 2L));
+        assertFalse(cache.isMember(chatRoomId, 4L));
+        assertEquals(List.of(1L, 2L, 3L), cache.getMemberIds(chatRoomId));
+
+        verify(userChatRoomRepository, times(1)).findMemberIdsByChatRoomId(chatRoomId);
+        assertEquals(1.0, meterRegistry.counter("chat.membership.cache", "result", "miss").count());
+        assertEquals(2.0, meterRegistry.counter("chat.membership.cache", "result", "hit").count());
+    }
+
+    @Test
+    void invalidateReloadsAndPublishesToOtherNodes() {
+        UUID chatRoomId = UUID.randomUUID();
+        when(userChatRoomRepository.findMemberIdsByChatRoomId(chatRoomId))
+                .thenReturn(List.of(1L))
+                .thenReturn(List.of(1L, 2L));
+
+        assertFalse(cache.isMember(chatRoomId, 2L));
+        cache.invalidate(chatRoomId);
+        assertTrue(cache.isMember(chatRoomId, 2L));
+
+        verify(redisTemplate).convertAndSend(ChatMembershipCache.INVALIDATE_CHANNEL, chatRoomId.toString());
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.kinover_backend.service;
+
+import com.example.kinover_backend.dto.ChatRoomDTO;
+import com.example.kinover_backend.dto.ChatRoomMapperImpl;
+import com.example.kinover_backend.entity.ChatRoom;
+import com.example.kinover_backend.entity.ChatRoomNotificationSetting;
+import com.example.kinover_backend.entity.Family;
+import com.example.kinover_backend.entity.User;
+import com.example.kinover_backend.entity.UserChatRoom;
+import com.example.kinover_backend.redis.ChatEventStream;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.MariaDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.when;
+
+/**
+ * 채팅방 목록 조회가 방 개수와 무관하게 SQL 3회로 고정되는지, 실제 MariaDB(Flyway 스키마)에서
+ * Hibernate Statistics 의 prepared statement 수로 확인한다 (지연 로딩으로 새는 N+1 까지 잡힘).
+ * unread 카운터는 Redis 라 목으로 둔다. Docker가 없는 환경에서는 건너뛴다.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "cloudfront.domain=https://cdn.test/"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ChatRoomService.class, ChatRoomMapperImpl.class})
+class ChatRoomListQueryCountTest {
+
+    // 방 id 조회 1 + 방/멤버 fetch join 1 + 알림 설정 1
+    private static final long LIST_STATEMENTS = 3L;
+
+    private static final Long VIEWER_ID = 1L;
+    private static final Long OTHER_ID = 2L;
+
+    @Container
+    private static final MariaDBContainer<?> MARIADB = new MariaDBContainer<>("mariadb:11.4");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MARIADB::getJdbcUrl);
+        registry.add("spring.datasource.username", MARIADB::getUsername);
+        registry.add("spring.datasource.password", MARIADB::getPassword);
+    }
+
+    @Autowired
+    private ChatRoomService chatRoomService;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private ChatUnreadCounterService chatUnreadCounterService;
+    @MockitoBean
+    private BlockGraph blockGraph;
+    @MockitoBean
+    private UserService userService;
+    @MockitoBean
+    private S3Service s3Service;
+    @MockitoBean
+    private StringRedisTemplate redisTemplate;
+    @MockitoBean
+    private ObjectMapper objectMapper;
+    @MockitoBean
+    private RecentMessageCache recentMessageCache;
+    @MockitoBean
+    private ChatMembershipCache chatMembershipCache;
+    @MockitoBean
+    private ChatEventStream chatEventStream;
+    @MockitoBean
+    private KinoSummaryService kinoSummaryService;
+
+    private User viewer;
+    private User other;
+    private Family family;
+
+    @BeforeEach
+    void setUp() {
+        viewer = entityManager.persist(user(VIEWER_ID, "나"));
+        other = entityManager.persist(user(OTHER_ID, "엄마"));
+        family = new Family();
+        family.setName("우리집");
+        family = entityManager.persist(family);
+    }
+
+    @Test
+    void chatRoomListUsesFixedStatementCountForOneRoom() {
+        assertStatementCountIsFixed(1);
+    }
+
+    @Test
+    void chatRoomListUsesFixedStatementCountForManyRooms() {
+        assertStatementCountIsFixed(25);
+    }
+
+    private void assertStatementCountIsFixed(int roomCount) {
+        UUID firstRoomId = null;
+        for (int i = 0; i < roomCount; i++) {
+            ChatRoom room = new ChatRoom();
+            room.setFamily(family);
+            room.setFamilyType("personal");
+            entityManager.persist(room);
+            entityManager.persist(link(viewer, room));
+            entityManager.persist(link(other, room));
+            if (firstRoomId == null) {
+                firstRoomId = room.getChatRoomId();
+                ChatRoomNotificationSetting setting = new ChatRoomNotificationSetting();
+                setting.setUser(viewer);
+                setting.setChatRoom(room);
+                setting.setNotificationOn(false);
+                entityManager.persist(setting);
+            }
+        }
+        entityManager.flush();
+        // 스냅샷 컬럼은 insertable=false 라 직접 채움
+        entityManager.getEntityManager().createNativeQuery("""
+                update chat_room
+                   set last_message_preview = 'hello', last_message_type = 'text',
+                       last_message_at = now(6), last_message_sender_id = :senderId
+                """).setParameter("senderId", OTHER_ID).executeUpdate();
+        entityManager.clear();
+
+        when(chatUnreadCounterService.getRoomCounts(VIEWER_ID)).thenReturn(Map.of(firstRoomId, 3L));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ChatRoomDTO> result = chatRoomService.getAllChatRooms(VIEWER_ID, family.getFamilyId());
+
+        assertEquals(LIST_STATEMENTS, statistics.getPrepareStatementCount());
+        assertEquals(roomCount, result.size());
+
+        UUID expectedFirst = firstRoomId;
+        ChatRoomDTO first = result.stream()
+                .filter(dto -> expectedFirst.equals(dto.getChatRoomId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("엄마", first.getRoomName());
+        assertEquals("hello", first.getLatestMessageContent());
+        assertEquals(OTHER_ID, first.getLatestMessageSenderId());
+        assertEquals(3, first.getUnreadCount());
+        assertFalse(first.isNotificationOn());
+        assertEquals(List.of("https://cdn.test/other.png"), first.getMemberImages());
+    }
+
+    private static User user(Long userId, String name) {
+        User user = new User();
+        user.setUserId(userId);
+        user.setName(name);
+        user.setImage("https://cdn.test/" + (userId.equals(VIEWER_ID) ? "me" : "other") + ".png");
+        user.setCreatedAt(new Date());
+        user.setUpdatedAt(new Date());
+        return user;
+    }
+
+    private static UserChatRoom link(User user, ChatRoom room) {
+        UserChatRoom ucr = new UserChatRoom();
+        ucr.setUser(user);
+        ucr.setChatRoom(room);
+        return ucr;
+    }
+}
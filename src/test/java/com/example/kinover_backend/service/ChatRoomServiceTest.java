@@ -0,0 +1,86 @@
+package com.example.kinover_backend.service;
+
+import com.example.kinover_backend.dto.ChatRoomMapper;
+import com.example.kinover_backend.repository.ChatRoomNotificationRepository;
+import com.example.kinover_backend.repository.ChatRoomRepository;
+import com.example.kinover_backend.repository.MessageRepository;
+import com.example.kinover_backend.repository.UserChatRoomRepository;
+import com.example.kinover_backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChatRoomServiceTest {
+
+    private static final Long VIEWER_ID = 1L;
+
+    @Mock
+    private ChatRoomRepository chatRoomRepository;
+    @Mock
+    private UserChatRoomRepository userChatRoomRepository;
+    @Mock
+    private ChatRoomNotificationRepository chatRoomNotificationRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private MessageRepository messageRepository;
+    @Mock
+    private UserService userService;
+    @Mock
+    private ChatRoomMapper chatRoomMapper;
+    @Mock
+    private ChatUnreadCounterService chatUnreadCounterService;
+    @Mock
+    private ChatMembershipCache chatMembershipCache;
+
+    @InjectMocks
+    private ChatRoomService chatRoomService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(chatRoomService, "chatRoomMapper", chatRoomMapper);
+        ReflectionTestUtils.setField(chatRoomService, "cloudFrontDomain", "https://cdn.test/");
+    }
+
+    @Test
+    void markReadComputesUnreadFromSequenceWithoutScanningMessages() {
+        UUID chatRoomId = UUID.randomUUID();
+        when(chatMembershipCache.isMember(chatRoomId, VIEWER_ID)).thenReturn(true);
+        when(chatRoomRepository.findLastSeq(chatRoomId)).thenReturn(Optional.of(10L));
+        when(userChatRoomRepository.updateReadPointerIfLater(eq(chatRoomId), eq(VIEWER_ID), eq(7L), any()))
+                .thenReturn(1);
+
+        boolean advanced = chatRoomService.markRead(chatRoomId, VIEWER_ID, 7L, null);
+
+        assertTrue(advanced);
+        verify(chatUnreadCounterService).setRoomCount(VIEWER_ID, chatRoomId, 3L, 10L);
+        verifyNoInteractions(messageRepository);
+    }
+
+    @Test
+    void markReadClampsPointerToLastSequence() {
+        UUID chatRoomId = UUID.randomUUID();
+        when(chatMembershipCache.isMember(chatRoomId, VIEWER_ID)).thenReturn(true);
+        when(chatRoomRepository.findLastSeq(chatRoomId)).thenReturn(Optional.of(10L));
+        when(userChatRoomRepository.updateReadPointerIfLater(eq(chatRoomId), eq(VIEWER_ID), eq(10L), any()))
+                .thenReturn(1);
+
+        assertTrue(chatRoomService.markRead(chatRoomId, VIEWER_ID, 99L, null));
+        verify(chatUnreadCounterService).setRoomCount(VIEWER_ID, chatRoomId, 0L, 10L);
+    }
+}
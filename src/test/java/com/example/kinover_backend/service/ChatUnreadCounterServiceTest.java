@@ -0,0 +1,238 @@
+package com.example.kinover_backend.service;
+
+import com.example.kinover_backend.repository.UserChatRoomRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 실제 Redis 에서 unread 카운터 Lua 스크립트(증가 1회 / 방 값 설정 / 재구성 교체)를 확인한다.
+ * DB 쪽(findUnreadCountsByUserId)만 목으로 두고, 재구성 도중 들어온 증가가 덮이지 않는지도 본다.
+ * Docker가 없는 환경에서는 건너뛴다.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@ExtendWith(MockitoExtension.class)
+class ChatUnreadCounterServiceTest {
+
+    private static final Long SENDER_ID = 1L;
+    private static final Long USER_ID = 2L;
+    private static final Long OTHER_ID = 3L;
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    @Mock
+    private UserChatRoomRepository userChatRoomRepository;
+
+    private ChatUnreadCounterService service;
+    private final UUID roomId = UUID.randomUUID();
+    private final UUID otherRoomId = UUID.randomUUID();
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+        service = new ChatUnreadCounterService(redisTemplate, userChatRoomRepository);
+    }
+
+    // =========================
+    // INCREMENT_ONCE_SCRIPT
+    // =========================
+
+    @Test
+    void incrementAppliesOncePerEventAndSkipsSender() {
+        build(USER_ID);
+        build(OTHER_ID);
+
+        service.incrementOnce(roomId, SENDER_ID, List.of(SENDER_ID, USER_ID, OTHER_ID), 1L, "1-0");
+        service.incrementOnce(roomId, SENDER_ID, List.of(SENDER_ID, USER_ID, OTHER_ID), 1L, "1-0");
+
+        assertEquals(Map.of(roomId, 1L), service.getRoomCounts(USER_ID));
+        assertEquals(1L, service.getTotal(OTHER_ID));
+        assertFalse(Boolean.TRUE.equals(redisTemplate.hasKey(key(SENDER_ID))));
+    }
+
+    @Test
+    void incrementOnUnbuiltKeyOnlyBumpsGeneration() {
+        service.incrementOnce(roomId, SENDER_ID, List.of(USER_ID), 1L, "1-0");
+
+        assertEquals(Map.of("gen", "1"), redisTemplate.opsForHash().entries(key(USER_ID)));
+
+        // 카운트 없는 키는 재구성 대상
+        when(userChatRoomRepository.findUnreadCountsByUserId(USER_ID)).thenReturn(List.of(row(roomId, 1L, 1L)));
+        assertEquals(Map.of(roomId, 1L), service.getRoomCounts(USER_ID));
+    }
+
+    @Test
+    void incrementAtOrBelowCountedSeqIsSkipped() {
+        build(USER_ID, row(roomId, 3L, 10L));
+
+        // 재구성이 이미 센 메시지 (늦게 도착한 이벤트)
+        service.incrementOnce(roomId, SENDER_ID, List.of(USER_ID), 10L, "10-0");
+        assertEquals(3L, service.getRoomCount(USER_ID, roomId));
+
+        service.incrementOnce(roomId, SENDER_ID, List.of(USER_ID), 11L, "11-0");
+        assertEquals(4L, service.getRoomCount(USER_ID, roomId));
+
+        // 12번까지 읽음 → 12번 증가가 뒤늦게 와도 다시 세지 않음
+        service.setRoomCount(USER_ID, roomId, 0L, 12L);
+        service.incrementOnce(roomId, SENDER_ID, List.of(USER_ID), 12L, "12-0");
+        assertEquals(0L, service.getTotal(USER_ID));
+
+        service.incrementOnce(roomId, SENDER_ID, List.of(USER_ID), 13L, "13-0");
+        assertEquals(1L, service.getRoomCount(USER_ID, roomId));
+        assertEquals(1L, service.getTotal(USER_ID));
+    }
+
+    // =========================
+    // SET_ROOM_SCRIPT
+    // =========================
+
+    @Test
+    void setRoomCountAdjustsTotalAndNeverMovesCountedSeqBackwards() {
+        build(USER_ID, row(roomId, 2L, 10L), row(otherRoomId, 5L, 20L));
+        assertEquals(7L, service.getTotal(USER_ID));
+
+        service.setRoomCount(USER_ID, roomId, 0L, 10L);
+        assertEquals(Map.of(otherRoomId, 5L), service.getRoomCounts(USER_ID));
+        assertEquals(5L, service.getTotal(USER_ID));
+
+        // 더 오래된 기준(15)으로 계산된 값이 늦게 와도 seq 는 20 유지
+        service.setRoomCount(USER_ID, otherRoomId, 1L, 15L);
+        assertEquals(1L, service.getTotal(USER_ID));
+        assertEquals("20", redisTemplate.opsForHash().get(key(USER_ID), "seq:" + otherRoomId));
+    }
+
+    @Test
+    void setRoomCountOnUnbuiltKeyDoesNotCreateCounts() {
+        service.setRoomCount(USER_ID, roomId, 4L, 10L);
+
+        assertNull(redisTemplate.opsForHash().get(key(USER_ID), "total"));
+        assertNull(redisTemplate.opsForHash().get(key(USER_ID), roomId.toString()));
+    }
+
+    // =========================
+    // REPLACE_SCRIPT (재구성)
+    // =========================
+
+    @Test
+    void rebuildReplacesStaleFieldsAndRecordsCountedSeq() {
+        redisTemplate.opsForHash().putAll(key(USER_ID), Map.of(otherRoomId.toString(), "9", "total", "9"));
+
+        when(userChatRoomRepository.findUnreadCountsByUserId(USER_ID))
+                .thenReturn(List.of(row(roomId, 2L, 7L), row(otherRoomId, 0L, 4L)));
+        assertEquals(Map.of(roomId, 2L), service.rebuild(USER_ID));
+
+        Map<Object, Object> raw = redisTemplate.opsForHash().entries(key(USER_ID));
+        assertEquals("2", raw.get(roomId.toString()));
+        assertFalse(raw.containsKey(otherRoomId.toString()));
+        assertEquals("2", raw.get("total"));
+        assertEquals("7", raw.get("seq:" + roomId));
+        assertEquals("4", raw.get("seq:" + otherRoomId));
+    }
+
+    @Test
+    void incrementDuringRebuildIsNotOverwritten() {
+        build(USER_ID, row(roomId, 1L, 5L));
+
+        // DB 를 읽은 직후 6번 메시지 증가가 먼저 반영됨 → 첫 교체는 gen 이 달라 버려지고 다시 읽음
+        when(userChatRoomRepository.findUnreadCountsByUserId(USER_ID))
+                .thenAnswer(inv -> {
+                    service.incrementOnce(roomId, SENDER_ID, List.of(USER_ID), 6L, "6-0");
+                    return List.of(row(roomId, 1L, 5L));
+                })
+                .thenReturn(List.of(row(roomId, 2L, 6L)));
+
+        assertEquals(Map.of(roomId, 2L), service.rebuild(USER_ID));
+
+        assertEquals(2L, service.getRoomCount(USER_ID, roomId));
+        assertEquals(2L, service.getTotal(USER_ID));
+        verify(userChatRoomRepository, times(3)).findUnreadCountsByUserId(USER_ID);
+    }
+
+    @Test
+    void readDuringFirstRebuildIsNotOverwritten() {
+        // 키가 없는 상태에서 재구성 중 읽음 처리가 커밋됨 → 옛 값(3)으로 덮지 않고 다시 읽음
+        when(userChatRoomRepository.findUnreadCountsByUserId(USER_ID))
+                .thenAnswer(inv -> {
+                    service.setRoomCount(USER_ID, roomId, 0L, 3L);
+                    return List.of(row(roomId, 3L, 3L));
+                })
+                .thenReturn(List.of(row(roomId, 0L, 3L)));
+
+        assertEquals(Map.of(), service.rebuild(USER_ID));
+
+        assertEquals(0L, service.getTotal(USER_ID));
+        assertTrue(service.getRoomCounts(USER_ID).isEmpty());
+    }
+
+    private void build(Long userId, UserChatRoomRepository.UnreadCountView... rows) {
+        when(userChatRoomRepository.findUnreadCountsByUserId(userId)).thenReturn(List.of(rows));
+        service.rebuild(userId);
+    }
+
+    private static String key(Long userId) {
+        return "chat:unread:" + userId;
+    }
+
+    private static UserChatRoomRepository.UnreadCountView row(UUID chatRoomId, long unreadCount, long lastSeq) {
+        return new UserChatRoomRepository.UnreadCountView() {
+            @Override
+            public UUID getChatRoomId() {
+                return chatRoomId;
+            }
+
+            @Override
+            public long getUnreadCount() {
+                return unreadCount;
+            }
+
+            @Override
+            public long getLastSeq() {
+                return lastSeq;
+            }
+        };
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.kinover_backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterInvalidatedCacheTest {
+
+    private static final String CHANNEL = "test:invalidate";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private final AtomicLong clock = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private ClusterInvalidatedCache<Long, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ClusterInvalidatedCache<>("test.cache", CHANNEL, redisTemplate, meterRegistry, 2,
+                Duration.ofSeconds(60), Long::valueOf, clock::get);
+    }
+
+    @Test
+    void loadThatOverlapsInvalidationIsDropped() {
+        long gen = cache.generation();
+        // 로딩 도중 다른 스레드가 무효화
+        cache.evictLocal(1L);
+        cache.putIfCurrent(1L, "stale", gen);
+        assertNull(cache.get(1L));
+
+        cache.putAllIfCurrent(Map.of(1L, "fresh"), cache.generation());
+        assertEquals("fresh", cache.get(1L));
+        assertEquals(1.0, meterRegistry.counter("test.cache", "result", "hit").count());
+        assertEquals(1.0, meterRegistry.counter("test.cache", "result", "miss").count());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedOverMaxSize() {
+        cache.putIfCurrent(1L, "a", cache.generation());
+        cache.putIfCurrent(2L, "b", cache.generation());
+        cache.get(1L);
+        cache.putIfCurrent(3L, "c", cache.generation());
+
+        assertEquals(List.of(2L), cache.missing(List.of(1L, 2L, 3L)));
+        assertEquals(2.0, meterRegistry.get("test.cache.size").gauge().value());
+    }
+
+    @Test
+    void entryExpiresAfterTtlEvenWithoutInvalidation() {
+        cache.putIfCurrent(1L, "a", cache.generation());
+
+        clock.addAndGet(Duration.ofSeconds(59).toNanos());
+        assertEquals("a", cache.get(1L));
+        assertEquals(List.of(), cache.missing(List.of(1L)));
+
+        // 무효화 메시지를 놓쳐도 ttl 이 지나면 다시 적재 대상
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertEquals(List.of(1L), cache.missing(List.of(1L)));
+        assertNull(cache.get(1L));
+        assertEquals(0.0, meterRegistry.get("test.cache.size").gauge().value());
+    }
+
+    @Test
+    void invalidateInsideTransactionPublishesOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.putIfCurrent(1L, "a", cache.generation());
+            cache.invalidate(List.of(1L));
+            assertNull(cache.get(1L));
+
+            // 커밋 전에 트랜잭션 안에서 다시 읽힌 값도 종료 시 버림
+            cache.putIfCurrent(1L, "uncommitted", cache.generation());
+            verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+
+            for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+                sync.afterCommit();
+            }
+            // 같은 트랜잭션의 afterCommit 메시지 발행보다 먼저 나가야 하므로 afterCompletion 전에 전파
+            verify(redisTemplate).convertAndSend(CHANNEL, "1");
+            for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+                sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNull(cache.get(1L));
+        verify(redisTemplate).convertAndSend(CHANNEL, "1");
+    }
+
+    @Test
+    void invalidationMessageEvictsParsedKey() {
+        cache.putIfCurrent(7L, "a", cache.generation());
+
+        assertEquals(7L, cache.evictFromMessage(" 7 ".getBytes(StandardCharsets.UTF_8)));
+        assertNull(cache.get(7L));
+        assertThrows(NumberFormatException.class,
+                () -> cache.evictFromMessage("not-a-key".getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.kinover_backend.service;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KinoBulkheadTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private HttpServer slowUpstream;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+        if (slowUpstream != null) slowUpstream.stop(0);
+    }
+
+    @Test
+    void capsConcurrentCallsToSlowUpstream() throws Exception {
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        slowUpstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        slowUpstream.setExecutor(Executors.newCachedThreadPool());
+        slowUpstream.createContext("/v1/responses", exchange -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(200); // 느린 업스트림
+            } catch (InterruptedException ignored) {
+            }
+            concurrent.decrementAndGet();
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        slowUpstream.start();
+        URI uri = URI.create("http://127.0.0.1:" + slowUpstream.getAddress().getPort() + "/v1/responses");
+        HttpClient client = HttpClient.newHttpClient();
+
+        KinoBulkhead bulkhead = new KinoBulkhead(executor, meterRegistry, 2, 10, 5, 10_000L);
+        CountDownLatch done = new CountDownLatch(6);
+        for (long userId = 1; userId <= 6; userId++) {
+            bulkhead.submit(UUID.randomUUID(), userId, () -> {
+                try {
+                    client.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.discarding());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    done.countDown();
+                }
+            }, () -> {
+            });
+        }
+
+        assertEquals(2.0, meterRegistry.get("kino.bulkhead.in_flight").gauge().value());
+        assertEquals(4.0, meterRegistry.get("kino.bulkhead.queued").gauge().value());
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(2, maxConcurrent.get());
+        waitUntilIdle();
+    }
+
+    @Test
+    void perUserLimitShedsImmediately() {
+        KinoBulkhead bulkhead = new KinoBulkhead(executor, meterRegistry, 1, 10, 2, 10_000L);
+        AtomicInteger shed = new AtomicInteger();
+
+        assertTrue(bulkhead.submit(UUID.randomUUID(), 1L, this::block, shed::incrementAndGet));
+        assertTrue(bulkhead.submit(UUID.randomUUID(), 1L, this::block, shed::incrementAndGet));
+        assertFalse(bulkhead.submit(UUID.randomUUID(), 1L, this::block, shed::incrementAndGet));
+
+        assertEquals(1, shed.get());
+        assertEquals(1.0, meterRegistry.counter("kino.bulkhead.shed", "reason", "user_limit").count());
+        // 다른 유저는 영향 없음
+        assertTrue(bulkhead.submit(UUID.randomUUID(), 2L, this::block, shed::incrementAndGet));
+    }
+
+    @Test
+    void cancelQueuedDropsRoomWaitersAndFreesUserLimit() {
+        KinoBulkhead bulkhead = new KinoBulkhead(executor, meterRegistry, 1, 10, 2, 10_000L);
+        AtomicInteger ran = new AtomicInteger();
+        AtomicInteger shed = new AtomicInteger();
+        UUID room = UUID.randomUUID();
+
+        bulkhead.submit(UUID.randomUUID(), 9L, this::block, shed::incrementAndGet); // 슬롯 점유
+        bulkhead.submit(room, 1L, ran::incrementAndGet, shed::incrementAndGet);
+        bulkhead.submit(room, 1L, ran::incrementAndGet, shed::incrementAndGet);
+
+        assertEquals(2, bulkhead.cancelQueued(room));
+        assertEquals(0.0, meterRegistry.get("kino.bulkhead.queued").gauge().value());
+        // 뺀 요청은 shed 안내도 없고, 유저 한도도 돌려받음
+        assertEquals(0, shed.get());
+        assertTrue(bulkhead.submit(room, 1L, ran::incrementAndGet, shed::incrementAndGet));
+        assertTrue(bulkhead.submit(room, 1L, ran::incrementAndGet, shed::incrementAndGet));
+        assertEquals(0, ran.get());
+    }
+
+    @Test
+    void queuedUsersAreServedRoundRobinAndRoomsOneAtATime() throws Exception {
+        KinoBulkhead bulkhead = new KinoBulkhead(executor, meterRegistry, 1, 10, 5, 10_000L);
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        UUID roomA = UUID.randomUUID();
+        UUID roomB = UUID.randomUUID();
+
+        bulkhead.submit(UUID.randomUUID(), 9L, this::block, () -> {
+        }); // 슬롯 점유
+        bulkhead.submit(roomA, 1L, record(order, "a1", done), () -> {
+        });
+        bulkhead.submit(roomA, 1L, record(order, "a2", done), () -> {
+        });
+        bulkhead.submit(roomB, 2L, record(order, "b1", done), () -> {
+        });
+        release.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("a1", "b1", "a2"), order);
+    }
+
+    @Test
+    void waitersPastDeadlineAreShedWithoutRunning() throws Exception {
+        KinoBulkhead bulkhead = new KinoBulkhead(executor, meterRegistry, 1, 10, 5, 100L);
+        AtomicInteger ran = new AtomicInteger();
+        AtomicInteger shed = new AtomicInteger();
+
+        bulkhead.submit(UUID.randomUUID(), 9L, this::block, () -> {
+        });
+        bulkhead.submit(UUID.randomUUID(), 1L, ran::incrementAndGet, shed::incrementAndGet);
+        Thread.sleep(250);
+        bulkhead.shedExpired();
+
+        assertEquals(1, shed.get());
+        assertEquals(0.0, meterRegistry.get("kino.bulkhead.queued").gauge().value());
+        release.countDown();
+        waitUntilIdle();
+        assertEquals(0, ran.get());
+        assertEquals(1.0, meterRegistry.counter("kino.bulkhead.shed", "reason", "deadline").count());
+    }
+
+    private Runnable record(List<String> order, String name, CountDownLatch done) {
+        return () -> {
+            order.add(name);
+            done.countDown();
+        };
+    }
+
+    private void block() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void waitUntilIdle() throws InterruptedException {
+        for (int i = 0; i < 100 && meterRegistry.get("kino.bulkhead.in_flight").gauge().value() > 0; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(0.0, meterRegistry.get("kino.bulkhead.in_flight").gauge().value());
+    }
+}
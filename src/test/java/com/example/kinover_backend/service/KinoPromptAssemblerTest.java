@@ -0,0 +1,184 @@
+package com.example.kinover_backend.service;
+
+import com.example.kinover_backend.dto.MessageDTO;
+import com.example.kinover_backend.entity.ChatRoom;
+import com.example.kinover_backend.entity.KinoRoomSummary;
+import com.example.kinover_backend.entity.User;
+import com.example.kinover_backend.enums.ChatBotPersonality;
+import com.example.kinover_backend.repository.ChatRoomRepository;
+import com.example.kinover_backend.repository.KinoRoomSummaryRepository;
+import com.example.kinover_backend.repository.MessageRepository;
+import com.example.kinover_backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class KinoPromptAssemblerTest {
+
+    private static final UUID ROOM_ID = UUID.randomUUID();
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private ChatRoomRepository chatRoomRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private MessageRepository messageRepository;
+    @Mock
+    private KinoRoomSummaryRepository kinoRoomSummaryRepository;
+
+    private final KinoHistoryWindow window = new KinoHistoryWindow(60, 100);
+    private KinoPromptAssembler assembler;
+
+    @BeforeEach
+    void setUp() {
+        assembler = new KinoPromptAssembler(new KinoPromptTemplates(), window,
+                chatRoomRepository, userRepository, messageRepository, kinoRoomSummaryRepository, "test-model", 2000);
+    }
+
+    private void stubFirstLoad() {
+        ChatRoom room = new ChatRoom();
+        room.setChatRoomId(ROOM_ID);
+        room.setPersonality(ChatBotPersonality.SERENE);
+        User user = new User();
+        user.setUserId(USER_ID);
+        user.setName("민지");
+        when(chatRoomRepository.findById(ROOM_ID)).thenReturn(Optional.of(room));
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+        // 최신 → 과거 순
+        when(messageRepository.findRecentTurns(eq(ROOM_ID), any())).thenReturn(List.of(
+                turn(USER_ID, "오늘 좀 힘들었어", 2L),
+                turn(KinoBotProfile.KINO_USER_ID, "안녕하세요. 저는 키노예요.", 1L)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void steadyStateBuildsBodyWithoutDatabaseReads() {
+        stubFirstLoad();
+        assembler.buildRequestBody(ROOM_ID, USER_ID);
+        window.append(message(USER_ID, "말해줘서 고마워", 3L));
+
+        Map<String, Object> body = assembler.buildRequestBody(ROOM_ID, USER_ID);
+
+        List<Map<String, String>> input = (List<Map<String, String>>) body.get("input");
+        assertEquals("test-model", body.get("model"));
+        assertEquals("system", input.get(0).get("role"));
+        assertTrue(input.get(0).get("content").contains("\"민지\"라는 이름의 사용자"));
+        assertTrue(input.get(0).get("content").contains("내향적이고 차분하며"));
+        assertEquals(List.of("assistant", "user", "user"),
+                input.subList(1, input.size()).stream().map(m -> m.get("role")).toList());
+        assertEquals("말해줘서 고마워", input.get(3).get("content"));
+
+        // 적재 1회 이후로는 DB 를 읽지 않음
+        verify(chatRoomRepository, times(1)).findById(ROOM_ID);
+        verify(userRepository, times(1)).findById(USER_ID);
+        verify(messageRepository, times(1)).findRecentTurns(eq(ROOM_ID), any());
+        verify(kinoRoomSummaryRepository, times(1)).findById(ROOM_ID);
+        verifyNoMoreInteractions(chatRoomRepository, userRepository, messageRepository, kinoRoomSummaryRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void summarySendsOnlyTurnsAfterItsWatermark() {
+        stubFirstLoad();
+        KinoRoomSummary summary = new KinoRoomSummary();
+        summary.setChatRoomId(ROOM_ID);
+        summary.setSummary("민지는 요즘 회사 일로 지쳐 있다.");
+        summary.setWatermarkSeq(1L);
+        summary.setVersion(1L);
+        when(kinoRoomSummaryRepository.findById(ROOM_ID)).thenReturn(Optional.of(summary));
+
+        List<Map<String, String>> input =
+                (List<Map<String, String>>) assembler.buildRequestBody(ROOM_ID, USER_ID).get("input");
+
+        assertEquals(3, input.size());
+        assertEquals("system", input.get(1).get("role"));
+        assertTrue(input.get(1).get("content").endsWith("민지는 요즘 회사 일로 지쳐 있다."));
+        assertEquals("오늘 좀 힘들었어", input.get(2).get("content"));
+
+        // 이 노드에서 압축이 끝나면 다음 요청부터 새 요약 + 그 뒤 턴만
+        window.append(message(USER_ID, "말해줘서 고마워", 3L));
+        window.updateSummary(ROOM_ID, "요약 v2", 2L);
+        input = (List<Map<String, String>>) assembler.buildRequestBody(ROOM_ID, USER_ID).get("input");
+
+        assertTrue(input.get(1).get("content").endsWith("요약 v2"));
+        assertEquals(List.of("말해줘서 고마워"), input.subList(2, input.size()).stream().map(m -> m.get("content")).toList());
+    }
+
+    @Test
+    void sequenceGapDropsWindowAndReloads() {
+        stubFirstLoad();
+        assembler.buildRequestBody(ROOM_ID, USER_ID);
+        window.append(message(USER_ID, "중간이 빠진 메시지", 5L));
+
+        assembler.buildRequestBody(ROOM_ID, USER_ID);
+
+        verify(messageRepository, times(2)).findRecentTurns(eq(ROOM_ID), any());
+    }
+
+    @Test
+    void tokenBudgetKeepsNewestTurnsOnly() {
+        List<KinoHistoryWindow.Turn> turns = List.of(
+                KinoHistoryWindow.Turn.of(1L, USER_ID, "가".repeat(100)),
+                KinoHistoryWindow.Turn.of(2L, USER_ID, "나".repeat(10)),
+                KinoHistoryWindow.Turn.of(3L, USER_ID, "hello there"));
+
+        // 최신부터 7 + 14 = 21, 가장 오래된 턴(104)은 예산 초과로 제외
+        List<KinoHistoryWindow.Turn> kept = KinoPromptAssembler.withinBudget(turns, 30);
+
+        assertEquals(2, kept.size());
+        assertEquals("나".repeat(10), kept.get(0).getContent());
+        // 최신 1턴은 예산을 넘어도 보냄
+        assertEquals(1, KinoPromptAssembler.withinBudget(turns.subList(0, 1), 10).size());
+    }
+
+    private static MessageRepository.TurnView turn(Long senderId, String content, Long seq) {
+        return new MessageRepository.TurnView() {
+            @Override
+            public UUID getMessageId() {
+                return UUID.randomUUID();
+            }
+
+            @Override
+            public Long getSenderId() {
+                return senderId;
+            }
+
+            @Override
+            public String getContent() {
+                return content;
+            }
+
+            @Override
+            public Long getSeq() {
+                return seq;
+            }
+        };
+    }
+
+    private static MessageDTO message(Long senderId, String content, Long seq) {
+        MessageDTO dto = new MessageDTO();
+        dto.setChatRoomId(ROOM_ID);
+        dto.setSenderId(senderId);
+        dto.setContent(content);
+        dto.setSeq(seq);
+        return dto;
+    }
+}
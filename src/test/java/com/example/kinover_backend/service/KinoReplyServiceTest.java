@@ -0,0 +1,248 @@
+package com.example.kinover_backend.service;
+
+import com.example.kinover_backend.dto.MessageDTO;
+import com.example.kinover_backend.redis.ChatRoomSubscriptionRegistry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class KinoReplyServiceTest {
+
+    private static final UUID ROOM_ID = UUID.randomUUID();
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private OpenAiService openAiService;
+    @Mock
+    private MessageService messageService;
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private KinoSummaryService kinoSummaryService;
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Runnable> timers = new ArrayList<>();
+    private final List<ScheduledFuture<?>> timerFutures = new ArrayList<>();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamsTypingAndDeltasThenPersistsOnce() throws Exception {
+        KinoReplyService service = service(1);
+        when(openAiService.streamKinoResponse(eq(ROOM_ID), eq(USER_ID), any())).thenAnswer(inv -> {
+            Consumer<String> onDelta = inv.getArgument(2);
+            onDelta.accept("안녕");
+            onDelta.accept("하삼!");
+            return "안녕하삼!";
+        });
+
+        service.replyAsync(ROOM_ID, USER_ID);
+
+        List<JsonNode> events = publishedEvents();
+        assertEquals(List.of("kino:typing", "kino:delta", "kino:delta", "kino:typing"),
+                events.stream().map(e -> e.path("type").asText()).toList());
+        assertTrue(events.get(0).path("typing").asBoolean());
+        assertEquals("안녕", events.get(1).path("delta").asText());
+        assertEquals(1, events.get(2).path("index").asInt());
+        assertFalse(events.get(3).path("typing").asBoolean());
+        // 같은 답장의 이벤트는 같은 replyId
+        assertEquals(1, events.stream().map(e -> e.path("replyId").asText()).distinct().count());
+
+        ArgumentCaptor<MessageDTO> saved = ArgumentCaptor.forClass(MessageDTO.class);
+        verify(messageService).addMessage(saved.capture());
+        assertEquals("안녕하삼!", saved.getValue().getContent());
+        assertEquals(KinoBotProfile.KINO_USER_ID, saved.getValue().getSenderId());
+        verify(kinoSummaryService).requestCompaction(ROOM_ID);
+    }
+
+    @Test
+    void deltasAreCoalescedByFlushSize() throws Exception {
+        KinoReplyService service = service(4);
+        when(openAiService.streamKinoResponse(eq(ROOM_ID), eq(USER_ID), any())).thenAnswer(inv -> {
+            Consumer<String> onDelta = inv.getArgument(2);
+            for (String token : List.of("a", "b", "c", "d", "e")) onDelta.accept(token);
+            return "abcde";
+        });
+
+        service.replyAsync(ROOM_ID, USER_ID);
+
+        List<String> deltas = publishedEvents().stream()
+                .filter(e -> "kino:delta".equals(e.path("type").asText()))
+                .map(e -> e.path("delta").asText())
+                .toList();
+        assertEquals(List.of("abcd", "e"), deltas);
+    }
+
+    @Test
+    void failedCompletionStopsTypingWithoutSaving() throws Exception {
+        KinoReplyService service = service(1);
+        when(openAiService.streamKinoResponse(eq(ROOM_ID), eq(USER_ID), any()))
+                .thenThrow(new RuntimeException("키노 응답 실패"));
+
+        service.replyAsync(ROOM_ID, USER_ID);
+
+        List<JsonNode> events = publishedEvents();
+        assertFalse(events.get(events.size() - 1).path("typing").asBoolean());
+        verify(messageService, never()).addMessage(any());
+        verify(kinoSummaryService, never()).requestCompaction(any());
+    }
+
+    @Test
+    void shedRequestGetsBusyEventWithoutCompletion() throws Exception {
+        KinoBulkhead full = new KinoBulkhead(Runnable::run, new SimpleMeterRegistry(), 1, 1, 0, 5_000L);
+        KinoReplyService service = new KinoReplyService(openAiService, messageService, redisTemplate, objectMapper,
+                full, kinoSummaryService, taskScheduler, 60_000L, 1, 0L);
+
+        service.replyAsync(ROOM_ID, USER_ID);
+
+        List<JsonNode> events = publishedEvents();
+        assertEquals(1, events.size());
+        assertEquals("kino:busy", events.get(0).path("type").asText());
+        assertEquals(KinoReplyService.BUSY_CONTENT, events.get(0).path("content").asText());
+        verify(openAiService, never()).streamKinoResponse(any(), any(), any());
+        verify(messageService, never()).addMessage(any());
+    }
+
+    @Test
+    void supersededQueuedRequestsDoNotCountAgainstUserLimit() throws Exception {
+        // 실행기는 작업을 잡아두기만 함 → 슬롯 1개를 다른 방이 점유한 동안 이 방 요청은 대기
+        List<Runnable> tasks = new ArrayList<>();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        KinoBulkhead bulkhead = new KinoBulkhead(tasks::add, meterRegistry, 1, 16, 2, 5_000L);
+        KinoReplyService service = new KinoReplyService(openAiService, messageService, redisTemplate, objectMapper,
+                bulkhead, kinoSummaryService, taskScheduler, 60_000L, 1, 0L);
+        when(openAiService.streamKinoResponse(eq(ROOM_ID), eq(USER_ID), any())).thenReturn("마지막 답장");
+        bulkhead.submit(UUID.randomUUID(), 9L, () -> {
+        }, () -> {
+        });
+
+        service.replyAsync(ROOM_ID, USER_ID);
+        service.replyAsync(ROOM_ID, USER_ID);
+        service.replyAsync(ROOM_ID, USER_ID);
+
+        // 밀려난 대기 요청이 한도(2)를 차지했다면 세 번째가 user_limit 으로 shed → kino:busy
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+        assertEquals(0.0, meterRegistry.counter("kino.bulkhead.shed", "reason", "user_limit").count());
+        assertEquals(1.0, meterRegistry.get("kino.bulkhead.queued").gauge().value());
+
+        tasks.get(0).run(); // 슬롯 반납 → 최신 요청 시작
+        tasks.get(1).run();
+
+        verify(openAiService, times(1)).streamKinoResponse(eq(ROOM_ID), eq(USER_ID), any());
+        verify(messageService, times(1)).addMessage(any());
+        assertEquals(0, service.pendingRooms());
+    }
+
+    @Test
+    void rapidMessagesWithinDebounceShareOneCompletion() throws Exception {
+        KinoReplyService service = debounced();
+        when(openAiService.streamKinoResponse(eq(ROOM_ID), eq(USER_ID), any())).thenReturn("한 번에 답할게요");
+
+        service.replyAsync(ROOM_ID, USER_ID);
+        service.replyAsync(ROOM_ID, USER_ID);
+        service.replyAsync(ROOM_ID, USER_ID);
+
+        // 앞의 두 타이머는 취소, 시간이 지나 늦게 돌더라도 최신 것만 답장
+        verify(timerFutures.get(0)).cancel(false);
+        verify(timerFutures.get(1)).cancel(false);
+        timers.forEach(Runnable::run);
+
+        verify(openAiService, times(1)).streamKinoResponse(eq(ROOM_ID), eq(USER_ID), any());
+        verify(messageService, times(1)).addMessage(any());
+        assertEquals(0, service.pendingRooms());
+    }
+
+    @Test
+    void newerMessageSupersedesInFlightReply() throws Exception {
+        KinoReplyService service = debounced();
+        AtomicInteger calls = new AtomicInteger();
+        when(openAiService.streamKinoResponse(eq(ROOM_ID), eq(USER_ID), any())).thenAnswer(inv -> {
+            Consumer<String> onDelta = inv.getArgument(2);
+            if (calls.incrementAndGet() == 1) {
+                onDelta.accept("첫 ");
+                // 스트리밍 도중 새 메시지
+                service.replyAsync(ROOM_ID, USER_ID);
+                onDelta.accept("답장");
+                return "첫 답장";
+            }
+            onDelta.accept("새 답장");
+            return "새 답장";
+        });
+
+        service.replyAsync(ROOM_ID, USER_ID);
+        timers.get(0).run();
+
+        List<JsonNode> events = publishedEvents();
+        assertEquals(KinoReplyService.SUPERSEDED_EVENT, events.get(events.size() - 2).path("type").asText());
+        assertFalse(events.get(events.size() - 1).path("typing").asBoolean());
+        verify(messageService, never()).addMessage(any());
+
+        timers.get(1).run();
+
+        ArgumentCaptor<MessageDTO> saved = ArgumentCaptor.forClass(MessageDTO.class);
+        verify(messageService, times(1)).addMessage(saved.capture());
+        assertEquals("새 답장", saved.getValue().getContent());
+        assertEquals(0, service.pendingRooms());
+    }
+
+    private KinoReplyService service(int flushChars) {
+        // 격벽은 호출 스레드에서 바로 실행, flush-ms 를 크게 잡아 글자 수 기준으로만 묶이게, debounce 없음
+        KinoBulkhead bulkhead = new KinoBulkhead(Runnable::run, new SimpleMeterRegistry(), 4, 16, 2, 5_000L);
+        return new KinoReplyService(openAiService, messageService, redisTemplate, objectMapper,
+                bulkhead, kinoSummaryService, taskScheduler, 60_000L, flushChars, 0L);
+    }
+
+    // debounce 타이머는 잡아뒀다가 테스트에서 직접 실행
+    private KinoReplyService debounced() {
+        when(taskScheduler.schedule(any(Runnable.class), any(Instant.class))).thenAnswer(inv -> {
+            ScheduledFuture<?> future = mock(ScheduledFuture.class);
+            timers.add(inv.getArgument(0));
+            timerFutures.add(future);
+            return future;
+        });
+        KinoBulkhead bulkhead = new KinoBulkhead(Runnable::run, new SimpleMeterRegistry(), 4, 16, 2, 5_000L);
+        return new KinoReplyService(openAiService, messageService, redisTemplate, objectMapper,
+                bulkhead, kinoSummaryService, taskScheduler, 60_000L, 1, 1_000L);
+    }
+
+    private List<JsonNode> publishedEvents() throws Exception {
+        ArgumentCaptor<String> payloads = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate, atLeastOnce())
+                .convertAndSend(eq(ChatRoomSubscriptionRegistry.topicFor(ROOM_ID)), payloads.capture());
+        List<JsonNode> events = new ArrayList<>();
+        for (String payload : payloads.getAllValues()) {
+            events.add(objectMapper.readTree(payload));
+        }
+        return events;
+    }
+}
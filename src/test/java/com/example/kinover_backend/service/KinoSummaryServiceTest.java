@@ -0,0 +1,335 @@
+package com.example.kinover_backend.service;
+
+import com.example.kinover_backend.entity.KinoRoomSummary;
+import com.example.kinover_backend.repository.ChatRoomRepository;
+import com.example.kinover_backend.repository.KinoRoomSummaryRepository;
+import com.example.kinover_backend.repository.MessageRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 로컬 가짜 Responses API 로 요약 압축 확인 (요약 저장소는 version 조건까지 흉내 낸 메모리 구현).
+ */
+@ExtendWith(MockitoExtension.class)
+class KinoSummaryServiceTest {
+
+    private static final UUID ROOM_ID = UUID.randomUUID();
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private KinoRoomSummaryRepository kinoRoomSummaryRepository;
+    @Mock
+    private MessageRepository messageRepository;
+    @Mock
+    private ChatRoomRepository chatRoomRepository;
+    @Mock
+    private KinoPromptAssembler kinoPromptAssembler;
+    @Mock
+    private KinoHistoryWindow historyWindow;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<JsonNode> requests = new CopyOnWriteArrayList<>();
+    private final List<MessageRepository.TurnView> messages = new ArrayList<>();
+    private final AtomicReference<KinoRoomSummary> stored = new AtomicReference<>();
+    private final AtomicReference<Runnable> onCompletion = new AtomicReference<>(() -> {
+    });
+
+    private HttpServer server;
+    private final List<Runnable> queued = new ArrayList<>();
+    private KinoSummaryService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/responses", exchange -> {
+            requests.add(objectMapper.readTree(exchange.getRequestBody()));
+            onCompletion.get().run();
+            String data = objectMapper.writeValueAsString(
+                    Map.of("type", "response.output_text.delta", "delta", "요약 " + requests.size()));
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(("data: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+                out.write("data: {\"type\":\"response.completed\"}\n\n".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        server.start();
+
+        OpenAiService openAiService = new OpenAiService(kinoPromptAssembler, new OpenAiCompletionClient(objectMapper,
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/v1", "test-key", 2_000L));
+
+        // tail 4, min-batch 8, max-batch 50
+        service = new KinoSummaryService(kinoRoomSummaryRepository, messageRepository, chatRoomRepository,
+                openAiService, new KinoPromptTemplates(), historyWindow, queued::add,
+                "test-model", 4, 8, 50, 200);
+
+        stubStores();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void fewUnsummarizedMessagesSkipCompletion() {
+        addMessages(10);
+
+        assertFalse(service.compact(ROOM_ID));
+
+        assertTrue(requests.isEmpty());
+        assertNull(stored.get());
+    }
+
+    @Test
+    void compactionBumpsVersionAndRecompactionIsIdempotent() {
+        addMessages(20);
+
+        assertTrue(service.compact(ROOM_ID));
+
+        // 최근 4개(17~20)는 원문으로 남김
+        assertEquals(1L, stored.get().getVersion());
+        assertEquals(16L, stored.get().getWatermarkSeq());
+        assertEquals(messages.get(15).getMessageId(), stored.get().getWatermarkMessageId());
+        assertEquals("요약 1", stored.get().getSummary());
+        verify(historyWindow).updateSummary(ROOM_ID, "요약 1", 16L);
+
+        // 새 메시지 없이 다시: 요청도 저장도 없음
+        assertFalse(service.compact(ROOM_ID));
+        assertEquals(1, requests.size());
+        assertEquals(1L, stored.get().getVersion());
+
+        addMessages(10);
+        assertTrue(service.compact(ROOM_ID));
+
+        assertEquals(2L, stored.get().getVersion());
+        assertEquals(26L, stored.get().getWatermarkSeq());
+        String input = requests.get(1).path("input").get(1).path("content").asText();
+        assertTrue(input.startsWith("[이전 요약]\n요약 1"));
+        assertTrue(input.contains("msg-17;"));
+        assertFalse(input.contains("msg-16;"));
+        assertFalse(input.contains("msg-27;"));
+    }
+
+    @Test
+    void firstSummaryOfLongRoomStartsRightBeforeTheWindow() {
+        addMessages(120);
+
+        assertTrue(service.compact(ROOM_ID));
+
+        // 처음(1~)이 아니라 창(117~120) 바로 앞 50개(67~116)를 한 번에
+        assertEquals(116L, stored.get().getWatermarkSeq());
+        String input = requests.get(0).path("input").get(1).path("content").asText();
+        assertTrue(input.contains("msg-67;"));
+        assertFalse(input.contains("msg-66;"));
+        assertFalse(service.compact(ROOM_ID));
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void concurrentCompactionKeepsTheSummaryThatWonTheVersion() {
+        addMessages(20);
+        stored.set(summary("기존 요약", 4L, 1L));
+        // 압축 요청이 도는 사이 다른 노드가 먼저 저장
+        onCompletion.set(() -> stored.set(summary("다른 노드 요약", 16L, 2L)));
+
+        assertFalse(service.compact(ROOM_ID));
+
+        assertEquals("다른 노드 요약", stored.get().getSummary());
+        assertEquals(2L, stored.get().getVersion());
+        verify(historyWindow, never()).updateSummary(any(), anyString(), anyLong());
+
+        // 이미 따라잡힌 구간이라 다시 불러도 요청 없음
+        assertFalse(service.compact(ROOM_ID));
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void resetDuringCompactionKeepsMarkerInsteadOfOldSummary() {
+        addMessages(20);
+        // 첫 압축이 요약 요청 중일 때 성격 변경으로 메시지 전체 삭제
+        onCompletion.set(() -> {
+            messages.replaceAll(m -> turn(m.getMessageId(), m.getSenderId(), "deleted;", m.getSeq()));
+            service.reset(ROOM_ID);
+        });
+
+        assertFalse(service.compact(ROOM_ID));
+
+        // 지운 대화의 요약이 insert 로 되살아나지 않고 표시 행이 남음
+        assertEquals("", stored.get().getSummary());
+        assertEquals(20L, stored.get().getWatermarkSeq());
+        assertNull(stored.get().getWatermarkMessageId());
+        assertEquals(1L, stored.get().getVersion());
+        verify(historyWindow, never()).updateSummary(any(), anyString(), anyLong());
+
+        // 다음 압축은 초기화 이후 메시지만, 이전 요약 없이
+        onCompletion.set(() -> {
+        });
+        addMessages(12);
+        assertTrue(service.compact(ROOM_ID));
+
+        assertEquals(2L, stored.get().getVersion());
+        assertEquals(28L, stored.get().getWatermarkSeq());
+        String input = requests.get(1).path("input").get(1).path("content").asText();
+        assertTrue(input.startsWith("[새 대화]"));
+        assertTrue(input.contains("msg-21;"));
+        assertFalse(input.contains("deleted;"));
+    }
+
+    @Test
+    void resetBumpsVersionSoInFlightAdvanceIsDropped() {
+        addMessages(30);
+        stored.set(summary("기존 요약", 8L, 3L));
+        onCompletion.set(() -> service.reset(ROOM_ID));
+
+        assertFalse(service.compact(ROOM_ID));
+
+        assertEquals("", stored.get().getSummary());
+        assertEquals(30L, stored.get().getWatermarkSeq());
+        assertEquals(4L, stored.get().getVersion());
+    }
+
+    @Test
+    void repeatedRequestsForOneRoomQueueOneTask() {
+        addMessages(20);
+
+        service.requestCompaction(ROOM_ID);
+        service.requestCompaction(ROOM_ID);
+        assertEquals(1, queued.size());
+
+        queued.remove(0).run();
+        assertEquals(1L, stored.get().getVersion());
+
+        // 실행이 끝난 방은 다시 요청 가능
+        service.requestCompaction(ROOM_ID);
+        assertEquals(1, queued.size());
+    }
+
+    // =========================
+    // 메모리 저장소 (조건부 갱신 포함)
+    // =========================
+
+    private void stubStores() {
+        lenient().when(chatRoomRepository.findLastSeq(ROOM_ID))
+                .thenAnswer(inv -> Optional.of((long) messages.size()));
+        lenient().when(messageRepository.findTurnsBetween(eq(ROOM_ID), anyLong(), anyLong(), any(Pageable.class)))
+                .thenAnswer(inv -> {
+                    long after = inv.getArgument(1);
+                    long upto = inv.getArgument(2);
+                    Pageable page = inv.getArgument(3);
+                    return messages.stream()
+                            .filter(m -> m.getSeq() > after && m.getSeq() <= upto)
+                            .limit(page.getPageSize())
+                            .toList();
+                });
+        lenient().when(kinoRoomSummaryRepository.findById(ROOM_ID))
+                .thenAnswer(inv -> Optional.ofNullable(stored.get())
+                        .map(s -> summary(s.getSummary(), s.getWatermarkSeq(), s.getVersion())));
+        lenient().when(kinoRoomSummaryRepository.insertIfAbsent(eq(ROOM_ID), anyString(), anyLong(), any(), any()))
+                .thenAnswer(inv -> {
+                    if (stored.get() != null) return 0;
+                    String text = inv.getArgument(1);
+                    long watermarkSeq = inv.getArgument(2);
+                    KinoRoomSummary row = summary(text, watermarkSeq, 1L);
+                    row.setWatermarkMessageId(inv.getArgument(3));
+                    stored.set(row);
+                    return 1;
+                });
+        lenient().when(kinoRoomSummaryRepository.advance(eq(ROOM_ID), anyLong(), anyString(), anyLong(), any(), any()))
+                .thenAnswer(inv -> {
+                    KinoRoomSummary current = stored.get();
+                    long expectedVersion = inv.getArgument(1);
+                    long watermarkSeq = inv.getArgument(3);
+                    if (current == null || current.getVersion() != expectedVersion
+                            || current.getWatermarkSeq() >= watermarkSeq) return 0;
+                    String text = inv.getArgument(2);
+                    KinoRoomSummary row = summary(text, watermarkSeq, expectedVersion + 1);
+                    row.setWatermarkMessageId(inv.getArgument(4));
+                    stored.set(row);
+                    return 1;
+                });
+        lenient().when(kinoRoomSummaryRepository.resetToMarker(eq(ROOM_ID), anyLong(), any()))
+                .thenAnswer(inv -> {
+                    KinoRoomSummary current = stored.get();
+                    long watermarkSeq = inv.getArgument(1);
+                    stored.set(current == null
+                            ? summary("", watermarkSeq, 1L)
+                            : summary("", Math.max(current.getWatermarkSeq(), watermarkSeq), current.getVersion() + 1));
+                    return current == null ? 1 : 2;
+                });
+    }
+
+    private void addMessages(int count) {
+        for (int i = 0; i < count; i++) {
+            long seq = messages.size() + 1;
+            Long senderId = seq % 2 == 0 ? KinoBotProfile.KINO_USER_ID : USER_ID;
+            messages.add(turn(UUID.randomUUID(), senderId, "msg-" + seq + ";", seq));
+        }
+    }
+
+    private static KinoRoomSummary summary(String text, long watermarkSeq, long version) {
+        KinoRoomSummary row = new KinoRoomSummary();
+        row.setChatRoomId(ROOM_ID);
+        row.setSummary(text);
+        row.setWatermarkSeq(watermarkSeq);
+        row.setVersion(version);
+        row.setUpdatedAt(LocalDateTime.now());
+        return row;
+    }
+
+    private static MessageRepository.TurnView turn(UUID messageId, Long senderId, String content, Long seq) {
+        return new MessageRepository.TurnView() {
+            @Override
+            public UUID getMessageId() {
+                return messageId;
+            }
+
+            @Override
+            public Long getSenderId() {
+                return senderId;
+            }
+
+            @Override
+            public String getContent() {
+                return content;
+            }
+
+            @Override
+            public Long getSeq() {
+                return seq;
+            }
+        };
+    }
+}
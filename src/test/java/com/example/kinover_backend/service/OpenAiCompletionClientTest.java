@@ -0,0 +1,107 @@
+package com.example.kinover_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 내장 OpenAI 호환 스텁(OpenAiCompatibleStub)으로 스트리밍 읽기 / 마감 / 오류 주입 확인.
+ */
+class OpenAiCompletionClientTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private OpenAiCompatibleStub stub;
+
+    @AfterEach
+    void tearDown() {
+        if (stub != null) stub.stop();
+    }
+
+    @Test
+    void streamsDeltasInOrderAndReturnsFullText() throws Exception {
+        OpenAiCompletionClient client = start(instant().replyTokens(3), 2_000L);
+        List<String> deltas = new CopyOnWriteArrayList<>();
+
+        String reply = client.stream(requestBody(), deltas::add);
+
+        assertEquals(List.of("그랬구나 ", "오늘 ", "하루도 "), deltas);
+        assertEquals("그랬구나 오늘 하루도 ", reply);
+        assertTrue(stub.lastRequest().path("stream").asBoolean());
+        assertEquals("test-model", stub.lastRequest().path("model").asText());
+        assertEquals("system", stub.lastRequest().path("input").get(0).path("role").asText());
+    }
+
+    @Test
+    void nonStreamingUpstreamIsReadAsOneDelta() throws Exception {
+        OpenAiCompletionClient client = start(instant().replyTokens(3).streaming(false), 2_000L);
+        List<String> deltas = new CopyOnWriteArrayList<>();
+
+        String reply = client.stream(requestBody(), deltas::add);
+
+        assertEquals("그랬구나 오늘 하루도 ", reply);
+        assertEquals(List.of(reply), deltas);
+    }
+
+    @Test
+    void stalledStreamIsCutAtDeadline() throws Exception {
+        OpenAiCompletionClient client = start(instant().firstTokenLatencyMs(5_000L), 300L);
+
+        long startedAt = System.currentTimeMillis();
+        RuntimeException e = assertThrows(RuntimeException.class, () -> client.stream(requestBody(), delta -> {
+        }));
+
+        assertEquals("키노 응답 시간 초과", e.getMessage());
+        assertTrue(System.currentTimeMillis() - startedAt < 3_000L);
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void injectedErrorStatusFailsTheCall() throws Exception {
+        OpenAiCompletionClient client = start(instant().errorRate(1.0).errorStatus(429), 2_000L);
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> client.stream(requestBody(), delta -> {
+        }));
+
+        assertEquals("키노 응답 실패 status=429", e.getMessage());
+    }
+
+    @Test
+    void injectedMidStreamFailureFailsAfterPartialDeltas() throws Exception {
+        OpenAiCompletionClient client = start(instant().replyTokens(4).midStreamFailureRate(1.0), 2_000L);
+        List<String> deltas = new CopyOnWriteArrayList<>();
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> client.stream(requestBody(), deltas::add));
+
+        assertTrue(e.getMessage().startsWith("키노 응답 실패:"));
+        assertEquals(2, deltas.size());
+    }
+
+    // 지연 없는 스텁 (필요한 것만 덮어씀)
+    private static OpenAiCompatibleStub.Options.OptionsBuilder instant() {
+        return OpenAiCompatibleStub.Options.builder().firstTokenLatencyMs(0L).tokensPerSecond(0);
+    }
+
+    private OpenAiCompletionClient start(OpenAiCompatibleStub.Options.OptionsBuilder options, long timeoutMs)
+            throws Exception {
+        stub = new OpenAiCompatibleStub(objectMapper, options.build());
+        stub.start();
+        return new OpenAiCompletionClient(objectMapper, stub.baseUrl(), "test-key", timeoutMs);
+    }
+
+    private static Map<String, Object> requestBody() {
+        Map<String, Object> body = new HashMap<>();
+        body.put("model", "test-model");
+        body.put("input", List.of(Map.of("role", "system", "content", "너는 키노야")));
+        return body;
+    }
+}
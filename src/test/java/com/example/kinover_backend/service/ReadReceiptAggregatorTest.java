@@ -0,0 +1,147 @@
+package com.example.kinover_backend.service;
+
+import com.example.kinover_backend.redis.ChatRoomSubscriptionRegistry;
+import com.example.kinover_backend.repository.ChatRoomRepository;
+import com.example.kinover_backend.repository.MessageRepository;
+import com.example.kinover_backend.repository.ReadPointerBatchRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReadReceiptAggregatorTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private ChatRoomRepository chatRoomRepository;
+    @Mock
+    private MessageRepository messageRepository;
+    @Mock
+    private ReadPointerBatchRepository readPointerBatchRepository;
+    @Mock
+    private ChatUnreadCounterService chatUnreadCounterService;
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private ReadReceiptAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        aggregator = new ReadReceiptAggregator(chatRoomRepository, messageRepository, readPointerBatchRepository,
+                chatUnreadCounterService, redisTemplate, objectMapper);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void burstForSameRoomIsFlushedAsOneAdvanceWithMaxPointer() throws Exception {
+        UUID chatRoomId = UUID.randomUUID();
+        when(chatRoomRepository.findLastSeqs(anyCollection())).thenReturn(List.of(lastSeq(chatRoomId, 10L)));
+        when(readPointerBatchRepository.advanceReadPointers(anyList())).thenReturn(new int[]{1});
+
+        aggregator.submit(chatRoomId, USER_ID, 3L, null);
+        aggregator.submit(chatRoomId, USER_ID, 8L, null);
+        aggregator.submit(chatRoomId, USER_ID, 5L, null);
+        aggregator.flush();
+
+        ArgumentCaptor<List<ReadPointerBatchRepository.Advance>> advances = ArgumentCaptor.forClass(List.class);
+        verify(readPointerBatchRepository, times(1)).advanceReadPointers(advances.capture());
+        assertEquals(1, advances.getValue().size());
+        assertEquals(8L, advances.getValue().get(0).getReadSeq());
+        verify(chatUnreadCounterService).setRoomCount(USER_ID, chatRoomId, 2L, 10L);
+
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate, times(1)).convertAndSend(eq(ChatRoomSubscriptionRegistry.topicFor(chatRoomId)), payload.capture());
+        JsonNode event = objectMapper.readTree(payload.getValue());
+        assertEquals(ReadReceiptAggregator.BATCH_EVENT_TYPE, event.get("type").asText());
+        assertEquals(1, event.get("reads").size());
+        assertEquals(8L, event.get("reads").get(0).get("readSeq").asLong());
+    }
+
+    @Test
+    void pointerThatDidNotAdvanceIsNotBroadcast() {
+        UUID chatRoomId = UUID.randomUUID();
+        when(chatRoomRepository.findLastSeqs(anyCollection())).thenReturn(List.of(lastSeq(chatRoomId, 10L)));
+        when(readPointerBatchRepository.advanceReadPointers(anyList())).thenReturn(new int[]{0});
+
+        aggregator.submit(chatRoomId, USER_ID, 4L, null);
+        aggregator.flush();
+
+        verify(chatUnreadCounterService, never()).setRoomCount(any(), any(), anyLong(), anyLong());
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+
+    @Test
+    void noInfoCountIsResolvedByReadingPointersBack() throws Exception {
+        UUID advancedRoom = UUID.randomUUID();
+        UUID staleRoom = UUID.randomUUID();
+        when(chatRoomRepository.findLastSeqs(anyCollection()))
+                .thenReturn(List.of(lastSeq(advancedRoom, 10L), lastSeq(staleRoom, 10L)));
+        when(readPointerBatchRepository.advanceReadPointers(anyList()))
+                .thenReturn(new int[]{Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO});
+        // staleRoom 은 이미 더 앞선 포인터(9)라 갱신되지 않음
+        when(readPointerBatchRepository.findReadPointers(anyList())).thenReturn(List.of(
+                new ReadPointerBatchRepository.ReadPointer(advancedRoom, USER_ID, 7L),
+                new ReadPointerBatchRepository.ReadPointer(staleRoom, USER_ID, 9L)));
+
+        aggregator.submit(advancedRoom, USER_ID, 7L, null);
+        aggregator.submit(staleRoom, USER_ID, 4L, null);
+        aggregator.flush();
+
+        verify(chatUnreadCounterService).setRoomCount(USER_ID, advancedRoom, 3L, 10L);
+        verify(chatUnreadCounterService, never()).setRoomCount(eq(USER_ID), eq(staleRoom), anyLong(), anyLong());
+        verify(redisTemplate).convertAndSend(eq(ChatRoomSubscriptionRegistry.topicFor(advancedRoom)), anyString());
+        verify(redisTemplate, never()).convertAndSend(eq(ChatRoomSubscriptionRegistry.topicFor(staleRoom)), anyString());
+    }
+
+    @Test
+    void persistedPointerIsBroadcastWithoutTouchingDatabase() {
+        UUID chatRoomId = UUID.randomUUID();
+
+        aggregator.submitPersisted(chatRoomId, USER_ID, 11L, LocalDateTime.now());
+        aggregator.flush();
+        aggregator.flush();
+
+        verifyNoInteractions(chatRoomRepository, chatUnreadCounterService);
+        verify(redisTemplate, times(1)).convertAndSend(eq(ChatRoomSubscriptionRegistry.topicFor(chatRoomId)), anyString());
+    }
+
+    private static ChatRoomRepository.LastSeqView lastSeq(UUID chatRoomId, long lastSeq) {
+        return new ChatRoomRepository.LastSeqView() {
+            @Override
+            public UUID getChatRoomId() {
+                return chatRoomId;
+            }
+
+            @Override
+            public long getLastSeq() {
+                return lastSeq;
+            }
+        };
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.kinover_backend.service;
+
+import com.example.kinover_backend.dto.MessageDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class RecentMessageCacheTest {
+
+    private StringRedisTemplate redisTemplate;
+    private RecentMessageCache cache;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        cache = new RecentMessageCache(redisTemplate, 3, 2);
+    }
+
+    @Test
+    void appendIsIgnoredUntilRoomIsLoaded() {
+        UUID roomId = UUID.randomUUID();
+        cache.append(message(roomId, 1L));
+
+        assertNull(cache.get(roomId));
+    }
+
+    @Test
+    void loadKeepsAscendingOrderAndAppendsNextSequenceOnce() {
+        UUID roomId = UUID.randomUUID();
+        cache.getOrLoad(roomId, () -> newestFirst(roomId, 2L, 1L));
+
+        cache.append(message(roomId, 3L));
+        cache.append(message(roomId, 3L)); // 로컬 저장 + Redis 수신 중복
+
+        RecentMessageCache.Snapshot snapshot = cache.get(roomId);
+        assertEquals(List.of(1L, 2L, 3L), seqs(snapshot));
+        assertTrue(snapshot.isComplete());
+    }
+
+    @Test
+    void ringDropsOldestAndIsNoLongerComplete() {
+        UUID roomId = UUID.randomUUID();
+        cache.getOrLoad(roomId, () -> newestFirst(roomId, 3L, 2L, 1L));
+        cache.append(message(roomId, 4L));
+
+        RecentMessageCache.Snapshot snapshot = cache.get(roomId);
+        assertEquals(List.of(2L, 3L, 4L), seqs(snapshot));
+        assertFalse(snapshot.isComplete());
+    }
+
+    @Test
+    void sequenceGapEvictsRoom() {
+        UUID roomId = UUID.randomUUID();
+        cache.getOrLoad(roomId, () -> newestFirst(roomId, 1L));
+        cache.append(message(roomId, 3L));
+
+        assertNull(cache.get(roomId));
+    }
+
+    @Test
+    void leastRecentlyUsedRoomIsEvicted() {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        UUID c = UUID.randomUUID();
+        cache.getOrLoad(a, List::of);
+        cache.getOrLoad(b, List::of);
+        cache.get(a);
+        cache.getOrLoad(c, List::of);
+
+        assertNull(cache.get(b));
+        assertTrue(cache.get(a) != null && cache.get(c) != null);
+    }
+
+    @Test
+    void invalidateEvictsAndPublishesToOtherNodes() {
+        UUID roomId = UUID.randomUUID();
+        cache.getOrLoad(roomId, () -> newestFirst(roomId, 1L));
+
+        cache.invalidate(roomId);
+
+        assertNull(cache.get(roomId));
+        verify(redisTemplate).convertAndSend(RecentMessageCache.INVALIDATE_CHANNEL, roomId.toString());
+    }
+
+    private static List<MessageDTO> newestFirst(UUID roomId, long... seqs) {
+        List<MessageDTO> messages = new ArrayList<>();
+        for (long seq : seqs) {
+            messages.add(message(roomId, seq));
+        }
+        return messages;
+    }
+
+    private static MessageDTO message(UUID roomId, long seq) {
+        MessageDTO dto = new MessageDTO();
+        dto.setMessageId(UUID.randomUUID());
+        dto.setChatRoomId(roomId);
+        dto.setSenderId(1L);
+        dto.setContent("m" + seq);
+        dto.setSeq(seq);
+        return dto;
+    }
+
+    private static List<Long> seqs(RecentMessageCache.Snapshot snapshot) {
+        return snapshot.getMessages().stream().map(MessageDTO::getSeq).toList();
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.kinover_backend.util;
+
+import com.example.kinover_backend.enums.MessageType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class ChatMessagePreviewTest {
+
+    @Test
+    void longTextIsCutAtMaxLength() {
+        String content = "가".repeat(ChatMessagePreview.MAX_LENGTH + 10);
+
+        assertEquals("가".repeat(ChatMessagePreview.MAX_LENGTH), ChatMessagePreview.of(MessageType.text, content));
+    }
+
+    @Test
+    void cutDoesNotSplitSurrogatePair() {
+        // 254자 + 이모지(2 char) → 255 번째 char 가 high surrogate
+        String content = "a".repeat(ChatMessagePreview.MAX_LENGTH - 1) + "😀" + "tail";
+
+        String preview = ChatMessagePreview.of(MessageType.text, content);
+
+        assertEquals("a".repeat(ChatMessagePreview.MAX_LENGTH - 1), preview);
+        assertFalse(Character.isHighSurrogate(preview.charAt(preview.length() - 1)));
+    }
+
+    @Test
+    void emojiEndingExactlyAtMaxLengthIsKept() {
+        String content = "a".repeat(ChatMessagePreview.MAX_LENGTH - 2) + "😀" + "tail";
+
+        assertEquals("a".repeat(ChatMessagePreview.MAX_LENGTH - 2) + "😀", ChatMessagePreview.of(MessageType.text, content));
+    }
+
+    @Test
+    void mediaMessagesUseFixedPhrases() {
+        assertEquals("사진을 2장 보냈습니다.", ChatMessagePreview.of(MessageType.image, "a.png,b.png"));
+        assertEquals("동영상을 보냈습니다.", ChatMessagePreview.of(MessageType.video, "v.mp4"));
+    }
+}
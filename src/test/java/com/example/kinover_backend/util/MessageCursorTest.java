@@ -0,0 +1,35 @@
+package com.example.kinover_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MessageCursorTest {
+
+    @Test
+    void encodeDecodeRoundTripKeepsSequence() {
+        MessageCursor cursor = new MessageCursor(123_456L);
+
+        String encoded = cursor.encode();
+
+        assertFalse(encoded.contains("="));
+        assertFalse(encoded.contains("123456"));
+        assertEquals(cursor, MessageCursor.decode(encoded));
+    }
+
+    @Test
+    void blankCursorMeansFirstPage() {
+        assertNull(MessageCursor.decode(null));
+        assertNull(MessageCursor.decode("  "));
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> MessageCursor.decode("not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> MessageCursor.decode("%%%"));
+        assertThrows(IllegalArgumentException.class, () -> MessageCursor.decode(new MessageCursor(1L).encode() + "x"));
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.kinover_backend.websocket;
+
+import com.example.kinover_backend.dto.ChatWsEvent;
+import com.example.kinover_backend.dto.MessageWsRequestDTO;
+import com.example.kinover_backend.dto.PingWsRequestDTO;
+import com.example.kinover_backend.dto.ReadWsRequestDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidTypeIdException;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChatInboundDecoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final ChatInboundDecoder decoder =
+            new ChatInboundDecoder(objectMapper, new ChatWireCodec(objectMapper, "https://cdn.test/"), 256);
+
+    @Test
+    void decodesEachTypeIntoItsEventClass() throws Exception {
+        UUID roomId = UUID.randomUUID();
+
+        assertInstanceOf(PingWsRequestDTO.class, decoder.decode(new TextMessage("{\"type\":\"ping\"}")));
+
+        ChatWsEvent read = decoder.decode(new TextMessage(
+                "{\"type\":\"room:read\",\"chatRoomId\":\"" + roomId + "\",\"readSeq\":7}"));
+        assertEquals(roomId, assertInstanceOf(ReadWsRequestDTO.class, read).getChatRoomId());
+        assertEquals(7L, ((ReadWsRequestDTO) read).getReadSeq());
+
+        // type 이 뒤에 와도 한 번에 읽힘
+        ChatWsEvent message = decoder.decode(new TextMessage(
+                "{\"chatRoomId\":\"" + roomId + "\",\"senderId\":1,\"content\":\"hi\",\"type\":\"message:new\"}"));
+        assertEquals("hi", assertInstanceOf(MessageWsRequestDTO.class, message).getContent());
+    }
+
+    @Test
+    void frameWithoutTypeIsTreatedAsMessage() throws Exception {
+        ChatWsEvent event = decoder.decode(new TextMessage("{\"senderId\":1,\"content\":\"legacy\"}"));
+
+        MessageWsRequestDTO message = assertInstanceOf(MessageWsRequestDTO.class, event);
+        assertEquals(1L, message.getSenderId());
+        assertEquals("legacy", message.getContent());
+    }
+
+    @Test
+    void unknownTypeIsRejected() {
+        assertThrows(InvalidTypeIdException.class,
+                () -> decoder.decode(new TextMessage("{\"type\":\"room:nuke\",\"senderId\":1}")));
+    }
+
+    @Test
+    void oversizedFramesAreDetectedBeforeParsing() {
+        assertFalse(decoder.tooBig(new TextMessage("{\"type\":\"ping\"}")));
+        assertTrue(decoder.tooBig(new TextMessage("{\"content\":\"" + "x".repeat(300) + "\"}")));
+        assertTrue(decoder.tooBig(new BinaryMessage(new byte[257])));
+    }
+
+    @Test
+    void cborFrameDecodesWithoutJsonRoundTrip() throws Exception {
+        long millis = LocalDateTime.of(2026, 1, 1, 19, 0, 5).atZone(ZoneId.of("Asia/Seoul")).toInstant().toEpochMilli();
+        byte[] cbor = new CBORMapper().writeValueAsBytes(objectMapper.createObjectNode()
+                .put("type", "room:read")
+                .put("chatRoomId", UUID.randomUUID().toString())
+                .put("lastReadAt", millis));
+
+        ReadWsRequestDTO read = assertInstanceOf(ReadWsRequestDTO.class, decoder.decode(new BinaryMessage(cbor)));
+
+        assertEquals(LocalDateTime.of(2026, 1, 1, 19, 0, 5), read.getLastReadAt());
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.kinover_backend.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ChatWireCodecTest {
+
+    private static final String CDN = "https://cdn.test/";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ChatWireCodec codec = new ChatWireCodec(objectMapper, CDN);
+
+    @Test
+    void encodeElidesNullsUsesEpochMillisAndStripsCdn() throws Exception {
+        String json = "{\"content\":\"hi\",\"senderImage\":\"https://cdn.test/p/1.jpg\",\"mentionUserIds\":null,"
+                + "\"imageUrls\":[],\"createdAt\":\"2026-01-01T19:00:00\",\"seq\":3}";
+
+        byte[] cbor = codec.encode(json.getBytes(StandardCharsets.UTF_8));
+        JsonNode tree = new CBORMapper().readTree(cbor);
+
+        assertEquals("hi", tree.get("content").asText());
+        assertEquals("p/1.jpg", tree.get("senderImage").asText());
+        assertFalse(tree.has("mentionUserIds"));
+        assertFalse(tree.has("imageUrls"));
+        long expected = LocalDateTime.of(2026, 1, 1, 19, 0).atZone(ZoneId.of("Asia/Seoul")).toInstant().toEpochMilli();
+        assertEquals(expected, tree.get("createdAt").asLong());
+        assertTrue(cbor.length < json.length());
+    }
+
+    @Test
+    void decodeRestoresIsoTimestampsForExistingHandlers() throws Exception {
+        long millis = LocalDateTime.of(2026, 1, 1, 19, 0, 5).atZone(ZoneId.of("Asia/Seoul")).toInstant().toEpochMilli();
+        byte[] cbor = new CBORMapper().writeValueAsBytes(objectMapper.createObjectNode()
+                .put("type", "room:read")
+                .put("readSeq", 7)
+                .put("lastReadAt", millis));
+
+        JsonNode json = codec.decode(cbor);
+
+        assertEquals("room:read", json.get("type").asText());
+        assertEquals("2026-01-01T19:00:05", json.get("lastReadAt").asText());
+        assertEquals(7, json.get("readSeq").asInt());
+    }
+
+    @Test
+    void onlyNegotiatedSessionsAreBinary() {
+        WebSocketSession cbor = mock(WebSocketSession.class);
+        when(cbor.getAcceptedProtocol()).thenReturn(ChatWireCodec.CBOR_SUBPROTOCOL);
+        WebSocketSession plain = mock(WebSocketSession.class);
+        when(plain.getAcceptedProtocol()).thenReturn(null);
+
+        assertTrue(ChatWireCodec.isBinary(cbor));
+        assertFalse(ChatWireCodec.isBinary(plain));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.kinover_backend.websocket;
+
+import com.example.kinover_backend.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.WebSocketHandler;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class JwtHandshakeInterceptorTest {
+
+    private JwtUtil jwtUtil;
+    private JwtHandshakeInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secretKey", "test-secret-key-0123456789-abcdefghij");
+        ReflectionTestUtils.setField(jwtUtil, "expirationTime", 60_000L);
+        interceptor = new JwtHandshakeInterceptor(jwtUtil);
+    }
+
+    @Test
+    void validTokenStoresUserIdFamilyIdAndExpiry() {
+        UUID familyId = UUID.randomUUID();
+        Map<String, Object> attributes = new HashMap<>();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean accepted = handshake("token=" + jwtUtil.generateToken(7L) + "&familyId=" + familyId, response, attributes);
+
+        assertTrue(accepted);
+        assertEquals(7L, attributes.get(JwtHandshakeInterceptor.USER_ID_ATTR));
+        assertEquals(familyId, attributes.get(JwtHandshakeInterceptor.FAMILY_ID_ATTR));
+        assertTrue((Long) attributes.get(JwtHandshakeInterceptor.TOKEN_EXPIRES_AT_ATTR) > System.currentTimeMillis());
+    }
+
+    @Test
+    void missingOrInvalidTokenIsRejectedWithUnauthorized() {
+        MockHttpServletResponse missing = new MockHttpServletResponse();
+        assertFalse(handshake(null, missing, new HashMap<>()));
+        assertEquals(401, missing.getStatus());
+
+        MockHttpServletResponse invalid = new MockHttpServletResponse();
+        assertFalse(handshake("token=not-a-jwt", invalid, new HashMap<>()));
+        assertEquals(401, invalid.getStatus());
+    }
+
+    @Test
+    void malformedFamilyIdIsRejected() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(handshake("token=" + jwtUtil.generateToken(7L) + "&familyId=nope", response, new HashMap<>()));
+        assertEquals(400, response.getStatus());
+    }
+
+    private boolean handshake(String query, MockHttpServletResponse servletResponse, Map<String, Object> attributes) {
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/chat");
+        servletRequest.setQueryString(query);
+        ServletServerHttpResponse response = new ServletServerHttpResponse(servletResponse);
+
+        return interceptor.beforeHandshake(new ServletServerHttpRequest(servletRequest), response,
+                mock(WebSocketHandler.class), attributes);
+    }
+}
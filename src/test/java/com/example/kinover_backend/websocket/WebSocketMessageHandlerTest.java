@@ -0,0 +1,105 @@
+package com.example.kinover_backend.websocket;
+
+import com.example.kinover_backend.redis.ChatRoomSubscriptionRegistry;
+import com.example.kinover_backend.redis.ChatSessionDirectory;
+import com.example.kinover_backend.service.ChatRoomService;
+import com.example.kinover_backend.service.KinoReplyService;
+import com.example.kinover_backend.service.MessageService;
+import com.example.kinover_backend.service.ReadReceiptAggregator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WebSocketMessageHandlerTest {
+
+    private static final Long USER_ID = 1L;
+
+    private final ChatRoomSubscriptionRegistry registry = mock(ChatRoomSubscriptionRegistry.class);
+    private final ChatSessionDirectory directory = mock(ChatSessionDirectory.class);
+    private WebSocketMessageHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new WebSocketMessageHandler(
+                mock(WebSocketSessionSweeper.class), mock(WebSocketOutbound.class), mock(ChatInboundDecoder.class),
+                mock(MessageService.class), mock(KinoReplyService.class), mock(ChatRoomService.class),
+                mock(ReadReceiptAggregator.class), registry, directory, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void onlyTheLastSessionReleasesRoomsAndDirectory() {
+        WebSocketSession first = session("s1");
+        WebSocketSession second = session("s2");
+        handler.afterConnectionEstablished(first);
+        handler.afterConnectionEstablished(second);
+
+        handler.afterConnectionClosed(first, CloseStatus.NORMAL);
+        verify(registry, never()).onUserDisconnected(USER_ID);
+        verify(directory, never()).unregister(USER_ID);
+
+        handler.afterConnectionClosed(second, CloseStatus.NORMAL);
+        verify(registry, times(1)).onUserDisconnected(USER_ID);
+        verify(directory, times(1)).unregister(USER_ID);
+        assertTrue(handler.getSessionsByUserId(USER_ID).isEmpty());
+    }
+
+    @Test
+    void reconnectRacingWithLastCloseKeepsTheNewSession() throws Exception {
+        // 마지막 세션이 닫히는 중에 같은 유저가 다시 붙어도 새 세션은 맵에 남아야 함
+        for (int i = 0; i < 200; i++) {
+            WebSocketSession old = session("old-" + i);
+            WebSocketSession fresh = session("new-" + i);
+            handler.afterConnectionEstablished(old);
+
+            CountDownLatch go = new CountDownLatch(1);
+            CompletableFuture<Void> close = CompletableFuture.runAsync(() -> {
+                await(go);
+                handler.afterConnectionClosed(old, CloseStatus.NORMAL);
+            });
+            CompletableFuture<Void> connect = CompletableFuture.runAsync(() -> {
+                await(go);
+                handler.afterConnectionEstablished(fresh);
+            });
+            go.countDown();
+            CompletableFuture.allOf(close, connect).get(5, TimeUnit.SECONDS);
+
+            assertEquals(1, handler.getSessionsByUserId(USER_ID).size(), "iteration " + i);
+            assertTrue(handler.getSessionsByUserId(USER_ID).contains(fresh), "iteration " + i);
+
+            handler.afterConnectionClosed(fresh, CloseStatus.NORMAL);
+        }
+    }
+
+    private static WebSocketSession session(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(JwtHandshakeInterceptor.USER_ID_ATTR, USER_ID);
+        when(session.getAttributes()).thenReturn(attributes);
+        when(session.getId()).thenReturn(id);
+        return session;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.kinover_backend.websocket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WebSocketOutboundTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService senders = Executors.newFixedThreadPool(2);
+    private WebSocketOutbound outbound;
+
+    @AfterEach
+    void tearDown() {
+        senders.shutdownNow();
+    }
+
+    @Test
+    void messagesAreSentInOrderOffTheCallerThread() throws Exception {
+        outbound = new WebSocketOutbound(meterRegistry, 10_000L, 1_000L, "close", senders);
+        List<String> received = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        WebSocketSession session = session("s1");
+        doAnswer(inv -> {
+            received.add(((TextMessage) inv.getArgument(0)).getPayload());
+            done.countDown();
+            return null;
+        }).when(session).sendMessage(any());
+
+        outbound.register(session);
+        outbound.send(session, new TextMessage("a"));
+        outbound.send(session, new TextMessage("b"));
+        outbound.send(session, new TextMessage("c"));
+
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        assertEquals(List.of("a", "b", "c"), received);
+    }
+
+    @Test
+    void slowConsumerOverBufferLimitIsClosedWithoutBlockingSender() throws Exception {
+        outbound = new WebSocketOutbound(meterRegistry, 10_000L, 8L, "close", senders);
+        CountDownLatch release = new CountDownLatch(1);
+        WebSocketSession slow = session("slow");
+        doAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS); // 네트워크가 막힌 클라이언트
+            return null;
+        }).when(slow).sendMessage(any());
+
+        outbound.register(slow);
+        outbound.send(slow, new TextMessage("12345")); // 드레인 스레드가 잡고 막힘
+        Thread.sleep(100);
+        outbound.send(slow, new TextMessage("12345"));
+        outbound.send(slow, new TextMessage("12345")); // 대기 8자 초과 → 종료
+
+        verify(slow, timeout(1000)).close(WebSocketOutbound.SLOW_CONSUMER);
+        assertEquals(1.0, meterRegistry.counter("websocket.outbound.evictions", "reason", "buffer").count());
+        release.countDown();
+    }
+
+    @Test
+    void dropPolicyDiscardsNewMessagesAndKeepsSession() throws Exception {
+        outbound = new WebSocketOutbound(meterRegistry, 10_000L, 8L, "drop", senders);
+        CountDownLatch release = new CountDownLatch(1);
+        WebSocketSession slow = session("slow");
+        doAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(slow).sendMessage(any());
+
+        outbound.register(slow);
+        outbound.send(slow, new TextMessage("12345"));
+        Thread.sleep(100);
+        outbound.send(slow, new TextMessage("12345"));
+        outbound.send(slow, new TextMessage("12345"));
+
+        assertEquals(1.0, meterRegistry.counter("websocket.outbound.dropped").count());
+        verify(slow, never()).close(any());
+        release.countDown();
+    }
+
+    @Test
+    void stalledSendIsEvictedBySweep() throws Exception {
+        outbound = new WebSocketOutbound(meterRegistry, 50L, 1_000L, "close", senders);
+        CountDownLatch release = new CountDownLatch(1);
+        WebSocketSession stuck = session("stuck");
+        doAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(stuck).sendMessage(any());
+
+        outbound.register(stuck);
+        outbound.send(stuck, new TextMessage("x"));
+        Thread.sleep(150);
+        outbound.evictStalled();
+
+        verify(stuck).close(WebSocketOutbound.SLOW_CONSUMER);
+        assertEquals(1.0, meterRegistry.counter("websocket.outbound.evictions", "reason", "send_time").count());
+        release.countDown();
+    }
+
+    @Test
+    void rejectedDrainKeepsQueueAndIsRetriedBySweep() throws Exception {
+        AtomicBoolean saturated = new AtomicBoolean(true);
+        outbound = new WebSocketOutbound(meterRegistry, 10_000L, 1_000L, "close", task -> {
+            if (saturated.get()) throw new RejectedExecutionException("full");
+            senders.execute(task);
+        });
+        WebSocketSession session = session("s1");
+
+        outbound.register(session);
+        outbound.send(session, new TextMessage("a")); // 풀 포화 → 큐에만 남음
+        verify(session, never()).sendMessage(any());
+
+        saturated.set(false);
+        outbound.evictStalled();
+
+        verify(session, timeout(1_000)).sendMessage(new TextMessage("a"));
+        verify(session, never()).close(any());
+    }
+
+    private static WebSocketSession session(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+}